@@ -18,89 +18,133 @@
 
 package org.mycore.access;
 
-import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.mycore.common.MCRCache;
 import org.mycore.common.MCRScopedSession;
 import org.mycore.common.MCRSession;
 import org.mycore.common.MCRSessionMgr;
+import org.mycore.common.MCRSystemUserInformation;
 import org.mycore.common.config.MCRConfiguration2;
 
 /**
+ * Caches the results of permission checks in a single cache shared by all sessions.
+ * <p>
+ * Entries are keyed by a fingerprint of the user information of the session, the id and the permission.
+ * Guest sessions share one fingerprint per IP address, all other sessions get their own one.
+ * Instead of scanning the cache, an id is invalidated by assigning it a new generation. Lookups only match entries
+ * stored with the current generation of the id, outdated entries are evicted by the cache eventually.
+ *
  * @author Thomas Scheffler (yagee)
  */
 class MCRAccessCacheManager {
 
     private static final int CAPACITY = MCRConfiguration2.getOrThrow("MCR.Access.Cache.Size", Integer::valueOf);
 
-    private static final String SESSION_PERMISSION_KEY = MCRAccessCacheManager.class.getCanonicalName();
+    private static final String SESSION_SCOPE_KEY = MCRAccessCacheManager.class.getCanonicalName();
+
+    private static final String NULL_ID = "";
+
+    private final MCRCache<MCRPermissionHandle, Boolean> permissionCache;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final Map<String, Long> generations = new ConcurrentHashMap<>();
 
-    @SuppressWarnings("unchecked")
-    private MCRCache<MCRPermissionHandle, Boolean> getSessionPermissionCache() {
-        MCRSession session = MCRSessionMgr.getCurrentSession();
-        return (MCRCache<MCRPermissionHandle, Boolean>) session.computeIfAbsent(
-            SESSION_PERMISSION_KEY, k -> createCache(session));
+    private final int maxGenerations;
+
+    private volatile long minGeneration;
+
+    MCRAccessCacheManager() {
+        this(CAPACITY, CAPACITY, "Access rights");
     }
 
-    @SuppressWarnings("unchecked")
-    private MCRCache<MCRPermissionHandle, Boolean> getCacheFromSession(MCRSession session) {
-        return (MCRCache<MCRPermissionHandle, Boolean>) session.get(SESSION_PERMISSION_KEY);
+    MCRAccessCacheManager(int capacity, int maxGenerations, String type) {
+        permissionCache = new MCRCache<>(capacity, type);
+        this.maxGenerations = maxGenerations;
     }
 
-    private MCRCache<MCRPermissionHandle, Boolean> createCache(MCRSession session) {
-        Object scopedSessionHint = session.get(MCRScopedSession.SCOPED_HINT);
-        String suffix = scopedSessionHint == null ? session.getID() : session.getID() + ",scope=" + UUID.randomUUID();
-        return new MCRCache<>(CAPACITY, "Access rights,MCRSession=" + suffix);
+    /**
+     * Returns a handle to cache the permission of the current session with. It refers to the current generation of
+     * the id, so the value should be computed <em>after</em> the handle was obtained.
+     */
+    public MCRPermissionHandle getHandle(String id, String permission) {
+        return new MCRPermissionHandle(getFingerprint(MCRSessionMgr.getCurrentSession()), id, permission,
+            getGeneration(id));
     }
 
-    public Boolean isPermitted(String id, String permission) {
-        MCRPermissionHandle handle = new MCRPermissionHandle(id, permission);
-        MCRCache<MCRPermissionHandle, Boolean> permissionCache = getSessionPermissionCache();
-        MCRSession currentSession = MCRSessionMgr.getCurrentSession();
-        return permissionCache.getIfUpToDate(handle, currentSession.getLoginTime());
+    /**
+     * Returns the cached permission or <code>null</code> if not cached.
+     */
+    public Boolean isPermitted(MCRPermissionHandle handle) {
+        return permissionCache.get(handle);
     }
 
-    public void cachePermission(String id, String permission, boolean permitted) {
-        MCRPermissionHandle handle = new MCRPermissionHandle(id, permission);
-        getSessionPermissionCache().put(handle, permitted);
+    public void cachePermission(MCRPermissionHandle handle, boolean permitted) {
+        permissionCache.put(handle, permitted);
     }
 
     public void removePermission(String id, String permission) {
-        MCRPermissionHandle handle = new MCRPermissionHandle(id, permission);
-        MCRCache<MCRPermissionHandle, Boolean> permissionCache = getSessionPermissionCache();
-        permissionCache.remove(handle);
+        permissionCache.remove(getHandle(id, permission));
     }
 
+    /**
+     * Invalidates all permissions of the current session for the given ids. As the cache cannot be scanned
+     * efficiently, the session gets a new fingerprint instead, discarding all its cached permissions.
+     */
     public void removePermission(String... ids) {
-        MCRCache<MCRPermissionHandle, Boolean> permissionCache = getSessionPermissionCache();
-        removePermissionFromCache(permissionCache, Stream.of(ids).collect(Collectors.toSet()));
+        MCRSessionMgr.getCurrentSession().put(SESSION_SCOPE_KEY, UUID.randomUUID().toString());
     }
 
-    private void removePermissionFromCache(MCRCache<MCRPermissionHandle, Boolean> permissionCache, Set<String> ids) {
-        final List<MCRPermissionHandle> handlesToRemove = permissionCache.keys()
-            .stream()
-            .filter(hdl -> hdl.id() != null)
-            .filter(hdl -> ids.contains(hdl.id()))
-            .toList();
-        handlesToRemove.forEach(permissionCache::remove);
+    public void removePermissionFromAllCachesById(String... ids) {
+        for (String id : ids) {
+            generations.put(Objects.requireNonNullElse(id, NULL_ID), clock.incrementAndGet());
+        }
+        if (generations.size() > maxGenerations) {
+            // every id gets a generation newer than the removed ones
+            minGeneration = clock.incrementAndGet();
+            generations.clear();
+        }
     }
 
-    public void removePermissionFromAllCachesById(String... ids) {
-        final Set<String> idSet = Stream.of(ids).collect(Collectors.toSet());
-        MCRSessionMgr.getAllSessions().forEach((sessionId, mcrSession) -> {
-            final MCRCache<MCRPermissionHandle, Boolean> cache = getCacheFromSession(mcrSession);
-            if (cache != null) {
-                removePermissionFromCache(cache, idSet);
-            }
-        });
+    /**
+     * Invalidates all cached permissions of all sessions.
+     */
+    public void removeAllPermissions() {
+        permissionCache.clear();
+        minGeneration = clock.incrementAndGet();
+        generations.clear();
+    }
+
+    MCRCache<MCRPermissionHandle, Boolean> getPermissionCache() {
+        return permissionCache;
+    }
+
+    private long getGeneration(String id) {
+        long generation = generations.getOrDefault(Objects.requireNonNullElse(id, NULL_ID), 0L);
+        return Math.max(generation, minGeneration);
+    }
+
+    private static String getFingerprint(MCRSession session) {
+        String scope = (String) session.get(SESSION_SCOPE_KEY);
+        if (scope == null && (session.getUserInformation() != MCRSystemUserInformation.GUEST
+            || session.get(MCRScopedSession.SCOPED_HINT) != null)) {
+            scope = (String) session.computeIfAbsent(SESSION_SCOPE_KEY, k -> UUID.randomUUID().toString());
+        }
+        StringBuilder fingerprint = new StringBuilder(session.getUserInformation().getUserID())
+            .append('@').append(session.getCurrentIP());
+        if (scope != null) {
+            fingerprint.append(',').append(scope).append(',').append(session.getLoginTime());
+        }
+        return fingerprint.toString();
     }
 
-    private record MCRPermissionHandle(String id, String permission) {
-        private MCRPermissionHandle {
+    record MCRPermissionHandle(String fingerprint, String id, String permission, long generation) {
+        MCRPermissionHandle {
             permission = permission.intern();
         }
     }
@@ -18,6 +18,10 @@
 
 package org.mycore.access;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.mycore.common.MCRUserInformation;
 
 public interface MCRAccessInterface {
@@ -49,6 +53,26 @@ public interface MCRAccessInterface {
      */
     boolean checkPermission(String id, String permission);
 
+    /**
+     * determines for each of the given ids whether the current user has the permission to perform a
+     * certain action.
+     * <p>
+     * The default implementation calls {@link #checkPermission(String, String)} for every id.
+     *
+     * @param ids
+     *            the ID-Strings of the objects
+     * @param permission
+     *            the permission/action to be granted, e.g. "read"
+     * @return the result for every id, in iteration order of <code>ids</code>
+     */
+    default Map<String, Boolean> checkPermissions(Collection<String> ids, String permission) {
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        for (String id : ids) {
+            result.put(id, checkPermission(id, permission));
+        }
+        return result;
+    }
+
     /**
      * determines whether a given user has the permission to perform a
      * certain action. no session data will be checked here.
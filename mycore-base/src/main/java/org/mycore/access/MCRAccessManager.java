@@ -18,6 +18,9 @@
 package org.mycore.access;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Supplier;
 
@@ -256,10 +259,11 @@ public class MCRAccessManager {
      * @return true if the permission for the id is given
      */
     public static boolean checkPermission(String id, String permission) {
-        Boolean value = ACCESS_CACHE.isPermitted(id, permission);
+        MCRAccessCacheManager.MCRPermissionHandle handle = ACCESS_CACHE.getHandle(id, permission);
+        Boolean value = ACCESS_CACHE.isPermitted(handle);
         if (value == null) {
             value = getAccessStrategy().checkPermission(id, permission);
-            ACCESS_CACHE.cachePermission(id, permission, value);
+            ACCESS_CACHE.cachePermission(handle, value);
         }
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("checkPermission id:{} permission:{} --> {}", id, permission, value);
@@ -267,6 +271,47 @@ public class MCRAccessManager {
         return value;
     }
 
+    /**
+     * determines for each of the given ids whether the current user has the permission to perform a certain action.
+     * <p>
+     * Use this method instead of {@link #checkPermission(String, String)} for result lists: cached permissions are
+     * taken from the cache, all others are checked by a single call of
+     * {@link MCRAccessCheckStrategy#checkPermissions(Collection, String)}, so the access strategy can load the rules
+     * for all ids at once.
+     *
+     * @param ids
+     *            the MCRObjectIDs of the objects
+     * @param permission
+     *            the access permission for the rule
+     * @return the result for every id, in iteration order of <code>ids</code>
+     */
+    public static Map<String, Boolean> checkPermissions(Collection<String> ids, String permission) {
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        Map<String, MCRAccessCacheManager.MCRPermissionHandle> uncached = new LinkedHashMap<>();
+        for (String id : ids) {
+            MCRAccessCacheManager.MCRPermissionHandle handle = ACCESS_CACHE.getHandle(id, permission);
+            Boolean value = ACCESS_CACHE.isPermitted(handle);
+            result.put(id, value);
+            if (value == null) {
+                uncached.put(id, handle);
+            }
+        }
+        if (!uncached.isEmpty()) {
+            Map<String, Boolean> checked = getAccessStrategy().checkPermissions(List.copyOf(uncached.keySet()),
+                permission);
+            uncached.forEach((id, handle) -> {
+                boolean value = Boolean.TRUE.equals(checked.get(id));
+                ACCESS_CACHE.cachePermission(handle, value);
+                result.put(id, value);
+            });
+        }
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("checkPermissions ids:{} permission:{} --> {} of {} cached", ids, permission,
+                result.size() - uncached.size(), result.size());
+        }
+        return result;
+    }
+
     /**
      * determines whether the current user has the permission to perform a certain action.
      *
@@ -275,10 +320,11 @@ public class MCRAccessManager {
      * @return true if the permission exist
      */
     public static boolean checkPermission(String permission) {
-        Boolean value = ACCESS_CACHE.isPermitted(null, permission);
+        MCRAccessCacheManager.MCRPermissionHandle handle = ACCESS_CACHE.getHandle(null, permission);
+        Boolean value = ACCESS_CACHE.isPermitted(handle);
         if (value == null) {
             value = getAccessImpl().checkPermission(permission);
-            ACCESS_CACHE.cachePermission(null, permission, value);
+            ACCESS_CACHE.cachePermission(handle, value);
         }
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("checkPermission permission:{} --> {}", permission, value);
@@ -312,6 +358,13 @@ public class MCRAccessManager {
         ACCESS_CACHE.removePermissionFromAllCachesById(ids);
     }
 
+    /**
+     * Invalidates all cached permissions for all users, e.g. after bulk changes of access rules
+     */
+    public static void invalidAllPermissionCaches() {
+        ACCESS_CACHE.removeAllPermissions();
+    }
+
     /**
      * Invalidates the permission for current user on cache.
      *
@@ -0,0 +1,412 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.access.facts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+
+import org.mycore.access.facts.condition.combined.MCRAndCondition;
+import org.mycore.access.facts.condition.combined.MCRNotCondition;
+import org.mycore.access.facts.condition.combined.MCROrCondition;
+import org.mycore.access.facts.condition.combined.MCRXorCondition;
+import org.mycore.access.facts.condition.fact.MCRAbstractFactCondition;
+import org.mycore.access.facts.condition.fact.MCRIPCondition;
+import org.mycore.access.facts.condition.fact.MCRRoleCondition;
+import org.mycore.access.facts.condition.fact.MCRStringCondition;
+import org.mycore.access.facts.condition.fact.MCRUserCondition;
+import org.mycore.access.facts.model.MCRCombinedCondition;
+import org.mycore.access.facts.model.MCRCondition;
+
+/**
+ * Evaluation plan compiled from the rules of the {@link MCRFactsAccessSystem}.
+ * <p>
+ * The plan evaluates the same boolean expression as the condition tree, but
+ * <ul>
+ *     <li>evaluates every fact condition at most once per {@link MCRFactsHolder} and conditions on the session
+ *     (roles, user, IP address) at most once for all facts holders sharing their session results,</li>
+ *     <li>orders the children of <code>and</code> and <code>or</code> by cost and selectivity, so conditions that
+ *     decide the result cheaply are evaluated first,</li>
+ *     <li>counts evaluations, matches and time for every condition.</li>
+ * </ul>
+ * Until enough evaluations are measured, conditions on the session (roles, user, IP address) and on the check
+ * itself (action, id, target) are assumed to be cheaper than conditions that need to load objects. Afterwards, the
+ * measured average times and match rates are used and the order is updated periodically.
+ * <p>
+ * Conditions other than <code>and</code>, <code>or</code>, <code>not</code> and <code>xor</code> are evaluated by
+ * their {@link MCRCondition#matches(MCRFactsHolder)} method as before.
+ */
+public final class MCRConditionPlan implements MCRConditionPlanMBean {
+
+    static final int REPLAN_INTERVAL = 1000;
+
+    static final int MIN_SAMPLES = 100;
+
+    private static final double CHEAP_COST = 1_000;
+
+    private static final double DEFAULT_COST = 100_000;
+
+    private final List<Node> nodes = new ArrayList<>();
+
+    private final Node root;
+
+    private final LongAdder replans = new LongAdder();
+
+    private MCRConditionPlan(MCRCondition rules) {
+        this.root = compile(rules, getLabel(rules));
+    }
+
+    /**
+     * Compiles the condition tree into a plan. The conditions are shared with the tree and must not be modified
+     * afterwards.
+     *
+     * @param rules the root condition of the rules
+     */
+    public static MCRConditionPlan compile(MCRCondition rules) {
+        return new MCRConditionPlan(rules);
+    }
+
+    /**
+     * @return true if the facts match the rules
+     */
+    public boolean matches(MCRFactsHolder facts) {
+        return root.evaluate(facts);
+    }
+
+    @Override
+    public long getChecks() {
+        return root.evaluations.sum();
+    }
+
+    @Override
+    public long getReplans() {
+        return replans.sum();
+    }
+
+    @Override
+    public String[] getConditionStatistics() {
+        return nodes.stream()
+            .map(Node::getStatistics)
+            .toArray(String[]::new);
+    }
+
+    @Override
+    public void resetStatistics() {
+        nodes.forEach(Node::reset);
+        replans.reset();
+    }
+
+    private Node compile(MCRCondition condition, String name) {
+        Node node = switch (condition) {
+            case MCRAndCondition and -> new AndNode(name, compileChildren(and, name));
+            case MCROrCondition or -> new OrNode(name, compileChildren(or, name));
+            case MCRNotCondition not -> new NotNode(name, compileChildren(not, name));
+            case MCRXorCondition xor -> new XorNode(name, compileChildren(xor, name));
+            default -> new LeafNode(name, condition);
+        };
+        nodes.add(node);
+        return node;
+    }
+
+    private Node[] compileChildren(MCRCombinedCondition condition, String name) {
+        List<Node> children = new ArrayList<>();
+        for (MCRCondition child : condition.getChildConditions()) {
+            children.add(compile(child, name + "/" + getLabel(child) + "[" + children.size() + "]"));
+        }
+        return children.toArray(Node[]::new);
+    }
+
+    private static String getLabel(MCRCondition condition) {
+        String type = Optional.ofNullable(condition.getType()).orElseGet(() -> condition.getClass().getSimpleName());
+        if (condition instanceof MCRAbstractFactCondition<?> factCondition && factCondition.getTerm() != null
+            && !factCondition.getTerm().isEmpty()) {
+            return type + "(" + factCondition.getTerm() + ")";
+        }
+        return type;
+    }
+
+    private static double estimateCost(MCRCondition condition) {
+        boolean cheap = condition instanceof MCRRoleCondition || condition instanceof MCRUserCondition
+            || condition instanceof MCRIPCondition || condition.getClass() == MCRStringCondition.class;
+        return cheap ? CHEAP_COST : DEFAULT_COST;
+    }
+
+    /**
+     * @return true, if the result of the condition depends on the user and IP address of the session only
+     */
+    private static boolean isSessionScoped(MCRCondition condition) {
+        Class<?> type = condition.getClass();
+        return type == MCRRoleCondition.class || type == MCRUserCondition.class || type == MCRIPCondition.class;
+    }
+
+    @Override
+    public String toString() {
+        return root.toString();
+    }
+
+    private abstract static class Node {
+
+        final String name;
+
+        final LongAdder evaluations = new LongAdder();
+
+        final LongAdder matches = new LongAdder();
+
+        final LongAdder nanos = new LongAdder();
+
+        Node(String name) {
+            this.name = name;
+        }
+
+        boolean evaluate(MCRFactsHolder facts) {
+            long start = System.nanoTime();
+            boolean result = doEvaluate(facts);
+            nanos.add(System.nanoTime() - start);
+            evaluations.increment();
+            if (result) {
+                matches.increment();
+            }
+            return result;
+        }
+
+        abstract boolean doEvaluate(MCRFactsHolder facts);
+
+        abstract double getInitialCost();
+
+        /**
+         * @return average nanoseconds of an evaluation
+         */
+        double getCost() {
+            long count = evaluations.sum();
+            return count < MIN_SAMPLES ? getInitialCost() : (double) nanos.sum() / count;
+        }
+
+        /**
+         * @return estimated probability of a match, smoothed for conditions without evaluations
+         */
+        double getMatchRate() {
+            return (matches.sum() + 1d) / (evaluations.sum() + 2d);
+        }
+
+        void reset() {
+            evaluations.reset();
+            matches.reset();
+            nanos.reset();
+        }
+
+        String getStatistics() {
+            long count = evaluations.sum();
+            return String.format(Locale.ROOT, "%s: evaluations=%d, matches=%d, avgNanos=%d", name, count,
+                matches.sum(), count == 0 ? 0 : nanos.sum() / count);
+        }
+
+    }
+
+    private static final class LeafNode extends Node {
+
+        private final MCRCondition condition;
+
+        private final double initialCost;
+
+        private final boolean sessionScoped;
+
+        private final LongAdder memoized = new LongAdder();
+
+        LeafNode(String name, MCRCondition condition) {
+            super(name);
+            this.condition = condition;
+            this.initialCost = estimateCost(condition);
+            this.sessionScoped = isSessionScoped(condition);
+        }
+
+        @Override
+        boolean evaluate(MCRFactsHolder facts) {
+            Optional<Boolean> result = sessionScoped ? facts.getSessionResult(condition) : facts.getResult(condition);
+            if (result.isPresent()) {
+                memoized.increment();
+                return result.get();
+            }
+            boolean matches = super.evaluate(facts);
+            if (sessionScoped) {
+                facts.setSessionResult(condition, matches);
+            } else {
+                facts.setResult(condition, matches);
+            }
+            return matches;
+        }
+
+        @Override
+        boolean doEvaluate(MCRFactsHolder facts) {
+            return condition.matches(facts);
+        }
+
+        @Override
+        double getInitialCost() {
+            return initialCost;
+        }
+
+        @Override
+        void reset() {
+            super.reset();
+            memoized.reset();
+        }
+
+        @Override
+        String getStatistics() {
+            return super.getStatistics() + ", memoized=" + memoized.sum();
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+
+    }
+
+    private abstract static class CombinedNode extends Node {
+
+        protected volatile Node[] children;
+
+        CombinedNode(String name, Node[] children) {
+            super(name);
+            this.children = children;
+        }
+
+        @Override
+        double getInitialCost() {
+            return Arrays.stream(children).mapToDouble(Node::getCost).sum();
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(name).append('{');
+            Node[] current = children;
+            for (int i = 0; i < current.length; i++) {
+                sb.append(i == 0 ? "" : ", ").append(current[i]);
+            }
+            return sb.append('}').toString();
+        }
+
+    }
+
+    /**
+     * <code>and</code> and <code>or</code> return as soon as one child has the deciding result. Their children are
+     * ordered by the expected cost to reach that result.
+     */
+    private abstract class ShortCircuitNode extends CombinedNode {
+
+        private final AtomicInteger sinceReplan = new AtomicInteger();
+
+        private final boolean decidingResult;
+
+        ShortCircuitNode(String name, Node[] children, boolean decidingResult) {
+            super(name, children);
+            this.decidingResult = decidingResult;
+            replan();
+        }
+
+        @Override
+        boolean doEvaluate(MCRFactsHolder facts) {
+            if (sinceReplan.incrementAndGet() >= REPLAN_INTERVAL) {
+                sinceReplan.set(0);
+                replan();
+            }
+            for (Node child : children) {
+                if (child.evaluate(facts) == decidingResult) {
+                    return decidingResult;
+                }
+            }
+            return !decidingResult;
+        }
+
+        private void replan() {
+            ToDoubleFunction<Node> deciding = decidingResult ? Node::getMatchRate : n -> 1 - n.getMatchRate();
+            Node[] current = children;
+            Node[] sorted = current.clone();
+            // cost until the deciding result is found: cheap and likely deciding children first
+            Arrays.sort(sorted, Comparator.comparingDouble(n -> n.getCost() / deciding.applyAsDouble(n)));
+            if (!Arrays.equals(current, sorted)) {
+                children = sorted;
+                replans.increment();
+            }
+        }
+
+    }
+
+    private final class AndNode extends ShortCircuitNode {
+
+        AndNode(String name, Node[] children) {
+            super(name, children, false);
+        }
+
+    }
+
+    private final class OrNode extends ShortCircuitNode {
+
+        OrNode(String name, Node[] children) {
+            super(name, children, true);
+        }
+
+    }
+
+    /**
+     * Same as {@link MCRNotCondition}: only the first child is used.
+     */
+    private static final class NotNode extends CombinedNode {
+
+        NotNode(String name, Node[] children) {
+            super(name, children);
+        }
+
+        @Override
+        boolean doEvaluate(MCRFactsHolder facts) {
+            return children.length > 0 && !children[0].evaluate(facts);
+        }
+
+    }
+
+    /**
+     * Same as {@link MCRXorCondition}: stops after the second match.
+     */
+    private static final class XorNode extends CombinedNode {
+
+        XorNode(String name, Node[] children) {
+            super(name, children);
+        }
+
+        @Override
+        boolean doEvaluate(MCRFactsHolder facts) {
+            int count = 0;
+            for (Node child : children) {
+                if (child.evaluate(facts) && ++count == 2) {
+                    return false;
+                }
+            }
+            return count == 1;
+        }
+
+    }
+
+}
@@ -22,6 +22,8 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -53,6 +55,7 @@ import org.mycore.datamodel.classifications2.MCRCategoryID;
 import org.mycore.datamodel.metadata.MCRDerivate;
 import org.mycore.datamodel.metadata.MCRMetadataManager;
 import org.mycore.datamodel.metadata.MCRObjectID;
+import org.mycore.services.mbeans.MCRJMXBridge;
 
 import jakarta.inject.Singleton;
 
@@ -75,6 +78,8 @@ public class MCRFactsAccessSystem implements MCRAccessInterface, MCRAccessCheckS
 
     private Collection<MCRFactComputable<MCRFact<?>>> computers;
 
+    private MCRConditionPlan plan;
+
     //RS: when introducing this feature in 2021.06.LTS it needed to be configured twice
     //(as access system and as strategy). To simplify things during the transition period
     //we are going to use the base property to initialize the rulesURI for both cases
@@ -87,6 +92,15 @@ public class MCRFactsAccessSystem implements MCRAccessInterface, MCRAccessCheckS
     public void init() {
         rules = buildRulesFromXML();
         computers = buildComputersFromRules();
+        plan = MCRConditionPlan.compile(rules);
+        MCRJMXBridge.register(plan, "MCRFactsAccessSystem", "ConditionPlan");
+    }
+
+    /**
+     * @return the evaluation plan compiled from the rules, including its statistics
+     */
+    public MCRConditionPlan getPlan() {
+        return plan;
     }
 
     private Collection<MCRFactComputable<MCRFact<?>>> buildComputersFromRules() {
@@ -148,11 +162,29 @@ public class MCRFactsAccessSystem implements MCRAccessInterface, MCRAccessCheckS
     }
 
     public boolean checkPermission(String checkID, String permission, List<MCRFact> baseFacts) {
+        return checkPermission(checkID, permission, baseFacts, new MCRFactsHolder(computers));
+    }
+
+    /**
+     * Checks the permission for all ids. Conditions on the session, like the roles of the current user, are
+     * evaluated only once for all ids.
+     */
+    @Override
+    public Map<String, Boolean> checkPermissions(Collection<String> ids, String permission) {
+        Map<MCRCondition, Boolean> sessionResults = new IdentityHashMap<>();
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        for (String id : ids) {
+            result.put(id, checkPermission(id, permission, Collections.emptyList(),
+                new MCRFactsHolder(computers, sessionResults)));
+        }
+        return result;
+    }
+
+    private boolean checkPermission(String checkID, String permission, List<MCRFact> baseFacts,
+        MCRFactsHolder facts) {
         String action = permission.replaceAll("db$", ""); // writedb -> write
         String cacheKey;
 
-        MCRFactsHolder facts = new MCRFactsHolder(computers);
-
         baseFacts.forEach(facts::add);
 
         if (checkID == null) {
@@ -183,7 +215,7 @@ public class MCRFactsAccessSystem implements MCRAccessInterface, MCRAccessCheckS
             String xmlString = new XMLOutputter(Format.getPrettyFormat()).outputString(xmlTree);
             LOGGER.debug(xmlString);
         } else {
-            result = rules.matches(facts);
+            result = plan.matches(facts);
         }
         return result;
     }
@@ -19,10 +19,13 @@ package org.mycore.access.facts;
 
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.StringJoiner;
 
+import org.mycore.access.facts.model.MCRCondition;
 import org.mycore.access.facts.model.MCRFact;
 import org.mycore.access.facts.model.MCRFactComputable;
 
@@ -43,8 +46,25 @@ public class MCRFactsHolder {
 
     private final Set<MCRFact<?>> facts = new HashSet<>();
 
+    private final Map<MCRCondition, Boolean> results = new IdentityHashMap<>();
+
+    private final Map<MCRCondition, Boolean> sessionResults;
+
     public MCRFactsHolder(Collection<MCRFactComputable<MCRFact<?>>> computers) {
+        this(computers, new IdentityHashMap<>());
+    }
+
+    /**
+     * Creates a facts holder that shares the results of conditions, which only depend on the current session,
+     * with other facts holders of the same check.
+     *
+     * @param computers the fact computers
+     * @param sessionResults the results shared by {@link #getSessionResult(MCRCondition)}
+     */
+    public MCRFactsHolder(Collection<MCRFactComputable<MCRFact<?>>> computers,
+        Map<MCRCondition, Boolean> sessionResults) {
         this.computers = computers;
+        this.sessionResults = sessionResults;
     }
 
     public void add(MCRFact<?> fact) {
@@ -92,6 +112,47 @@ public class MCRFactsHolder {
         return Optional.empty();
     }
 
+    /**
+     * Returns the result of a condition, if it was already evaluated against these facts.
+     *
+     * @param condition the condition
+     * @return the result stored by {@link #setResult(MCRCondition, boolean)}
+     */
+    public Optional<Boolean> getResult(MCRCondition condition) {
+        return Optional.ofNullable(results.get(condition));
+    }
+
+    /**
+     * Stores the result of a condition, so it is not evaluated again against these facts.
+     *
+     * @param condition the condition
+     * @param result the result of {@link MCRCondition#matches(MCRFactsHolder)}
+     */
+    public void setResult(MCRCondition condition, boolean result) {
+        results.put(condition, result);
+    }
+
+    /**
+     * Returns the result of a condition that only depends on the current session, e.g. the roles of the user, if it
+     * was already evaluated against these or shared facts.
+     *
+     * @param condition the condition
+     * @return the result stored by {@link #setSessionResult(MCRCondition, boolean)}
+     */
+    public Optional<Boolean> getSessionResult(MCRCondition condition) {
+        return Optional.ofNullable(sessionResults.get(condition));
+    }
+
+    /**
+     * Stores the result of a condition that only depends on the current session.
+     *
+     * @param condition the condition
+     * @param result the result of {@link MCRCondition#matches(MCRFactsHolder)}
+     */
+    public void setSessionResult(MCRCondition condition, boolean result) {
+        sessionResults.put(condition, result);
+    }
+
     @Override
     public String toString() {
         StringJoiner sj = new StringJoiner(" & ");
@@ -22,6 +22,7 @@ import java.net.UnknownHostException;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -151,6 +152,26 @@ public final class MCRAccessControlSystem extends MCRAccessBaseImpl {
         return checkAccess(id, permission, userInfo, null);
     }
 
+    /**
+     * Loads the rule mappings of all ids with one request to the access store and validates every distinct rule
+     * only once.
+     */
+    @Override
+    public Map<String, Boolean> checkPermissions(Collection<String> ids, String permission) {
+        if (disabled) {
+            return super.checkPermissions(ids, permission);
+        }
+        Map<String, String> ruleIDs = accessStore.getRuleIDs(ids, permission);
+        Map<String, Boolean> ruleResults = new HashMap<>();
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        for (String id : ids) {
+            String ruleID = ruleIDs.get(id);
+            MCRAccessRule rule = ruleID == null ? null : ruleStore.getRule(ruleID);
+            result.put(id, rule == null ? isSuperUser() : ruleResults.computeIfAbsent(ruleID, r -> rule.validate()));
+        }
+        return result;
+    }
+
     @Override
     public boolean checkPermission(String permission) {
         LOGGER.debug("Execute MCRAccessControlSystem checkPermission for permission {}", permission);
@@ -282,6 +303,11 @@ public final class MCRAccessControlSystem extends MCRAccessBaseImpl {
         return rule.checkAccess(userInfo, date, ip);
     }
 
+    private static boolean isSuperUser() {
+        return MCRSystemUserInformation.SUPER_USER.getUserID()
+            .equals(MCRSessionMgr.getCurrentSession().getUserInformation().getUserID());
+    }
+
     /**
      * method that delivers the next free ruleID for a given Prefix and sets the counter to counter + 1
      *
@@ -51,6 +51,25 @@ public abstract class MCRAccessStore {
 
     public abstract String getRuleID(String objID, String acPool);
 
+    /**
+     * Returns the rule ids mapped to the given objects for one pool. The default implementation calls
+     * {@link #getRuleID(String, String)} for every object.
+     *
+     * @param objIDs the ids of the objects
+     * @param acPool the pool
+     * @return rule id by object id, objects without a mapping are missing
+     */
+    public Map<String, String> getRuleIDs(Collection<String> objIDs, String acPool) {
+        Map<String, String> ruleIDs = new HashMap<>();
+        for (String objID : objIDs) {
+            String ruleID = getRuleID(objID, acPool);
+            if (ruleID != null) {
+                ruleIDs.put(objID, ruleID);
+            }
+        }
+        return ruleIDs;
+    }
+
     public abstract void createAccessDefinition(MCRRuleMapping accessdata);
 
     public abstract void deleteAccessDefinition(MCRRuleMapping accessdata);
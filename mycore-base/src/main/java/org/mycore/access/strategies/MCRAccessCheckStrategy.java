@@ -18,6 +18,10 @@
 
 package org.mycore.access.strategies;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.mycore.access.MCRAccessManager;
 
 public interface MCRAccessCheckStrategy {
@@ -35,4 +39,27 @@ public interface MCRAccessCheckStrategy {
      */
     boolean checkPermission(String id, String permission);
 
+    /**
+     * determines for each of the given ids whether the current user has the permission to perform a
+     * certain action.
+     * <p>
+     * The default implementation calls {@link #checkPermission(String, String)} for every id. Implementations
+     * should override it if they can check many ids at once more efficiently, e.g. by loading all rule mappings
+     * with a single query.
+     *
+     * @param ids
+     *            the ids of the objects
+     * @param permission
+     *            the access permission for the rule
+     * @return the result for every id, in iteration order of <code>ids</code>
+     * @see MCRAccessManager#checkPermissions(Collection, String)
+     */
+    default Map<String, Boolean> checkPermissions(Collection<String> ids, String permission) {
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        for (String id : ids) {
+            result.put(id, checkPermission(id, permission));
+        }
+        return result;
+    }
+
 }
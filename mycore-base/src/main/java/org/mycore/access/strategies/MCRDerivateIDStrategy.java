@@ -19,6 +19,9 @@
 package org.mycore.access.strategies;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 
 import org.mycore.datamodel.common.MCRLinkTableManager;
 import org.mycore.datamodel.common.MCRLinkType;
@@ -40,4 +43,26 @@ public class MCRDerivateIDStrategy implements MCRAccessCheckStrategy {
         return false;
     }
 
+    /**
+     * Checks the derivates against the objects they belong to and all objects with a single call of
+     * {@link MCRObjectIDStrategy#checkPermissions(Collection, String)}.
+     */
+    @Override
+    public Map<String, Boolean> checkPermissions(Collection<String> ids, String permission) {
+        Map<String, String> checkIDs = new LinkedHashMap<>();
+        for (String id : ids) {
+            if (!id.contains("_derivate_")) {
+                checkIDs.put(id, id);
+                continue;
+            }
+            final Collection<String> l = MCRLinkTableManager.getInstance().getSourceOf(id, MCRLinkType.DERIVATE);
+            checkIDs.put(id, l != null && !l.isEmpty() ? l.iterator().next() : null);
+        }
+        Map<String, Boolean> checked = new MCRObjectIDStrategy().checkPermissions(
+            checkIDs.values().stream().filter(Objects::nonNull).distinct().toList(), permission);
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        checkIDs.forEach((id, checkID) -> result.put(id, checkID != null && Boolean.TRUE.equals(checked.get(checkID))));
+        return result;
+    }
+
 }
@@ -18,6 +18,9 @@
 
 package org.mycore.access.strategies;
 
+import java.util.Collection;
+import java.util.Map;
+
 import org.mycore.access.MCRAccessManager;
 
 /**
@@ -42,6 +45,11 @@ public class MCRObjectIDStrategy implements MCRCombineableAccessCheckStrategy {
         return MCRAccessManager.getAccessImpl().checkPermission(id, permission);
     }
 
+    @Override
+    public Map<String, Boolean> checkPermissions(Collection<String> ids, String permission) {
+        return MCRAccessManager.getAccessImpl().checkPermissions(ids, permission);
+    }
+
     @Override
     public boolean hasRuleMapping(String id, String permission) {
         return MCRAccessManager.hasRule(id, permission);
@@ -18,18 +18,28 @@
 
 package org.mycore.backend.hibernate;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.hibernate.Session;
 import org.mycore.backend.jpa.MCREntityManagerProvider;
 import org.mycore.backend.jpa.links.MCRLINKHREF;
 import org.mycore.backend.jpa.links.MCRLINKHREFPK;
 import org.mycore.common.MCRPersistenceException;
 import org.mycore.common.MCRUtils;
+import org.mycore.common.config.MCRConfiguration2;
 import org.mycore.datamodel.common.MCRLinkTableInterface;
+import org.mycore.datamodel.common.MCRLinkTableManager.MCRLinkReference;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
@@ -44,6 +54,9 @@ public class MCRHIBLinkTableStore implements MCRLinkTableInterface {
 
     private static final Logger LOGGER = LogManager.getLogger();
 
+    /** number of statements sent to the database in one JDBC batch */
+    private static final int BATCH_SIZE = MCRConfiguration2.getInt("MCR.Persistence.LinkTable.BatchSize").orElse(500);
+
     private String classname = MCRLINKHREF.class.getCanonicalName();
 
     /**
@@ -76,10 +89,7 @@ public class MCRHIBLinkTableStore implements MCRLinkTableInterface {
         if (linkHref != null) {
             linkHref.setMcrattr(attrChecked);
         } else {
-            linkHref = new MCRLINKHREF();
-            linkHref.setKey(key);
-            linkHref.setMcrattr(attrChecked);
-            entityMananger.persist(linkHref);
+            entityMananger.persist(newLink(key, attrChecked));
         }
     }
 
@@ -109,17 +119,141 @@ public class MCRHIBLinkTableStore implements MCRLinkTableInterface {
     @Override
     public final void delete(String from, String to, String type) {
         String fromChecked = checkAttributeIsNotEmpty(from, "from");
-        StringBuilder sb = new StringBuilder();
-        sb.append("from ").append(classname).append(" where key.mcrfrom = '").append(fromChecked).append('\'');
-        MCRUtils.filterTrimmedNotEmpty(to)
-            .ifPresent(trimmedTo -> sb.append(" and key.mcrto = '").append(trimmedTo).append('\''));
-        MCRUtils.filterTrimmedNotEmpty(type)
-            .ifPresent(trimmedType -> sb.append(" and key.mcrtype = '").append(trimmedType).append('\''));
+        String toChecked = MCRUtils.filterTrimmedNotEmpty(to).orElse(null);
+        String typeChecked = MCRUtils.filterTrimmedNotEmpty(type).orElse(null);
+        StringBuilder sb = new StringBuilder("SELECT l FROM MCRLINKHREF l WHERE l.key.mcrfrom = :from");
+        if (toChecked != null) {
+            sb.append(" AND l.key.mcrto = :to");
+        }
+        if (typeChecked != null) {
+            sb.append(" AND l.key.mcrtype = :type");
+        }
         LOGGER.debug("Deleting {} from database MCRLINKHREF", fromChecked);
         EntityManager em = MCREntityManagerProvider.getCurrentEntityManager();
-        em.createQuery(sb.toString(), MCRLINKHREF.class)
+        TypedQuery<MCRLINKHREF> query = em.createQuery(sb.toString(), MCRLINKHREF.class)
+            .setParameter("from", fromChecked);
+        if (toChecked != null) {
+            query.setParameter("to", toChecked);
+        }
+        if (typeChecked != null) {
+            query.setParameter("type", typeChecked);
+        }
+        // removes managed entities instead of a bulk delete, so later changes in this transaction see no stale links
+        List<MCRLINKHREF> links = query.getResultList();
+        if (!links.isEmpty()) {
+            inBatches(em, () -> links.forEach(em::remove));
+        }
+    }
+
+    /**
+     * Replaces all links of the source <code>from</code> with the given links. Only the difference to the current
+     * links is written to the database, using JDBC batches.
+     *
+     * @param from
+     *            the link source MCRFROM
+     * @param links
+     *            the new links of the source
+     */
+    @Override
+    public void update(String from, Collection<MCRLinkReference> links) {
+        String fromChecked = checkAttributeIsNotEmpty(from, "from");
+        Map<MCRLINKHREFPK, String> added = new LinkedHashMap<>();
+        for (MCRLinkReference link : links) {
+            MCRLINKHREFPK key = getKey(fromChecked, link.to().toString(), link.type().toString());
+            added.put(key, MCRUtils.filterTrimmedNotEmpty(link.attr()).orElse(""));
+        }
+        EntityManager em = MCREntityManagerProvider.getCurrentEntityManager();
+        List<MCRLINKHREF> removed = new ArrayList<>();
+        em.createNamedQuery("MCRLINKHREF.getLinks", MCRLINKHREF.class)
+            .setParameter("from", fromChecked)
             .getResultList()
-            .forEach(em::remove);
+            .forEach(link -> {
+                String attr = added.remove(link.getKey());
+                if (attr == null) {
+                    removed.add(link);
+                } else if (!attr.equals(link.getMcrattr())) {
+                    link.setMcrattr(attr);
+                }
+            });
+        LOGGER.debug("Updating links of {} in database MCRLINKHREF: {} removed, {} added", fromChecked,
+            removed.size(), added.size());
+        if (removed.isEmpty() && added.isEmpty()) {
+            return;
+        }
+        inBatches(em, () -> {
+            removed.forEach(em::remove);
+            added.forEach((key, attr) -> em.persist(newLink(key, attr)));
+        });
+    }
+
+    /**
+     * Replaces the content of the whole link table. Links are inserted in JDBC batches and the persistence context is
+     * cleared after each batch, so all entities managed by the current entity manager are detached.
+     *
+     * @param links
+     *            all links, grouped by their source
+     */
+    @Override
+    public void replaceAll(Stream<MCRLinkReference> links) {
+        EntityManager em = MCREntityManagerProvider.getCurrentEntityManager();
+        em.flush();
+        int deleted = em.createQuery("DELETE FROM MCRLINKHREF").executeUpdate();
+        em.clear();
+        LOGGER.info("Removed {} links from database MCRLINKHREF", deleted);
+        Session session = em.unwrap(Session.class);
+        Integer jdbcBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(BATCH_SIZE);
+        int created = 0;
+        try {
+            String currentFrom = null;
+            Set<MCRLINKHREFPK> keysOfSource = new HashSet<>();
+            Iterator<MCRLinkReference> iterator = links.iterator();
+            while (iterator.hasNext()) {
+                MCRLinkReference link = iterator.next();
+                String from = link.from().toString();
+                if (!from.equals(currentFrom)) {
+                    currentFrom = from;
+                    keysOfSource.clear();
+                }
+                MCRLINKHREFPK key = getKey(from, link.to().toString(), link.type().toString());
+                if (!keysOfSource.add(key)) {
+                    continue;
+                }
+                em.persist(newLink(key, MCRUtils.filterTrimmedNotEmpty(link.attr()).orElse("")));
+                if (++created % BATCH_SIZE == 0) {
+                    em.flush();
+                    em.clear();
+                    LOGGER.info("Inserted {} links into database MCRLINKHREF", created);
+                }
+            }
+            em.flush();
+            em.clear();
+        } finally {
+            session.setJdbcBatchSize(jdbcBatchSize);
+        }
+        LOGGER.info("Inserted {} links into database MCRLINKHREF", created);
+    }
+
+    private static MCRLINKHREF newLink(MCRLINKHREFPK key, String attr) {
+        MCRLINKHREF linkHref = new MCRLINKHREF();
+        linkHref.setKey(key);
+        linkHref.setMcrattr(attr);
+        return linkHref;
+    }
+
+    /**
+     * Runs the changes and flushes them to the database in JDBC batches.
+     */
+    private static void inBatches(EntityManager em, Runnable changes) {
+        Session session = em.unwrap(Session.class);
+        Integer jdbcBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(BATCH_SIZE);
+        try {
+            changes.run();
+            em.flush();
+        } finally {
+            session.setJdbcBatchSize(jdbcBatchSize);
+        }
     }
 
     /**
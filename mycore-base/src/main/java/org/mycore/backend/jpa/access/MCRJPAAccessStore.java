@@ -22,8 +22,11 @@ import java.sql.Timestamp;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -36,6 +39,7 @@ import org.mycore.backend.jpa.MCREntityManagerProvider;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
+import jakarta.persistence.Tuple;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
@@ -50,6 +54,9 @@ import jakarta.persistence.criteria.Root;
  * 
  */
 public class MCRJPAAccessStore extends MCRAccessStore {
+    // some databases limit the number of parameters in an IN clause
+    private static final int MAX_IDS_PER_QUERY = 500;
+
     private final DateFormat dateFormat = new SimpleDateFormat(SQL_DATEFORMAT, Locale.ROOT);
 
     private static final Logger LOGGER = LogManager.getLogger();
@@ -72,6 +79,26 @@ public class MCRJPAAccessStore extends MCRAccessStore {
         }
     }
 
+    @Override
+    public Map<String, String> getRuleIDs(Collection<String> objIDs, String acPool) {
+        EntityManager em = MCREntityManagerProvider.getCurrentEntityManager();
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        List<String> ids = objIDs.stream().distinct().toList();
+        Map<String, String> ruleIDs = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+            List<String> chunk = ids.subList(from, Math.min(from + MAX_IDS_PER_QUERY, ids.size()));
+            CriteriaQuery<Tuple> query = cb.createTupleQuery();
+            Root<MCRACCESS> ac = query.from(MCRACCESS.class);
+            Path<String> objid = ac.get(MCRACCESS_.key).get(MCRACCESSPK_.objid);
+            Path<String> rid = ac.get(MCRACCESS_.rule).get(MCRACCESSRULE_.rid);
+            em.createQuery(query.multiselect(objid, rid)
+                .where(objid.in(chunk), cb.equal(ac.get(MCRACCESS_.key).get(MCRACCESSPK_.acpool), acPool)))
+                .getResultList()
+                .forEach(tuple -> ruleIDs.put(tuple.get(objid), tuple.get(rid)));
+        }
+        return ruleIDs;
+    }
+
     /**
      * method creates a new AccessDefinition in db
      * 
@@ -40,6 +40,8 @@ import jakarta.persistence.Transient;
     @Index(name = "LinkTo", columnList = "MCRTO, MCRTYPE"),
 })
 @NamedQueries({
+    @NamedQuery(name = "MCRLINKHREF.getLinks",
+        query = "SELECT l FROM MCRLINKHREF l WHERE l.key.mcrfrom=:from"),
     @NamedQuery(name = "MCRLINKHREF.getDestinations",
         query = "SELECT key.mcrto FROM MCRLINKHREF WHERE key.mcrfrom=:from"),
     @NamedQuery(name = "MCRLINKHREF.getDestinationsWithType",
@@ -18,12 +18,15 @@
 
 package org.mycore.common;
 
-import java.io.ByteArrayInputStream;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
-import java.nio.ByteBuffer;
+import java.io.InputStream;
+import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -33,6 +36,9 @@ import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -45,10 +51,20 @@ import org.mycore.common.config.MCRConfiguration2;
 import org.mycore.datamodel.metadata.MCRExpandedObject;
 import org.mycore.datamodel.metadata.MCRObjectID;
 
+/**
+ * Stores expanded objects on the disk. Every entry starts with a header containing the last modification date of
+ * the source object, followed by the gzip compressed XML of the expanded object. Entries are only used if their
+ * last modification date matches the one of the source object, so checking an entry does not require to read the
+ * source object.
+ */
 public final class MCRExpandedObjectCache {
 
     private static final Logger LOGGER = LogManager.getLogger();
     private static final String CACHE_ROOT_PATH_PROPERTY = "MCR.ObjectExpander.Cache.Path";
+    private static final String FILE_SUFFIX = ".xml.bin";
+    private static final String LEGACY_FILE_SUFFIX = ".xml";
+    private static final int FORMAT_VERSION = 1;
+    private static final int BUFFER_SIZE = 8192;
     private Map<MCRObjectID, ReentrantReadWriteLock> idLocks = new ConcurrentHashMap<>();
 
     private MCRExpandedObjectCache() {
@@ -59,37 +75,57 @@ public final class MCRExpandedObjectCache {
         return LazyInstanceHolder.SINGLETON_INSTANCE;
     }
 
-    private static MCRExpandedObject readExpandedObject(Path expandedObjectPath) {
-        try {
-            byte[] fileContent = Files.readAllBytes(expandedObjectPath);
-            SAXBuilder saxBuilder = new SAXBuilder();
-            Document jdom = saxBuilder.build(new ByteArrayInputStream(fileContent));
+    private static MCRExpandedObject readExpandedObject(Path expandedObjectPath, long lastModified) {
+        if (!Files.exists(expandedObjectPath)) {
+            return null;
+        }
+        try (InputStream is = Files.newInputStream(expandedObjectPath);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(is))) {
+            if (in.readInt() != FORMAT_VERSION || in.readLong() != lastModified) {
+                LOGGER.debug("Expanded object {} is outdated.", expandedObjectPath);
+                return null;
+            }
+            Document jdom = new SAXBuilder().build(new GZIPInputStream(in));
             return new MCRExpandedObject(jdom);
+        } catch (EOFException | ZipException e) {
+            LOGGER.warn("Ignoring incomplete expanded object {}.", expandedObjectPath, e);
+            return null;
         } catch (IOException | JDOMException e) {
             throw new MCRException(e);
         }
     }
 
-    public MCRExpandedObject getExpandedObject(MCRObjectID id, Supplier<MCRExpandedObject> expandedObjectSupplier) {
+    /**
+     * Returns the cached expanded object or creates and caches it if the cached one is missing or outdated.
+     *
+     * @param id the id of the object
+     * @param lastModified the last modification date of the source object in the metadata store
+     * @param expandedObjectSupplier creates the expanded object if the cached one cannot be used
+     * @return the expanded object
+     */
+    public MCRExpandedObject getExpandedObject(MCRObjectID id, long lastModified,
+        Supplier<MCRExpandedObject> expandedObjectSupplier) {
         ReentrantReadWriteLock lock = idLocks.computeIfAbsent(id, idx -> new ReentrantReadWriteLock());
         Path expandedObjectPath = getExpandedObjectPath(id);
 
         try {
             lock.readLock().lock();
-            if (Files.exists(expandedObjectPath)) {
-                return readExpandedObject(expandedObjectPath);
+            MCRExpandedObject expandedObject = readExpandedObject(expandedObjectPath, lastModified);
+            if (expandedObject != null) {
+                return expandedObject;
             }
         } finally {
             lock.readLock().unlock();
         }
         try {
             lock.writeLock().lock();
-            if (Files.exists(expandedObjectPath)) {
-                return readExpandedObject(expandedObjectPath);
+            MCRExpandedObject expandedObject = readExpandedObject(expandedObjectPath, lastModified);
+            if (expandedObject != null) {
+                return expandedObject;
             }
             createParentPaths(expandedObjectPath);
-            MCRExpandedObject expandedObject = expandedObjectSupplier.get();
-            writeExpandedObject(expandedObject, expandedObjectPath);
+            expandedObject = expandedObjectSupplier.get();
+            writeExpandedObject(expandedObject, lastModified, expandedObjectPath);
             return expandedObject;
         } finally {
             lock.writeLock().unlock();
@@ -103,9 +139,8 @@ public final class MCRExpandedObjectCache {
         Path expandedObjectPath = getExpandedObjectPath(id);
         try {
             lock.writeLock().lock();
-            if (Files.exists(expandedObjectPath)) {
-                Files.delete(expandedObjectPath);
-            }
+            Files.deleteIfExists(expandedObjectPath);
+            Files.deleteIfExists(getExpandedObjectPath(id, LEGACY_FILE_SUFFIX));
         } catch (IOException e) {
             throw new MCRException(e);
         } finally {
@@ -115,20 +150,21 @@ public final class MCRExpandedObjectCache {
 
     // false negative: https://github.com/pmd/pmd/issues/4516
     @SuppressWarnings("PMD.UnusedLocalVariable")
-    private void writeExpandedObject(MCRExpandedObject expandedObject, Path expandedObjectPath) {
+    private void writeExpandedObject(MCRExpandedObject expandedObject, long lastModified,
+        Path expandedObjectPath) {
         LOGGER.info("Writing expanded object {} to cache.", expandedObject);
         try (FileChannel channel =
             FileChannel.open(expandedObjectPath, StandardOpenOption.WRITE,
                 StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.SYNC);
             FileLock fl = channel.lock()) {
-            XMLOutputter xmlOutput = new XMLOutputter(Format.getPrettyFormat());
-            String file = xmlOutput.outputString(expandedObject.createXML());
-            byte[] fileContent = file.getBytes(StandardCharsets.UTF_8);
-            ByteBuffer buffer = ByteBuffer.wrap(fileContent);
-            int written = channel.write(buffer);
-            if (written != fileContent.length) {
-                throw new MCRException("Could not write all bytes to file: " + expandedObjectPath);
-            }
+            // the streams are not closed, as this would close the channel before releasing the lock
+            DataOutputStream out = new DataOutputStream(Channels.newOutputStream(channel));
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(lastModified);
+            GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE);
+            new XMLOutputter(Format.getCompactFormat()).output(expandedObject.createXML(), gzip);
+            gzip.finish();
+            out.flush();
         } catch (IOException e) {
             throw new MCRException(e);
         }
@@ -145,6 +181,10 @@ public final class MCRExpandedObjectCache {
     }
 
     private Path getExpandedObjectPath(MCRObjectID id) {
+        return getExpandedObjectPath(id, FILE_SUFFIX);
+    }
+
+    private Path getExpandedObjectPath(MCRObjectID id, String suffix) {
         Objects.requireNonNull(id, "ID must not be null");
         String numberAsString = id.getNumberAsString();
         int folderSize = 3;
@@ -153,7 +193,7 @@ public final class MCRExpandedObjectCache {
         for (int i = 0; i < folders; i++) {
             boolean last = (i == folders - 1);
             String fileOrFolderName =
-                last ? id + ".xml"
+                last ? id + suffix
                     : numberAsString.substring(folderSize * i, Math.min(folderSize * i + 3, numberAsString.length()));
             result = result.resolve(fileOrFolderName);
         }
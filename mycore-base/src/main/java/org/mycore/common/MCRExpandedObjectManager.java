@@ -18,12 +18,16 @@
 
 package org.mycore.common;
 
+import java.io.IOException;
 import java.util.Map;
 import java.util.concurrent.Callable;
 
 import org.mycore.common.config.MCRConfiguration2;
+import org.mycore.datamodel.common.MCRXMLMetadataManager;
 import org.mycore.datamodel.metadata.MCRExpandedObject;
+import org.mycore.datamodel.metadata.MCRMetadataManager;
 import org.mycore.datamodel.metadata.MCRObject;
+import org.mycore.datamodel.metadata.MCRObjectID;
 
 /**
  * <p>Singleton class to manage the expansion of MCRObjects into MCRExpandedObjects. It uses
@@ -71,7 +75,40 @@ public final class MCRExpandedObjectManager {
      * @throws MCRException if an error occurs during the expansion process.
      */
     public MCRExpandedObject getExpandedObject(MCRObject object) {
-        return MCRExpandedObjectCache.getInstance().getExpandedObject(object.getId(), () -> expandObject(object));
+        long lastModified = getLastModified(object.getId());
+        if (lastModified < 0) {
+            // not stored (yet), so there is nothing to check the cache against
+            return expandObject(object);
+        }
+        return MCRExpandedObjectCache.getInstance().getExpandedObject(object.getId(), lastModified,
+            () -> expandObject(object));
+    }
+
+    /**
+     * Retrieves the expanded representation of the object with the given id.
+     * The {@link MCRExpandedObjectCache} is checked against the last modification date of the object in the
+     * metadata store, so the object itself is only retrieved if it has to be expanded.
+     *
+     * @param id The id of the MCRObject to expand.
+     * @return The MCRExpandedObject representing the expanded state of the object.
+     * @throws MCRPersistenceException if the object does not exist or could not be retrieved.
+     * @throws MCRException if an error occurs during the expansion process.
+     */
+    public MCRExpandedObject getExpandedObject(MCRObjectID id) {
+        long lastModified = getLastModified(id);
+        if (lastModified < 0) {
+            return expandObject(MCRMetadataManager.retrieveMCRObject(id));
+        }
+        return MCRExpandedObjectCache.getInstance().getExpandedObject(id, lastModified,
+            () -> expandObject(MCRMetadataManager.retrieveMCRObject(id)));
+    }
+
+    private static long getLastModified(MCRObjectID id) {
+        try {
+            return MCRXMLMetadataManager.obtainInstance().getLastModified(id);
+        } catch (IOException e) {
+            throw new MCRPersistenceException("Could not get last modified date of " + id, e);
+        }
     }
 
     /**
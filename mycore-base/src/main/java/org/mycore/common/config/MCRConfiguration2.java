@@ -25,7 +25,6 @@ import java.util.UUID;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -108,8 +107,6 @@ public class MCRConfiguration2 {
         .softValues()
         .build();
 
-    private static final AtomicReference<Map<String, String>> PROPERTIES = new AtomicReference<>(Map.of());
-
     static Map<SingletonKey, Object> instanceHolder = new MCRConcurrentHashMap<>();
 
     /**
@@ -127,16 +124,7 @@ public class MCRConfiguration2 {
      * only properties that are recognized by, for example, {@link #getString(String)}.
      */
     public static Map<String, String> getAllPropertiesMap() {
-        return PROPERTIES.updateAndGet(existingValue -> {
-            if (existingValue.isEmpty()) {
-                return MCRConfigurationBase.getAllPropertiesMap()
-                    .entrySet()
-                    .stream()
-                    .filter(entry -> !entry.getValue().isBlank())
-                    .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> entry.getValue().trim()));
-            }
-            return existingValue;
-        });
+        return MCRConfigurationBase.getSnapshot().getValues();
     }
 
     /**
@@ -171,11 +159,7 @@ public class MCRConfiguration2 {
      * @return a map of the properties as stated above
      */
     public static Map<String, String> getSubpropertiesMap(String propertyPrefix) {
-        return getAllPropertiesMap()
-            .entrySet()
-            .stream()
-            .filter(e -> e.getKey().startsWith(propertyPrefix))
-            .collect(Collectors.toMap(e -> e.getKey().substring(propertyPrefix.length()), Map.Entry::getValue));
+        return new HashMap<>(MCRConfigurationBase.getSnapshot().getSubvalues(propertyPrefix));
     }
 
     /**
@@ -288,7 +272,7 @@ public class MCRConfiguration2 {
      *             if the class can not be loaded or instantiated
      */
     public static <T> Optional<Class<? extends T>> getClass(String name) throws MCRConfigurationException {
-        return getString(name).map(MCRConfiguration2::<T>getClassObject);
+        return MCRConfigurationBase.getValue(name, "class", MCRConfiguration2::<T>getClassObject);
     }
 
     /**
@@ -399,7 +383,7 @@ public class MCRConfiguration2 {
      *             if the configuration property is not an <CODE>int</CODE> value
      */
     public static Optional<Integer> getInt(String name) throws NumberFormatException {
-        return getString(name).map(Integer::parseInt);
+        return MCRConfigurationBase.getValue(name, "int", Integer::parseInt);
     }
 
     /**
@@ -413,7 +397,7 @@ public class MCRConfiguration2 {
      *             if the configuration property is not a <CODE>long</CODE> value
      */
     public static Optional<Long> getLong(String name) throws NumberFormatException {
-        return getString(name).map(Long::parseLong);
+        return MCRConfigurationBase.getValue(name, "long", Long::parseLong);
     }
 
     /**
@@ -427,7 +411,7 @@ public class MCRConfiguration2 {
      *             if the configuration property is not a <CODE>float</CODE> value
      */
     public static Optional<Float> getFloat(String name) throws NumberFormatException {
-        return getString(name).map(Float::parseFloat);
+        return MCRConfigurationBase.getValue(name, "float", Float::parseFloat);
     }
 
     /**
@@ -442,7 +426,7 @@ public class MCRConfiguration2 {
      *             if the configuration property is not a <CODE>double</CODE> value
      */
     public static Optional<Double> getDouble(String name) throws NumberFormatException {
-        return getString(name).map(Double::parseDouble);
+        return MCRConfigurationBase.getValue(name, "double", Double::parseDouble);
     }
 
     /**
@@ -454,7 +438,7 @@ public class MCRConfiguration2 {
      * @return <CODE>true</CODE>, if and only if the specified property has the value <CODE>true</CODE>
      */
     public static Optional<Boolean> getBoolean(String name) {
-        return getString(name).map(Boolean::parseBoolean);
+        return MCRConfigurationBase.getValue(name, "boolean", Boolean::parseBoolean);
     }
 
     /**
@@ -528,9 +512,6 @@ public class MCRConfiguration2 {
     }
 
     static void clearCaches() {
-        // BEWARE: do NOT replace with constant value, i.e. do NOT replace with PROPERTIES.set(Map.of());
-        // AtomicReference#updateAndGet only works as expected, when each update sets a distinct value
-        PROPERTIES.set(new HashMap<>());
         CONFIGURATIONS.invalidateAll();
     }
 
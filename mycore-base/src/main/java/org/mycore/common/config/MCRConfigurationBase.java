@@ -26,10 +26,12 @@ import java.io.StringWriter;
 import java.nio.file.Files;
 import java.nio.file.attribute.FileTime;
 import java.time.Instant;
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -60,6 +62,13 @@ public final class MCRConfigurationBase {
      */
     private static MCRProperties deprecatedProperties = new MCRProperties();
 
+    private static final AtomicLong VERSION = new AtomicLong();
+
+    /**
+     * Immutable view of resolvedProperties, replaced whenever they change.
+     */
+    private static volatile MCRConfigurationSnapshot snapshot = new MCRConfigurationSnapshot(0, Map.of());
+
     private static File lastModifiedFile;
 
     static {
@@ -83,6 +92,14 @@ public final class MCRConfigurationBase {
         return lastModifiedFile.lastModified();
     }
 
+    /**
+     * Returns the version of the configuration properties. The version increases whenever a property is changed,
+     * so caches of values computed from properties can compare it to detect changes.
+     */
+    public static long getVersion() {
+        return snapshot.getVersion();
+    }
+
     /**
      * signalize that the system state has changed. Call this method when ever you changed the persistency layer.
      */
@@ -165,6 +182,7 @@ public final class MCRConfigurationBase {
         MCRProperties tmpProperties = MCRProperties.ofProperties(getBaseProperties());
         MCRPropertiesResolver resolver = new MCRPropertiesResolver(tmpProperties);
         resolvedProperties = MCRProperties.ofProperties(resolver.resolveAll(tmpProperties));
+        snapshot = new MCRConfigurationSnapshot(VERSION.incrementAndGet(), resolvedProperties.getAsMap());
     }
 
     private static void checkForDeprecatedProperties(Map<String, String> props) {
@@ -192,12 +210,16 @@ public final class MCRConfigurationBase {
         return resolvedProperties;
     }
 
+    static MCRConfigurationSnapshot getSnapshot() {
+        return snapshot;
+    }
+
     /**
      * Returns all configuration properties (provided by {@link MCRConfigurationBase#getResolvedProperties()})
-     * as an unmodifiable map.
+     * as an unmodifiable map. The map does not change, if properties are changed later.
      */
     public static Map<String, String> getAllPropertiesMap() {
-        return Collections.unmodifiableMap(getResolvedProperties().getAsMap());
+        return getSnapshot().getProperties();
     }
 
     /**
@@ -222,11 +244,7 @@ public final class MCRConfigurationBase {
      * @return a map of the properties as stated above
      */
     public static Map<String, String> getSubpropertiesMap(String propertyPrefix) {
-        return getAllPropertiesMap()
-            .entrySet()
-            .stream()
-            .filter(e -> e.getKey().startsWith(propertyPrefix))
-            .collect(Collectors.toMap(e -> e.getKey().substring(propertyPrefix.length()), Map.Entry::getValue));
+        return new HashMap<>(getSnapshot().getSubproperties(propertyPrefix));
     }
 
     private static MCRProperties getBaseProperties() {
@@ -247,6 +265,30 @@ public final class MCRConfigurationBase {
      *             if the properties are not initialized
      */
     public static Optional<String> getString(String name) {
+        checkName(name);
+        return getStringUnchecked(name);
+    }
+
+    /**
+     * Returns the trimmed, non-empty value of the configuration property with the specified name converted by
+     * <code>parser</code>. The converted value is cached until the configuration changes.
+     *
+     * @param name
+     *            the non-null and non-empty name of the configuration property
+     * @param type
+     *            a name of the converted type, distinguishes different conversions of the same property
+     * @param parser
+     *            converts the value, must not depend on anything but the value
+     * @throws MCRConfigurationException
+     *             if the properties are not initialized
+     */
+    static <T> Optional<T> getValue(String name, String type, Function<String, ? extends T> parser) {
+        checkName(name);
+        checkForDeprecatedProperty(name);
+        return getSnapshot().getValue(name, type, parser);
+    }
+
+    private static void checkName(String name) {
         if (Objects.requireNonNull(name, "MyCoRe property name must not be null.").isBlank()) {
             throw new MCRConfigurationException("MyCoRe property name must not be empty.");
         }
@@ -257,12 +299,11 @@ public final class MCRConfigurationBase {
         if (getBaseProperties().isEmpty()) {
             throw new MCRConfigurationException("MCRConfiguration is still not initialized");
         }
-        return getStringUnchecked(name);
     }
 
     static Optional<String> getStringUnchecked(String name) {
         checkForDeprecatedProperty(name);
-        return Optional.ofNullable(getResolvedProperties().getProperty(name, null));
+        return getSnapshot().getString(name);
     }
 
     /**
@@ -0,0 +1,162 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.common.config;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Immutable state of the resolved configuration properties.
+ * <p>
+ * {@link MCRConfigurationBase} replaces the snapshot as a whole whenever a property changes, so readers always see
+ * a consistent set of properties without locking. The properties are sorted by name, so all properties with a
+ * common prefix are found by a range lookup instead of a scan of all properties. Sub property maps and parsed values
+ * are cached for the lifetime of the snapshot.
+ */
+final class MCRConfigurationSnapshot {
+
+    // caches are not filled beyond this size, to protect against prefixes or names created from request data
+    private static final int MAX_CACHE_SIZE = 4096;
+
+    private final long version;
+
+    private final NavigableMap<String, String> properties;
+
+    private final NavigableMap<String, String> values;
+
+    private final Map<String, Map<String, String>> subproperties = new ConcurrentHashMap<>();
+
+    private final Map<String, Map<String, String>> subvalues = new ConcurrentHashMap<>();
+
+    private final Map<ParsedValueKey, Optional<?>> parsedValues = new ConcurrentHashMap<>();
+
+    MCRConfigurationSnapshot(long version, Map<String, String> properties) {
+        this.version = version;
+        NavigableMap<String, String> sorted = new TreeMap<>();
+        NavigableMap<String, String> nonBlank = new TreeMap<>();
+        properties.forEach((name, value) -> {
+            sorted.put(name, value);
+            if (!value.isBlank()) {
+                nonBlank.put(name, value.trim());
+            }
+        });
+        this.properties = Collections.unmodifiableNavigableMap(sorted);
+        this.values = Collections.unmodifiableNavigableMap(nonBlank);
+    }
+
+    /**
+     * @return the version of the configuration, a new snapshot always has a higher version
+     */
+    long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return all properties
+     */
+    NavigableMap<String, String> getProperties() {
+        return properties;
+    }
+
+    /**
+     * @return all properties with non-blank values, the values are trimmed
+     */
+    NavigableMap<String, String> getValues() {
+        return values;
+    }
+
+    Optional<String> getString(String name) {
+        return Optional.ofNullable(properties.get(name));
+    }
+
+    /**
+     * Returns the properties starting with <code>prefix</code>, with keys relative to it.
+     *
+     * @return an unmodifiable map
+     */
+    Map<String, String> getSubproperties(String prefix) {
+        return getCached(subproperties, prefix, p -> subMap(properties, p));
+    }
+
+    /**
+     * Same as {@link #getSubproperties(String)} but with the properties of {@link #getValues()}.
+     *
+     * @return an unmodifiable map
+     */
+    Map<String, String> getSubvalues(String prefix) {
+        return getCached(subvalues, prefix, p -> subMap(values, p));
+    }
+
+    /**
+     * Returns the trimmed, non-empty value of a property converted by <code>parser</code>. The result is cached per
+     * property name and type, exceptions thrown by the parser are not.
+     *
+     * @param name the name of the property
+     * @param type a name of the result type, e.g. "int"
+     * @param parser converts the value
+     */
+    @SuppressWarnings("unchecked")
+    <T> Optional<T> getValue(String name, String type, Function<String, ? extends T> parser) {
+        ParsedValueKey key = new ParsedValueKey(name, type);
+        Optional<?> value = parsedValues.get(key);
+        if (value == null) {
+            value = getString(name)
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .map(parser);
+            if (parsedValues.size() < MAX_CACHE_SIZE) {
+                parsedValues.putIfAbsent(key, value);
+            }
+        }
+        return (Optional<T>) value;
+    }
+
+    private static Map<String, String> getCached(Map<String, Map<String, String>> cache, String prefix,
+        Function<String, Map<String, String>> mapper) {
+        Map<String, String> result = cache.get(prefix);
+        if (result == null) {
+            result = mapper.apply(prefix);
+            if (cache.size() < MAX_CACHE_SIZE) {
+                cache.putIfAbsent(prefix, result);
+            }
+        }
+        return result;
+    }
+
+    private static Map<String, String> subMap(NavigableMap<String, String> map, String prefix) {
+        Map<String, String> result = new HashMap<>();
+        for (Map.Entry<String, String> entry : map.tailMap(prefix, true).entrySet()) {
+            if (!entry.getKey().startsWith(prefix)) {
+                break;
+            }
+            result.put(entry.getKey().substring(prefix.length()), entry.getValue());
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    private record ParsedValueKey(String name, String type) {
+    }
+
+}
@@ -0,0 +1,398 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.common.events;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.mycore.common.MCRScopedSession;
+import org.mycore.common.MCRSession;
+import org.mycore.common.MCRSessionMgr;
+import org.mycore.common.MCRSystemUserInformation;
+import org.mycore.common.MCRTransactionManager;
+import org.mycore.datamodel.metadata.MCRBase;
+import org.mycore.services.mbeans.MCRJMXBridge;
+import org.mycore.util.concurrent.MCRTransactionableRunnable;
+
+/**
+ * Runs an event handler outside the thread that caused the event. Events are queued after the transaction of the
+ * event source was committed and are processed in batches by a background thread, one transaction per batch. Queued
+ * events of the same type for the same object are coalesced, so the handler only sees the latest state of an object
+ * that was updated several times in a row.
+ * <p>
+ * An event handler is made asynchronous by setting <code>MCR.EventHandler.{type}.{number}.Async=true</code>. As the
+ * handler runs after the event source returned, it cannot veto a change and its
+ * {@link MCREventHandler#undoHandleEvent(MCREvent) undo} is never called. Events are kept in memory only; queued
+ * events are processed before the application shuts down.
+ *
+ * @see MCREventManager
+ */
+public final class MCRAsyncEventHandler
+    implements MCREventHandler, MCRAsyncEventHandlerMBean, MCRShutdownHandler.Closeable {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final Set<MCREvent.EventType> COALESCED_EVENT_TYPES = EnumSet.of(MCREvent.EventType.UPDATE,
+        MCREvent.EventType.REPAIR, MCREvent.EventType.INDEX, MCREvent.EventType.ANCESTOR_UPDATED);
+
+    private final MCREventHandler handler;
+
+    private final String name;
+
+    private final int batchSize;
+
+    private final long delay;
+
+    private final Deque<Entry> queue = new ArrayDeque<>();
+
+    private final Map<String, Entry> latestEntries = new HashMap<>();
+
+    private final ReentrantLock queueLock = new ReentrantLock();
+
+    private final Condition queueChanged = queueLock.newCondition();
+
+    private final ReentrantLock processingLock = new ReentrantLock();
+
+    private final AtomicLong processed = new AtomicLong();
+
+    private final AtomicLong coalesced = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    private Thread worker;
+
+    private boolean closed;
+
+    /**
+     * @param handler the event handler to run asynchronously
+     * @param batchSize the maximum number of events processed in one transaction
+     * @param delay milliseconds an event waits in the queue for further events of the same object
+     */
+    MCRAsyncEventHandler(MCREventHandler handler, int batchSize, long delay) {
+        this.handler = handler;
+        this.name = handler.getClass().getName();
+        this.batchSize = batchSize;
+        this.delay = delay;
+    }
+
+    /**
+     * Starts the background thread, registers the metrics and processes remaining events on shutdown.
+     */
+    void start() {
+        worker = Thread.ofPlatform().name("MCRAsyncEventHandler-" + name).daemon().start(this::work);
+        MCRJMXBridge.register(this, "MCRAsyncEventHandler", name);
+        MCRShutdownHandler.getInstance().addCloseable(this);
+    }
+
+    /**
+     * @return the event handler that is run asynchronously
+     */
+    public MCREventHandler getEventHandler() {
+        return handler;
+    }
+
+    /**
+     * Queues the event when the current transaction is committed or immediately, if there is no active transaction.
+     */
+    @Override
+    public void doHandleEvent(MCREvent evt) {
+        if (MCRTransactionManager.hasActiveTransactions()) {
+            MCRSessionMgr.getCurrentSession().onCommit(() -> enqueue(evt));
+        } else {
+            enqueue(evt);
+        }
+    }
+
+    /**
+     * Does nothing, as queued events are handled after the event source succeeded.
+     */
+    @Override
+    public void undoHandleEvent(MCREvent evt) {
+        LOGGER.debug("Ignoring undo of asynchronous event handler {}", name);
+    }
+
+    void enqueue(MCREvent evt) {
+        String key = getKey(evt);
+        queueLock.lock();
+        try {
+            if (!closed) {
+                addToQueue(key, evt);
+                return;
+            }
+        } finally {
+            queueLock.unlock();
+        }
+        // events after shutdown started are handled directly
+        if (process(new Entry(key, evt, System.currentTimeMillis()))) {
+            processed.incrementAndGet();
+        } else {
+            failed.incrementAndGet();
+        }
+    }
+
+    private void addToQueue(String key, MCREvent evt) {
+        Entry latest = key == null ? null : latestEntries.get(key);
+        if (latest != null && canCoalesce(latest.event, evt)) {
+            latest.event = coalesce(latest.event, evt);
+            coalesced.incrementAndGet();
+            return;
+        }
+        Entry entry = new Entry(key, evt, System.currentTimeMillis());
+        queue.add(entry);
+        if (key != null) {
+            latestEntries.put(key, entry);
+        }
+        queueChanged.signalAll();
+    }
+
+    /**
+     * Processes all queued events in the calling thread.
+     */
+    public void flush() {
+        while (processBatch() > 0) {
+            LOGGER.debug("Flushed batch of {}", name);
+        }
+    }
+
+    @Override
+    public int getQueueSize() {
+        queueLock.lock();
+        try {
+            return queue.size();
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    @Override
+    public long getLag() {
+        queueLock.lock();
+        try {
+            Entry first = queue.peekFirst();
+            return first == null ? 0 : System.currentTimeMillis() - first.time;
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    @Override
+    public long getProcessed() {
+        return processed.get();
+    }
+
+    @Override
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    @Override
+    public long getFailed() {
+        return failed.get();
+    }
+
+    @Override
+    public void close() {
+        queueLock.lock();
+        try {
+            closed = true;
+            queueChanged.signalAll();
+        } finally {
+            queueLock.unlock();
+        }
+        if (worker == null) {
+            flush();
+            return;
+        }
+        LOGGER.info("Processing {} remaining events of {}", this::getQueueSize, () -> name);
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MCRAsyncEventHandler[" + handler.getClass().getName() + "]";
+    }
+
+    private static String getKey(MCREvent evt) {
+        Object subject = switch (evt.getObjectType()) {
+            case OBJECT -> evt.get(MCREvent.OBJECT_KEY);
+            case DERIVATE -> evt.get(MCREvent.DERIVATE_KEY);
+            default -> null;
+        };
+        return subject instanceof MCRBase base ? evt.getObjectType() + ":" + base.getId() : null;
+    }
+
+    private static boolean canCoalesce(MCREvent queued, MCREvent evt) {
+        return queued.getEventType() == evt.getEventType() && COALESCED_EVENT_TYPES.contains(evt.getEventType());
+    }
+
+    private static MCREvent coalesce(MCREvent queued, MCREvent evt) {
+        // the handler has not seen the state before the latest event, so keep the one before the first event
+        String oldKey = evt.getObjectType() == MCREvent.ObjectType.OBJECT ? MCREvent.OBJECT_OLD_KEY
+            : MCREvent.DERIVATE_OLD_KEY;
+        Object oldState = queued.get(oldKey);
+        if (oldState != null) {
+            evt.put(oldKey, oldState);
+        }
+        return evt;
+    }
+
+    private void work() {
+        try {
+            while (awaitBatch()) {
+                processBatch();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        LOGGER.info("Stopped asynchronous event handler {}", name);
+    }
+
+    /**
+     * Waits until the oldest event was queued for at least {@link #delay} milliseconds.
+     *
+     * @return false if the handler was closed and all events are processed
+     */
+    private boolean awaitBatch() throws InterruptedException {
+        queueLock.lock();
+        try {
+            while (true) {
+                Entry first = queue.peekFirst();
+                if (first == null) {
+                    if (closed) {
+                        return false;
+                    }
+                    queueChanged.await();
+                    continue;
+                }
+                long wait = closed ? 0 : first.time + delay - System.currentTimeMillis();
+                if (wait <= 0) {
+                    return true;
+                }
+                queueChanged.await(wait, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    /**
+     * Processes the next batch of events in one transaction. If the transaction fails, all events of the batch
+     * count as failed, as their changes were rolled back.
+     *
+     * @return the number of events taken from the queue
+     */
+    private int processBatch() {
+        processingLock.lock();
+        try {
+            List<Entry> batch = pollBatch();
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            AtomicInteger succeeded = new AtomicInteger();
+            try {
+                new MCRTransactionableRunnable(() -> {
+                    runAsJanitor(() -> batch.stream().filter(this::process).forEach(e -> succeeded.incrementAndGet()));
+                    // commit here, as MCRTransactionableRunnable only logs a failed commit
+                    MCRTransactionManager.commitTransactions();
+                }).run();
+                processed.addAndGet(succeeded.get());
+                failed.addAndGet(batch.size() - succeeded.get());
+            } catch (RuntimeException e) {
+                failed.addAndGet(batch.size());
+                LOGGER.error("Error while processing {} events of {}, the events are lost", batch.size(), name, e);
+            }
+            return batch.size();
+        } finally {
+            processingLock.unlock();
+        }
+    }
+
+    private List<Entry> pollBatch() {
+        queueLock.lock();
+        try {
+            List<Entry> batch = new ArrayList<>(Math.min(batchSize, queue.size()));
+            while (batch.size() < batchSize && !queue.isEmpty()) {
+                Entry entry = queue.poll();
+                if (entry.key != null) {
+                    latestEntries.remove(entry.key, entry);
+                }
+                batch.add(entry);
+            }
+            return batch;
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    /**
+     * @return true, if the event handler succeeded
+     */
+    private boolean process(Entry entry) {
+        try {
+            handler.doHandleEvent(entry.event);
+            return true;
+        } catch (RuntimeException e) {
+            LOGGER.error("Error while handling {} in asynchronous event handler {}", entry.event, name, e);
+            return false;
+        }
+    }
+
+    private static void runAsJanitor(Runnable task) {
+        MCRSession session = MCRSessionMgr.getCurrentSession();
+        if (session instanceof MCRScopedSession scopedSession) {
+            scopedSession.doAs(new MCRScopedSession.ScopedValues(MCRSystemUserInformation.JANITOR), task);
+        } else {
+            task.run();
+        }
+    }
+
+    private static final class Entry {
+
+        private final String key;
+
+        private final long time;
+
+        private MCREvent event;
+
+        private Entry(String key, MCREvent event, long time) {
+            this.key = key;
+            this.event = event;
+            this.time = time;
+        }
+
+    }
+
+}
@@ -0,0 +1,42 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.common.events;
+
+/**
+ * Metrics of the queue of an {@link MCRAsyncEventHandler}.
+ */
+public interface MCRAsyncEventHandlerMBean {
+
+    /**
+     * @return number of events waiting to be processed
+     */
+    int getQueueSize();
+
+    /**
+     * @return milliseconds the oldest waiting event is in the queue, 0 if the queue is empty
+     */
+    long getLag();
+
+    long getProcessed();
+
+    long getCoalesced();
+
+    long getFailed();
+
+}
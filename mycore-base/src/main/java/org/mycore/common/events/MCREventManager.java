@@ -35,7 +35,11 @@ import org.mycore.common.config.MCRConfigurationBase;
  * Acts as a multiplexer to forward events that are created to all registered
  * event handlers, in the order that is configured in mycore properties. For
  * information how to configure, see MCREventHandler javadocs.
+ * <p>
+ * Event handlers configured with <code>MCR.EventHandler.{type}.{number}.Async=true</code> are wrapped in an
+ * {@link MCRAsyncEventHandler}. They receive an event after all synchronous handlers handled it successfully.
  *
+ * @see MCRAsyncEventHandler
  * @see MCREventHandler
  * @see MCREventHandlerBase
  *
@@ -51,13 +55,19 @@ public final class MCREventManager {
     /** Call event handlers in backward direction (delete) */
     public static final boolean BACKWARD = false;
 
+    private static final String ASYNC_CONFIG_PREFIX = "MCR.EventManager.Async.";
+
     private static final Logger LOGGER = LogManager.getLogger();
 
     /** Table of all configured event handlers * */
     private final Map<String, List<MCREventHandler>> handlers;
 
+    /** Asynchronous wrappers by event handler, shared by all types the handler is configured for */
+    private final Map<MCREventHandler, MCRAsyncEventHandler> asyncHandlers;
+
     private MCREventManager() {
         handlers = new ConcurrentHashMap<>();
+        asyncHandlers = new ConcurrentHashMap<>();
 
         // collect all properties like 'MCR.EventHandler.{type}.{number}.Class,
         // but without the leading 'MCR.EventHandler.'
@@ -85,7 +95,12 @@ public final class MCREventManager {
             LOGGER.debug("EventManager instantiating handler {} for type {}",
                 () -> propertyKeySuffixes.get(propertyKeySuffix), () -> type);
 
-            addEventHandler(type, getEventHandler(fullPropertyKey));
+            MCREventHandler eventHandler = getEventHandler(fullPropertyKey);
+            String asyncPropertyKey = fullPropertyKey.substring(0, fullPropertyKey.lastIndexOf('.')) + ".Async";
+            if (MCRConfiguration2.getBoolean(asyncPropertyKey).orElse(false)) {
+                eventHandler = asyncHandlers.computeIfAbsent(eventHandler, this::createAsyncEventHandler);
+            }
+            addEventHandler(type, eventHandler);
 
         }
     }
@@ -106,6 +121,15 @@ public final class MCREventManager {
         return new MCREventManager();
     }
 
+    private MCRAsyncEventHandler createAsyncEventHandler(MCREventHandler eventHandler) {
+        LOGGER.info("Handling events asynchronously in {}", eventHandler.getClass().getName());
+        MCRAsyncEventHandler asyncHandler = new MCRAsyncEventHandler(eventHandler,
+            MCRConfiguration2.getInt(ASYNC_CONFIG_PREFIX + "BatchSize").orElse(100),
+            MCRConfiguration2.getLong(ASYNC_CONFIG_PREFIX + "Delay").orElse(1000L));
+        asyncHandler.start();
+        return asyncHandler;
+    }
+
     private List<MCREventHandler> getOrCreateEventHandlerListOfType(String type) {
         return handlers.computeIfAbsent(type, k -> new ArrayList<>());
     }
@@ -117,6 +141,8 @@ public final class MCREventManager {
      * undoHandleEvent methods of all event handlers that are at a position
      * BEFORE the failed one, will be called in reversed order. The parameter
      * direction controls the order in which the event handlers are called.
+     * Asynchronous event handlers are called after all other handlers succeeded
+     * and do not take part in the rollback.
      *
      * @see MCREventHandler#doHandleEvent
      * @see MCREventHandlerBase
@@ -143,6 +169,11 @@ public final class MCREventManager {
             String msg = "Exception caught in EventHandler, rollback by calling undo of successfull handlers done.";
             throw new MCRException(msg, handleEventExceptionCaught);
         }
+        for (MCREventHandler eh : list) {
+            if (eh instanceof MCRAsyncEventHandler asyncHandler) {
+                asyncHandler.doHandleEvent(evt);
+            }
+        }
     }
 
     private Exception processEventHandlersAndUndo(MCREvent evt, boolean direction, int undoPos) {
@@ -158,6 +189,9 @@ public final class MCREventManager {
         Exception handleEventExceptionCaught = null;
         for (int i = first; i != last + step; i += step) {
             MCREventHandler eh = list.get(i);
+            if (eh instanceof MCRAsyncEventHandler) {
+                continue;
+            }
             LOGGER.debug("EventManager {} {} calling handler {}", () -> objectType, () -> eventType,
                 () -> eh.getClass().getName());
             handleEventExceptionCaught = handleEventAndUndoOnException(eh, evt);
@@ -186,6 +220,9 @@ public final class MCREventManager {
     }
 
     private void rollbackByUndoingHandlers(MCREventHandler eh, MCREvent evt) {
+        if (eh instanceof MCRAsyncEventHandler) {
+            return;
+        }
         final String objectType = evt.getObjectType() == MCREvent.ObjectType.CUSTOM ? evt.getCustomObjectType()
             : evt.getObjectType().getClassName();
         final String eventType = evt.getEventType() == MCREvent.EventType.CUSTOM ? evt.getCustomEventType()
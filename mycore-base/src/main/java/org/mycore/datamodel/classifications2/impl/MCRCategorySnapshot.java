@@ -0,0 +1,312 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.datamodel.classifications2.impl;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.mycore.datamodel.classifications2.MCRCategory;
+import org.mycore.datamodel.classifications2.MCRCategoryID;
+import org.mycore.datamodel.classifications2.MCRLabel;
+
+/**
+ * Immutable, memory compact copy of a whole classification.
+ * <p>
+ * The categories are stored in pre-order in primitive arrays, so the subtree of a category is the range from its own
+ * index to {@link #end} of that index. Labels are stored in one table per language. Every read returns new
+ * {@link MCRCategoryImpl} instances that are shaped like the ones built from the prefetch queries of
+ * {@link MCRCategoryDAOImpl}, so callers are free to modify them.
+ */
+final class MCRCategorySnapshot {
+
+    private final String rootID;
+
+    private final MCRCategoryID[] ids;
+
+    private final int[] internalIDs;
+
+    private final int[] left;
+
+    private final int[] right;
+
+    private final int[] level;
+
+    private final int[] parent;
+
+    private final int[] end;
+
+    private final URI[] uris;
+
+    private final Map<String, String[]> texts;
+
+    private final Map<String, String[]> descriptions;
+
+    private final int[] sortedByID;
+
+    private MCRCategorySnapshot(String rootID, List<MCRCategoryImpl> categories) {
+        int size = categories.size();
+        this.rootID = rootID;
+        this.ids = new MCRCategoryID[size];
+        this.internalIDs = new int[size];
+        this.left = new int[size];
+        this.right = new int[size];
+        this.level = new int[size];
+        this.parent = new int[size];
+        this.end = new int[size];
+        this.uris = new URI[size];
+        this.texts = new HashMap<>();
+        this.descriptions = new HashMap<>();
+        Map<MCRCategory, Integer> indexes = new IdentityHashMap<>();
+        for (int i = 0; i < size; i++) {
+            MCRCategoryImpl category = categories.get(i);
+            indexes.put(category, i);
+            ids[i] = new MCRCategoryID(rootID, category.getId().getId().intern());
+            internalIDs[i] = category.getInternalID();
+            left[i] = category.getLeft();
+            right[i] = category.getRight();
+            level[i] = category.getLevel();
+            parent[i] = i == 0 ? -1 : indexes.get(category.getParent());
+            uris[i] = category.getURI();
+            for (MCRLabel label : category.getLabels()) {
+                String lang = label.getLang().intern();
+                texts.computeIfAbsent(lang, l -> new String[size])[i] = label.getText();
+                if (label.getDescription() != null) {
+                    descriptions.computeIfAbsent(lang, l -> new String[size])[i] = label.getDescription();
+                }
+            }
+        }
+        for (int i = size - 1; i >= 0; i--) {
+            end[i] = Math.max(end[i], i + 1);
+            if (parent[i] >= 0) {
+                end[parent[i]] = Math.max(end[parent[i]], end[i]);
+            }
+        }
+        this.sortedByID = IntStream.range(0, size)
+            .boxed()
+            .sorted(Comparator.comparing(i -> ids[i].getId()))
+            .mapToInt(Integer::intValue)
+            .toArray();
+    }
+
+    /**
+     * Creates a snapshot of a classification.
+     *
+     * @param rootID the id of the classification
+     * @param root the classification with all of its categories or null if it does not exist
+     */
+    static MCRCategorySnapshot of(String rootID, MCRCategory root) {
+        List<MCRCategoryImpl> categories = new ArrayList<>();
+        if (root != null) {
+            Deque<MCRCategory> stack = new ArrayDeque<>();
+            stack.push(root);
+            while (!stack.isEmpty()) {
+                MCRCategory category = stack.pop();
+                categories.add((MCRCategoryImpl) category);
+                category.getChildren().reversed().forEach(stack::push);
+            }
+        }
+        return new MCRCategorySnapshot(rootID, categories);
+    }
+
+    /**
+     * @return the id of the classification
+     */
+    String getRootID() {
+        return rootID;
+    }
+
+    /**
+     * @return number of categories including the classification itself, 0 if the classification does not exist
+     */
+    int size() {
+        return ids.length;
+    }
+
+    boolean exist(MCRCategoryID id) {
+        return indexOf(id) >= 0;
+    }
+
+    boolean hasChildren(MCRCategoryID id) {
+        int node = indexOf(id);
+        return node >= 0 && end[node] > node + 1;
+    }
+
+    /**
+     * @see MCRCategoryDAOImpl#getCategory(MCRCategoryID, int)
+     */
+    MCRCategory getCategory(MCRCategoryID id, int childLevel) {
+        int node = indexOf(id);
+        if (node < 0) {
+            return null;
+        }
+        int endLevel = childLevel < 0 ? Integer.MAX_VALUE : level[node] + childLevel;
+        IntStream subtree = IntStream.range(node, end[node]).filter(i -> level[i] <= endLevel);
+        int[] nodes = node == 0 ? subtree.toArray() : IntStream.concat(IntStream.of(0), subtree).toArray();
+        return materialize(nodes, node);
+    }
+
+    /**
+     * @see MCRCategoryDAOImpl#getParents(MCRCategoryID)
+     */
+    List<MCRCategory> getParents(MCRCategoryID id) {
+        int node = indexOf(id);
+        if (node < 0) {
+            return null;
+        }
+        MCRCategory category = materialize(withAncestors(node), node);
+        List<MCRCategory> parents = new ArrayList<>();
+        while (category.getParent() != null) {
+            category = category.getParent();
+            parents.add(category);
+        }
+        return parents;
+    }
+
+    /**
+     * Returns all categories below and including <code>baseID</code> that have a label with the given text. The
+     * categories are connected to their ancestors, but their children are not included.
+     *
+     * @param baseID the category to search in or null for the whole classification
+     */
+    List<MCRCategory> getCategoriesByLabel(MCRCategoryID baseID, String lang, String text) {
+        String[] langTexts = texts.get(lang);
+        int node = baseID == null ? 0 : indexOf(baseID);
+        if (langTexts == null || node < 0 || size() == 0) {
+            return new ArrayList<>();
+        }
+        return IntStream.range(node, end[node])
+            .filter(i -> text.equals(langTexts[i]))
+            .mapToObj(i -> (MCRCategory) materialize(withAncestors(i), i))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns all categories that have a label in the given language. The categories are connected to their
+     * ancestors, but their children are not included.
+     */
+    List<MCRCategory> getCategoriesByLang(String lang) {
+        String[] langTexts = texts.get(lang);
+        if (langTexts == null) {
+            return new ArrayList<>();
+        }
+        return IntStream.range(0, size())
+            .filter(i -> langTexts[i] != null)
+            .mapToObj(i -> (MCRCategory) materialize(withAncestors(i), i))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * @return the classification without its categories
+     */
+    MCRCategory getRootCategory() {
+        return size() == 0 ? null : materialize(new int[] { 0 }, 0);
+    }
+
+    private int indexOf(MCRCategoryID id) {
+        if (!rootID.equals(id.getRootID())) {
+            return -1;
+        }
+        String categID = id.getId();
+        int low = 0;
+        int high = sortedByID.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = ids[sortedByID[mid]].getId().compareTo(categID);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return sortedByID[mid];
+            }
+        }
+        return -1;
+    }
+
+    private int[] withAncestors(int node) {
+        int count = 0;
+        for (int i = node; i >= 0; i = parent[i]) {
+            count++;
+        }
+        int[] nodes = new int[count];
+        for (int i = node; i >= 0; i = parent[i]) {
+            nodes[--count] = i;
+        }
+        return nodes;
+    }
+
+    /**
+     * Builds connected categories like {@link MCRCategoryDTO#merge(MCRCategoryImpl)} does.
+     *
+     * @param nodes indexes in pre-order, starting with the classification
+     * @param returnNode the index of the category to return
+     */
+    private MCRCategoryImpl materialize(int[] nodes, int returnNode) {
+        MCRCategoryImpl predecessor = null;
+        MCRCategoryImpl result = null;
+        for (int node : nodes) {
+            MCRCategoryImpl category = toCategory(node);
+            if (predecessor != null) {
+                MCRCategory parentCategory = predecessor;
+                while (parentCategory.getLevel() >= level[node]) {
+                    parentCategory = parentCategory.getParent();
+                }
+                parentCategory.getChildren().add(category);
+                category.setLevel(level[node]);
+            }
+            predecessor = category;
+            if (node == returnNode) {
+                result = category;
+            }
+        }
+        return result;
+    }
+
+    private MCRCategoryImpl toCategory(int node) {
+        MCRCategoryImpl category = new MCRCategoryImpl();
+        category.setInternalID(internalIDs[node]);
+        category.setURI(uris[node]);
+        category.setId(ids[node]);
+        if (node == 0) {
+            category.setRoot(category);
+        }
+        category.setLeft(left[node]);
+        category.setRight(right[node]);
+        category.setLevel(level[node]);
+        category.setChildren(new ArrayList<>());
+        texts.forEach((lang, langTexts) -> {
+            if (langTexts[node] != null) {
+                String[] langDescriptions = descriptions.get(lang);
+                String description = langDescriptions == null ? null : langDescriptions[node];
+                category.getLabels().add(new MCRLabel(lang, langTexts[node], description));
+            }
+        });
+        return category;
+    }
+
+}
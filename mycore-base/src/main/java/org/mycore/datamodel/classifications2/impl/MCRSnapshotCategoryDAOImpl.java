@@ -0,0 +1,254 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.datamodel.classifications2.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.mycore.backend.jpa.MCREntityManagerProvider;
+import org.mycore.common.MCRSessionMgr;
+import org.mycore.datamodel.classifications2.MCRCategory;
+import org.mycore.datamodel.classifications2.MCRCategoryID;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Category DAO that answers read requests from an immutable in-memory snapshot per classification
+ * ({@link MCRCategorySnapshot}) instead of querying the database every time.
+ * <p>
+ * A snapshot is created on first access of a classification and dropped whenever this DAO changes the
+ * classification, again after the transaction is committed. The next read creates a new snapshot from the committed
+ * state. Until then, the transaction that changed the classification reads it from the database, so it sees its own
+ * changes. Changes made to the database by other means, e.g. by other applications sharing the database, are not
+ * detected.
+ * <p>
+ * To use this DAO, set <code>MCR.Category.DAO.Class</code> to this class.
+ */
+public class MCRSnapshotCategoryDAOImpl extends MCREventedCategoryDAOImpl {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    // a fixed number of locks, so that builds of different classifications rarely wait for each other
+    private static final int BUILD_LOCK_COUNT = 64;
+
+    private final Map<String, MCRCategorySnapshot> snapshots = new ConcurrentHashMap<>();
+
+    private final Object[] buildLocks = Stream.generate(Object::new).limit(BUILD_LOCK_COUNT).toArray();
+
+    private final Map<EntityManager, Set<String>> modifiedRoots = Collections.synchronizedMap(new WeakHashMap<>());
+
+    // guards generation, snapshots and rootCategoryIDs against concurrent builds and invalidations
+    private final Object lock = new Object();
+
+    private long generation;
+
+    private volatile List<MCRCategoryID> rootCategoryIDs;
+
+    @Override
+    public boolean exist(MCRCategoryID id) {
+        return getSnapshot(id.getRootID())
+            .map(snapshot -> snapshot.exist(id))
+            .orElseGet(() -> super.exist(id));
+    }
+
+    @Override
+    public MCRCategory getCategory(MCRCategoryID id, int childLevel) {
+        return getSnapshot(id.getRootID())
+            .map(snapshot -> Optional.ofNullable(snapshot.getCategory(id, childLevel)))
+            .orElseGet(() -> Optional.ofNullable(super.getCategory(id, childLevel)))
+            .orElse(null);
+    }
+
+    @Override
+    public List<MCRCategory> getParents(MCRCategoryID id) {
+        return getSnapshot(id.getRootID())
+            .map(snapshot -> Optional.ofNullable(snapshot.getParents(id)))
+            .orElseGet(() -> Optional.ofNullable(super.getParents(id)))
+            .orElse(null);
+    }
+
+    @Override
+    public boolean hasChildren(MCRCategoryID cid) {
+        return getSnapshot(cid.getRootID())
+            .map(snapshot -> snapshot.hasChildren(cid))
+            .orElseGet(() -> super.hasChildren(cid));
+    }
+
+    @Override
+    public List<MCRCategory> getCategoriesByLabel(String lang, String text) {
+        if (hasModifiedRoots()) {
+            return super.getCategoriesByLabel(lang, text);
+        }
+        List<MCRCategory> categories = new ArrayList<>();
+        for (MCRCategoryID rootID : getRootCategoryIDs()) {
+            categories.addAll(getSnapshot(rootID.getRootID()).orElseThrow()
+                .getCategoriesByLabel(null, lang, text));
+        }
+        return categories;
+    }
+
+    @Override
+    public List<MCRCategory> getCategoriesByLabel(MCRCategoryID baseID, String lang, String text) {
+        return getSnapshot(baseID.getRootID())
+            .map(snapshot -> snapshot.getCategoriesByLabel(baseID, lang, text))
+            .orElseGet(() -> super.getCategoriesByLabel(baseID, lang, text));
+    }
+
+    @Override
+    public List<MCRCategory> getCategoriesByClassAndLang(String classId, String lang) {
+        return getSnapshot(classId)
+            .map(snapshot -> snapshot.getCategoriesByLang(lang))
+            .orElseGet(() -> super.getCategoriesByClassAndLang(classId, lang));
+    }
+
+    @Override
+    public List<MCRCategoryID> getRootCategoryIDs() {
+        if (hasModifiedRoots()) {
+            return super.getRootCategoryIDs();
+        }
+        List<MCRCategoryID> ids = rootCategoryIDs;
+        if (ids == null) {
+            long buildGeneration = getGeneration();
+            ids = List.copyOf(super.getRootCategoryIDs());
+            synchronized (lock) {
+                if (generation == buildGeneration) {
+                    rootCategoryIDs = ids;
+                }
+            }
+        }
+        return new ArrayList<>(ids);
+    }
+
+    @Override
+    public List<MCRCategory> getRootCategories() {
+        if (hasModifiedRoots()) {
+            return super.getRootCategories();
+        }
+        List<MCRCategory> roots = new ArrayList<>();
+        getRootCategoryIDs().stream()
+            .map(MCRCategoryID::getRootID)
+            .sorted(Comparator.naturalOrder())
+            .map(rootID -> getSnapshot(rootID).orElseThrow().getRootCategory())
+            .filter(Objects::nonNull)
+            .forEachOrdered(roots::add);
+        return roots;
+    }
+
+    @Override
+    public void repairLeftRightValue(String classID) {
+        super.repairLeftRightValue(classID);
+        markModified(classID);
+    }
+
+    @Override
+    protected synchronized void updateLastModified(String root) {
+        super.updateLastModified(root);
+        markModified(root);
+    }
+
+    /**
+     * Drops the snapshot of a classification, so it is created again on next access.
+     *
+     * @param rootID the id of the classification
+     */
+    public void invalidate(String rootID) {
+        synchronized (lock) {
+            generation++;
+            snapshots.remove(rootID);
+            rootCategoryIDs = null;
+        }
+    }
+
+    private void markModified(String rootID) {
+        EntityManager entityManager = MCREntityManagerProvider.getCurrentEntityManager();
+        Set<String> roots = modifiedRoots.computeIfAbsent(entityManager, em -> ConcurrentHashMap.newKeySet());
+        roots.add(rootID);
+        invalidate(rootID);
+        // snapshots created by other transactions before the commit do not contain the changes
+        MCRSessionMgr.getCurrentSession().onCommit(() -> {
+            roots.remove(rootID);
+            invalidate(rootID);
+        });
+    }
+
+    private boolean hasModifiedRoots() {
+        if (modifiedRoots.isEmpty()) {
+            return false;
+        }
+        Set<String> roots = modifiedRoots.get(MCREntityManagerProvider.getCurrentEntityManager());
+        return roots != null && !roots.isEmpty();
+    }
+
+    private boolean isModified(String rootID) {
+        if (modifiedRoots.isEmpty()) {
+            return false;
+        }
+        Set<String> roots = modifiedRoots.get(MCREntityManagerProvider.getCurrentEntityManager());
+        return roots != null && roots.contains(rootID);
+    }
+
+    private long getGeneration() {
+        synchronized (lock) {
+            return generation;
+        }
+    }
+
+    private Optional<MCRCategorySnapshot> getSnapshot(String rootID) {
+        if (isModified(rootID)) {
+            return Optional.empty();
+        }
+        MCRCategorySnapshot snapshot = snapshots.get(rootID);
+        return Optional.of(snapshot != null ? snapshot : createSnapshot(rootID));
+    }
+
+    private MCRCategorySnapshot createSnapshot(String rootID) {
+        synchronized (buildLocks[Math.floorMod(rootID.hashCode(), BUILD_LOCK_COUNT)]) {
+            MCRCategorySnapshot snapshot = snapshots.get(rootID);
+            if (snapshot != null) {
+                return snapshot;
+            }
+            long buildGeneration = getGeneration();
+            MCRCategoryID id = new MCRCategoryID(rootID);
+            snapshot = MCRCategorySnapshot.of(rootID, super.exist(id) ? super.getCategory(id, -1) : null);
+            LOGGER.debug("Created snapshot of classification {} with {} categories.", rootID, snapshot.size());
+            if (snapshot.getRootCategory() == null) {
+                // lookups of unknown classifications must not fill the cache
+                return snapshot;
+            }
+            synchronized (lock) {
+                if (generation == buildGeneration) {
+                    snapshots.put(rootID, snapshot);
+                }
+            }
+            return snapshot;
+        }
+    }
+
+}
@@ -19,7 +19,11 @@
 package org.mycore.datamodel.common;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.stream.Stream;
+
+import org.mycore.datamodel.common.MCRLinkTableManager.MCRLinkReference;
 
 /**
  * This interface is designed to choose the persistence for the link tables.
@@ -109,4 +113,41 @@ public interface MCRLinkTableInterface {
      */
     Collection<String> getDestinationsOf(String from, String type);
 
+    /**
+     * Replaces all links of the source <code>from</code> with the given links.
+     * Implementations should only change links that were added, removed or modified.
+     * 
+     * @param from
+     *            the link source MCRFROM
+     * @param links
+     *            the new links of the source, all with <code>from</code> as source
+     */
+    default void update(String from, Collection<MCRLinkReference> links) {
+        delete(from, null, null);
+        links.forEach(link -> create(from, link.to().toString(), link.type().toString(), link.attr()));
+    }
+
+    /**
+     * Replaces the content of the whole link table with the given links, e.g. to repair it.
+     * <p>
+     * The default implementation removes the links of every source before its first link is created and creates the
+     * links one by one. Links of sources that have no link in <code>links</code> are kept. Implementations should
+     * override this to clear the table first and to insert the links in batches.
+     * 
+     * @param links
+     *            all links, grouped by their source
+     */
+    default void replaceAll(Stream<MCRLinkReference> links) {
+        String lastFrom = null;
+        for (Iterator<MCRLinkReference> it = links.iterator(); it.hasNext();) {
+            MCRLinkReference link = it.next();
+            String from = link.from().toString();
+            if (!from.equals(lastFrom)) {
+                delete(from, null, null);
+                lastFrom = from;
+            }
+            create(from, link.to().toString(), link.type().toString(), link.attr());
+        }
+    }
+
 }
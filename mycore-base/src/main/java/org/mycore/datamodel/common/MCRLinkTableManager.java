@@ -483,17 +483,24 @@ public final class MCRLinkTableManager {
      * @param id the mycore object identifier
      */
     public void update(MCRObjectID id) {
-        delete(id);
-        create(MCRMetadataManager.retrieve(id));
+        update(MCRMetadataManager.retrieve(id));
     }
 
     /**
-     * Creates all references for the given object. You should call {@link #delete(MCRObjectID)} before using this
-     * @param obj the object to create the references
+     * Updates all references of the given object. Only links that were added, removed or modified since the last
+     * update are changed in the link table.
+     *
+     * @param obj the object to update the references
      */
     public void update(MCRBase obj) {
-        delete(obj.getId());
-        create(obj);
+        Collection<MCRLinkReference> links = getLinks(obj);
+        String from = obj.getId().toString();
+        try {
+            linkTableInstance.update(from, links);
+        } catch (Exception e) {
+            LOGGER.warn(() -> "An error occured while updating the reference links of " + from + ".", e);
+        }
+        updateCategoryLinks(obj);
     }
 
     public void create(MCRBase base) {
@@ -502,7 +509,29 @@ public final class MCRLinkTableManager {
         links.forEach(link -> {
             addReferenceLink(link.from, link.to, link.type, link.attr);
         });
+        updateCategoryLinks(base);
+    }
+
+    /**
+     * Rebuilds the reference links of all given objects. All existing reference links are removed first, so
+     * <code>ids</code> should contain all objects and derivates of the repository. Objects are loaded one by one
+     * while their links are inserted in large batches.
+     *
+     * @param ids the IDs of all objects and derivates
+     */
+    public void rebuild(Stream<MCRObjectID> ids) {
+        linkTableInstance.replaceAll(ids
+            .flatMap(id -> {
+                try {
+                    return getLinks(MCRMetadataManager.retrieve(id)).stream();
+                } catch (Exception e) {
+                    LOGGER.warn(() -> "Could not get the reference links of " + id + ".", e);
+                    return Stream.empty();
+                }
+            }));
+    }
 
+    private void updateCategoryLinks(MCRBase base) {
         Collection<MCRCategoryID> categoryList;
         if (base instanceof MCRObject obj) {
             MCRExpandedObject expandedObject = MCRExpandedObjectManager.getInstance()
@@ -58,7 +58,7 @@ public class MCRDirectory extends MCRStoredNode {
     protected MCRDirectory(MCRDirectory parent, String name) throws IOException {
         super(parent, name, "dir");
         Files.createDirectory(path);
-        getRoot().saveAdditionalData();
+        getRoot().saveAdditionalData(this);
     }
 
     /**
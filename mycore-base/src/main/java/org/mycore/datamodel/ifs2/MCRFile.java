@@ -79,7 +79,7 @@ public class MCRFile extends MCRStoredNode {
         super(parent, name, "file");
         Files.createFile(path);
         writeData(e -> e.setAttribute(MD_5, MD5_OF_EMPTY_FILE));
-        getRoot().saveAdditionalData();
+        getRoot().saveAdditionalData(this);
     }
 
     /**
@@ -125,7 +125,7 @@ public class MCRFile extends MCRStoredNode {
             source.sendTo(path, StandardCopyOption.REPLACE_EXISTING);
             String md5 = cis.getMD5String();
             writeData(e -> e.setAttribute(MD_5, md5));
-            getRoot().saveAdditionalData();
+            getRoot().saveAdditionalData(this);
             return md5;
         }
     }
@@ -137,7 +137,7 @@ public class MCRFile extends MCRStoredNode {
      */
     public void setMD5(String md5) throws IOException {
         writeData(e -> e.setAttribute(MD_5, md5));
-        getRoot().saveAdditionalData();
+        getRoot().saveAdditionalData(this);
     }
 
     /**
@@ -35,6 +35,7 @@ import org.jdom2.Content;
 import org.jdom2.Document;
 import org.jdom2.Element;
 import org.jdom2.JDOMException;
+import org.mycore.common.config.MCRConfiguration2;
 import org.mycore.common.content.MCRJDOMContent;
 import org.mycore.common.content.MCRPathContent;
 import org.mycore.datamodel.niofs.utils.MCRRecursiveDeleter;
@@ -44,6 +45,13 @@ import org.mycore.util.concurrent.MCRReadWriteGuard;
  * Represents a set of files and directories belonging together, that are stored
  * in a persistent MCRFileStore. A FileCollection has a unique ID within the
  * store, it is the root folder of all files and directories in the collection.
+ * <p>
+ * The additional data of all nodes is stored in {@value #DATA_FILE}. By default, this file is rewritten on every
+ * change. If <code>MCR.IFS2.FileCollection.WriteBehind</code> is <code>true</code>, changes are appended to a
+ * journal instead and the data file is written once the current transaction ends (see
+ * {@link MCRFileCollectionFlushTransaction}), or when <code>MCR.IFS2.FileCollection.WriteBehind.MaxPending</code>
+ * changes are pending, or on {@link #flush()}. Changes outside a transaction are written immediately.
+ * A journal left over by a crash is replayed when the collection is opened.
  *
  * @author Frank Lützenkirchen
  */
@@ -75,6 +83,15 @@ public class MCRFileCollection extends MCRDirectory {
      */
     private final MCRReadWriteGuard dataGuard;
 
+    /**
+     * Journal of changes not yet written to {@link #DATA_FILE}
+     */
+    private final MCRFileCollectionJournal journal;
+
+    private final boolean writeBehind;
+
+    private final int maxPending;
+
     /**
      * Creates a new file collection in the given store, or retrieves an
      * existing one.
@@ -91,6 +108,9 @@ public class MCRFileCollection extends MCRDirectory {
         this.store = store;
         this.id = id;
         this.dataGuard = new MCRReadWriteGuard();
+        this.journal = new MCRFileCollectionJournal(path);
+        this.writeBehind = MCRConfiguration2.getBoolean("MCR.IFS2.FileCollection.WriteBehind").orElse(false);
+        this.maxPending = MCRConfiguration2.getInt("MCR.IFS2.FileCollection.WriteBehind.MaxPending").orElse(1000);
         if (Files.exists(path)) {
             readAdditionalData();
         } else {
@@ -130,6 +150,112 @@ public class MCRFileCollection extends MCRDirectory {
         } catch (JDOMException e) {
             throw new IOException(e);
         }
+        if (journal.exists()) {
+            recoverJournal();
+        }
+    }
+
+    private void recoverJournal() throws IOException {
+        LOGGER.warn("Found unsaved changes of file collection {} in {}, replaying...", id, journal);
+        try {
+            writeData(e -> {
+                try {
+                    journal.replay(e);
+                } catch (IOException e1) {
+                    throw new UncheckedIOException(e1);
+                }
+            });
+        } catch (UncheckedIOException ignoredUnchecked) {
+            throw ignoredUnchecked.getCause();
+        }
+        synchronized (journal) {
+            saveAdditionalData();
+            journal.delete();
+        }
+    }
+
+    /**
+     * Saves the changed additional data of the given node.
+     *
+     * @param node the node that was created or changed
+     */
+    void saveAdditionalData(MCRStoredNode node) throws IOException {
+        if (!writeBehind) {
+            saveAdditionalData();
+            return;
+        }
+        appendToJournal(node.readData(MCRFileCollectionJournal::set));
+    }
+
+    /**
+     * Saves the additional data after a node was removed.
+     *
+     * @param dataPath the path of the removed node, see {@link #getDataPath(MCRStoredNode)}
+     */
+    void saveRemovedData(String dataPath) throws IOException {
+        if (!writeBehind) {
+            saveAdditionalData();
+            return;
+        }
+        appendToJournal(MCRFileCollectionJournal.remove(dataPath));
+    }
+
+    /**
+     * Saves the additional data after a node was renamed.
+     *
+     * @param oldDataPath the path of the node before it was renamed, see {@link #getDataPath(MCRStoredNode)}
+     * @param node the renamed node
+     */
+    void saveRenamedData(String oldDataPath, MCRStoredNode node) throws IOException {
+        if (!writeBehind) {
+            saveAdditionalData();
+            return;
+        }
+        appendToJournal(MCRFileCollectionJournal.remove(oldDataPath),
+            node.readData(MCRFileCollectionJournal::set));
+    }
+
+    /**
+     * Returns the path of the node's data within {@link #DATA_FILE}, used to identify the node in the journal.
+     */
+    static String getDataPath(MCRStoredNode node) {
+        return node.readData(MCRFileCollectionJournal::getDataPath);
+    }
+
+    private void appendToJournal(Element... records) throws IOException {
+        synchronized (journal) {
+            journal.append(records);
+            if (journal.getPending() >= maxPending || !MCRFileCollectionFlushTransaction.register(this)) {
+                flush();
+            }
+        }
+    }
+
+    /**
+     * Like {@link #flush()}, but only logs errors, used when the current transaction ends.
+     */
+    void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException e) {
+            LOGGER.error("Could not save additional data of file collection {}, changes remain in {}", id,
+                journal, e);
+        }
+    }
+
+    /**
+     * Writes all pending changes to {@value #DATA_FILE} and removes the journal.
+     * Does nothing if write-behind is disabled or nothing changed.
+     */
+    public void flush() throws IOException {
+        synchronized (journal) {
+            if (journal.getPending() == 0) {
+                return;
+            }
+            LOGGER.debug("Saving {} pending changes of file collection {}", journal::getPending, () -> id);
+            saveAdditionalData();
+            journal.delete();
+        }
     }
 
     protected void saveAdditionalData() throws IOException {
@@ -165,7 +291,17 @@ public class MCRFileCollection extends MCRDirectory {
     @Override
     public Stream<MCRNode> getChildren() throws IOException {
         return super.getChildren()
-            .filter(f -> !DATA_FILE.equals(f.getName()));
+            .filter(f -> !isDataFile(f.getName()));
+    }
+
+    /**
+     * Checks if a file in the collection directory holds the collection's own data, {@value #DATA_FILE} or its
+     * journal, and is therefore not a child of the collection.
+     *
+     * @param name the file name
+     */
+    public static boolean isDataFile(String name) {
+        return DATA_FILE.equals(name) || MCRFileCollectionJournal.JOURNAL_FILE.equals(name);
     }
 
     /**
@@ -173,6 +309,9 @@ public class MCRFileCollection extends MCRDirectory {
      */
     @Override
     public void delete() throws IOException {
+        synchronized (journal) {
+            journal.delete();
+        }
         writeData(Element::removeContent);
         Files.walkFileTree(path, new MCRRecursiveDeleter());
         store.delete(id);
@@ -218,7 +357,7 @@ public class MCRFileCollection extends MCRDirectory {
 
     @Override
     public MCRNode getChild(String name) {
-        if (DATA_FILE.equals(name)) {
+        if (isDataFile(name)) {
             return null;
         } else {
             return super.getChild(name);
@@ -241,7 +380,7 @@ public class MCRFileCollection extends MCRDirectory {
 
     private Stream<Path> getUsableChildStream() throws IOException {
         return Files.list(path)
-            .filter(p -> !DATA_FILE.equals(p.getFileName().toString()));
+            .filter(p -> !isDataFile(p.getFileName().toString()));
     }
 
     @Override
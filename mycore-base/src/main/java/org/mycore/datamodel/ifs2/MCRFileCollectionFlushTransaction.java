@@ -0,0 +1,109 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.datamodel.ifs2;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.mycore.common.MCRPersistenceTransaction;
+import org.mycore.common.MCRSessionMgr;
+import org.mycore.common.config.MCRConfiguration2;
+import org.mycore.common.events.MCRSessionEvent;
+
+/**
+ * Writes the additional data of the {@link MCRFileCollection file collections} changed in the current thread, when
+ * <code>MCR.IFS2.FileCollection.WriteBehind</code> is enabled. After a commit the data is written in an onCommit
+ * task. The files of a collection are not part of the transaction, so the data is written immediately after a
+ * rollback or when the session is released without ending the transaction.
+ */
+public class MCRFileCollectionFlushTransaction implements MCRPersistenceTransaction {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final ThreadLocal<Set<MCRFileCollection>> CHANGED = new ThreadLocal<>();
+
+    static {
+        MCRSessionMgr.addSessionListener(MCRFileCollectionFlushTransaction::sessionEvent);
+    }
+
+    /**
+     * Registers a collection with changes to be written when the transaction of the current thread ends.
+     *
+     * @return false, if no transaction is active in the current thread and the changes have to be written now
+     */
+    static boolean register(MCRFileCollection collection) {
+        Set<MCRFileCollection> changed = CHANGED.get();
+        if (changed == null) {
+            return false;
+        }
+        changed.add(collection);
+        return true;
+    }
+
+    @Override
+    public boolean isReady() {
+        return MCRConfiguration2.getBoolean("MCR.IFS2.FileCollection.WriteBehind").orElse(false);
+    }
+
+    @Override
+    public void begin() {
+        CHANGED.set(Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    @Override
+    public void commit() {
+        for (MCRFileCollection collection : removeChanged()) {
+            MCRSessionMgr.getCurrentSession().onCommit(collection::flushQuietly);
+        }
+    }
+
+    @Override
+    public void rollback() {
+        removeChanged().forEach(MCRFileCollection::flushQuietly);
+    }
+
+    @Override
+    public int getCommitPriority() {
+        // after all transactions that may change files of a collection
+        return 1000;
+    }
+
+    private static void sessionEvent(MCRSessionEvent event) {
+        if (event.getType() == MCRSessionEvent.Type.PASSIVATED) {
+            List<MCRFileCollection> changed = removeChanged();
+            if (!changed.isEmpty()) {
+                LOGGER.warn("Session {} released without ending the transaction, saving {} file collections",
+                    event.getSession().getID(), changed.size());
+                changed.forEach(MCRFileCollection::flushQuietly);
+            }
+        }
+    }
+
+    private static List<MCRFileCollection> removeChanged() {
+        Set<MCRFileCollection> changed = CHANGED.get();
+        CHANGED.remove();
+        return changed == null ? List.of() : new ArrayList<>(changed);
+    }
+
+}
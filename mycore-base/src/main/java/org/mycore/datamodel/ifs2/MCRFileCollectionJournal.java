@@ -0,0 +1,254 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.datamodel.ifs2;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jdom2.Attribute;
+import org.jdom2.Content;
+import org.jdom2.Element;
+import org.jdom2.JDOMException;
+import org.jdom2.output.Format;
+import org.jdom2.output.XMLOutputter;
+import org.mycore.common.content.MCRByteContent;
+
+/**
+ * Append-only journal of changes to the additional data (<code>mcrdata.xml</code>) of a {@link MCRFileCollection}.
+ * <p>
+ * Every record describes the new state of one node, identified by the names of the node and its ancestors:
+ * <ul>
+ *     <li><code>&lt;set path="dir/file"&gt;&lt;file name="file" md5="..."/&gt;&lt;/set&gt;</code> replaces the
+ *     data of the node including its descendants</li>
+ *     <li><code>&lt;remove path="dir/file"/&gt;</code> removes the data of the node</li>
+ * </ul>
+ * Records are stored as length prefixed UTF-8 XML, so a record torn by a crash is detected and ignored on replay.
+ * Replaying a record is idempotent.
+ */
+final class MCRFileCollectionJournal {
+
+    static final String JOURNAL_FILE = "mcrdata.journal";
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final String RECORD_SET = "set";
+
+    private static final String RECORD_REMOVE = "remove";
+
+    private static final String ATT_PATH = "path";
+
+    private static final String ATT_NAME = "name";
+
+    private static final String PATH_SEPARATOR = "/";
+
+    private final Path file;
+
+    private int pending;
+
+    MCRFileCollectionJournal(Path collectionDir) {
+        this.file = collectionDir.resolve(JOURNAL_FILE);
+    }
+
+    /**
+     * Creates a record that sets the data of the node represented by the given element.
+     */
+    static Element set(Element nodeData) {
+        return new Element(RECORD_SET)
+            .setAttribute(ATT_PATH, getDataPath(nodeData))
+            .addContent(nodeData.clone());
+    }
+
+    /**
+     * Creates a record that removes the data of a node.
+     *
+     * @param dataPath the path of the node as returned by {@link #getDataPath(Element)}
+     */
+    static Element remove(String dataPath) {
+        return new Element(RECORD_REMOVE).setAttribute(ATT_PATH, dataPath);
+    }
+
+    /**
+     * Returns the names of the given node data element and its ancestors below the collection element, separated
+     * by <code>/</code>. The path of the collection itself is the empty string.
+     */
+    static String getDataPath(Element nodeData) {
+        List<String> names = new ArrayList<>();
+        for (Element e = nodeData; e.getParentElement() != null; e = e.getParentElement()) {
+            names.addFirst(e.getAttributeValue(ATT_NAME));
+        }
+        return String.join(PATH_SEPARATOR, names);
+    }
+
+    /**
+     * @return true if the journal file exists
+     */
+    boolean exists() {
+        return Files.exists(file);
+    }
+
+    /**
+     * @return number of records appended or replayed since the last {@link #delete()}
+     */
+    int getPending() {
+        return pending;
+    }
+
+    /**
+     * Appends records to the journal. The records are written through to the file system before this method
+     * returns. The file is closed afterward, so a journal of a collection that is not used anymore does not keep a
+     * file handle open.
+     */
+    void append(Element... records) throws IOException {
+        XMLOutputter outputter = new XMLOutputter(Format.getRawFormat());
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)))) {
+            for (Element record : records) {
+                byte[] bytes = outputter.outputString(record).getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+        pending += records.length;
+    }
+
+    /**
+     * Applies all complete records of the journal file to the given collection data.
+     *
+     * @param collectionData the root element of <code>mcrdata.xml</code>
+     * @return number of records applied
+     */
+    int replay(Element collectionData) throws IOException {
+        if (!exists()) {
+            return 0;
+        }
+        int applied = 0;
+        try (InputStream is = Files.newInputStream(file);
+            InputStream in = new BufferedInputStream(is)) {
+            while (true) {
+                byte[] header = in.readNBytes(Integer.BYTES);
+                if (header.length == 0) {
+                    break;
+                }
+                int length = header.length == Integer.BYTES ? ByteBuffer.wrap(header).getInt() : -1;
+                byte[] bytes = length < 0 ? new byte[0] : in.readNBytes(length);
+                if (length < 0 || bytes.length < length) {
+                    LOGGER.warn("Ignoring incomplete last record in {}", file);
+                    break;
+                }
+                apply(collectionData, parse(bytes));
+                applied++;
+            }
+        }
+        pending += applied;
+        LOGGER.info("Replayed {} records of {}", applied, file);
+        return applied;
+    }
+
+    /**
+     * Removes the journal file, e.g. after all changes have been written to <code>mcrdata.xml</code>.
+     */
+    void delete() throws IOException {
+        Files.deleteIfExists(file);
+        pending = 0;
+    }
+
+    private Element parse(byte[] bytes) throws IOException {
+        try {
+            return new MCRByteContent(bytes).asXML().detachRootElement();
+        } catch (JDOMException e) {
+            throw new IOException("Invalid record in " + file, e);
+        }
+    }
+
+    private static void apply(Element collectionData, Element record) {
+        String dataPath = record.getAttributeValue(ATT_PATH);
+        String[] names = dataPath.isEmpty() ? new String[0] : dataPath.split(PATH_SEPARATOR);
+        if (names.length == 0) {
+            if (RECORD_SET.equals(record.getName())) {
+                Element data = record.getChildren().getFirst();
+                collectionData.setAttributes(copyAttributes(data));
+                collectionData.setContent(detachContent(data));
+            }
+            return;
+        }
+        Element parent = collectionData;
+        for (int i = 0; i < names.length - 1; i++) {
+            Element child = getChild(parent, names[i]);
+            if (child == null) {
+                if (RECORD_REMOVE.equals(record.getName())) {
+                    return;
+                }
+                child = new Element("node").setAttribute(ATT_NAME, names[i]);
+                parent.addContent(child);
+            }
+            parent = child;
+        }
+        Element current = getChild(parent, names[names.length - 1]);
+        if (RECORD_REMOVE.equals(record.getName())) {
+            if (current != null) {
+                current.detach();
+            }
+            return;
+        }
+        Element data = record.getChildren().getFirst().detach();
+        if (current == null) {
+            parent.addContent(data);
+        } else {
+            parent.setContent(parent.indexOf(current), data);
+        }
+    }
+
+    private static Element getChild(Element parent, String name) {
+        for (Element child : parent.getChildren()) {
+            if (name.equals(child.getAttributeValue(ATT_NAME))) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    private static List<Attribute> copyAttributes(Element data) {
+        List<Attribute> attributes = new ArrayList<>();
+        data.getAttributes().forEach(a -> attributes.add(a.clone()));
+        return attributes;
+    }
+
+    private static List<Content> detachContent(Element data) {
+        List<Content> content = new ArrayList<>(data.getContent());
+        content.forEach(Content::detach);
+        return content;
+    }
+
+    @Override
+    public String toString() {
+        return file.toString();
+    }
+}
@@ -105,13 +105,14 @@ public abstract class MCRStoredNode extends MCRNode {
      * Deletes this node with all its data and children
      */
     public void delete() throws IOException {
+        String dataPath = MCRFileCollection.getDataPath(this);
         writeData(Element::detach);
         if (Files.isDirectory(path)) {
             Files.walkFileTree(path, new MCRRecursiveDeleter());
         } else {
             Files.deleteIfExists(path);
         }
-        getRoot().saveAdditionalData();
+        getRoot().saveRemovedData(dataPath);
     }
 
     /**
@@ -126,8 +127,9 @@ public abstract class MCRStoredNode extends MCRNode {
         Files.move(oldPath, newPath);
         Files.setLastModifiedTime(newPath, FileTime.from(Instant.now()));
         path = newPath;
+        String oldDataPath = MCRFileCollection.getDataPath(this);
         writeData(e -> e.setAttribute(NAME_ATT, name));
-        getRoot().saveAdditionalData();
+        getRoot().saveRenamedData(oldDataPath, this);
     }
 
     /**
@@ -159,7 +161,7 @@ public abstract class MCRStoredNode extends MCRNode {
                 return newLabel;
             })
             .setText(label));
-        getRoot().saveAdditionalData();
+        getRoot().saveAdditionalData(this);
     }
 
     /**
@@ -167,7 +169,7 @@ public abstract class MCRStoredNode extends MCRNode {
      */
     public void clearLabels() throws IOException {
         writeData(e -> e.removeChildren(LABEL_ELEMENT));
-        getRoot().saveAdditionalData();
+        getRoot().saveAdditionalData(this);
     }
 
     /**
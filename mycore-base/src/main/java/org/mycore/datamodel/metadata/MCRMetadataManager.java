@@ -649,7 +649,7 @@ public final class MCRMetadataManager {
      * @throws MCRPersistenceException if a persistence problem is occurred
      */
     public static MCRExpandedObject retrieveMCRExpandedObject(final MCRObjectID id) throws MCRPersistenceException {
-        return MCRExpandedObjectManager.getInstance().getExpandedObject(retrieveMCRObject(id));
+        return MCRExpandedObjectManager.getInstance().getExpandedObject(id);
     }
 
     /**
@@ -97,10 +97,7 @@ public class MCRObjectURIResolver implements URIResolver {
                     (params.containsKey("expanded") && params.get("expanded").equals("false"))) {
                     content = xmlmm.retrieveContent(mcrid);
                 } else {
-                    MCRObject expanded = MCRMetadataManager.retrieveMCRObject(mcrid);
-                    MCRExpandedObject expandedObject =
-                        MCRExpandedObjectManager.getInstance().getExpandedObject(expanded);
-                    content = new MCRBaseContent(expandedObject);
+                    content = new MCRBaseContent(MCRMetadataManager.retrieveMCRExpandedObject(mcrid));
                 }
             }
             if (content == null) {
@@ -239,6 +239,23 @@ public class MCRBasicCommands {
         MCRCommandLineInterface.skipOnError();
     }
 
+    @MCRCommand(syntax = "enable parallel processing with {0} threads and batch size {1}",
+        help = "Process independent commands returned by a command with {0} threads, "
+            + "committing every {1} commands per thread. If a command fails, all commands of its batch are rolled "
+            + "back and saved as failed commands, but only database changes are undone. Use batch size 1 unless "
+            + "the commands can be repeated safely.",
+        order = 112)
+    public static void enableParallelProcessing(int threads, int batchSize) {
+        MCRCommandLineInterface.setParallelMode(threads, batchSize);
+    }
+
+    @MCRCommand(syntax = "disable parallel processing",
+        help = "Process all commands one after another in their own transaction (default)",
+        order = 114)
+    public static void disableParallelProcessing() {
+        MCRCommandLineInterface.setParallelMode(1, 1);
+    }
+
     @MCRCommand(syntax = "get uri {0} to file {1}",
         help = "Get XML content from URI {0} and save it to a local file {1}",
         order = 120)
@@ -71,6 +71,9 @@ public class MCRCommand {
     /** The help text String */
     protected String help;
 
+    /** Whether the commands returned by this command may be processed in parallel */
+    protected boolean parallel;
+
     /**
      * use this to overwrite this class.
      */
@@ -138,6 +141,7 @@ public class MCRCommand {
         org.mycore.frontend.cli.annotation.MCRCommand cmdAnnotation = cmd
             .getAnnotation(org.mycore.frontend.cli.annotation.MCRCommand.class);
         help = cmdAnnotation.help();
+        parallel = cmdAnnotation.parallel();
         messageFormat = new MessageFormat(cmdAnnotation.syntax(), Locale.ROOT);
         setMethod(cmd);
 
@@ -170,6 +174,16 @@ public class MCRCommand {
         return help;
     }
 
+    /**
+     * Returns <code>true</code> if the commands returned by this command do not depend on each other and may be
+     * processed in parallel.
+     *
+     * @see org.mycore.frontend.cli.annotation.MCRCommand#parallel()
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
     /**
      * Parses an input string and tries to match it with the message format used to invoke this command.
      *
@@ -86,6 +86,15 @@ public class MCRCommandLineInterface {
 
     private static boolean skipFailedCommand;
 
+    /** number of threads to process independent commands, 1 processes all commands sequentially */
+    private static int threadCount = 1;
+
+    /**
+     * number of commands a worker thread processes in one transaction, a rollback only undoes the transactional
+     * changes of the batch, but all its commands are written to the failed commands file
+     */
+    private static int batchSize = 1;
+
     private static MCRCommandManager knownCommands;
 
     private static final ThreadLocal<String> SESSION_ID = new ThreadLocal<>();
@@ -183,26 +192,52 @@ public class MCRCommandLineInterface {
 
         try {
             MCRTransactionManager.beginTransactions();
-            List<String> commandsReturned = knownCommands.invokeCommand(expandCommand(command));
+            MCRCommandManager.Invocation invocation = knownCommands.invoke(expandCommand(command));
             MCRTransactionManager.commitTransactions();
-            addCommandsToQueue(commandsReturned);
+            List<String> commandsReturned = invocation.commandsReturned();
+            if (threadCount > 1 && commandsReturned.size() > 1 && invocation.command().isParallel()) {
+                processInParallel(commandsReturned, session);
+            } else {
+                addCommandsToQueue(commandsReturned);
+            }
         } catch (Exception ex) {
             MCRCLIExceptionHandler.handleException(ex);
             rollbackTransaction();
-            if (skipFailedCommand) {
-                saveFailedCommand(command);
-            } else {
-                saveQueue(command);
-                if (!interactiveMode) {
-                    System.exit(1);
-                }
-                COMMAND_QUEUE.clear();
-            }
+            handleFailedCommand(command);
         } finally {
             MCRSessionMgr.releaseCurrentSession();
         }
     }
 
+    private static void handleFailedCommand(String command) {
+        if (skipFailedCommand) {
+            saveFailedCommand(command);
+        } else {
+            saveQueue(command);
+            if (!interactiveMode) {
+                System.exit(1);
+            }
+            COMMAND_QUEUE.clear();
+        }
+    }
+
+    private static void processInParallel(List<String> commands, MCRSession session) throws InterruptedException {
+        output("Processing " + commands.size() + " commands with " + threadCount + " threads in batches of "
+            + batchSize + " commands");
+        MCRParallelCommandProcessor.Result result
+            = new MCRParallelCommandProcessor(knownCommands, threadCount, batchSize, !skipFailedCommand)
+                .process(commands, session);
+        List<String> failedCommands = result.failedCommands();
+        if (!skipFailedCommand && !failedCommands.isEmpty()) {
+            COMMAND_QUEUE.addAll(0, result.unprocessedCommands());
+            COMMAND_QUEUE.addAll(0, failedCommands.subList(1, failedCommands.size()));
+            handleFailedCommand(failedCommands.getFirst());
+            return;
+        }
+        failedCommands.forEach(MCRCommandLineInterface::saveFailedCommand);
+        addCommandsToQueue(result.unprocessedCommands());
+    }
+
     /**
      * Expands variables in a command.
      * Replaces any variables in form ${propertyName} to the value defined by
@@ -387,6 +422,24 @@ public class MCRCommandLineInterface {
         skipFailedCommand = true;
     }
 
+    /**
+     * Enables or disables parallel processing of independent commands.
+     *
+     * @param threads the number of worker threads, 1 to process all commands sequentially
+     * @param commandsPerTransaction the number of commands a worker processes in one transaction. If a command
+     * fails, the whole batch is rolled back and all its commands are reported as failed. The rollback only undoes
+     * changes made in the transactions, like database changes. Changes made outside of them, e.g. files written by
+     * an import, stay, so repeating all commands of the batch must be safe. Use 1 for commands where it is not.
+     * @see org.mycore.frontend.cli.annotation.MCRCommand#parallel()
+     */
+    public static void setParallelMode(int threads, int commandsPerTransaction) {
+        if (threads < 1 || commandsPerTransaction < 1) {
+            throw new IllegalArgumentException("Number of threads and batch size must be positive.");
+        }
+        threadCount = threads;
+        batchSize = commandsPerTransaction;
+    }
+
     /**
      * Exits the command line interface. This method implements the "exit" and
      * "quit" commands.
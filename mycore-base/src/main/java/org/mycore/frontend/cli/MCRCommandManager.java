@@ -148,9 +148,19 @@ public class MCRCommandManager {
     }
 
     public List<String> invokeCommand(String command) throws Exception {
+        return invoke(command).commandsReturned();
+    }
+
+    /**
+     * Invokes the command and returns the invoked command together with the commands it returned.
+     *
+     * @param command the command line to process
+     * @return the invocation, its command is <code>null</code> if the command line was not understood
+     */
+    Invocation invoke(String command) throws Exception {
         if (command.trim().startsWith("#")) {
             //ignore comment
-            return new ArrayList<>();
+            return new Invocation(null, new ArrayList<>());
         }
         for (List<MCRCommand> commands : KNOWN_COMMANDS.values()) {
             for (MCRCommand currentCommand : commands) {
@@ -163,13 +173,22 @@ public class MCRCommandManager {
                     MCRCommandLineInterface.output("Command processed (" + timeNeeded + " ms)");
                     MCRCommandStatistics.commandInvoked(currentCommand, timeNeeded);
 
-                    return commandsReturned;
+                    return new Invocation(currentCommand, commandsReturned);
                 }
             }
         }
 
         MCRCommandLineInterface.output("Command not understood: " + command);
         MCRCommandLineInterface.output("Enter 'help' to get a list of commands.");
-        return new ArrayList<>();
+        return new Invocation(null, new ArrayList<>());
+    }
+
+    /**
+     * The result of {@link #invoke(String)}.
+     *
+     * @param command the invoked command, or <code>null</code>
+     * @param commandsReturned the commands returned by the invoked command
+     */
+    record Invocation(MCRCommand command, List<String> commandsReturned) {
     }
 }
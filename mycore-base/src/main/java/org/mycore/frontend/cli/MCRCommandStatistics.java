@@ -19,6 +19,7 @@
 package org.mycore.frontend.cli;
 
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -37,7 +38,7 @@ public class MCRCommandStatistics {
         return entries.computeIfAbsent(command, k -> new StatisticsEntry());
     }
 
-    public static void commandInvoked(MCRCommand command, long timeNeeded) {
+    public static synchronized void commandInvoked(MCRCommand command, long timeNeeded) {
         StatisticsEntry entry = getEntry(command);
         entry.numInvocations++;
         entry.totalTimeNeeded += timeNeeded;
@@ -48,13 +49,27 @@ public class MCRCommandStatistics {
      * command successfully executed.
      */
     @SuppressWarnings("PMD.SystemPrintln")
-    public static void showCommandStatistics() {
+    public static synchronized void showCommandStatistics() {
         System.out.println();
         for (Entry<MCRCommand, StatisticsEntry> entry : entries.entrySet()) {
             System.out.println(entry.getKey().getSyntax());
             System.out.println(entry.getValue());
         }
     }
+
+    /**
+     * Shows the throughput of commands processed in parallel.
+     *
+     * @param numCommands the number of commands processed
+     * @param numFailed the number of commands that failed
+     * @param timeNeeded the total time needed in milliseconds
+     */
+    public static void showThroughput(int numCommands, int numFailed, long timeNeeded) {
+        double perSecond = numCommands * 1000d / Math.max(timeNeeded, 1);
+        MCRCommandLineInterface.output(String.format(Locale.ROOT,
+            "Processed %d commands (%d failed) in %d ms, %.1f commands/s.", numCommands, numFailed, timeNeeded,
+            perSecond));
+    }
 }
 
 class StatisticsEntry {
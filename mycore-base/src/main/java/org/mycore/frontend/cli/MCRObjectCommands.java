@@ -29,12 +29,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -61,7 +63,6 @@ import org.mycore.access.MCRAccessException;
 import org.mycore.backend.jpa.MCREntityManagerProvider;
 import org.mycore.common.MCRException;
 import org.mycore.common.MCRPersistenceException;
-import org.mycore.common.MCRStreamUtils;
 import org.mycore.common.config.MCRConfigurationBase;
 import org.mycore.common.content.MCRBaseContent;
 import org.mycore.common.content.MCRContent;
@@ -330,7 +331,8 @@ public class MCRObjectCommands extends MCRAbstractCommands {
         syntax = "load all objects from directory {0}",
         help = "Loads all MCRObjects from the directory {0} to the system. " +
             "If the numerical part of a provided ID is zero, a new ID with the same project ID and type is assigned.",
-        order = 70)
+        order = 70,
+        parallel = true)
     public static List<String> loadFromDirectory(String directory) {
         return processFromDirectory(false, directory, false);
     }
@@ -344,7 +346,8 @@ public class MCRObjectCommands extends MCRAbstractCommands {
     @MCRCommand(
         syntax = "update all objects from directory {0}",
         help = "Updates all MCRObjects from the directory {0} in the system.",
-        order = 90)
+        order = 90,
+        parallel = true)
     public static List<String> updateFromDirectory(String directory) {
         return processFromDirectory(false, directory, true);
     }
@@ -1208,7 +1211,8 @@ public class MCRObjectCommands extends MCRAbstractCommands {
     @MCRCommand(
         syntax = "repair metadata search of type {0}",
         help = "Scans the metadata store for MCRObjects of type {0} and restores them in the search store.",
-        order = 170)
+        order = 170,
+        parallel = true)
     public static List<String> repairMetadataSearch(String type) {
         LOGGER.info("Start the repair for type {}", type);
         return MCRCommandUtils.getIdsForType(type)
@@ -1225,7 +1229,8 @@ public class MCRObjectCommands extends MCRAbstractCommands {
     @MCRCommand(
         syntax = "repair metadata search of base {0}",
         help = "Scans the metadata store for MCRObjects of base {0} and restores them in the search store.",
-        order = 171)
+        order = 171,
+        parallel = true)
     public static List<String> repairMetadataSearchForBase(String baseID) {
         LOGGER.info("Start the repair for base {}", baseID);
         return MCRCommandUtils.getIdsForBaseId(baseID)
@@ -1278,22 +1283,36 @@ public class MCRObjectCommands extends MCRAbstractCommands {
         TypedQuery<String> fromQuery = em.createQuery("SELECT DISTINCT m.key.mcrfrom FROM MCRLINKHREF m", String.class);
         TypedQuery<String> toQuery = em.createQuery("SELECT DISTINCT m.key.mcrto FROM MCRLINKHREF m", String.class);
         String query = "DELETE FROM MCRLINKHREF m WHERE m.key.mcrfrom IN (:invalidIds) or m.key.mcrto IN (:invalidIds)";
+        // list the store once instead of checking each ID
+        Set<String> existingIds = new HashSet<>(MCRXMLMetadataManager.obtainInstance().listIDs());
         // open streams
         try (Stream<String> fromStream = fromQuery.getResultStream()) {
             try (Stream<String> toStream = toQuery.getResultStream()) {
                 List<String> invalidIds = Stream.concat(fromStream, toStream)
                     .distinct()
                     .filter(MCRObjectID::isValid)
-                    .map(MCRObjectID::getInstance)
-                    .filter(MCRStreamUtils.not(MCRMetadataManager::exists))
-                    .map(MCRObjectID::toString)
+                    .filter(id -> !existingIds.contains(MCRObjectID.getInstance(id).toString()))
                     .collect(Collectors.toList());
-                // delete
-                em.createQuery(query).setParameter("invalidIds", invalidIds).executeUpdate();
+                // delete in chunks, as databases limit the number of parameters
+                for (int i = 0; i < invalidIds.size(); i += 1000) {
+                    List<String> chunk = invalidIds.subList(i, Math.min(i + 1000, invalidIds.size()));
+                    em.createQuery(query).setParameter("invalidIds", chunk).executeUpdate();
+                }
+                LOGGER.info("Removed links of {} deleted objects", invalidIds.size());
             }
         }
     }
 
+    @MCRCommand(
+        syntax = "rebuild mcrlinkhref table",
+        help = "Removes all entries of the link href table and creates them again for all objects and derivates.",
+        order = 187)
+    public static void rebuildMCRLinkHrefTable() {
+        List<String> ids = MCRXMLMetadataManager.obtainInstance().listIDs();
+        LOGGER.info("Rebuilding link href table for {} objects and derivates", ids.size());
+        MCRLinkTableManager.getInstance().rebuild(ids.stream().map(MCRObjectID::getInstance));
+    }
+
     @MCRCommand(
         syntax = "rebuild mcrlinkhref table for object {0}",
         help = "Rebuilds (remove/create) all entries of the link href table for the given object id.",
@@ -0,0 +1,208 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.frontend.cli;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.mycore.common.MCRSession;
+import org.mycore.common.MCRSessionMgr;
+import org.mycore.common.MCRTransactionManager;
+import org.mycore.common.MCRUserInformation;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Processes independent commands on a pool of worker threads.
+ * <p>
+ * Each worker has its own {@link MCRSession} with the user and IP of the command line interface and takes commands
+ * from a shared queue. Commands returned by a command are processed next by the same worker. To reduce the overhead
+ * of transactions, a worker commits after every <code>batchSize</code> commands.
+ * <p>
+ * If a command fails, the transaction is rolled back, so all commands of the batch that were not committed yet are
+ * reported as failed together with the command that caused the failure. Changes made outside of the transactions,
+ * like written files, are not undone. If processing should stop on errors, no further commands are started and the
+ * remaining commands are reported as unprocessed.
+ *
+ * @see MCRCommandLineInterface
+ * @see org.mycore.frontend.cli.annotation.MCRCommand#parallel()
+ */
+final class MCRParallelCommandProcessor {
+
+    private final MCRCommandManager commandManager;
+
+    private final int threadCount;
+
+    private final int batchSize;
+
+    private final boolean stopOnError;
+
+    private final Queue<String> queue = new ConcurrentLinkedQueue<>();
+
+    private final Queue<String> failedCommands = new ConcurrentLinkedQueue<>();
+
+    private final Queue<String> unprocessedCommands = new ConcurrentLinkedQueue<>();
+
+    /** number of committed commands */
+    private final AtomicInteger processed = new AtomicInteger();
+
+    private volatile boolean stopped;
+
+    /**
+     * @param commandManager the commands to invoke
+     * @param threadCount the number of worker threads
+     * @param batchSize the number of commands to process in one transaction
+     * @param stopOnError if no further commands should be processed after a command failed
+     */
+    MCRParallelCommandProcessor(MCRCommandManager commandManager, int threadCount, int batchSize,
+        boolean stopOnError) {
+        this.commandManager = commandManager;
+        this.threadCount = threadCount;
+        this.batchSize = batchSize;
+        this.stopOnError = stopOnError;
+    }
+
+    /**
+     * Processes the commands and waits until all are done.
+     *
+     * @param commands the commands to process
+     * @param session the session of the command line interface, whose user and IP are used by the workers
+     * @return the failed and unprocessed commands
+     */
+    Result process(List<String> commands, MCRSession session) throws InterruptedException {
+        queue.addAll(commands);
+        MCRUserInformation userInformation = session.getUserInformation();
+        String currentIP = session.getCurrentIP();
+        long start = System.currentTimeMillis();
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount,
+            new ThreadFactoryBuilder().setNameFormat("MCRCommandLineInterface-worker-%d").build());
+        try {
+            List<Future<?>> workers = new ArrayList<>(threadCount);
+            for (int i = 0; i < threadCount; i++) {
+                workers.add(executor.submit(() -> work(userInformation, currentIP)));
+            }
+            for (Future<?> worker : workers) {
+                try {
+                    worker.get();
+                } catch (ExecutionException e) {
+                    MCRCLIExceptionHandler.handleException(e);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        // commands left over by workers that terminated unexpectedly
+        unprocessedCommands.addAll(queue);
+        queue.clear();
+        MCRCommandStatistics.showThroughput(processed.get() + failedCommands.size(), failedCommands.size(),
+            System.currentTimeMillis() - start);
+        return new Result(List.copyOf(failedCommands), List.copyOf(unprocessedCommands));
+    }
+
+    private void work(MCRUserInformation userInformation, String currentIP) {
+        MCRSessionMgr.unlock();
+        MCRSession session = MCRSessionMgr.getCurrentSession();
+        session.setUserInformation(userInformation);
+        session.setCurrentIP(currentIP);
+        Deque<String> subCommands = new ArrayDeque<>();
+        List<String> batch = new ArrayList<>(batchSize);
+        try {
+            String command = nextCommand(subCommands);
+            while (command != null) {
+                batch.add(command);
+                try {
+                    if (batch.size() == 1) {
+                        MCRTransactionManager.beginTransactions();
+                    }
+                    List<String> commandsReturned = commandManager.invokeCommand(command);
+                    commandsReturned.reversed().forEach(subCommands::addFirst);
+                    if (batch.size() >= batchSize) {
+                        commit(batch);
+                    }
+                } catch (Exception e) {
+                    MCRCLIExceptionHandler.handleException(e);
+                    rollback(batch);
+                }
+                command = nextCommand(subCommands);
+            }
+            if (!batch.isEmpty()) {
+                commit(batch);
+            }
+        } finally {
+            unprocessedCommands.addAll(subCommands);
+            MCRSessionMgr.releaseCurrentSession();
+            session.close();
+        }
+    }
+
+    private String nextCommand(Deque<String> subCommands) {
+        if (stopped) {
+            return null;
+        }
+        String command = subCommands.poll();
+        return command != null ? command : queue.poll();
+    }
+
+    private void commit(List<String> batch) {
+        try {
+            MCRTransactionManager.commitTransactions();
+            processed.addAndGet(batch.size());
+            batch.clear();
+        } catch (Exception e) {
+            MCRCLIExceptionHandler.handleException(e);
+            rollback(batch);
+        }
+    }
+
+    private void rollback(List<String> batch) {
+        MCRCommandLineInterface.output("Command failed. Performing transaction rollback of " + batch.size()
+            + " commands...");
+        if (MCRTransactionManager.hasActiveTransactions()) {
+            try {
+                MCRTransactionManager.rollbackTransactions();
+            } catch (Exception e) {
+                MCRCLIExceptionHandler.handleException(e);
+            }
+        }
+        failedCommands.addAll(batch);
+        batch.clear();
+        if (stopOnError) {
+            stopped = true;
+        }
+    }
+
+    /**
+     * The outcome of {@link #process(List, MCRSession)}.
+     *
+     * @param failedCommands commands that failed or were rolled back
+     * @param unprocessedCommands commands that were not processed because processing stopped
+     */
+    record Result(List<String> failedCommands, List<String> unprocessedCommands) {
+    }
+
+}
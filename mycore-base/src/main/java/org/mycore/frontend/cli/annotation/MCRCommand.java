@@ -54,4 +54,11 @@ public @interface MCRCommand {
      * If {@link #syntax()} conflicts, use <code>order</code> to specify in which order the invocation should be tried.
      */
     int order() default 1;
+
+    /**
+     * Set to <code>true</code> if the commands returned by this command do not depend on each other, so that they may
+     * be processed in parallel if the command line interface is configured to do so. Commands that return commands in
+     * a specific order, e.g. respecting the parent child relationships of objects, must not set this.
+     */
+    boolean parallel() default false;
 }
@@ -0,0 +1,90 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.frontend.jersey;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+import jakarta.ws.rs.core.HttpHeaders;
+
+/**
+ * Helps resources to deliver a gzip compressed copy of a body they keep in a cache, so the body is not compressed
+ * on every request.
+ */
+public final class MCRGzipEncoding {
+
+    /**
+     * The content coding of gzip compressed bodies
+     */
+    public static final String GZIP = "gzip";
+
+    // compressing small bodies does not save enough to be worth it
+    private static final int MIN_COMPRESS_SIZE = 1024;
+
+    private MCRGzipEncoding() {
+    }
+
+    /**
+     * Checks if the <code>Accept-Encoding</code> header of a request allows gzip encoding. A coding with the
+     * quality value 0 is not accepted.
+     *
+     * @param headers the headers of the request, may be <code>null</code>
+     * @return true, if the client accepts a gzip compressed body
+     */
+    public static boolean acceptsGzip(HttpHeaders headers) {
+        List<String> acceptEncodings = headers == null ? null : headers.getRequestHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncodings == null) {
+            return false;
+        }
+        for (String acceptEncoding : acceptEncodings) {
+            for (String coding : acceptEncoding.split(",")) {
+                String[] parts = coding.trim().toLowerCase(Locale.ROOT).split("\\s*;\\s*");
+                if (parts[0].equals(GZIP) && !(parts.length > 1 && parts[1].matches("q=0(\\.0*)?"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compresses the data with gzip.
+     *
+     * @param data the uncompressed body
+     * @return the compressed body, or an empty optional if the data is too small or does not get smaller
+     */
+    public static Optional<byte[]> compress(byte[] data) {
+        if (data.length < MIN_COMPRESS_SIZE) {
+            return Optional.empty();
+        }
+        ByteArrayOutputStream bout = new ByteArrayOutputStream(data.length / 4);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(bout)) {
+            gzipOut.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bout.size() < data.length ? Optional.of(bout.toByteArray()) : Optional.empty();
+    }
+
+}
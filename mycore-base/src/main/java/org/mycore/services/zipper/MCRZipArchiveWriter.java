@@ -0,0 +1,211 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.services.zipper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+
+/**
+ * Writes a ZIP archive to a stream and compresses entries in parallel.
+ * <p>
+ * Compressible entries up to a configurable size are read into memory and deflated by the given executor while
+ * later entries are prepared. Entries that do not compress further (e.g. JPEG or PDF files) are written without
+ * compression. All entries are written to the stream in the order they were added.
+ * <p>
+ * Instances are not thread safe, all methods have to be called by the same thread.
+ */
+public class MCRZipArchiveWriter implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ZipArchiveOutputStream zout;
+
+    private final ExecutorService executor;
+
+    private final int maxPendingEntries;
+
+    private final long maxParallelSize;
+
+    private final Deque<Future<EntryWriter>> pending = new ArrayDeque<>();
+
+    private int level = Deflater.BEST_COMPRESSION;
+
+    /**
+     * @param out the stream to write the archive to
+     * @param executor compresses entries, if <code>null</code> all entries are compressed by the calling thread
+     * @param maxPendingEntries maximum number of entries that are compressed but not written yet
+     * @param maxParallelSize maximum size of an entry to be compressed by the executor, larger ones are compressed
+     *                        while they are written
+     */
+    public MCRZipArchiveWriter(OutputStream out, ExecutorService executor, int maxPendingEntries,
+        long maxParallelSize) {
+        this.zout = new ZipArchiveOutputStream(out);
+        this.executor = executor;
+        this.maxPendingEntries = Math.max(1, maxPendingEntries);
+        this.maxParallelSize = executor == null ? -1 : maxParallelSize;
+        zout.setLevel(level);
+    }
+
+    public void setComment(String comment) {
+        zout.setComment(comment);
+    }
+
+    /**
+     * Adds a directory entry.
+     */
+    public void putDirectory(String name, long lastModified) throws IOException {
+        String dirName = name.endsWith("/") ? name : name + "/";
+        enqueue(CompletableFuture.completedFuture(zip -> {
+            ZipArchiveEntry entry = new ZipArchiveEntry(dirName);
+            entry.setTime(lastModified);
+            zip.putArchiveEntry(entry);
+            zip.closeArchiveEntry();
+        }));
+    }
+
+    /**
+     * Adds the content of a file.
+     *
+     * @param compress <code>false</code> if the content does not compress further, e.g. for JPEG images
+     */
+    public void putFile(String name, Path file, long size, long lastModified, boolean compress)
+        throws IOException {
+        if (compress && size <= maxParallelSize) {
+            putContent(name, Files.readAllBytes(file), lastModified);
+            return;
+        }
+        int entryLevel = compress ? Deflater.BEST_COMPRESSION : Deflater.NO_COMPRESSION;
+        enqueue(CompletableFuture.completedFuture(zip -> {
+            ZipArchiveEntry entry = new ZipArchiveEntry(name);
+            entry.setTime(lastModified);
+            entry.setSize(size);
+            setLevel(entryLevel);
+            zip.putArchiveEntry(entry);
+            try {
+                Files.copy(file, zip);
+            } finally {
+                zip.closeArchiveEntry();
+            }
+        }));
+    }
+
+    /**
+     * Adds compressible content.
+     */
+    public void putContent(String name, byte[] content, long lastModified) throws IOException {
+        if (executor == null) {
+            enqueue(CompletableFuture.completedFuture(deflate(name, content, lastModified)));
+        } else {
+            enqueue(executor.submit(() -> deflate(name, content, lastModified)));
+        }
+    }
+
+    /**
+     * Writes all pending entries and finishes the archive without closing the underlying stream.
+     */
+    public void finish() throws IOException {
+        while (!pending.isEmpty()) {
+            writeNext();
+        }
+        zout.finish();
+    }
+
+    /**
+     * Discards all pending entries and closes the underlying stream.
+     */
+    @Override
+    public void close() throws IOException {
+        pending.forEach(f -> f.cancel(true));
+        pending.clear();
+        zout.close();
+    }
+
+    private void enqueue(Future<EntryWriter> entryWriter) throws IOException {
+        pending.addLast(entryWriter);
+        while (!pending.isEmpty() && (pending.peekFirst().isDone() || pending.size() > maxPendingEntries)) {
+            writeNext();
+        }
+    }
+
+    private void writeNext() throws IOException {
+        Future<EntryWriter> next = pending.removeFirst();
+        try {
+            next.get().write(zout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while compressing entry.", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Error while compressing entry.", e.getCause());
+        }
+    }
+
+    private void setLevel(int level) {
+        if (this.level != level) {
+            this.level = level;
+            zout.setLevel(level);
+        }
+    }
+
+    private static EntryWriter deflate(String name, byte[] content, long lastModified) {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(content.length / 2 + 64);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            deflater.setInput(content);
+            deflater.finish();
+            byte[] buffer = new byte[Math.min(BUFFER_SIZE, content.length + 64)];
+            while (!deflater.finished()) {
+                compressed.write(buffer, 0, deflater.deflate(buffer));
+            }
+        } finally {
+            deflater.end();
+        }
+        ZipArchiveEntry entry = new ZipArchiveEntry(name);
+        entry.setMethod(ZipEntry.DEFLATED);
+        entry.setTime(lastModified);
+        entry.setSize(content.length);
+        entry.setCompressedSize(compressed.size());
+        entry.setCrc(crc.getValue());
+        byte[] data = compressed.toByteArray();
+        return zip -> zip.addRawArchiveEntry(entry, new ByteArrayInputStream(data));
+    }
+
+    @FunctionalInterface
+    private interface EntryWriter {
+        void write(ZipArchiveOutputStream zip) throws IOException;
+    }
+
+}
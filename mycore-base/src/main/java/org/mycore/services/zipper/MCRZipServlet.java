@@ -21,58 +21,96 @@ package org.mycore.services.zipper;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.Serial;
-import java.nio.file.Files;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.stream.Collectors;
 import java.util.zip.Deflater;
 
-import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
-import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.mycore.common.config.MCRConfiguration2;
+import org.mycore.datamodel.niofs.MCRContentTypes;
 import org.mycore.datamodel.niofs.MCRPath;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletOutputStream;
 
 /**
  * Uses ZIP format to deliver requested content.
- * {@link Deflater#BEST_COMPRESSION} is used for compression.
+ * {@link Deflater#BEST_COMPRESSION} is used for compression, files of content types listed in
+ * <code>MCR.ZipServlet.StoredContentTypes</code> are not compressed.
+ * If <code>MCR.ZipServlet.Threads</code> is greater than 0, files up to
+ * <code>MCR.ZipServlet.Parallel.MaxFileSize</code> bytes are compressed in parallel.
  * @author Thomas Scheffler
+ * @see MCRZipArchiveWriter
  */
-public class MCRZipServlet extends MCRCompressServlet<ZipArchiveOutputStream> {
+public class MCRZipServlet extends MCRCompressServlet<MCRZipArchiveWriter> {
 
     @Serial
     private static final long serialVersionUID = 1L;
 
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final String CONFIG_PREFIX = "MCR.ZipServlet.";
+
+    private transient ExecutorService executor;
+
+    private int maxPendingEntries;
+
+    private long maxParallelSize;
+
+    private Set<String> storedContentTypes;
+
+    @Override
+    public void init() throws ServletException {
+        super.init();
+        storedContentTypes = MCRConfiguration2.getString(CONFIG_PREFIX + "StoredContentTypes").stream()
+            .flatMap(MCRConfiguration2::splitValue)
+            .map(type -> type.toLowerCase(Locale.ROOT))
+            .collect(Collectors.toSet());
+        int threads = MCRConfiguration2.getInt(CONFIG_PREFIX + "Threads").orElse(0);
+        maxPendingEntries = MCRConfiguration2.getInt(CONFIG_PREFIX + "Parallel.MaxPendingFiles").orElse(threads * 2);
+        maxParallelSize = MCRConfiguration2.getLong(CONFIG_PREFIX + "Parallel.MaxFileSize").orElse(1024L * 1024L);
+        if (threads > 0) {
+            ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat("MCRZipServlet-Deflater-#%d")
+                .setDaemon(true)
+                .build();
+            executor = Executors.newFixedThreadPool(threads, threadFactory);
+            LOGGER.info("Compressing files with {} threads.", threads);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        super.destroy();
+    }
+
     @Override
-    protected void sendCompressedDirectory(MCRPath file, BasicFileAttributes attrs, ZipArchiveOutputStream container)
+    protected void sendCompressedDirectory(MCRPath file, BasicFileAttributes attrs, MCRZipArchiveWriter container)
         throws IOException {
-        ZipArchiveEntry entry = new ZipArchiveEntry(getFilename(file) + "/");
-        entry.setTime(attrs.lastModifiedTime().toMillis());
-        container.putArchiveEntry(entry);
-        container.closeArchiveEntry();
+        container.putDirectory(getFilename(file), attrs.lastModifiedTime().toMillis());
     }
 
     @Override
-    protected void sendCompressedFile(MCRPath file, BasicFileAttributes attrs, ZipArchiveOutputStream container)
+    protected void sendCompressedFile(MCRPath file, BasicFileAttributes attrs, MCRZipArchiveWriter container)
         throws IOException {
-        ZipArchiveEntry entry = new ZipArchiveEntry(getFilename(file));
-        entry.setTime(attrs.lastModifiedTime().toMillis());
-        entry.setSize(attrs.size());
-        container.putArchiveEntry(entry);
-        try {
-            Files.copy(file, container);
-        } finally {
-            container.closeArchiveEntry();
-        }
+        container.putFile(getFilename(file), file, attrs.size(), attrs.lastModifiedTime().toMillis(),
+            isCompressible(file));
     }
 
     @Override
     protected void sendMetadataCompressed(String fileName, byte[] content, long lastModified,
-        ZipArchiveOutputStream container) throws IOException {
-        ZipArchiveEntry entry = new ZipArchiveEntry(fileName);
-        entry.setSize(content.length);
-        entry.setTime(lastModified);
-        container.putArchiveEntry(entry);
-        container.write(content);
-        container.closeArchiveEntry();
+        MCRZipArchiveWriter container) throws IOException {
+        container.putContent(fileName, content, lastModified);
     }
 
     @Override
@@ -86,15 +124,28 @@ public class MCRZipServlet extends MCRCompressServlet<ZipArchiveOutputStream> {
     }
 
     @Override
-    protected ZipArchiveOutputStream createContainer(ServletOutputStream sout, String comment) {
-        ZipArchiveOutputStream zout = new ZipArchiveOutputStream(new BufferedOutputStream(sout));
+    protected MCRZipArchiveWriter createContainer(ServletOutputStream sout, String comment) {
+        MCRZipArchiveWriter zout = new MCRZipArchiveWriter(new BufferedOutputStream(sout), executor,
+            maxPendingEntries, maxParallelSize);
         zout.setComment(comment);
-        zout.setLevel(Deflater.BEST_COMPRESSION);
         return zout;
     }
 
     @Override
-    protected void disposeContainer(ZipArchiveOutputStream container) throws IOException {
-        container.finish();
+    protected void disposeContainer(MCRZipArchiveWriter container) throws IOException {
+        try {
+            container.finish();
+        } finally {
+            // cancels files that are still compressed if finishing failed
+            container.close();
+        }
+    }
+
+    private boolean isCompressible(MCRPath file) throws IOException {
+        if (storedContentTypes.isEmpty()) {
+            return true;
+        }
+        String contentType = MCRContentTypes.probeContentType(file);
+        return contentType == null || !storedContentTypes.contains(contentType.toLowerCase(Locale.ROOT));
     }
 }
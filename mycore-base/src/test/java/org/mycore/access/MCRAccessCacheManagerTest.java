@@ -0,0 +1,104 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.access;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.mycore.common.MCRSession;
+import org.mycore.common.MCRSessionMgr;
+import org.mycore.common.MCRSystemUserInformation;
+import org.mycore.test.MyCoReTest;
+
+@MyCoReTest
+public class MCRAccessCacheManagerTest {
+
+    private static final String ID = "mcr_test_00000001";
+
+    @Test
+    public void sharedGuestCache() {
+        MCRAccessCacheManager cacheManager = new MCRAccessCacheManager(100, 100, "Access rights,test=shared");
+        cache(cacheManager, ID, true);
+        cache(cacheManager, null, false);
+
+        MCRSession guest = newSession();
+        assertEquals(Boolean.TRUE, isPermitted(cacheManager, ID));
+        assertEquals(Boolean.FALSE, isPermitted(cacheManager, null));
+        guest.setCurrentIP("192.168.0.1");
+        assertNull(isPermitted(cacheManager, ID));
+
+        MCRSession user = newSession();
+        user.setUserInformation(MCRSystemUserInformation.SUPER_USER);
+        assertNull(isPermitted(cacheManager, ID));
+        cache(cacheManager, ID, false);
+        assertEquals(Boolean.FALSE, isPermitted(cacheManager, ID));
+
+        // invalidating the current session only does not affect other guests
+        newSession();
+        cacheManager.removePermission(ID);
+        assertNull(isPermitted(cacheManager, ID));
+        newSession();
+        assertEquals(Boolean.TRUE, isPermitted(cacheManager, ID));
+        assertEquals(3, cacheManager.getPermissionCache().getCurrentSize());
+    }
+
+    @Test
+    public void invalidateById() {
+        MCRAccessCacheManager cacheManager = new MCRAccessCacheManager(100, 2, "Access rights,test=invalidate");
+        cache(cacheManager, ID, true);
+        cache(cacheManager, null, true);
+
+        // permission computed before the invalidation must not be cached
+        MCRAccessCacheManager.MCRPermissionHandle handle = cacheManager.getHandle(ID, "read");
+        cacheManager.removePermissionFromAllCachesById(ID);
+        cacheManager.cachePermission(handle, false);
+        assertNull(isPermitted(cacheManager, ID));
+        assertEquals(Boolean.TRUE, isPermitted(cacheManager, null));
+
+        cache(cacheManager, ID, false);
+        assertEquals(Boolean.FALSE, isPermitted(cacheManager, ID));
+
+        // exceeding the number of tracked generations invalidates everything
+        cacheManager.removePermissionFromAllCachesById("a", "b");
+        assertNull(isPermitted(cacheManager, ID));
+        assertNull(isPermitted(cacheManager, null));
+        cache(cacheManager, ID, true);
+        assertEquals(Boolean.TRUE, isPermitted(cacheManager, ID));
+
+        cacheManager.removeAllPermissions();
+        assertTrue(cacheManager.getPermissionCache().isEmpty());
+        assertNull(isPermitted(cacheManager, ID));
+    }
+
+    private static MCRSession newSession() {
+        MCRSessionMgr.releaseCurrentSession();
+        return MCRSessionMgr.getCurrentSession();
+    }
+
+    private static void cache(MCRAccessCacheManager cacheManager, String id, boolean permitted) {
+        cacheManager.cachePermission(cacheManager.getHandle(id, "read"), permitted);
+    }
+
+    private static Boolean isPermitted(MCRAccessCacheManager cacheManager, String id) {
+        return cacheManager.isPermitted(cacheManager.getHandle(id, "read"));
+    }
+
+}
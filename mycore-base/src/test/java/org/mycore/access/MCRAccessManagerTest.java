@@ -0,0 +1,78 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.access;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mycore.access.strategies.MCRObjectIDStrategy;
+import org.mycore.common.MCRTestConfiguration;
+import org.mycore.common.MCRTestProperty;
+import org.mycore.test.MyCoReTest;
+
+@MyCoReTest
+@MCRTestConfiguration(properties = {
+    @MCRTestProperty(key = "MCR.Access.Class", classNameOf = MCRAccessMock.class),
+    @MCRTestProperty(key = "MCR.Access.Strategy.Class", classNameOf = MCRObjectIDStrategy.class)
+})
+public class MCRAccessManagerTest {
+
+    private static final String PERMISSION = MCRAccessManager.PERMISSION_READ;
+
+    @BeforeEach
+    public void setUp() {
+        MCRAccessManager.invalidAllPermissionCaches();
+        MCRAccessMock.clearCheckPermissionCallsList();
+        MCRAccessMock.setMethodResult(true);
+    }
+
+    @Test
+    public void checkPermissions() {
+        List<String> ids = List.of("mcr_test_00000003", "mcr_test_00000001", "mcr_test_00000002");
+        Map<String, Boolean> result = MCRAccessManager.checkPermissions(ids, PERMISSION);
+        assertEquals(ids, List.copyOf(result.keySet()), "Results should keep the order of the ids");
+        assertEquals(List.of(true, true, true), List.copyOf(result.values()));
+        assertEquals(3, MCRAccessMock.getCheckPermissionCalls().size());
+    }
+
+    @Test
+    public void checkPermissionsUsesCache() {
+        MCRAccessMock.setMethodResult(false);
+        MCRAccessManager.checkPermission("mcr_test_00000001", PERMISSION);
+        MCRAccessMock.clearCheckPermissionCallsList();
+
+        MCRAccessMock.setMethodResult(true);
+        Map<String, Boolean> result = MCRAccessManager
+            .checkPermissions(List.of("mcr_test_00000001", "mcr_test_00000002"), PERMISSION);
+        assertEquals(Map.of("mcr_test_00000001", false, "mcr_test_00000002", true), result);
+        assertEquals(1, MCRAccessMock.getCheckPermissionCalls().size(), "Only uncached ids should be checked");
+        assertEquals("mcr_test_00000002", MCRAccessMock.getCheckPermissionCalls().getFirst().getId());
+
+        // results of the bulk check are cached, too
+        MCRAccessMock.clearCheckPermissionCallsList();
+        assertTrue(MCRAccessManager.checkPermission("mcr_test_00000002", PERMISSION));
+        assertEquals(0, MCRAccessMock.getCheckPermissionCalls().size());
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.access.facts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mycore.access.facts.condition.MCRAbstractCondition;
+import org.mycore.access.facts.condition.combined.MCRAndCondition;
+import org.mycore.access.facts.condition.combined.MCRNotCondition;
+import org.mycore.access.facts.condition.combined.MCROrCondition;
+import org.mycore.access.facts.condition.combined.MCRXorCondition;
+import org.mycore.access.facts.model.MCRCombinedCondition;
+import org.mycore.access.facts.model.MCRCondition;
+
+public class MCRConditionPlanTest {
+
+    private static final long SPIN_NANOS = 10_000;
+
+    @Test
+    public void sameResultsAsConditions() {
+        for (int i = 0; i < 16; i++) {
+            boolean a = (i & 1) != 0;
+            boolean b = (i & 2) != 0;
+            boolean c = (i & 4) != 0;
+            boolean d = (i & 8) != 0;
+            MCRCondition rules = combine(new MCROrCondition(),
+                combine(new MCRAndCondition(), new CountingCondition(a), new CountingCondition(b)),
+                combine(new MCRNotCondition(), new CountingCondition(c)),
+                combine(new MCRXorCondition(), new CountingCondition(c), new CountingCondition(d)));
+            MCRConditionPlan plan = MCRConditionPlan.compile(rules);
+            assertEquals(rules.matches(newFacts()), plan.matches(newFacts()), "a=" + a + " b=" + b + " c=" + c
+                + " d=" + d);
+        }
+    }
+
+    @Test
+    public void memoizesConditionsPerFacts() {
+        CountingCondition shared = new CountingCondition(false);
+        MCRCondition rules = combine(new MCRAndCondition(),
+            combine(new MCRNotCondition(), shared),
+            combine(new MCROrCondition(), shared, new CountingCondition(true)));
+        MCRConditionPlan plan = MCRConditionPlan.compile(rules);
+        assertTrue(plan.matches(newFacts()));
+        assertEquals(1, shared.count);
+        assertTrue(plan.matches(newFacts()));
+        assertEquals(2, shared.count);
+    }
+
+    @Test
+    public void evaluatesDecidingConditionsFirst() {
+        CountingCondition alwaysTrue = new CountingCondition(true);
+        CountingCondition alwaysFalse = new CountingCondition(false);
+        MCRConditionPlan plan = MCRConditionPlan.compile(
+            combine(new MCRAndCondition(), alwaysTrue, alwaysFalse));
+        for (int i = 0; i < MCRConditionPlan.REPLAN_INTERVAL; i++) {
+            plan.matches(newFacts());
+        }
+        int before = alwaysTrue.count;
+        for (int i = 0; i < MCRConditionPlan.REPLAN_INTERVAL; i++) {
+            plan.matches(newFacts());
+        }
+        assertEquals(before, alwaysTrue.count);
+        assertEquals(2 * MCRConditionPlan.REPLAN_INTERVAL, alwaysFalse.count);
+        assertEquals(2L * MCRConditionPlan.REPLAN_INTERVAL, plan.getChecks());
+        assertEquals(3, plan.getConditionStatistics().length);
+    }
+
+    private static MCRCondition combine(MCRCombinedCondition condition, MCRCondition... children) {
+        for (MCRCondition child : children) {
+            condition.add(child);
+        }
+        return condition;
+    }
+
+    private static MCRFactsHolder newFacts() {
+        return new MCRFactsHolder(List.of());
+    }
+
+    private static class CountingCondition extends MCRAbstractCondition {
+
+        private final boolean result;
+
+        private int count;
+
+        CountingCondition(boolean result) {
+            this.result = result;
+        }
+
+        @Override
+        public boolean matches(MCRFactsHolder facts) {
+            count++;
+            // simulate a condition with measurable costs
+            long end = System.nanoTime() + SPIN_NANOS;
+            while (System.nanoTime() < end) {
+                Thread.onSpinWait();
+            }
+            return result;
+        }
+
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.backend.hibernate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mycore.backend.jpa.MCREntityManagerProvider;
+import org.mycore.backend.jpa.links.MCRLINKHREF;
+import org.mycore.backend.jpa.links.MCRLINKHREFPK;
+import org.mycore.common.MCRTestConfiguration;
+import org.mycore.common.MCRTestProperty;
+import org.mycore.datamodel.common.MCRLinkTableManager.MCRLinkReference;
+import org.mycore.datamodel.common.MCRLinkType;
+import org.mycore.datamodel.metadata.MCRObjectID;
+import org.mycore.test.MCRJPAExtension;
+import org.mycore.test.MCRJPATestHelper;
+import org.mycore.test.MyCoReTest;
+
+@MyCoReTest
+@ExtendWith(MCRJPAExtension.class)
+@MCRTestConfiguration(properties = {
+    @MCRTestProperty(key = "MCR.Metadata.Type.test", string = "true")
+})
+public class MCRHIBLinkTableStoreTest {
+
+    private static final MCRObjectID FROM = MCRObjectID.getInstance("junit_test_00000001");
+
+    private static final MCRObjectID TO_1 = MCRObjectID.getInstance("junit_test_00000002");
+
+    private static final MCRObjectID TO_2 = MCRObjectID.getInstance("junit_test_00000003");
+
+    private static final MCRObjectID TO_3 = MCRObjectID.getInstance("junit_test_00000004");
+
+    private final MCRHIBLinkTableStore store = new MCRHIBLinkTableStore();
+
+    @Test
+    public void update() {
+        store.update(FROM.toString(), List.of(
+            new MCRLinkReference(FROM, TO_1, MCRLinkType.REFERENCE, ""),
+            new MCRLinkReference(FROM, TO_2, MCRLinkType.REFERENCE, "old")));
+        MCRJPATestHelper.startNewTransaction();
+        assertEquals(Set.of(TO_1.toString(), TO_2.toString()), Set.copyOf(store.getDestinationsOf(FROM.toString(),
+            null)));
+
+        store.update(FROM.toString(), List.of(
+            new MCRLinkReference(FROM, TO_2, MCRLinkType.REFERENCE, "new"),
+            new MCRLinkReference(FROM, TO_3, MCRLinkType.PARENT, "")));
+        MCRJPATestHelper.startNewTransaction();
+        assertEquals(Set.of(TO_2.toString(), TO_3.toString()), Set.copyOf(store.getDestinationsOf(FROM.toString(),
+            null)));
+        assertEquals("new", getLink(FROM, TO_2, MCRLinkType.REFERENCE).getMcrattr());
+    }
+
+    @Test
+    public void deleteAndCreateInSameTransaction() {
+        store.create(FROM.toString(), TO_1.toString(), MCRLinkType.REFERENCE.toString(), "");
+        store.delete(FROM.toString(), null, null);
+        store.create(FROM.toString(), TO_1.toString(), MCRLinkType.REFERENCE.toString(), "");
+        MCRJPATestHelper.startNewTransaction();
+        assertEquals(List.of(TO_1.toString()), List.copyOf(store.getDestinationsOf(FROM.toString(), null)));
+    }
+
+    @Test
+    public void replaceAll() {
+        store.create(TO_3.toString(), TO_1.toString(), MCRLinkType.REFERENCE.toString(), "");
+        MCRJPATestHelper.startNewTransaction();
+
+        store.replaceAll(Stream.of(
+            new MCRLinkReference(FROM, TO_1, MCRLinkType.REFERENCE, ""),
+            new MCRLinkReference(FROM, TO_1, MCRLinkType.REFERENCE, ""),
+            new MCRLinkReference(FROM, TO_2, MCRLinkType.PARENT, ""),
+            new MCRLinkReference(TO_2, TO_1, MCRLinkType.REFERENCE, "")));
+        MCRJPATestHelper.startNewTransaction();
+        assertEquals(Set.of(TO_1.toString(), TO_2.toString()), Set.copyOf(store.getDestinationsOf(FROM.toString(),
+            null)));
+        assertEquals(List.of(TO_1.toString()), List.copyOf(store.getDestinationsOf(TO_2.toString(), null)));
+        assertTrue(store.getDestinationsOf(TO_3.toString(), null).isEmpty(), "Old links should be removed");
+    }
+
+    private static MCRLINKHREF getLink(MCRObjectID from, MCRObjectID to, MCRLinkType type) {
+        MCRLINKHREFPK key = new MCRLINKHREFPK();
+        key.setMcrfrom(from.toString());
+        key.setMcrto(to.toString());
+        key.setMcrtype(type.toString());
+        return MCREntityManagerProvider.getCurrentEntityManager().find(MCRLINKHREF.class, key);
+    }
+
+}
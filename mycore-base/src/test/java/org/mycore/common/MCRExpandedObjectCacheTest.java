@@ -0,0 +1,87 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.jdom2.output.XMLOutputter;
+import org.junit.jupiter.api.Test;
+import org.mycore.datamodel.metadata.MCRExpandedObject;
+import org.mycore.datamodel.metadata.MCRObjectID;
+import org.mycore.test.MyCoReTest;
+
+@MyCoReTest
+@MCRTestConfiguration(
+    properties = {
+        @MCRTestProperty(key = "MCR.Metadata.Type.test", string = "true")
+    })
+public class MCRExpandedObjectCacheTest {
+
+    @Test
+    public void getExpandedObject() throws IOException {
+        MCRObjectID id = MCRObjectID.getInstance("junit_test_00000001");
+        MCRExpandedObject object = new MCRExpandedObject();
+        object.setId(id);
+        object.setSchema("noSchema");
+        String expected = toString(object);
+
+        AtomicInteger expansions = new AtomicInteger();
+        Supplier<MCRExpandedObject> supplier = () -> {
+            expansions.incrementAndGet();
+            return object;
+        };
+        MCRExpandedObjectCache cache = MCRExpandedObjectCache.getInstance();
+        cache.getExpandedObject(id, 1000, supplier);
+        assertEquals(expected, toString(cache.getExpandedObject(id, 1000, supplier)));
+        assertEquals(1, expansions.get());
+
+        // cached entries are stored compressed
+        try (Stream<Path> files = Files.walk(cache.getCacheRootPath())) {
+            Path file = files.filter(f -> f.getFileName().toString().startsWith(id.toString()))
+                .findFirst().orElseThrow();
+            try (InputStream in = Files.newInputStream(file)) {
+                in.skipNBytes(Integer.BYTES + Long.BYTES);
+                assertEquals(0x8b1f, in.read() | in.read() << 8);
+            }
+        }
+
+        // source object was modified
+        cache.getExpandedObject(id, 2000, supplier);
+        assertEquals(2, expansions.get());
+        cache.getExpandedObject(id, 2000, supplier);
+        assertEquals(2, expansions.get());
+
+        cache.clear(id);
+        assertEquals(expected, toString(cache.getExpandedObject(id, 2000, supplier)));
+        assertEquals(3, expansions.get());
+    }
+
+    private static String toString(MCRExpandedObject object) {
+        return new XMLOutputter().outputString(object.createXML());
+    }
+
+}
@@ -24,6 +24,9 @@ import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Map;
+import java.util.Optional;
+
 import org.junit.jupiter.api.Test;
 import org.mycore.common.MCRTestConfiguration;
 import org.mycore.common.MCRTestProperty;
@@ -128,6 +131,49 @@ public class MCRConfiguration2Test {
         assertEquals("Bar", instance.getFoo());
     }
 
+    @Test
+    @MCRTestConfiguration(properties = {
+        @MCRTestProperty(key = "MCR.C2.Sub.A", string = " 1 "),
+        @MCRTestProperty(key = "MCR.C2.Sub.B.C", string = "2"),
+        @MCRTestProperty(key = "MCR.C2.Sub.Blank", string = " "),
+        @MCRTestProperty(key = "MCR.C2.Subway", string = "3")
+    })
+    final void testSubpropertiesMap() {
+        assertEquals(Map.of("A", "1", "B.C", "2"), MCRConfiguration2.getSubpropertiesMap("MCR.C2.Sub."));
+        assertEquals(Map.of("A", " 1 ", "B.C", "2", "Blank", " "),
+            MCRConfigurationBase.getSubpropertiesMap("MCR.C2.Sub."));
+        assertEquals(Map.of(".A", "1", ".B.C", "2", "way", "3"), MCRConfiguration2.getSubpropertiesMap("MCR.C2.Sub"));
+        assertEquals(Map.of(), MCRConfiguration2.getSubpropertiesMap("MCR.C2.Missing."));
+
+        // the returned map may be changed by the caller
+        Map<String, String> properties = MCRConfiguration2.getSubpropertiesMap("MCR.C2.Sub.");
+        properties.remove("A");
+        assertEquals(Map.of("A", "1", "B.C", "2"), MCRConfiguration2.getSubpropertiesMap("MCR.C2.Sub."));
+    }
+
+    @Test
+    @MCRTestConfiguration(properties = {
+        @MCRTestProperty(key = "MCR.C2.Changed.Int", string = "1")
+    })
+    final void testChangedPropertiesReplaceSnapshot() {
+        long version = MCRConfigurationBase.getVersion();
+        assertEquals(1, MCRConfiguration2.getInt("MCR.C2.Changed.Int").orElseThrow());
+        assertEquals(Map.of("Int", "1"), MCRConfiguration2.getSubpropertiesMap("MCR.C2.Changed."));
+
+        MCRConfiguration2.set("MCR.C2.Changed.Int", "2");
+        assertTrue(MCRConfigurationBase.getVersion() > version);
+        assertEquals(2, MCRConfiguration2.getInt("MCR.C2.Changed.Int").orElseThrow());
+        assertEquals(Map.of("Int", "2"), MCRConfiguration2.getSubpropertiesMap("MCR.C2.Changed."));
+
+        MCRConfiguration2.set("MCR.C2.Changed.Int", "two");
+        assertThrows(NumberFormatException.class, () -> MCRConfiguration2.getInt("MCR.C2.Changed.Int"));
+        assertEquals(Optional.of(false), MCRConfiguration2.getBoolean("MCR.C2.Changed.Int"));
+
+        MCRConfiguration2.set("MCR.C2.Changed.Int", (String) null);
+        assertEquals(Optional.empty(), MCRConfiguration2.getInt("MCR.C2.Changed.Int"));
+        assertEquals(Map.of(), MCRConfiguration2.getSubpropertiesMap("MCR.C2.Changed."));
+    }
+
     public static final class TestObject {
 
         @MCRProperty(name = "Foo", required = false)
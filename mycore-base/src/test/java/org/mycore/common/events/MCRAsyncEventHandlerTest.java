@@ -0,0 +1,172 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.common.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mycore.common.MCRPersistenceTransaction;
+import org.mycore.common.MCRTestConfiguration;
+import org.mycore.common.MCRTestProperty;
+import org.mycore.common.MCRTransactionManager;
+import org.mycore.datamodel.metadata.MCRObject;
+import org.mycore.datamodel.metadata.MCRObjectID;
+import org.mycore.test.MyCoReTest;
+
+@MyCoReTest
+@MCRTestConfiguration(properties = {
+    @MCRTestProperty(key = "MCR.Metadata.Type.test", string = "true")
+})
+public class MCRAsyncEventHandlerTest {
+
+    @Test
+    public void coalesce() {
+        RecordingEventHandler recorder = new RecordingEventHandler();
+        MCRAsyncEventHandler asyncHandler = new MCRAsyncEventHandler(recorder, 100, 1000);
+        MCRObject first = createObject(1);
+        MCRObject second = createObject(2);
+        MCRObject v1 = createObject(1);
+        MCRObject v2 = createObject(1);
+
+        asyncHandler.enqueue(objectEvent(MCREvent.EventType.CREATE, second, null));
+        asyncHandler.enqueue(objectEvent(MCREvent.EventType.UPDATE, v1, first));
+        asyncHandler.enqueue(objectEvent(MCREvent.EventType.UPDATE, second, second));
+        asyncHandler.enqueue(objectEvent(MCREvent.EventType.UPDATE, v2, v1));
+        assertEquals(3, asyncHandler.getQueueSize());
+        assertEquals(1, asyncHandler.getCoalesced());
+        assertEquals(0, recorder.events.size());
+
+        asyncHandler.flush();
+        assertEquals(0, asyncHandler.getQueueSize());
+        assertEquals(3, asyncHandler.getProcessed());
+        assertEquals(3, recorder.events.size());
+        assertEquals(MCREvent.EventType.CREATE, recorder.events.get(0).getEventType());
+        MCREvent coalesced = recorder.events.get(1);
+        assertSame(v2, coalesced.get(MCREvent.OBJECT_KEY));
+        assertSame(first, coalesced.get(MCREvent.OBJECT_OLD_KEY));
+        // create and update of the same object are not coalesced
+        assertSame(second, recorder.events.get(2).get(MCREvent.OBJECT_KEY));
+    }
+
+    @Test
+    public void closeProcessesQueuedEvents() {
+        RecordingEventHandler recorder = new RecordingEventHandler();
+        MCRAsyncEventHandler asyncHandler = new MCRAsyncEventHandler(recorder, 2, 0);
+        for (int i = 1; i <= 5; i++) {
+            asyncHandler.enqueue(objectEvent(MCREvent.EventType.UPDATE, createObject(i), null));
+        }
+        recorder.fail = true;
+        asyncHandler.enqueue(objectEvent(MCREvent.EventType.UPDATE, createObject(6), null));
+        assertEquals(6, asyncHandler.getQueueSize());
+        asyncHandler.close();
+        assertEquals(0, asyncHandler.getQueueSize());
+        assertEquals(0, asyncHandler.getProcessed());
+        assertEquals(6, asyncHandler.getFailed());
+
+        // closed handler handles events immediately
+        recorder.fail = false;
+        asyncHandler.enqueue(objectEvent(MCREvent.EventType.UPDATE, createObject(7), null));
+        assertEquals(1, asyncHandler.getProcessed());
+        assertEquals(7, recorder.events.size());
+    }
+
+    @Test
+    public void failedCommit() {
+        RecordingEventHandler recorder = new RecordingEventHandler();
+        MCRAsyncEventHandler asyncHandler = new MCRAsyncEventHandler(recorder, 2, 0);
+        for (int i = 1; i <= 3; i++) {
+            asyncHandler.enqueue(objectEvent(MCREvent.EventType.UPDATE, createObject(i), null));
+        }
+        MCRTransactionManager.TransactionLoader previousLoader = MCRTransactionManager.getTransactionLoader();
+        MCRTransactionManager.setTransactionLoader(() -> List.of(new FailingTransaction()));
+        try {
+            asyncHandler.flush();
+        } finally {
+            MCRTransactionManager.setTransactionLoader(previousLoader);
+        }
+        // all batches are processed, but their changes were rolled back
+        assertEquals(3, recorder.events.size());
+        assertEquals(0, asyncHandler.getQueueSize());
+        assertEquals(0, asyncHandler.getProcessed());
+        assertEquals(3, asyncHandler.getFailed());
+    }
+
+    private static MCRObject createObject(int number) {
+        MCRObject object = new MCRObject();
+        object.setId(MCRObjectID.getInstance(MCRObjectID.formatID("test_test", number)));
+        return object;
+    }
+
+    private static MCREvent objectEvent(MCREvent.EventType type, MCRObject object, MCRObject oldObject) {
+        MCREvent evt = new MCREvent(MCREvent.ObjectType.OBJECT, type);
+        evt.put(MCREvent.OBJECT_KEY, object);
+        if (oldObject != null) {
+            evt.put(MCREvent.OBJECT_OLD_KEY, oldObject);
+        }
+        return evt;
+    }
+
+    private static class FailingTransaction implements MCRPersistenceTransaction {
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void begin() {
+        }
+
+        @Override
+        public void commit() {
+            throw new IllegalStateException("commit failed");
+        }
+
+        @Override
+        public void rollback() {
+        }
+
+        @Override
+        public int getCommitPriority() {
+            return 0;
+        }
+
+    }
+
+    private static class RecordingEventHandler extends MCREventHandlerBase {
+
+        final List<MCREvent> events = new ArrayList<>();
+
+        boolean fail;
+
+        @Override
+        public void doHandleEvent(MCREvent evt) {
+            events.add(evt);
+            if (fail) {
+                throw new IllegalStateException("failed " + evt);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.datamodel.classifications2.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mycore.test.MCRJPATestHelper.beginTransaction;
+import static org.mycore.test.MCRJPATestHelper.endTransaction;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mycore.backend.jpa.MCREntityManagerProvider;
+import org.mycore.common.MCRStreamUtils;
+import org.mycore.datamodel.classifications2.MCRCategory;
+import org.mycore.datamodel.classifications2.MCRCategoryID;
+import org.mycore.datamodel.classifications2.MCRLabel;
+import org.mycore.datamodel.classifications2.utils.MCRStringTransformer;
+import org.mycore.test.MCRJPAExtension;
+import org.mycore.test.MyCoReTest;
+
+@MyCoReTest
+@ExtendWith(MCRJPAExtension.class)
+public class MCRSnapshotCategoryDAOImplTest {
+
+    private static final MCRCategoryDAOImpl DB_DAO = new MCRCategoryDAOImpl();
+
+    private MCRSnapshotCategoryDAOImpl dao;
+
+    private MCRCategory category;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        dao = new MCRSnapshotCategoryDAOImpl();
+        category = MCRCategoryDAOImplTest.loadClassificationResource(MCRCategoryDAOImplTest.WORLD_CLASS_RESOURCE_NAME);
+        dao.addCategory(null, category);
+        commit();
+    }
+
+    @Test
+    public void readsMatchDatabase() {
+        List<MCRCategoryID> ids = MCRStreamUtils.flatten(category, MCRCategory::getChildren, Collection::stream)
+            .map(MCRCategory::getId)
+            .toList();
+        for (MCRCategoryID id : ids) {
+            assertTrue(dao.exist(id), id + " should exist");
+            assertEquals(DB_DAO.hasChildren(id), dao.hasChildren(id), id.toString());
+            assertEquals(toString(DB_DAO.getCategory(id, -1)), toString(dao.getCategory(id, -1)), id.toString());
+            assertEquals(toString(DB_DAO.getCategory(id, 1)), toString(dao.getCategory(id, 1)), id.toString());
+            assertEquals(toString(DB_DAO.getChildren(id)), toString(dao.getChildren(id)), id.toString());
+            assertEquals(toString(DB_DAO.getParents(id)), toString(dao.getParents(id)), id.toString());
+            assertEquals(toString(DB_DAO.getRootCategory(id, 0)), toString(dao.getRootCategory(id, 0)),
+                id.toString());
+        }
+        MCRCategoryID missing = new MCRCategoryID(category.getId().getRootID(), "Atlantis");
+        assertFalse(dao.exist(missing));
+        assertNull(dao.getCategory(missing, -1));
+        assertNull(dao.getParents(missing));
+        assertFalse(dao.exist(new MCRCategoryID("nonexisting", "Atlantis")));
+
+        assertEquals(DB_DAO.getRootCategoryIDs(), dao.getRootCategoryIDs());
+        assertEquals(toString(DB_DAO.getRootCategories()), toString(dao.getRootCategories()));
+        assertEquals(getIDs(DB_DAO.getCategoriesByLabel("en", "Europe")),
+            getIDs(dao.getCategoriesByLabel("en", "Europe")));
+        MCRCategoryID europe = category.getChildren().getFirst().getId();
+        assertEquals(getIDs(DB_DAO.getCategoriesByLabel(europe, "de", "Deutschland")),
+            getIDs(dao.getCategoriesByLabel(europe, "de", "Deutschland")));
+        assertEquals(getIDs(DB_DAO.getCategoriesByClassAndLang(europe.getRootID(), "fr")),
+            getIDs(dao.getCategoriesByClassAndLang(europe.getRootID(), "fr")));
+    }
+
+    @Test
+    public void changesReplaceSnapshot() {
+        MCRCategoryID europe = category.getChildren().getFirst().getId();
+        assertEquals("Europa", dao.getCategory(europe, 0).getLabel("de").orElseThrow().getText());
+
+        dao.setLabel(europe, new MCRLabel("de", "Alte Welt", null));
+        // the changing transaction sees its own changes
+        assertEquals("Alte Welt", dao.getCategory(europe, 0).getLabel("de").orElseThrow().getText());
+        commit();
+        assertEquals("Alte Welt", dao.getCategory(europe, 0).getLabel("de").orElseThrow().getText());
+
+        MCRCategoryID germany = category.getChildren().getFirst().getChildren().getFirst().getId();
+        dao.deleteCategory(germany);
+        assertFalse(dao.exist(germany));
+        commit();
+        assertFalse(dao.exist(germany));
+        assertEquals(toString(DB_DAO.getCategory(category.getId(), -1)),
+            toString(dao.getCategory(category.getId(), -1)));
+    }
+
+    @Test
+    public void unknownClassificationIsNotCached() {
+        MCRCategoryID rootID = new MCRCategoryID("junit");
+        assertFalse(dao.exist(rootID));
+
+        // created without notifying the snapshot DAO
+        MCRCategory root = new MCRCategoryImpl();
+        root.setId(rootID);
+        DB_DAO.addCategory(null, root);
+        commit();
+        assertTrue(dao.exist(rootID));
+    }
+
+    /**
+     * Commits the current transaction and starts a new one in a new entity manager.
+     */
+    private static void commit() {
+        endTransaction();
+        MCREntityManagerProvider.getCurrentEntityManager().close();
+        beginTransaction();
+    }
+
+    private static List<String> getIDs(List<MCRCategory> categories) {
+        return categories.stream()
+            .map(c -> c.getId().toString())
+            .sorted()
+            .toList();
+    }
+
+    private static String toString(List<MCRCategory> categories) {
+        return categories.stream()
+            .map(MCRSnapshotCategoryDAOImplTest::toString)
+            .collect(Collectors.joining());
+    }
+
+    private static String toString(MCRCategory category) {
+        MCRCategoryImpl impl = (MCRCategoryImpl) category;
+        return impl.getLeft() + "-" + impl.getRight() + ":" + MCRStringTransformer.getString(category)
+            + "root:" + Optional.ofNullable(category.getRoot()).map(MCRStringTransformer::getString).orElse("");
+    }
+
+}
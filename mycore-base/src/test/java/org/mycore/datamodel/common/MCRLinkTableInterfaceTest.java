@@ -0,0 +1,102 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.datamodel.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.mycore.common.MCRTestConfiguration;
+import org.mycore.common.MCRTestProperty;
+import org.mycore.datamodel.common.MCRLinkTableManager.MCRLinkReference;
+import org.mycore.datamodel.metadata.MCRObjectID;
+import org.mycore.test.MyCoReTest;
+
+@MyCoReTest
+@MCRTestConfiguration(properties = {
+    @MCRTestProperty(key = "MCR.Metadata.Type.test", string = "true")
+})
+public class MCRLinkTableInterfaceTest {
+
+    @Test
+    public void replaceAll() {
+        ListLinkTable linkTable = new ListLinkTable();
+        linkTable.create("junit_test_00000001", "junit_test_00000009", "reference", "");
+        linkTable.create("junit_test_00000002", "junit_test_00000009", "reference", "");
+        linkTable.create("junit_test_00000003", "junit_test_00000009", "reference", "");
+
+        linkTable.replaceAll(Stream.of(
+            link("junit_test_00000001", "junit_test_00000004"),
+            link("junit_test_00000001", "junit_test_00000005"),
+            link("junit_test_00000002", "junit_test_00000004")));
+
+        // sources without links in the stream keep their links
+        assertEquals(List.of(
+            "junit_test_00000003>junit_test_00000009",
+            "junit_test_00000001>junit_test_00000004",
+            "junit_test_00000001>junit_test_00000005",
+            "junit_test_00000002>junit_test_00000004"), linkTable.links);
+    }
+
+    private static MCRLinkReference link(String from, String to) {
+        return new MCRLinkReference(MCRObjectID.getInstance(from), MCRObjectID.getInstance(to),
+            MCRLinkType.REFERENCE, "");
+    }
+
+    private static final class ListLinkTable implements MCRLinkTableInterface {
+
+        private final List<String> links = new ArrayList<>();
+
+        @Override
+        public void create(String from, String to, String type, String attr) {
+            links.add(from + ">" + to);
+        }
+
+        @Override
+        public void delete(String from, String to, String type) {
+            links.removeIf(link -> link.startsWith(from + ">"));
+        }
+
+        @Override
+        public int countTo(String fromtype, String to, String type, String restriction) {
+            return 0;
+        }
+
+        @Override
+        public Map<String, Number> getCountedMapOfMCRTO(String mcrtoPrefix) {
+            return Map.of();
+        }
+
+        @Override
+        public Collection<String> getSourcesOf(String to, String type) {
+            return List.of();
+        }
+
+        @Override
+        public Collection<String> getDestinationsOf(String from, String type) {
+            return List.of();
+        }
+    }
+
+}
@@ -0,0 +1,175 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.datamodel.ifs2;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.jdom2.output.Format;
+import org.jdom2.output.XMLOutputter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mycore.common.MCRSessionMgr;
+import org.mycore.common.MCRTestConfiguration;
+import org.mycore.common.MCRTestProperty;
+import org.mycore.common.MCRTransactionManager;
+import org.mycore.common.content.MCRPathContent;
+import org.mycore.common.content.MCRStringContent;
+import org.mycore.test.MyCoReTest;
+
+@MyCoReTest
+@MCRTestConfiguration(properties = {
+    @MCRTestProperty(key = "MCR.IFS2.FileCollection.WriteBehind", string = "true"),
+    @MCRTestProperty(key = "MCR.IFS2.FileCollection.WriteBehind.MaxPending", string = "100")
+})
+public class MCRFileCollectionJournalTest extends MCRIFS2TestCase {
+
+    @BeforeEach
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        MCRTransactionManager.beginTransactions(MCRFileCollectionFlushTransaction.class);
+    }
+
+    @AfterEach
+    @Override
+    public void tearDown() throws Exception {
+        if (MCRTransactionManager.hasActiveTransactions()) {
+            MCRTransactionManager.rollbackTransactions();
+        }
+        super.tearDown();
+    }
+
+    @Test
+    public void replayAfterCrash() throws Exception {
+        MCRFileCollection col = getStore().create();
+        String initialData = readDataFile(col);
+        MCRDirectory dir = col.createDir("dir");
+        MCRFile file = dir.createFile("file.txt");
+        String md5 = file.setContent(new MCRStringContent("content"));
+        file.setLabel("de", "Datei");
+        dir.createFile("deleted.txt").delete();
+        col.createFile("old.txt").renameTo("new.txt");
+        col.setLabel("en", "Collection");
+
+        // nothing written to mcrdata.xml yet
+        assertEquals(initialData, readDataFile(col));
+        assertTrue(Files.exists(journalFile(col)));
+        String expected = toString(col);
+
+        // simulate a crash with an incomplete last record
+        Files.write(journalFile(col), new byte[] { 0, 0, 1 }, StandardOpenOption.APPEND);
+        MCRFileCollection recovered = new MCRFileCollection(getStore(), col.getID());
+        assertEquals(expected, toString(recovered));
+        assertFalse(Files.exists(journalFile(col)));
+        assertEquals(expected, readDataFile(recovered));
+
+        MCRFile recoveredFile = (MCRFile) ((MCRDirectory) recovered.getChild("dir")).getChild("file.txt");
+        assertEquals(md5, recoveredFile.getMD5());
+        assertEquals("Datei", recoveredFile.getLabel("de"));
+        assertNull(((MCRDirectory) recovered.getChild("dir")).getChild("deleted.txt"));
+        assertEquals("Collection", recovered.getLabel("en"));
+    }
+
+    @Test
+    public void flush() throws Exception {
+        MCRFileCollection col = getStore().create();
+        for (int i = 0; i < 150; i++) {
+            col.createFile("file" + i + ".txt");
+        }
+        // reaching MaxPending wrote the data file
+        assertTrue(readDataFile(col).contains("file99.txt"));
+        assertFalse(readDataFile(col).contains("file149.txt"));
+
+        col.flush();
+        assertFalse(Files.exists(journalFile(col)));
+        assertEquals(toString(col), readDataFile(col));
+    }
+
+    @Test
+    public void flushAfterCommit() throws Exception {
+        MCRFileCollection col = getStore().create();
+        col.createFile("file.txt");
+        assertTrue(Files.exists(journalFile(col)));
+        assertFalse(readDataFile(col).contains("file.txt"));
+
+        MCRTransactionManager.commitTransactions();
+        assertFalse(Files.exists(journalFile(col)));
+        assertEquals(toString(col), readDataFile(col));
+    }
+
+    @Test
+    public void flushAfterRollback() throws Exception {
+        MCRFileCollection col = getStore().create();
+        col.createFile("rolledBack.txt");
+        // the files are not part of the transaction, so their data is written anyway
+        MCRTransactionManager.rollbackTransactions();
+        assertFalse(Files.exists(journalFile(col)));
+        assertTrue(readDataFile(col).contains("rolledBack.txt"));
+
+        // later transactions write their changes again
+        MCRTransactionManager.beginTransactions(MCRFileCollectionFlushTransaction.class);
+        col.createFile("committed.txt");
+        assertTrue(Files.exists(journalFile(col)));
+        MCRTransactionManager.commitTransactions();
+        assertFalse(Files.exists(journalFile(col)));
+        assertTrue(readDataFile(col).contains("committed.txt"));
+    }
+
+    @Test
+    public void flushWithoutTransaction() throws Exception {
+        MCRTransactionManager.rollbackTransactions();
+        MCRFileCollection col = getStore().create();
+        col.createFile("file.txt");
+        assertFalse(Files.exists(journalFile(col)));
+        assertTrue(readDataFile(col).contains("file.txt"));
+    }
+
+    @Test
+    public void flushOnSessionRelease() throws Exception {
+        MCRFileCollection col = getStore().create();
+        col.createFile("file.txt");
+        MCRSessionMgr.getCurrentSession();
+        MCRSessionMgr.releaseCurrentSession();
+        MCRSessionMgr.unlock();
+        assertFalse(Files.exists(journalFile(col)));
+        assertTrue(readDataFile(col).contains("file.txt"));
+    }
+
+    private static Path journalFile(MCRFileCollection col) {
+        return col.getLocalPath().resolve(MCRFileCollectionJournal.JOURNAL_FILE);
+    }
+
+    private static String readDataFile(MCRFileCollection col) throws Exception {
+        return new XMLOutputter(Format.getCompactFormat())
+            .outputString(new MCRPathContent(col.getLocalPath().resolve(MCRFileCollection.DATA_FILE)).asXML());
+    }
+
+    private static String toString(MCRFileCollection col) {
+        return new XMLOutputter(Format.getCompactFormat()).outputString(col.getMetadata());
+    }
+
+}
@@ -0,0 +1,187 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.frontend.cli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mycore.common.MCRException;
+import org.mycore.common.MCRPersistenceTransaction;
+import org.mycore.common.MCRSessionMgr;
+import org.mycore.common.MCRTransactionManager;
+import org.mycore.test.MyCoReTest;
+
+@MyCoReTest
+public class MCRParallelCommandProcessorTest {
+
+    private static final ThreadLocal<List<String>> TRANSACTION = new ThreadLocal<>();
+
+    private final Queue<String> invoked = new ConcurrentLinkedQueue<>();
+
+    private final Queue<String> committed = new ConcurrentLinkedQueue<>();
+
+    private final Queue<String> rolledBack = new ConcurrentLinkedQueue<>();
+
+    private final Map<String, List<String>> subCommands = new HashMap<>();
+
+    private final Set<String> failing = new HashSet<>();
+
+    private MCRTransactionManager.TransactionLoader previousLoader;
+
+    @BeforeEach
+    public void setUp() {
+        previousLoader = MCRTransactionManager.getTransactionLoader();
+        MCRTransactionManager.setTransactionLoader(() -> List.of(new TestTransaction()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        MCRTransactionManager.setTransactionLoader(previousLoader);
+    }
+
+    @Test
+    public void batchRollback() throws Exception {
+        failing.add("b");
+        MCRParallelCommandProcessor.Result result = process(1, 3, false, "a", "b", "c", "d", "e");
+        // the whole batch is rolled back and reported as failed
+        assertEquals(List.of("a", "b"), result.failedCommands());
+        assertEquals(List.of(), result.unprocessedCommands());
+        assertEquals(List.of("a", "b"), List.copyOf(rolledBack));
+        assertEquals(List.of("c", "d", "e"), List.copyOf(committed));
+    }
+
+    @Test
+    public void stopOnError() throws Exception {
+        failing.add("b");
+        MCRParallelCommandProcessor.Result result = process(1, 2, true, "a", "b", "c", "d");
+        assertEquals(List.of("a", "b"), result.failedCommands());
+        assertEquals(List.of("c", "d"), result.unprocessedCommands());
+        assertEquals(List.of("a", "b"), List.copyOf(invoked));
+        assertTrue(committed.isEmpty());
+    }
+
+    @Test
+    public void subCommandOrder() throws Exception {
+        subCommands.put("a", List.of("a1", "a2"));
+        subCommands.put("a1", List.of("a1.1"));
+        MCRParallelCommandProcessor.Result result = process(1, 2, true, "a", "b");
+        assertEquals(List.of(), result.failedCommands());
+        assertEquals(List.of(), result.unprocessedCommands());
+        assertEquals(List.of("a", "a1", "a1.1", "a2", "b"), List.copyOf(invoked));
+        assertEquals(List.copyOf(invoked), List.copyOf(committed));
+    }
+
+    @Test
+    public void unprocessedSubCommands() throws Exception {
+        subCommands.put("a", List.of("a1", "a2"));
+        failing.add("a1");
+        MCRParallelCommandProcessor.Result result = process(1, 1, true, "a", "b");
+        assertEquals(List.of("a1"), result.failedCommands());
+        // sub commands of the worker come before the remaining commands
+        assertEquals(List.of("a2", "b"), result.unprocessedCommands());
+        assertEquals(List.of("a"), List.copyOf(committed));
+    }
+
+    @Test
+    public void parallel() throws Exception {
+        String[] commands = IntStream.range(0, 100).mapToObj(i -> "command " + i).toArray(String[]::new);
+        failing.add("command 42");
+        MCRParallelCommandProcessor.Result result = process(4, 5, false, commands);
+        List<String> processed = new ArrayList<>(committed);
+        processed.addAll(result.failedCommands());
+        assertEquals(Set.of(commands), Set.copyOf(processed));
+        assertEquals(commands.length, processed.size());
+        assertTrue(result.failedCommands().contains("command 42"));
+        assertTrue(result.failedCommands().size() <= 5);
+        assertEquals(List.of(), result.unprocessedCommands());
+    }
+
+    private MCRParallelCommandProcessor.Result process(int threads, int batchSize, boolean stopOnError,
+        String... commands) throws InterruptedException {
+        return new MCRParallelCommandProcessor(new TestCommandManager(), threads, batchSize, stopOnError)
+            .process(List.of(commands), MCRSessionMgr.getCurrentSession());
+    }
+
+    private final class TestCommandManager extends MCRCommandManager {
+
+        @Override
+        protected void initBuiltInCommands() {
+            // no commands needed
+        }
+
+        @Override
+        protected void initCommands() {
+            // no commands needed
+        }
+
+        @Override
+        public List<String> invokeCommand(String command) {
+            invoked.add(command);
+            TRANSACTION.get().add(command);
+            if (failing.contains(command)) {
+                throw new MCRException("Failed: " + command);
+            }
+            return subCommands.getOrDefault(command, List.of());
+        }
+    }
+
+    private final class TestTransaction implements MCRPersistenceTransaction {
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void begin() {
+            TRANSACTION.set(new ArrayList<>());
+        }
+
+        @Override
+        public void commit() {
+            committed.addAll(TRANSACTION.get());
+            TRANSACTION.remove();
+        }
+
+        @Override
+        public void rollback() {
+            rolledBack.addAll(TRANSACTION.get());
+            TRANSACTION.remove();
+        }
+
+        @Override
+        public int getCommitPriority() {
+            return 0;
+        }
+    }
+
+}
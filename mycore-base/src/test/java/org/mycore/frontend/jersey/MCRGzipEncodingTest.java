@@ -0,0 +1,69 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.frontend.jersey;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+
+import jakarta.ws.rs.core.HttpHeaders;
+
+public class MCRGzipEncodingTest {
+
+    @Test
+    public void acceptsGzip() {
+        assertTrue(MCRGzipEncoding.acceptsGzip(headers("gzip")));
+        assertTrue(MCRGzipEncoding.acceptsGzip(headers("deflate, GZIP;q=0.5")));
+        assertTrue(MCRGzipEncoding.acceptsGzip(headers("br", "gzip ; q=1")));
+        assertFalse(MCRGzipEncoding.acceptsGzip(headers("gzip;q=0")));
+        assertFalse(MCRGzipEncoding.acceptsGzip(headers("gzip; q=0.000")));
+        assertFalse(MCRGzipEncoding.acceptsGzip(headers("deflate, x-gzip")));
+        assertFalse(MCRGzipEncoding.acceptsGzip(headers()));
+        assertFalse(MCRGzipEncoding.acceptsGzip(null));
+    }
+
+    @Test
+    public void compress() throws Exception {
+        byte[] data = "body { color: black; }\n".repeat(100).getBytes(StandardCharsets.UTF_8);
+        byte[] compressed = MCRGzipEncoding.compress(data).orElseThrow();
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertArrayEquals(data, in.readAllBytes());
+        }
+        // too small to be worth it
+        assertTrue(MCRGzipEncoding.compress("body {}".getBytes(StandardCharsets.UTF_8)).isEmpty());
+    }
+
+    private static HttpHeaders headers(String... acceptEncodings) {
+        HttpHeaders headers = mock(HttpHeaders.class);
+        when(headers.getRequestHeader(HttpHeaders.ACCEPT_ENCODING))
+            .thenReturn(acceptEncodings.length == 0 ? null : List.of(acceptEncodings));
+        return headers;
+    }
+
+}
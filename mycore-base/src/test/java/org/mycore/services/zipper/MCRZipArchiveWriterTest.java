@@ -0,0 +1,184 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.services.zipper;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MCRZipArchiveWriterTest {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final long LAST_MODIFIED = 1_700_000_000_000L;
+
+    @TempDir
+    Path tempDir;
+
+    private ExecutorService executor;
+
+    private List<Path> files;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        executor = Executors.newFixedThreadPool(4);
+        files = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 64; i++) {
+            Path file = tempDir.resolve("text" + i + ".xml");
+            Files.writeString(file, ("<line no=\"" + i + "\">" + random.nextInt() + "</line>\n").repeat(2000));
+            files.add(file);
+        }
+        for (int i = 0; i < 4; i++) {
+            byte[] image = new byte[2 * 1024 * 1024];
+            random.nextBytes(image);
+            files.add(Files.write(tempDir.resolve("image" + i + ".jpg"), image));
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void writeInOrder() throws IOException {
+        for (ExecutorService service : new ExecutorService[] { executor, null }) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (MCRZipArchiveWriter writer = new MCRZipArchiveWriter(out, service, 8, 256 * 1024)) {
+                write(writer);
+            }
+            try (ZipInputStream zin = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+                ZipEntry metadata = zin.getNextEntry();
+                assertEquals("metadata.xml", metadata.getName());
+                assertArrayEquals(metadataContent(), zin.readAllBytes());
+                assertEquals("files/", zin.getNextEntry().getName());
+                for (Path file : files) {
+                    ZipEntry entry = zin.getNextEntry();
+                    assertEquals("files/" + file.getFileName(), entry.getName());
+                    assertEquals(LAST_MODIFIED, entry.getTime());
+                    assertArrayEquals(Files.readAllBytes(file), zin.readAllBytes());
+                }
+                assertNull(zin.getNextEntry());
+            }
+        }
+    }
+
+    /**
+     * Compares the throughput with compressing every file sequentially using {@link Deflater#BEST_COMPRESSION}.
+     * Only run manually, it takes too long for the regular build and has nothing to assert.
+     */
+    @Test
+    @Disabled("benchmark, run manually")
+    public void benchmark() throws IOException {
+        long size = 0;
+        for (Path file : files) {
+            size += Files.size(file);
+        }
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            CountingOutputStream legacyOut = new CountingOutputStream();
+            try (ZipArchiveOutputStream zout = new ZipArchiveOutputStream(legacyOut)) {
+                zout.setLevel(Deflater.BEST_COMPRESSION);
+                for (Path file : files) {
+                    ZipArchiveEntry entry = new ZipArchiveEntry("files/" + file.getFileName());
+                    entry.setSize(Files.size(file));
+                    zout.putArchiveEntry(entry);
+                    Files.copy(file, zout);
+                    zout.closeArchiveEntry();
+                }
+                zout.finish();
+            }
+            long legacyTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            CountingOutputStream out = new CountingOutputStream();
+            try (MCRZipArchiveWriter writer = new MCRZipArchiveWriter(out, executor, 8, 1024 * 1024)) {
+                for (Path file : files) {
+                    writer.putFile("files/" + file.getFileName(), file, Files.size(file), LAST_MODIFIED,
+                        !file.toString().endsWith(".jpg"));
+                }
+                writer.finish();
+            }
+            long time = System.nanoTime() - start;
+            LOGGER.info("Zipped {} bytes: sequential {} MB/s ({} bytes), parallel {} MB/s ({} bytes)", size,
+                throughput(size, legacyTime), legacyOut.count, throughput(size, time), out.count);
+        }
+    }
+
+    private void write(MCRZipArchiveWriter writer) throws IOException {
+        writer.putContent("metadata.xml", metadataContent(), LAST_MODIFIED);
+        writer.putDirectory("files", LAST_MODIFIED);
+        for (Path file : files) {
+            writer.putFile("files/" + file.getFileName(), file, Files.size(file), LAST_MODIFIED,
+                !file.toString().endsWith(".jpg"));
+        }
+        writer.finish();
+    }
+
+    private static byte[] metadataContent() {
+        return "<mycoreobject/>".getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long throughput(long size, long nanos) {
+        return size * 1000 / Math.max(1, nanos);
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+}
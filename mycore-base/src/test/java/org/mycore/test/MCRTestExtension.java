@@ -32,6 +32,7 @@ import org.junit.jupiter.api.extension.BeforeAllCallback;
 import org.junit.jupiter.api.extension.BeforeEachCallback;
 import org.junit.jupiter.api.extension.Extension;
 import org.junit.jupiter.api.extension.ExtensionContext;
+import org.mycore.access.MCRAccessManager;
 import org.mycore.common.MCRSession;
 import org.mycore.common.MCRSessionMgr;
 import org.mycore.common.config.MCRConfigurationBase;
@@ -167,6 +168,8 @@ public class MCRTestExtension implements Extension, BeforeEachCallback, AfterEac
             currentSession.close();
             MCRSessionMgr.lock();
         }
+        // permissions of guest sessions are shared across sessions and therefore tests
+        MCRAccessManager.invalidAllPermissionCaches();
         MCRTestExtensionConfigurationHelper.resetConfiguration(configurationLoader, getConfigProperties(context));
     }
 
@@ -0,0 +1,106 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.iiif.common;
+
+import java.nio.charset.StandardCharsets;
+
+import org.mycore.common.MCRUtils;
+import org.mycore.common.digest.MCRMD5Digest;
+import org.mycore.frontend.jersey.MCRGzipEncoding;
+
+import com.google.gson.Gson;
+
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Serialized JSON body of an IIIF response that is kept in a cache.
+ * <p>
+ * The UTF-8 bytes and a gzip compressed copy are created once, so a cached response is written without serializing
+ * or compressing it again. The strong entity tag is the MD5 checksum of the JSON, the compressed variant has its own
+ * entity tag. Conditional requests with a matching <code>If-None-Match</code> header are answered with status 304.
+ */
+public final class MCRIIIFCachedJSON {
+
+    private final byte[] json;
+
+    private final byte[] gzip;
+
+    private final EntityTag entityTag;
+
+    private final EntityTag gzipEntityTag;
+
+    private MCRIIIFCachedJSON(String json) {
+        this.json = json.getBytes(StandardCharsets.UTF_8);
+        this.gzip = MCRGzipEncoding.compress(this.json).orElse(null);
+        String checksum = MCRUtils.toHexString(MCRUtils.buildMessageDigest(MCRMD5Digest.ALGORITHM).digest(this.json));
+        this.entityTag = new EntityTag(checksum);
+        this.gzipEntityTag = new EntityTag(checksum + "-" + MCRGzipEncoding.GZIP);
+    }
+
+    /**
+     * Serializes the object with the given {@link Gson} instance.
+     */
+    public static MCRIIIFCachedJSON of(Gson gson, Object object) {
+        return new MCRIIIFCachedJSON(gson.toJson(object));
+    }
+
+    /**
+     * @return the entity tag of the uncompressed JSON
+     */
+    public EntityTag getEntityTag() {
+        return entityTag;
+    }
+
+    /**
+     * @return the number of bytes held by this instance, used to estimate the memory usage of a cache
+     */
+    public long getSize() {
+        return json.length + (gzip == null ? 0L : gzip.length);
+    }
+
+    /**
+     * Creates the response for the request. The body is compressed, if the client accepts gzip encoding.
+     *
+     * @param request the request to evaluate the preconditions of, may be <code>null</code>
+     * @param headers the headers of the request, may be <code>null</code>
+     * @return a response with status 304, if the client has the current variant already, otherwise a response
+     * with status 200 and the JSON as body
+     */
+    public Response.ResponseBuilder toResponse(Request request, HttpHeaders headers) {
+        boolean compressed = gzip != null && MCRGzipEncoding.acceptsGzip(headers);
+        EntityTag tag = compressed ? gzipEntityTag : entityTag;
+        if (request != null) {
+            Response.ResponseBuilder notModified = request.evaluatePreconditions(tag);
+            if (notModified != null) {
+                return notModified.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+        }
+        Response.ResponseBuilder builder = Response.ok()
+            .tag(tag)
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (compressed) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, MCRGzipEncoding.GZIP).entity(gzip);
+        }
+        return builder.entity(json);
+    }
+
+}
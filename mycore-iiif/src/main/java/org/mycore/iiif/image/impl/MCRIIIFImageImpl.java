@@ -99,6 +99,19 @@ public abstract class MCRIIIFImageImpl {
     public abstract MCRIIIFImageInformation getInformation(String identifier)
         throws MCRIIIFImageNotFoundException, MCRIIIFImageProvidingException, MCRAccessException;
 
+    /**
+     * Returns the last modified date of the image, with the same checks as {@link #getInformation(String)}. Used to
+     * decide if cached information is still valid, implementations should override this if they can provide the date
+     * without reading the image.
+     *
+     * @param identifier the identifier of the image
+     * @return the last modified date in milliseconds
+     */
+    public long getLastModified(String identifier)
+        throws MCRIIIFImageNotFoundException, MCRIIIFImageProvidingException, MCRAccessException {
+        return getInformation(identifier).lastModified;
+    }
+
     public abstract MCRIIIFImageProfile getProfile();
 
 }
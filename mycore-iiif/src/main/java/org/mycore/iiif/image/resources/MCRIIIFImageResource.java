@@ -37,7 +37,10 @@ import javax.imageio.ImageIO;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.mycore.access.MCRAccessException;
+import org.mycore.common.MCRCache;
+import org.mycore.frontend.MCRFrontendUtil;
 import org.mycore.frontend.jersey.MCRCacheControl;
+import org.mycore.iiif.common.MCRIIIFCachedJSON;
 import org.mycore.iiif.common.MCRIIIFMediaTypeHelper;
 import org.mycore.iiif.image.impl.MCRIIIFImageImpl;
 import org.mycore.iiif.image.impl.MCRIIIFImageNotFoundException;
@@ -62,6 +65,7 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.StreamingOutput;
@@ -76,9 +80,16 @@ public class MCRIIIFImageResource {
 
     private static final Logger LOGGER = LogManager.getLogger();
 
+    // serialized info.json, the insert time of an entry is the last modified date of the image
+    private static final MCRCache<String, MCRIIIFCachedJSON> INFO_CACHE = new MCRCache<>(10_000,
+        MCRIIIFImageResource.class.getName());
+
     @Context
     Request request;
 
+    @Context
+    HttpHeaders headers;
+
     Optional<Response> getCachedResponse(long lastModified) {
         return Optional.ofNullable(request)
             .map(r -> r.evaluatePreconditions(new Date(lastModified)))
@@ -93,25 +104,33 @@ public class MCRIIIFImageResource {
     public Response getInfo(@PathParam(IMPL_PARAM) String implString, @PathParam(IDENTIFIER_PARAM) String identifier) {
         try {
             MCRIIIFImageImpl impl = getImpl(implString);
-            MCRIIIFImageInformation information = impl.getInformation(identifier);
+            long lastModified = impl.getLastModified(identifier);
 
-            Optional<Response> cachedResponse = getCachedResponse(information.lastModified);
+            Optional<Response> cachedResponse = getCachedResponse(lastModified);
             if (cachedResponse.isPresent()) {
                 return cachedResponse.get();
             }
 
-            MCRIIIFImageProfile profile = getProfile(impl);
+            // the info.json contains absolute URLs
+            String cacheKey = MCRFrontendUtil.getBaseURL() + " " + impl.getImplName() + "/" + identifier;
+            MCRIIIFCachedJSON info = INFO_CACHE.getIfUpToDate(cacheKey, lastModified);
+            if (info == null) {
+                MCRIIIFImageInformation information = impl.getInformation(identifier);
+                MCRIIIFImageProfile profile = getProfile(impl);
 
-            information.profile.add(IIIF_IMAGE_API_2_LEVEL2);
-            information.profile.add(profile);
+                information.profile.add(IIIF_IMAGE_API_2_LEVEL2);
+                information.profile.add(profile);
 
-            Gson gson = new GsonBuilder().setPrettyPrinting().create();
-            return Response.ok()
+                Gson gson = new GsonBuilder().setPrettyPrinting().create();
+                info = MCRIIIFCachedJSON.of(gson, information);
+                lastModified = information.lastModified;
+                INFO_CACHE.put(cacheKey, info, lastModified);
+            }
+            return info.toResponse(request, headers)
                 .header("Access-Control-Allow-Origin", "*")
                 .header("Link", buildCanonicalURL(impl, identifier))
                 .header("Profile", buildProfileURL())
-                .lastModified(new Date(information.lastModified))
-                .entity(gson.toJson(information))
+                .lastModified(new Date(lastModified))
                 .build();
         } catch (MCRIIIFImageNotFoundException e) {
             return Response.status(Response.Status.NOT_FOUND).entity(e.getMessage()).build();
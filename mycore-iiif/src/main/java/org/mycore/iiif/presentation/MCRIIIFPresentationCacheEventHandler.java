@@ -0,0 +1,103 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.iiif.presentation;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+import org.mycore.common.events.MCREvent;
+import org.mycore.common.events.MCREventHandlerBase;
+import org.mycore.datamodel.metadata.MCRDerivate;
+import org.mycore.datamodel.metadata.MCRMetadataManager;
+import org.mycore.datamodel.metadata.MCRObject;
+import org.mycore.datamodel.metadata.MCRObjectID;
+import org.mycore.datamodel.niofs.MCRPath;
+import org.mycore.iiif.presentation.resources.MCRIIIFPresentationResource;
+
+/**
+ * Removes cached IIIF manifests when the object, the derivate or a file of the derivate they are created from
+ * changes. Manifests are identified by the id of the derivate or the object.
+ */
+public class MCRIIIFPresentationCacheEventHandler extends MCREventHandlerBase {
+
+    @Override
+    protected void handleObjectUpdated(MCREvent evt, MCRObject obj) {
+        invalidate(obj);
+    }
+
+    @Override
+    protected void handleObjectDeleted(MCREvent evt, MCRObject obj) {
+        invalidate(obj);
+    }
+
+    @Override
+    protected void handleObjectRepaired(MCREvent evt, MCRObject obj) {
+        invalidate(obj);
+    }
+
+    @Override
+    protected void handleDerivateUpdated(MCREvent evt, MCRDerivate der) {
+        MCRIIIFPresentationResource.invalidate(der.getId().toString());
+    }
+
+    @Override
+    protected void handleDerivateDeleted(MCREvent evt, MCRDerivate der) {
+        MCRIIIFPresentationResource.invalidate(der.getId().toString());
+    }
+
+    @Override
+    protected void handleDerivateRepaired(MCREvent evt, MCRDerivate der) {
+        MCRIIIFPresentationResource.invalidate(der.getId().toString());
+    }
+
+    @Override
+    protected void handlePathCreated(MCREvent evt, Path path, BasicFileAttributes attrs) {
+        invalidate(path);
+    }
+
+    @Override
+    protected void handlePathUpdated(MCREvent evt, Path path, BasicFileAttributes attrs) {
+        invalidate(path);
+    }
+
+    @Override
+    protected void handlePathDeleted(MCREvent evt, Path path, BasicFileAttributes attrs) {
+        invalidate(path);
+    }
+
+    @Override
+    protected void handlePathRepaired(MCREvent evt, Path path, BasicFileAttributes attrs) {
+        invalidate(path);
+    }
+
+    private static void invalidate(MCRObject obj) {
+        // the metadata of the object is part of the manifests of its derivates
+        MCRIIIFPresentationResource.invalidate(obj.getId().toString());
+        for (MCRObjectID derivateID : MCRMetadataManager.getDerivateIds(obj.getId())) {
+            MCRIIIFPresentationResource.invalidate(derivateID.toString());
+        }
+    }
+
+    private static void invalidate(Path path) {
+        if (path instanceof MCRPath mcrPath) {
+            MCRIIIFPresentationResource.invalidate(mcrPath.getOwner());
+        }
+    }
+
+}
@@ -20,7 +20,9 @@ package org.mycore.iiif.presentation;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
+import org.mycore.iiif.common.MCRIIIFCachedJSON;
 import org.mycore.iiif.presentation.model.additional.MCRIIIFAnnotationBase;
 import org.mycore.iiif.presentation.model.basic.MCRIIIFCanvas;
 import org.mycore.iiif.presentation.model.basic.MCRIIIFManifest;
@@ -39,6 +41,8 @@ public class MCRIIIFPresentationManifestQuickAccess {
 
     private final Map<String, MCRIIIFRange> idRangeMap = new ConcurrentHashMap<>();
 
+    private final Map<String, MCRIIIFCachedJSON> serializedMap = new ConcurrentHashMap<>();
+
     public MCRIIIFPresentationManifestQuickAccess(final MCRIIIFManifest manifest) {
         this.manifest = manifest;
 
@@ -75,4 +79,15 @@ public class MCRIIIFPresentationManifestQuickAccess {
         return manifest;
     }
 
+    /**
+     * Returns the serialized form of the manifest or one of its parts. It is created on the first request and kept
+     * as long as this instance.
+     *
+     * @param key identifies the part of the manifest, e.g. <code>canvas/{id}</code>
+     * @param serializer creates the serialized form for the key
+     */
+    public MCRIIIFCachedJSON getSerialized(String key, Function<String, MCRIIIFCachedJSON> serializer) {
+        return serializedMap.computeIfAbsent(key, serializer);
+    }
+
 }
@@ -30,7 +30,9 @@ import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.mycore.common.MCRCache;
+import org.mycore.frontend.MCRFrontendUtil;
 import org.mycore.frontend.jersey.MCRCacheControl;
+import org.mycore.iiif.common.MCRIIIFCachedJSON;
 import org.mycore.iiif.common.MCRIIIFMediaTypeHelper;
 import org.mycore.iiif.presentation.MCRIIIFPresentationManifestQuickAccess;
 import org.mycore.iiif.presentation.impl.MCRIIIFPresentationImpl;
@@ -44,8 +46,18 @@ import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 
+/**
+ * IIIF Presentation API 2.
+ * <p>
+ * Manifests are cached together with the serialized JSON of the manifest and of the parts requested so far. Cached
+ * JSON is sent without serializing it again, gzip compressed if the client accepts it, and with a strong entity tag
+ * for conditional requests. {@link #invalidate(String)} removes the manifests of an identifier from the cache.
+ */
 @Path("/presentation/v2{noop: /?}{impl: ([a-zA-Z0-9]+)?}")
 public class MCRIIIFPresentationResource {
 
@@ -54,6 +66,8 @@ public class MCRIIIFPresentationResource {
     private static final MCRCache<String, MCRIIIFPresentationManifestQuickAccess> CACHE = new MCRCache<>(1000,
         MCRIIIFPresentationResource.class.getName());
 
+    private static final char CACHE_KEY_SEPARATOR = ' ';
+
     private static final String IMPL_PARAM = "impl";
 
     private static final String NAME_PARAM = "name";
@@ -64,6 +78,12 @@ public class MCRIIIFPresentationResource {
 
     public static final String NO_CACHE_HEADER = "no-cache";
 
+    @Context
+    Request request;
+
+    @Context
+    HttpHeaders headers;
+
     @GET
     @Produces(MCRIIIFMediaTypeHelper.APPLICATION_LD_JSON)
     @Path("collection/{" + NAME_PARAM + "}")
@@ -83,8 +103,7 @@ public class MCRIIIFPresentationResource {
         String normalizedID = MCRIIIFPresentationImpl.obtainInstance(impl).normalizeIdentifier(identifier);
         MCRIIIFPresentationManifestQuickAccess quickAccess = getManifestQuickAccess(impl, normalizedID,
             cacheHeaderAsList(cacheControl).contains(NO_CACHE_HEADER));
-        String manifestAsJSON = getGson().toJson(quickAccess.getManifest());
-        return addHeaders(Response.ok()).entity(manifestAsJSON).build();
+        return toResponse(quickAccess, "manifest", quickAccess.getManifest());
     }
 
     protected MCRIIIFPresentationManifestQuickAccess getManifestQuickAccess(String impl, String identifier) {
@@ -94,7 +113,7 @@ public class MCRIIIFPresentationResource {
     protected MCRIIIFPresentationManifestQuickAccess getManifestQuickAccess(String impl, String identifier,
         boolean noCache) {
         MCRIIIFPresentationManifestQuickAccess quickAccess = CACHE
-            .getIfUpToDate(impl + identifier, TimeUnit.HOURS.toMillis(1));
+            .getIfUpToDate(getCacheKey(impl, identifier), TimeUnit.HOURS.toMillis(1));
         if (quickAccess == null || noCache) {
             long startTime = new Date().getTime();
             MCRIIIFManifest manifest = MCRIIIFPresentationImpl.obtainInstance(impl).getManifest(identifier);
@@ -103,14 +122,48 @@ public class MCRIIIFPresentationResource {
             LOGGER.info("Manifest {}:{} generation needed: {}ms", impl, identifier, timeNeeded);
 
             quickAccess = new MCRIIIFPresentationManifestQuickAccess(manifest);
-            CACHE.put(impl + identifier, quickAccess);
             correctIDs(manifest, impl, identifier);
+            CACHE.put(getCacheKey(impl, identifier), quickAccess);
         } else {
             LOGGER.info("Manifest {}:{} served from cache", impl, identifier);
         }
         return quickAccess;
     }
 
+    /**
+     * Removes the manifests of the identifier of all implementations from the cache.
+     *
+     * @param identifier the normalized identifier
+     */
+    public static void invalidate(String identifier) {
+        CACHE.keys().stream()
+            .filter(key -> getIdentifier(key).equals(identifier))
+            .forEach(key -> {
+                LOGGER.debug("Removing manifest {} from cache", key);
+                CACHE.remove(key);
+            });
+    }
+
+    private static String getCacheKey(String impl, String identifier) {
+        // the manifests contain absolute URLs, base URLs and implementation names do not contain the separator
+        return MCRFrontendUtil.getBaseURL() + CACHE_KEY_SEPARATOR + impl + CACHE_KEY_SEPARATOR + identifier;
+    }
+
+    private static String getIdentifier(String cacheKey) {
+        int implStart = cacheKey.indexOf(CACHE_KEY_SEPARATOR) + 1;
+        return cacheKey.substring(cacheKey.indexOf(CACHE_KEY_SEPARATOR, implStart) + 1);
+    }
+
+    /**
+     * Sends the serialized part of the manifest. Only existing parts are kept in the cache, so requests for unknown
+     * names do not fill it.
+     */
+    private Response toResponse(MCRIIIFPresentationManifestQuickAccess quickAccess, String key, Object part) {
+        MCRIIIFCachedJSON json = part == null ? MCRIIIFCachedJSON.of(getGson(), null)
+            : quickAccess.getSerialized(key, k -> MCRIIIFCachedJSON.of(getGson(), part));
+        return addHeaders(json.toResponse(request, headers)).build();
+    }
+
     protected Response.ResponseBuilder addHeaders(Response.ResponseBuilder builder) {
         return builder
             .header("Link",
@@ -135,8 +188,7 @@ public class MCRIIIFPresentationResource {
         String normalizedID = MCRIIIFPresentationImpl.obtainInstance(impl).normalizeIdentifier(identifier);
         MCRIIIFPresentationManifestQuickAccess quickAccess = getManifestQuickAccess(impl, normalizedID,
             cacheHeaderAsList(cacheControl).contains(NO_CACHE_HEADER));
-        String sequenceAsJSON = getGson().toJson(quickAccess.getSequence(name));
-        return addHeaders(Response.ok()).entity(sequenceAsJSON).build();
+        return toResponse(quickAccess, "sequence/" + name, quickAccess.getSequence(name));
     }
 
     @GET
@@ -149,8 +201,7 @@ public class MCRIIIFPresentationResource {
         String normalizedID = MCRIIIFPresentationImpl.obtainInstance(impl).normalizeIdentifier(identifier);
         MCRIIIFPresentationManifestQuickAccess quickAccess = getManifestQuickAccess(impl, normalizedID,
             cacheHeaderAsList(cacheControl).contains(NO_CACHE_HEADER));
-        String canvasAsJSON = getGson().toJson(quickAccess.getCanvas(name));
-        return addHeaders(Response.ok()).entity(canvasAsJSON).build();
+        return toResponse(quickAccess, "canvas/" + name, quickAccess.getCanvas(name));
     }
 
     @GET
@@ -163,8 +214,7 @@ public class MCRIIIFPresentationResource {
         String normalizedID = MCRIIIFPresentationImpl.obtainInstance(impl).normalizeIdentifier(identifier);
         MCRIIIFPresentationManifestQuickAccess quickAccess = getManifestQuickAccess(impl, normalizedID,
             cacheHeaderAsList(cacheControl).contains(NO_CACHE_HEADER));
-        String annotationAsJSON = getGson().toJson(quickAccess.getAnnotationBase(name));
-        return addHeaders(Response.ok()).entity(annotationAsJSON).build();
+        return toResponse(quickAccess, "annotation/" + name, quickAccess.getAnnotationBase(name));
     }
 
     @GET
@@ -189,8 +239,7 @@ public class MCRIIIFPresentationResource {
         String normalizedID = MCRIIIFPresentationImpl.obtainInstance(impl).normalizeIdentifier(identifier);
         MCRIIIFPresentationManifestQuickAccess quickAccess = getManifestQuickAccess(impl, normalizedID,
             cacheHeaderAsList(cacheControl).contains(NO_CACHE_HEADER));
-        String rangeAsJSON = getGson().toJson(quickAccess.getRange(name));
-        return addHeaders(Response.ok()).entity(rangeAsJSON).build();
+        return toResponse(quickAccess, "range/" + name, quickAccess.getRange(name));
     }
 
     // layers and resources are not supported currently
@@ -0,0 +1,149 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.iiif.image.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mycore.common.MCRSessionMgr;
+import org.mycore.common.MCRTestConfiguration;
+import org.mycore.common.MCRTestProperty;
+import org.mycore.frontend.MCRFrontendUtil;
+import org.mycore.iiif.image.impl.MCRIIIFImageImpl;
+import org.mycore.iiif.image.impl.MCRIIIFImageNotFoundException;
+import org.mycore.iiif.image.model.MCRIIIFImageInformation;
+import org.mycore.iiif.image.model.MCRIIIFImageProfile;
+import org.mycore.iiif.image.model.MCRIIIFImageQuality;
+import org.mycore.iiif.image.model.MCRIIIFImageSourceRegion;
+import org.mycore.iiif.image.model.MCRIIIFImageTargetRotation;
+import org.mycore.iiif.image.model.MCRIIIFImageTargetSize;
+import org.mycore.iiif.model.MCRIIIFBase;
+import org.mycore.test.MyCoReTest;
+
+import jakarta.ws.rs.core.Response;
+
+@MyCoReTest
+@MCRTestConfiguration(properties = {
+    @MCRTestProperty(key = "MCR.IIIFImage.Default", string = "Junit"),
+    @MCRTestProperty(key = "MCR.IIIFImage.Junit.Class", classNameOf = MCRIIIFImageResourceTest.TestImageImpl.class)
+})
+public class MCRIIIFImageResourceTest {
+
+    private static final AtomicInteger INFORMATION_CALLS = new AtomicInteger();
+
+    private static volatile long lastModified;
+
+    private MCRIIIFImageResource resource;
+
+    @BeforeEach
+    public void setUp() {
+        resource = new MCRIIIFImageResource();
+        INFORMATION_CALLS.set(0);
+        // a new image for every test, as the cache is shared
+        lastModified = System.currentTimeMillis() + 1000;
+    }
+
+    @Test
+    public void infoCache() {
+        String identifier = "infoCache.tif";
+        String info = getInfo(identifier);
+        assertEquals(info, getInfo(identifier));
+        assertEquals(1, INFORMATION_CALLS.get());
+
+        lastModified += 1000;
+        assertEquals(info, getInfo(identifier));
+        assertEquals(2, INFORMATION_CALLS.get());
+
+        assertEquals(Response.Status.NOT_FOUND.getStatusCode(),
+            resource.getInfo(null, "missing.tif").getStatus());
+    }
+
+    @Test
+    public void infoCachePerBaseURL() {
+        String identifier = "infoCachePerBaseURL.tif";
+        String info = getInfo(identifier);
+        assertTrue(info.contains(MCRFrontendUtil.getBaseURL()));
+
+        String otherBaseURL = "https://other.example.org/mycore/";
+        MCRSessionMgr.getCurrentSession().put(MCRFrontendUtil.BASE_URL_ATTRIBUTE, otherBaseURL);
+        try {
+            String otherInfo = getInfo(identifier);
+            assertEquals(2, INFORMATION_CALLS.get());
+            assertTrue(otherInfo.contains(otherBaseURL));
+            assertFalse(info.contains(otherBaseURL));
+            assertEquals(otherInfo, getInfo(identifier));
+            assertEquals(2, INFORMATION_CALLS.get());
+        } finally {
+            MCRSessionMgr.getCurrentSession().deleteObject(MCRFrontendUtil.BASE_URL_ATTRIBUTE);
+        }
+    }
+
+    private String getInfo(String identifier) {
+        Response response = resource.getInfo(null, identifier);
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        return new String((byte[]) response.getEntity(), StandardCharsets.UTF_8);
+    }
+
+    public static class TestImageImpl extends MCRIIIFImageImpl {
+
+        public TestImageImpl(String implName) {
+            super(implName);
+        }
+
+        @Override
+        public BufferedImage provide(String identifier, MCRIIIFImageSourceRegion region,
+            MCRIIIFImageTargetSize targetSize, MCRIIIFImageTargetRotation rotation, MCRIIIFImageQuality imageQuality,
+            String format) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public MCRIIIFImageInformation getInformation(String identifier) throws MCRIIIFImageNotFoundException {
+            if (identifier.startsWith("missing")) {
+                throw new MCRIIIFImageNotFoundException(identifier);
+            }
+            INFORMATION_CALLS.incrementAndGet();
+            return new MCRIIIFImageInformation(MCRIIIFBase.API_IMAGE_2,
+                MCRFrontendUtil.getBaseURL() + "api/iiif/image/v2/" + identifier, "http://iiif.io/api/image", 100,
+                200, lastModified);
+        }
+
+        @Override
+        public long getLastModified(String identifier) throws MCRIIIFImageNotFoundException {
+            if (identifier.startsWith("missing")) {
+                throw new MCRIIIFImageNotFoundException(identifier);
+            }
+            return lastModified;
+        }
+
+        @Override
+        public MCRIIIFImageProfile getProfile() {
+            return new MCRIIIFImageProfile();
+        }
+
+    }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.iiif.presentation.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mycore.common.MCRSessionMgr;
+import org.mycore.common.MCRTestConfiguration;
+import org.mycore.common.MCRTestProperty;
+import org.mycore.common.events.MCREvent;
+import org.mycore.datamodel.common.MCRLinkTableManager;
+import org.mycore.datamodel.common.MCRLinkType;
+import org.mycore.datamodel.metadata.MCRDerivate;
+import org.mycore.datamodel.metadata.MCRObject;
+import org.mycore.datamodel.metadata.MCRObjectID;
+import org.mycore.frontend.MCRFrontendUtil;
+import org.mycore.iiif.presentation.MCRIIIFPresentationCacheEventHandler;
+import org.mycore.iiif.presentation.MCRIIIFPresentationManifestQuickAccess;
+import org.mycore.iiif.presentation.impl.MCRIIIFPresentationImpl;
+import org.mycore.iiif.presentation.model.basic.MCRIIIFManifest;
+import org.mycore.test.MCRJPAExtension;
+import org.mycore.test.MyCoReTest;
+
+@MyCoReTest
+@ExtendWith(MCRJPAExtension.class)
+@MCRTestConfiguration(properties = {
+    @MCRTestProperty(key = "MCR.Metadata.Type.test", string = "true"),
+    @MCRTestProperty(key = "MCR.Metadata.Type.derivate", string = "true"),
+    @MCRTestProperty(key = "MCR.IIIFPresentation.Junit",
+        classNameOf = MCRIIIFPresentationResourceTest.TestPresentationImpl.class)
+})
+public class MCRIIIFPresentationResourceTest {
+
+    private static final String IMPL = "Junit";
+
+    private static final Map<String, AtomicInteger> MANIFEST_CALLS = new ConcurrentHashMap<>();
+
+    private static final AtomicInteger TEST_NUMBER = new AtomicInteger();
+
+    private MCRIIIFPresentationResource resource;
+
+    private MCRObjectID objectID;
+
+    private MCRObjectID derivateID;
+
+    @BeforeEach
+    public void setUp() {
+        resource = new MCRIIIFPresentationResource();
+        // new ids for every test, as the cache is shared
+        int number = TEST_NUMBER.incrementAndGet();
+        objectID = MCRObjectID.getInstance(MCRObjectID.formatID("junit_test", number));
+        derivateID = MCRObjectID.getInstance(MCRObjectID.formatID("junit_derivate", number));
+    }
+
+    @Test
+    public void manifestCache() {
+        MCRIIIFPresentationManifestQuickAccess manifest = get(derivateID);
+        assertSame(manifest, get(derivateID));
+        assertEquals(1, calls(derivateID));
+
+        assertNotSame(manifest, resource.getManifestQuickAccess(IMPL, derivateID.toString(), true));
+        assertEquals(2, calls(derivateID));
+
+        String otherBaseURL = "https://other.example.org/mycore/";
+        MCRSessionMgr.getCurrentSession().put(MCRFrontendUtil.BASE_URL_ATTRIBUTE, otherBaseURL);
+        try {
+            MCRIIIFPresentationManifestQuickAccess other = get(derivateID);
+            assertEquals(3, calls(derivateID));
+            assertTrue(other.getManifest().getId().startsWith(otherBaseURL));
+            assertSame(other, get(derivateID));
+        } finally {
+            MCRSessionMgr.getCurrentSession().deleteObject(MCRFrontendUtil.BASE_URL_ATTRIBUTE);
+        }
+        MCRIIIFPresentationResource.invalidate(derivateID.toString());
+        get(derivateID);
+        assertEquals(4, calls(derivateID));
+    }
+
+    @Test
+    public void eventHandler() {
+        MCRIIIFPresentationCacheEventHandler handler = new MCRIIIFPresentationCacheEventHandler();
+        MCRLinkTableManager.getInstance().addReferenceLink(derivateID, objectID, MCRLinkType.DERIVATE, "");
+        get(objectID);
+        get(derivateID);
+
+        MCRDerivate derivate = new MCRDerivate();
+        derivate.setId(derivateID);
+        MCREvent derivateEvent = new MCREvent(MCREvent.ObjectType.DERIVATE, MCREvent.EventType.UPDATE);
+        derivateEvent.put(MCREvent.DERIVATE_KEY, derivate);
+        handler.doHandleEvent(derivateEvent);
+        get(objectID);
+        get(derivateID);
+        assertEquals(1, calls(objectID));
+        assertEquals(2, calls(derivateID));
+
+        // the manifests of the derivates contain the metadata of the object
+        MCRObject object = new MCRObject();
+        object.setId(objectID);
+        MCREvent objectEvent = new MCREvent(MCREvent.ObjectType.OBJECT, MCREvent.EventType.UPDATE);
+        objectEvent.put(MCREvent.OBJECT_KEY, object);
+        handler.doHandleEvent(objectEvent);
+        get(objectID);
+        get(derivateID);
+        assertEquals(2, calls(objectID));
+        assertEquals(3, calls(derivateID));
+    }
+
+    private MCRIIIFPresentationManifestQuickAccess get(MCRObjectID id) {
+        return resource.getManifestQuickAccess(IMPL, id.toString());
+    }
+
+    private static int calls(MCRObjectID id) {
+        return MANIFEST_CALLS.getOrDefault(id.toString(), new AtomicInteger()).get();
+    }
+
+    public static class TestPresentationImpl extends MCRIIIFPresentationImpl {
+
+        public TestPresentationImpl(String implName) {
+            super(implName);
+        }
+
+        @Override
+        public MCRIIIFManifest getManifest(String id) {
+            MANIFEST_CALLS.computeIfAbsent(id, k -> new AtomicInteger()).incrementAndGet();
+            MCRIIIFManifest manifest = new MCRIIIFManifest();
+            manifest.setId(id);
+            return manifest;
+        }
+
+    }
+
+}
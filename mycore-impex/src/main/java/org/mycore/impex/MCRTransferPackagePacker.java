@@ -33,7 +33,6 @@ import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.mycore.common.MCRExpandedObjectManager;
 import org.mycore.common.MCRUsageException;
 import org.mycore.common.MCRUtils;
 import org.mycore.common.config.MCRConfiguration2;
@@ -95,7 +94,7 @@ public class MCRTransferPackagePacker extends MCRPacker {
             throw new MCRUsageException(
                 "Requested object '" + sourceId + "' does not exist. Thus a transfer package cannot be created.");
         }
-        return MCRExpandedObjectManager.getInstance().getExpandedObject(MCRMetadataManager.retrieveMCRObject(mcrId));
+        return MCRMetadataManager.retrieveMCRExpandedObject(mcrId);
     }
 
     /**
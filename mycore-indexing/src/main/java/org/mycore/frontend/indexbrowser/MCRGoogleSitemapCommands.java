@@ -18,12 +18,8 @@
 
 package org.mycore.frontend.indexbrowser;
 
-import java.nio.file.Path;
-
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.jdom2.Document;
-import org.mycore.common.content.MCRJDOMContent;
 import org.mycore.frontend.cli.MCRAbstractCommands;
 import org.mycore.frontend.cli.annotation.MCRCommand;
 import org.mycore.frontend.cli.annotation.MCRCommandGroup;
@@ -45,10 +41,10 @@ public final class MCRGoogleSitemapCommands extends MCRAbstractCommands {
     private static final Logger LOGGER = LogManager.getLogger();
 
     /**
-     * The build and store method.
+     * The build and store method. Only sitemap parts with changed objects are written.
      */
     @MCRCommand(syntax = "build google sitemap",
-        help = "Creates the google sitemap(s) in webapps directory.",
+        help = "Creates the google sitemap(s) in webapps directory. Only parts with changed objects are written.",
         order = 10)
     public static void buildSitemap() throws Exception {
         // check time
@@ -56,30 +52,21 @@ public final class MCRGoogleSitemapCommands extends MCRAbstractCommands {
         final long start = System.currentTimeMillis();
         // init
         MCRGoogleSitemapCommon common = new MCRGoogleSitemapCommon();
-        // remove old files
-        common.removeSitemapFiles();
-        // compute number of files
-        int number = common.checkSitemapFile();
+        int number = common.updateSitemapFiles();
         LOGGER.debug("Build Google number of URL files {}.", number);
-        if (number == 1) {
-            Path xml = common.getFile(0);
-            Document jdom = common.buildSingleSitemap();
-            LOGGER.info("Write Google sitemap file {}.", xml);
-            new MCRJDOMContent(jdom).sendTo(xml);
-        } else {
-            Path xml = common.getFile(0);
-            Document jdom = common.buildSitemapIndex(number);
-            LOGGER.info("Write Google sitemap file {}.", xml);
-            new MCRJDOMContent(jdom).sendTo(xml);
-            for (int i = 1; i <= number; i++) {
-                xml = common.getFile(i);
-                jdom = common.buildPartSitemap(i);
-                LOGGER.info("Write Google sitemap file {}.", xml);
-                new MCRJDOMContent(jdom).sendTo(xml);
-            }
-        }
         // check time
         LOGGER.debug("Google sitemap request took {}ms.", () -> System.currentTimeMillis() - start);
     }
 
+    /**
+     * Removes all sitemap files and builds them again.
+     */
+    @MCRCommand(syntax = "rebuild google sitemap",
+        help = "Removes the google sitemap(s) in webapps directory and creates all of them again.",
+        order = 20)
+    public static void rebuildSitemap() throws Exception {
+        new MCRGoogleSitemapCommon().removeSitemapFiles();
+        buildSitemap();
+    }
+
 }
@@ -18,40 +18,55 @@
 
 package org.mycore.frontend.indexbrowser;
 
+import static org.apache.solr.common.params.CommonParams.FIELD_LIST;
+import static org.apache.solr.common.params.CommonParams.QUERY;
+
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.NotDirectoryException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
 import java.text.NumberFormat;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
-import java.util.stream.Collectors;
+import java.util.NavigableSet;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-
-import org.apache.solr.client.solrj.SolrClient;
-import org.apache.solr.client.solrj.SolrServerException;
-import org.apache.solr.client.solrj.request.QueryRequest;
-import org.apache.solr.client.solrj.request.SolrQuery;
-import org.apache.solr.client.solrj.response.QueryResponse;
-import org.jdom2.Document;
-import org.jdom2.Element;
-import org.jdom2.Namespace;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.params.ModifiableSolrParams;
+import org.mycore.common.MCRUtils;
 import org.mycore.common.config.MCRConfiguration2;
+import org.mycore.common.digest.MCRMD5Digest;
 import org.mycore.datamodel.common.MCRObjectIDDate;
 import org.mycore.datamodel.ifs2.MCRObjectIDDateImpl;
 import org.mycore.solr.MCRSolrIndexRegistryManager;
-import org.mycore.solr.auth.MCRSolrAuthenticationLevel;
-import org.mycore.solr.auth.MCRSolrAuthenticationManager;
+import org.mycore.solr.search.MCRSolrSearchUtils;
 
 /**
  * This class implements all common methods to create the sitemap data.
@@ -67,6 +82,17 @@ import org.mycore.solr.auth.MCRSolrAuthenticationManager;
  * <li>MCR.GoogleSitemap.ObjectPath - the path to get the MCRObject in the sitemap URL, 'receive/' is default</li>
  * <li>MCR.GoogleSitemap.NumberOfURLs - the number of URLs in one sitemap file, 10000 is default</li>
  * </ul>
+ * <p>
+ * The sitemap consists of the index sitemap_google.xml and gzip compressed parts sitemap_google_xxxx.xml.gz. The
+ * objects are read from Solr ordered by id with a cursorMark, so only the objects of one part are held in memory.
+ * For every part the id of its first object and a checksum of the ids and modification dates of its objects are
+ * stored in sitemap_google.properties. A part is only written again if the checksum changed, the index carries the
+ * time of the last change of every part.
+ * <p>
+ * A new part starts at the first id of a part of the last run, so a new or deleted object only changes its own part.
+ * Only if a part exceeds <code>MCR.GoogleSitemap.NumberOfURLs</code>, it is split and the following parts are
+ * renumbered and written again. Parts that became small by deletions are not merged, until the sitemap is rebuilt
+ * from scratch.
  *
  * see <a href="http://www.sitemaps.org/de/protocol.html">http://www.sitemaps.org/de/protocol.html</a>
  *
@@ -81,25 +107,25 @@ public final class MCRGoogleSitemapCommon {
 
     static final String DEFAULT_PART_URLPATH = "sitemap_google";
 
+    static final Pattern PART_FILENAME_PATTERN = Pattern.compile("sitemap_google_([0-9]+)\\.xml(\\.gz)?");
+
+    private static final String STATE_FILENAME = "sitemap_google.properties";
+
     /** Locale information **/
     private static final Locale SITEMAP_LOCALE = Locale.ROOT;
 
     /** The namespaces */
-    private static final Namespace NS = Namespace.getNamespace("http://www.sitemaps.org/schemas/sitemap/0.9");
+    private static final String NS = "http://www.sitemaps.org/schemas/sitemap/0.9";
 
     private static final String XSI_URL = "http://www.w3.org/2001/XMLSchema-instance";
 
-    private static final Namespace XSI_NAMESPACE = Namespace.getNamespace("xsi", XSI_URL);
-
     private static final String SITEINDEX_SCHEMA =
         "http://www.sitemaps.org/schemas/sitemap/0.9 http://www.sitemaps.org/schemas/sitemap/0.9/siteindex.xsd";
 
     private static final String SITEMAP_SCHEMA =
         "http://www.sitemaps.org/schemas/sitemap/0.9 http://www.sitemaps.org/schemas/sitemap/0.9/sitemap.xsd";
 
-    /** The directory path to store sitemaps */
-    private static final Path CDIR =
-        Paths.get(MCRConfiguration2.getString("MCR.GoogleSitemap.Directory").orElseThrow());
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newFactory();
 
     /** The frequence of crawle by Google */
     private static final String FREQ = MCRConfiguration2.getString("MCR.GoogleSitemap.Freq").orElse("monthly");
@@ -114,12 +140,12 @@ public final class MCRGoogleSitemapCommon {
     /** The filter query for selecting objects to present in google sitemap */
     private static final String SOLR_QUERY = MCRConfiguration2.getStringOrThrow("MCR.GoogleSitemap.SolrQuery");
 
-    public static final MCRSolrAuthenticationManager SOLR_AUTHENTICATION_MANAGER =
-        MCRSolrAuthenticationManager.obtainInstance();
-
     /** The logger */
     private static final Logger LOGGER = LogManager.getLogger();
 
+    /** Synchronizes updates of the sitemap files */
+    private static final Object UPDATE_LOCK = new Object();
+
     /** Number of URLs in one sitemap */
     private int numberOfURLs = MCRConfiguration2.getInt("MCR.GoogleSitemap.NumberOfURLs").orElse(10_000);
 
@@ -130,31 +156,35 @@ public final class MCRGoogleSitemapCommon {
     private static final DateTimeFormatter DATE_FORMATTER =
         DateTimeFormatter.ofPattern("yyyy-MM-dd", SITEMAP_LOCALE).withZone(ZoneOffset.UTC);
 
-    /** The base URL */
-    private String baseurl = MCRConfiguration2.getString("MCR.baseurl").orElse("");
+    /** The directory path to store sitemaps */
+    private final Path cdir;
 
-    /** local data */
-    private List<MCRObjectIDDate> objidlist;
+    /** The base URL */
+    private final String baseurl;
 
     public MCRGoogleSitemapCommon() throws IOException {
-        LOGGER.info("Using this directory to store Google Sitemaps: {}", CDIR);
-        objidlist = new ArrayList<>();
+        this(MCRConfiguration2.getString("MCR.baseurl").orElse(""));
+    }
+
+    public MCRGoogleSitemapCommon(String baseURL) throws IOException {
+        this(Paths.get(MCRConfiguration2.getStringOrThrow("MCR.GoogleSitemap.Directory")), baseURL);
+    }
+
+    MCRGoogleSitemapCommon(Path directory, String baseURL) throws IOException {
+        this.cdir = directory;
+        this.baseurl = baseURL;
+        LOGGER.info("Using this directory to store Google Sitemaps: {}", cdir);
         if ((numberOfURLs < 1) || (numberOfURLs > 50_000)) {
             numberOfURLs = 50_000;
         }
-        if (!Files.exists(CDIR)) {
-            Files.createDirectories(CDIR);
+        if (!Files.exists(cdir)) {
+            Files.createDirectories(cdir);
         }
-        if (!Files.isDirectory(CDIR)) {
-            throw new NotDirectoryException(CDIR.toString());
+        if (!Files.isDirectory(cdir)) {
+            throw new NotDirectoryException(cdir.toString());
         }
     }
 
-    public MCRGoogleSitemapCommon(String baseURL) throws IOException {
-        this();
-        this.baseurl = baseURL;
-    }
-
     private static NumberFormat createNumberFormat() {
         NumberFormat nf = NumberFormat.getIntegerInstance(SITEMAP_LOCALE);
         nf.setMinimumIntegerDigits(4);
@@ -163,58 +193,73 @@ public final class MCRGoogleSitemapCommon {
     }
 
     /**
-     * The method computes the number of sitemap files. If we have less than
-     * <em>numberOfURLs</em> URLs and only one MyCoRe type the sitemap_google.xml
-     * contained all URLs. Otherwise it split the sitemap in an sitemap_google.xml
-     * index file and a lot of sitemap_google_xxxx.xml URL files.
-     *
-     * @return the number of files, one for a single sitemap_google.xml file, more than
-     *         one for the index and all parts.
+     * Brings the sitemap files up to date. All objects are read from Solr, but only parts containing new, changed
+     * or removed objects are written again. Parts that are not needed anymore are deleted and the index
+     * sitemap_google.xml is written with the time of the last change of every part.
      *
+     * @return the number of parts
      */
-    public int checkSitemapFile() throws IOException {
-        int number;
-        QueryResponse response;
-        SolrQuery query = new SolrQuery();
-        query.setQuery(SOLR_QUERY);
-        query.setRows(Integer.MAX_VALUE);
-        query.setParam("fl", "id,modified");
-
-        try {
-            QueryRequest queryRequest = new QueryRequest(query);
-            SOLR_AUTHENTICATION_MANAGER.applyAuthentication(queryRequest,
-                MCRSolrAuthenticationLevel.SEARCH);
-            SolrClient client = MCRSolrIndexRegistryManager.requireMainIndex().getClient();
-            response = queryRequest.process(client);
-            objidlist = response.getResults().stream().map((document) -> {
-                String id = (String) document.getFieldValue("id");
-                Date modified = (Date) document.getFieldValue("modified");
-
-                return new MCRObjectIDDateImpl(modified, id);
-            }).collect(Collectors.toList());
-
-        } catch (SolrServerException e) {
-            LOGGER.error(e);
+    public int updateSitemapFiles() throws IOException {
+        try (Stream<MCRObjectIDDate> objects = streamObjects()) {
+            return updateSitemapFiles(objects.iterator());
         }
-        number = objidlist.size() / numberOfURLs;
-        if (objidlist.size() % numberOfURLs != 0) {
-            number++;
+    }
+
+    /**
+     * Brings the sitemap files up to date with the given objects, which have to be ordered by id.
+     *
+     * @return the number of parts
+     */
+    int updateSitemapFiles(Iterator<MCRObjectIDDate> objects) throws IOException {
+        synchronized (UPDATE_LOCK) {
+            Properties oldState = loadState();
+            Properties newState = new Properties();
+            NavigableSet<String> boundaries = getPartBoundaries(oldState);
+            List<MCRObjectIDDate> part = new ArrayList<>(numberOfURLs);
+            String nextBoundary = null;
+            int number = 0;
+            int written = 0;
+            while (objects.hasNext()) {
+                MCRObjectIDDate object = objects.next();
+                if (!part.isEmpty() && (part.size() == numberOfURLs
+                    || nextBoundary != null && object.getId().compareTo(nextBoundary) >= 0)) {
+                    number++;
+                    if (updatePart(number, part, oldState, newState)) {
+                        written++;
+                    }
+                    part.clear();
+                }
+                if (part.isEmpty()) {
+                    nextBoundary = boundaries.higher(object.getId());
+                }
+                part.add(object);
+            }
+            if (!part.isEmpty()) {
+                number++;
+                if (updatePart(number, part, oldState, newState)) {
+                    written++;
+                }
+            }
+            removePartsAfter(number);
+            writeSitemapIndex(number, newState);
+            storeState(newState);
+            LOGGER.info("Google sitemap has {} parts, {} of them were written.", number, written);
+            return number;
         }
-        return number;
     }
 
     /**
      * The method return the filename of a sitemap_google.xml file.
      *
      * @param number
-     *            number of this file - '0' = sitemap_google.xml - '&gt; 0' sitemap_google_xxx.xml
+     *            number of this file - '0' = sitemap_google.xml - '&gt; 0' sitemap_google_xxx.xml.gz
      * @return the filename of sitemap_google.xml
      */
     String getFileName(int number) {
         String fn = DEFAULT_FILENAME;
         if (number > 0) {
             synchronized (NUMBER_FORMAT) {
-                fn = "sitemap_google_" + NUMBER_FORMAT.format(number) + ".xml";
+                fn = "sitemap_google_" + NUMBER_FORMAT.format(number) + ".xml.gz";
             }
         }
         return fn;
@@ -224,60 +269,94 @@ public final class MCRGoogleSitemapCommon {
      * The method return the path to the sitemap_google.xml file.
      *
      * @param number
-     *            number of this file - '0' = sitemap_google.xml - '&gt; 0' sitemap_google_xxx.xml
+     *            number of this file - '0' = sitemap_google.xml - '&gt; 0' sitemap_google_xxx.xml.gz
      * @return a path to sitemap_google.xml
      */
     Path getFile(int number) {
-        return CDIR.resolve(getFileName(number));
+        return cdir.resolve(getFileName(number));
+    }
+
+    private Stream<MCRObjectIDDate> streamObjects() {
+        ModifiableSolrParams params = new ModifiableSolrParams();
+        params.set(QUERY, SOLR_QUERY);
+        params.set(FIELD_LIST, "id,modified");
+        return MCRSolrSearchUtils
+            .streamSortedById(MCRSolrIndexRegistryManager.requireMainIndex().getClient(), params,
+                Math.min(numberOfURLs, 10_000))
+            .map(MCRGoogleSitemapCommon::toObjectIDDate);
+    }
+
+    private static MCRObjectIDDate toObjectIDDate(SolrDocument document) {
+        String id = (String) document.getFieldValue("id");
+        Date modified = (Date) document.getFieldValue("modified");
+        return new MCRObjectIDDateImpl(modified, id);
     }
 
     /**
-     * The method build the sitemap_google.xml JDOM document over all items.
-     *
-     * @return The sitemap_google.xml as JDOM document
+     * Returns the ids of the first objects of all parts of the last run except the first one. New parts start at
+     * these ids, so the other parts keep their objects.
      */
-    public Document buildSingleSitemap() {
-        LOGGER.debug("Build Google URL sitemap_google.xml for whole items.");
-        // build document frame
-        Element urlset = new Element("urlset", NS);
-        urlset.addNamespaceDeclaration(XSI_NAMESPACE);
-        urlset.setAttribute("noNamespaceSchemaLocation", SITEMAP_SCHEMA, XSI_NAMESPACE);
-        Document jdom = new Document(urlset);
-        // build over all types
-        for (MCRObjectIDDate objectIDDate : objidlist) {
-            urlset.addContent(buildURLElement(objectIDDate));
+    private static NavigableSet<String> getPartBoundaries(Properties state) {
+        NavigableSet<String> boundaries = new TreeSet<>();
+        for (String key : state.stringPropertyNames()) {
+            if (key.endsWith(".first") && !key.equals("1.first")) {
+                boundaries.add(state.getProperty(key));
+            }
         }
-        return jdom;
+        return boundaries;
     }
 
     /**
-     * The method call the database and build the sitemap_google.xml JDOM document.
+     * Writes a part, if its checksum differs from the last run.
      *
-     * @param number
-     *            number of this file - '0' = sitemap_google.xml - '&gt;= 1' sitemap_google_xxx.xml
-     * @return The sitemap.xml as JDOM document
+     * @return true, if the part was written
      */
-    public Document buildPartSitemap(int number) {
-        LOGGER.debug("Build Google URL sitemap list number {}", number);
-        // build document frame
-        Element urlset = new Element("urlset", NS);
-        urlset.addNamespaceDeclaration(XSI_NAMESPACE);
-        urlset.setAttribute("schemaLocation", SITEMAP_SCHEMA, XSI_NAMESPACE);
-        Document jdom = new Document(urlset);
-
-        // build over all types
-        int start = numberOfURLs * (number - 1);
-        int stop = Math.min(numberOfURLs * (number), objidlist.size());
-        LOGGER.debug("Build Google URL in range from {} to {}.", () -> start, () -> stop - 1);
-        for (int i = start; i < stop; i++) {
-            MCRObjectIDDate objectIDDate = objidlist.get(i);
-            urlset.addContent(buildURLElement(objectIDDate));
+    private boolean updatePart(int number, List<MCRObjectIDDate> part, Properties oldState, Properties newState)
+        throws IOException {
+        String checksum = getChecksum(part);
+        String lastmod = oldState.getProperty(number + ".lastmod");
+        boolean changed = lastmod == null || !checksum.equals(oldState.getProperty(number + ".checksum"))
+            || !Files.isRegularFile(getFile(number));
+        if (changed) {
+            Path xml = getFile(number);
+            LOGGER.info("Write Google sitemap file {}.", xml);
+            writePart(xml, part);
+            lastmod = DateTimeFormatter.ISO_INSTANT.format(Instant.now().truncatedTo(ChronoUnit.SECONDS));
+        }
+        newState.setProperty(number + ".first", part.getFirst().getId());
+        newState.setProperty(number + ".checksum", checksum);
+        newState.setProperty(number + ".lastmod", lastmod);
+        return changed;
+    }
 
+    /**
+     * The checksum covers all values that are written to a part, so a part is written again if an object or the
+     * configuration changed.
+     */
+    private String getChecksum(List<MCRObjectIDDate> part) {
+        MessageDigest digest = MCRUtils.buildMessageDigest(MCRMD5Digest.ALGORITHM);
+        digest.update(String.join("\n", baseurl, OBJECT_PATH, STYLE, FREQ, "").getBytes(StandardCharsets.UTF_8));
+        for (MCRObjectIDDate objectIDDate : part) {
+            String entry = objectIDDate.getId() + '\t' + objectIDDate.getLastModified().getTime() + '\n';
+            digest.update(entry.getBytes(StandardCharsets.UTF_8));
         }
-        return jdom;
+        return MCRUtils.toHexString(digest.digest());
     }
 
-    private Element buildURLElement(MCRObjectIDDate objectIDDate) {
+    private void writePart(Path file, List<MCRObjectIDDate> part) throws IOException {
+        writeXML(file, true, xml -> {
+            xml.writeStartElement("urlset");
+            xml.writeDefaultNamespace(NS);
+            xml.writeNamespace("xsi", XSI_URL);
+            xml.writeAttribute("xsi", XSI_URL, "schemaLocation", SITEMAP_SCHEMA);
+            for (MCRObjectIDDate objectIDDate : part) {
+                writeURLElement(xml, objectIDDate);
+            }
+            xml.writeEndElement();
+        });
+    }
+
+    private void writeURLElement(XMLStreamWriter xml, MCRObjectIDDate objectIDDate) throws XMLStreamException {
         String mcrID = objectIDDate.getId();
         StringBuilder sb = new StringBuilder(1024);
         sb.append(baseurl).append(OBJECT_PATH).append(mcrID);
@@ -285,48 +364,110 @@ public final class MCRGoogleSitemapCommon {
             sb.append("?XSL.Style=").append(STYLE);
         }
         // build entry
-        Element url = new Element("url", NS);
-        url.addContent(new Element("loc", NS).addContent(sb.toString()));
-        String datestr = DATE_FORMATTER.format(objectIDDate.getLastModified().toInstant());
-        url.addContent(new Element("lastmod", NS).addContent(datestr));
-        url.addContent(new Element("changefreq", NS).addContent(FREQ));
-        return url;
+        xml.writeStartElement("url");
+        writeElement(xml, "loc", sb.toString());
+        writeElement(xml, "lastmod", DATE_FORMATTER.format(objectIDDate.getLastModified().toInstant()));
+        writeElement(xml, "changefreq", FREQ);
+        xml.writeEndElement();
     }
 
     /**
-     * The method build the index sitemap_google.xml JDOM document.
+     * The method writes the index sitemap_google.xml.
      *
-     * @param number
-     *            number of indexed files (must greater than 1
-     * @return The index sitemap_google.xml as JDOM document
+     * @param number number of parts
+     * @param state the checksums and modification times of the parts
      */
-    public Document buildSitemapIndex(int number) {
-        LOGGER.debug("Build Google sitemap number {}", number);
-        // build document frame
-        Element index = new Element("sitemapindex", NS);
-        index.addNamespaceDeclaration(XSI_NAMESPACE);
-        index.setAttribute("schemaLocation", SITEINDEX_SCHEMA, XSI_NAMESPACE);
-        Document jdom = new Document(index);
-        // build over all files
-        for (int i = 1; i <= number; i++) {
-            Element sitemap = new Element("sitemap", NS);
-            index.addContent(sitemap);
-            sitemap.addContent(new Element("loc", NS)
-                .addContent((baseurl + DEFAULT_PART_URLPATH + "/" + getFileName(i)).trim()));
-            String date = DATE_FORMATTER.format(Instant.now());
-            sitemap.addContent(new Element("lastmod", NS).addContent(date.trim()));
+    private void writeSitemapIndex(int number, Properties state) throws IOException {
+        Path file = getFile(0);
+        LOGGER.info("Write Google sitemap file {}.", file);
+        writeXML(file, false, xml -> {
+            xml.writeStartElement("sitemapindex");
+            xml.writeDefaultNamespace(NS);
+            xml.writeNamespace("xsi", XSI_URL);
+            xml.writeAttribute("xsi", XSI_URL, "schemaLocation", SITEINDEX_SCHEMA);
+            for (int i = 1; i <= number; i++) {
+                xml.writeStartElement("sitemap");
+                writeElement(xml, "loc", (baseurl + DEFAULT_PART_URLPATH + "/" + getFileName(i)).trim());
+                writeElement(xml, "lastmod", state.getProperty(i + ".lastmod"));
+                xml.writeEndElement();
+            }
+            xml.writeEndElement();
+        });
+    }
+
+    private static void writeElement(XMLStreamWriter xml, String name, String text) throws XMLStreamException {
+        xml.writeStartElement(name);
+        xml.writeCharacters(text);
+        xml.writeEndElement();
+    }
+
+    /**
+     * Writes a xml document to a temporary file that replaces the file afterward, so that a file is never
+     * delivered while it is written.
+     */
+    private void writeXML(Path file, boolean gzip, XMLContentWriter contentWriter) throws IOException {
+        Path tempFile = Files.createTempFile(cdir, file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream fileOut = Files.newOutputStream(tempFile);
+                OutputStream out = gzip ? new GZIPOutputStream(fileOut) : fileOut) {
+                XMLStreamWriter xml = XML_OUTPUT_FACTORY.createXMLStreamWriter(out, StandardCharsets.UTF_8.name());
+                xml.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+                contentWriter.write(xml);
+                xml.writeEndDocument();
+                xml.close();
+            } catch (XMLStreamException e) {
+                throw new IOException("Could not write " + file, e);
+            }
+            try {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Deletes all parts with a higher number, including parts of older versions that were not compressed.
+     */
+    private void removePartsAfter(int number) throws IOException {
+        try (Stream<Path> files = Files.list(cdir)) {
+            for (Path file : files.toList()) {
+                Matcher m = PART_FILENAME_PATTERN.matcher(file.getFileName().toString());
+                if (m.matches() && (Integer.parseInt(m.group(1)) > number || m.group(2) == null)) {
+                    LOGGER.info("Remove Google sitemap file {}.", file);
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private Properties loadState() throws IOException {
+        Properties state = new Properties();
+        Path file = cdir.resolve(STATE_FILENAME);
+        if (Files.isRegularFile(file)) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                state.load(reader);
+            }
+        }
+        return state;
+    }
+
+    private void storeState(Properties state) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(cdir.resolve(STATE_FILENAME), StandardCharsets.UTF_8)) {
+            state.store(writer, "First ids, checksums and modification times of the Google sitemap parts");
         }
-        return jdom;
     }
 
     /**
      * This method remove all sitemap files from the webapps directory.
      */
     public void removeSitemapFiles() {
-        if (Files.isDirectory(CDIR)) {
-            try (Stream<Path> walk = Files.walk(CDIR)) {
+        if (Files.isDirectory(cdir)) {
+            try (Stream<Path> walk = Files.walk(cdir)) {
                 walk
-                    .filter(d -> !CDIR.equals(d)) // keep the current directory, only delete children
+                    .filter(d -> !cdir.equals(d)) // keep the current directory, only delete children
                     .sorted(Comparator.reverseOrder())
                     .forEach(f -> {
                         try {
@@ -341,4 +482,13 @@ public final class MCRGoogleSitemapCommon {
             }
         }
     }
+
+    /**
+     * Writes the content of a xml document.
+     */
+    @FunctionalInterface
+    private interface XMLContentWriter {
+        void write(XMLStreamWriter xml) throws XMLStreamException;
+    }
+
 }
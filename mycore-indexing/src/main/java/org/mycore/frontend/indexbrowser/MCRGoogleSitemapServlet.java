@@ -22,14 +22,12 @@ import java.io.Serial;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.jdom2.Document;
-import org.mycore.common.content.MCRJDOMContent;
 import org.mycore.common.content.MCRPathContent;
-import org.mycore.common.xml.MCRXMLParserFactory;
+import org.mycore.common.content.MCRStreamContent;
 import org.mycore.frontend.MCRFrontendUtil;
 import org.mycore.frontend.servlets.MCRServlet;
 import org.mycore.frontend.servlets.MCRServletJob;
@@ -39,6 +37,10 @@ import jakarta.servlet.http.HttpServletResponse;
 /**
  * This class builds a google sitemap containing links to all documents. The
  * web.xml file should contain a mapping to /sitemap.xml
+ * <p>
+ * The sitemap files are created on the first request. They can be pre-generated with the MyCoRe CLI command
+ * <code>build google sitemap</code>, that also brings existing files up to date. Parts are delivered gzip
+ * compressed as sitemap_google_xxxx.xml.gz, requests for sitemap_google_xxxx.xml are answered uncompressed.
  *
  * @author Frank Lützenkirchen
  * @author Jens Kupferschmidt
@@ -52,7 +54,7 @@ public final class MCRGoogleSitemapServlet extends MCRServlet {
     /** The logger */
     private static final Logger LOGGER = LogManager.getLogger();
 
-    private static final Pattern PARTSITEMAP_FILENAME_PATTERN = Pattern.compile("sitemap_google_([0-9]+)\\.xml");
+    private static final String GZIP_CONTENT_TYPE = "application/gzip";
 
     /**
      * This method implement the doGetPost method of MCRServlet. It build a XML
@@ -66,72 +68,48 @@ public final class MCRGoogleSitemapServlet extends MCRServlet {
         String uri = job.getRequest().getRequestURI();
         String filename = uri.substring(uri.lastIndexOf('/') + 1);
         if (MCRGoogleSitemapCommon.DEFAULT_FILENAME.equals(filename)) {
-            processSingleSitemap(job);
+            processSitemapIndex(job);
         } else {
             processPartSitemap(filename, job);
         }
     }
 
-    private void processSingleSitemap(MCRServletJob job) throws Exception {
+    private void processSitemapIndex(MCRServletJob job) throws Exception {
         MCRGoogleSitemapCommon common = new MCRGoogleSitemapCommon(MCRFrontendUtil.getBaseURL(job.getRequest()));
-        int number = common.checkSitemapFile();
-        LOGGER.debug("Build Google number of URL files {}.", number);
-        Document jdom;
         // check if sitemap_google.xml exist
         // the file can be pre-generated with MyCoRe CLI:> build google sitemap 
         // after that it won't be updated anymore until deleted or recreated
         Path fi = common.getFile(0);
         LOGGER.debug("Build Google check file {}", fi);
-        if (Files.isRegularFile(fi)) {
-            jdom = MCRXMLParserFactory.getNonValidatingParser().parseXML(new MCRPathContent(fi));
-            if (jdom == null) {
-                if (number == 1) {
-                    jdom = common.buildSingleSitemap();
-                } else {
-                    jdom = common.buildSitemapIndex(number);
-                }
-            }
-            //send XML output
-            getLayoutService().doLayout(job.getRequest(), job.getResponse(), new MCRJDOMContent(jdom));
-            return;
-        }
-        // remove old files
-        common.removeSitemapFiles();
-        // build new return and URL files
-        if (number == 1) {
-            jdom = common.buildSingleSitemap();
-        } else {
-            for (int i = 1; i <= number; i++) {
-                Path xml = common.getFile(i);
-                jdom = common.buildPartSitemap(i);
-                LOGGER.info("Write Google sitemap file {}.", xml);
-                new MCRJDOMContent(jdom).sendTo(xml);
-            }
-            jdom = common.buildSitemapIndex(number);
+        if (!Files.isRegularFile(fi)) {
+            int number = common.updateSitemapFiles();
+            LOGGER.debug("Build Google number of URL files {}.", number);
         }
         // send XML output
-        getLayoutService().doLayout(job.getRequest(), job.getResponse(), new MCRJDOMContent(jdom));
+        getLayoutService().doLayout(job.getRequest(), job.getResponse(), new MCRPathContent(fi));
     }
 
     private void processPartSitemap(String filename, MCRServletJob job) throws Exception {
-        Matcher m = PARTSITEMAP_FILENAME_PATTERN.matcher(filename);
+        Matcher m = MCRGoogleSitemapCommon.PART_FILENAME_PATTERN.matcher(filename);
         if (m.matches()) {
             int idx = Integer.parseInt(m.group(1));
             MCRGoogleSitemapCommon common = new MCRGoogleSitemapCommon(MCRFrontendUtil.getBaseURL(job.getRequest()));
 
             Path xml = common.getFile(idx);
-            if (Files.isRegularFile(xml)) {
-                getLayoutService().doLayout(job.getRequest(), job.getResponse(), new MCRPathContent(xml));
+            if (!Files.isRegularFile(xml) && idx > 0) {
+                common.updateSitemapFiles();
+            }
+            if (!Files.isRegularFile(xml) || idx == 0) {
+                job.getResponse().sendError(HttpServletResponse.SC_FORBIDDEN,
+                    "Partial Google Sitemap '" + filename + "' not found!");
+            } else if (m.group(2) != null) {
+                HttpServletResponse response = job.getResponse();
+                response.setContentType(GZIP_CONTENT_TYPE);
+                response.setContentLengthLong(Files.size(xml));
+                Files.copy(xml, response.getOutputStream());
             } else {
-                int number = common.checkSitemapFile();
-                if (idx <= number) {
-                    Document jdom = common.buildPartSitemap(idx);
-                    new MCRJDOMContent(jdom).sendTo(xml);
-                    getLayoutService().doLayout(job.getRequest(), job.getResponse(), new MCRJDOMContent(jdom));
-                } else {
-                    job.getResponse().sendError(HttpServletResponse.SC_FORBIDDEN,
-                        "Partial Google Sitemap '" + filename + "' not found!");
-                }
+                getLayoutService().doLayout(job.getRequest(), job.getResponse(),
+                    new MCRStreamContent(new GZIPInputStream(Files.newInputStream(xml)), xml.toUri().toString()));
             }
         }
     }
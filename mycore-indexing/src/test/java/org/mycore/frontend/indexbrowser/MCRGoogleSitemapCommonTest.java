@@ -0,0 +1,174 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.frontend.indexbrowser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mycore.common.MCRTestConfiguration;
+import org.mycore.common.MCRTestProperty;
+import org.mycore.datamodel.common.MCRObjectIDDate;
+import org.mycore.datamodel.ifs2.MCRObjectIDDateImpl;
+import org.mycore.test.MyCoReTest;
+
+@MyCoReTest
+@MCRTestConfiguration(
+    properties = {
+        @MCRTestProperty(key = "MCR.GoogleSitemap.SolrQuery", string = "*:*"),
+        @MCRTestProperty(key = "MCR.GoogleSitemap.NumberOfURLs", string = "2")
+    })
+public class MCRGoogleSitemapCommonTest {
+
+    private static final String BASE_URL = "http://localhost/";
+
+    private static final FileTime OLD_TIME = FileTime.fromMillis(1_000_000_000_000L);
+
+    @TempDir
+    public Path root;
+
+    private MCRGoogleSitemapCommon common;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        common = new MCRGoogleSitemapCommon(root, BASE_URL);
+    }
+
+    @Test
+    public void unchangedPartIsNotRewritten() throws Exception {
+        List<MCRObjectIDDate> objects = createObjects(1_700_000_000_000L, 3);
+        assertEquals(2, common.updateSitemapFiles(objects.iterator()));
+        String index = Files.readString(common.getFile(0));
+        setOldTime(1, 2);
+
+        assertEquals(2, common.updateSitemapFiles(objects.iterator()));
+        assertEquals(OLD_TIME, Files.getLastModifiedTime(common.getFile(1)));
+        assertEquals(OLD_TIME, Files.getLastModifiedTime(common.getFile(2)));
+        assertEquals(index, Files.readString(common.getFile(0)));
+    }
+
+    @Test
+    public void changedPartIsRewritten() throws Exception {
+        List<MCRObjectIDDate> objects = createObjects(1_700_000_000_000L, 3);
+        common.updateSitemapFiles(objects.iterator());
+        setOldTime(1, 2);
+
+        List<MCRObjectIDDate> changed = List.of(objects.get(0), objects.get(1),
+            new MCRObjectIDDateImpl(new Date(1_710_000_000_000L), objects.get(2).getId()));
+        assertEquals(2, common.updateSitemapFiles(changed.iterator()));
+        assertEquals(OLD_TIME, Files.getLastModifiedTime(common.getFile(1)));
+        assertNotEquals(OLD_TIME, Files.getLastModifiedTime(common.getFile(2)));
+        assertTrue(readPart(2).contains("<lastmod>2024-03-09</lastmod>"));
+
+        // a missing part is written again, even if its objects did not change
+        Files.delete(common.getFile(1));
+        common.updateSitemapFiles(changed.iterator());
+        assertTrue(readPart(1).contains("<loc>" + BASE_URL + "receive/junit_test_00000001</loc>"));
+    }
+
+    @Test
+    public void partsKeepTheirObjects() throws Exception {
+        List<MCRObjectIDDate> objects = createObjects(1_700_000_000_000L, 5);
+        assertEquals(3, common.updateSitemapFiles(objects.iterator()));
+        setOldTime(1, 2, 3);
+
+        // deleting the first object only changes the first part
+        assertEquals(3, common.updateSitemapFiles(objects.subList(1, 5).iterator()));
+        assertNotEquals(OLD_TIME, Files.getLastModifiedTime(common.getFile(1)));
+        assertEquals(OLD_TIME, Files.getLastModifiedTime(common.getFile(2)));
+        assertEquals(OLD_TIME, Files.getLastModifiedTime(common.getFile(3)));
+        assertFalse(readPart(1).contains("junit_test_00000001"));
+        setOldTime(1);
+
+        // a new object is added to the part of its id
+        List<MCRObjectIDDate> added = new ArrayList<>(objects.subList(1, 5));
+        added.add(1, new MCRObjectIDDateImpl(new Date(1_700_000_000_000L), "junit_test_00000002a"));
+        assertEquals(3, common.updateSitemapFiles(added.iterator()));
+        assertNotEquals(OLD_TIME, Files.getLastModifiedTime(common.getFile(1)));
+        assertEquals(OLD_TIME, Files.getLastModifiedTime(common.getFile(2)));
+        assertEquals(OLD_TIME, Files.getLastModifiedTime(common.getFile(3)));
+        assertTrue(readPart(1).contains("junit_test_00000002a"));
+    }
+
+    @Test
+    public void fullPartIsSplit() throws Exception {
+        List<MCRObjectIDDate> objects = new ArrayList<>(createObjects(1_700_000_000_000L, 4));
+        assertEquals(2, common.updateSitemapFiles(objects.iterator()));
+
+        objects.add(1, new MCRObjectIDDateImpl(new Date(1_700_000_000_000L), "junit_test_00000001a"));
+        assertEquals(3, common.updateSitemapFiles(objects.iterator()));
+        assertTrue(readPart(1).contains("junit_test_00000001a"));
+        assertTrue(readPart(2).contains("junit_test_00000002"));
+        assertTrue(readPart(3).contains("junit_test_00000003"));
+        assertTrue(readPart(3).contains("junit_test_00000004"));
+    }
+
+    @Test
+    public void unneededPartsAreRemoved() throws Exception {
+        common.updateSitemapFiles(createObjects(1_700_000_000_000L, 5).iterator());
+        assertTrue(Files.isRegularFile(common.getFile(3)));
+        Path uncompressed = root.resolve("sitemap_google_0001.xml");
+        Files.writeString(uncompressed, "<urlset/>");
+
+        assertEquals(1, common.updateSitemapFiles(createObjects(1_700_000_000_000L, 2).iterator()));
+        assertTrue(Files.isRegularFile(common.getFile(1)));
+        assertFalse(Files.exists(common.getFile(2)));
+        assertFalse(Files.exists(common.getFile(3)));
+        assertFalse(Files.exists(uncompressed));
+        String index = Files.readString(common.getFile(0));
+        assertTrue(index.contains(common.getFileName(1)));
+        assertFalse(index.contains(common.getFileName(2)));
+    }
+
+    private void setOldTime(int... numbers) throws IOException {
+        for (int number : numbers) {
+            Files.setLastModifiedTime(common.getFile(number), OLD_TIME);
+        }
+    }
+
+    private String readPart(int number) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(common.getFile(number)))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static List<MCRObjectIDDate> createObjects(long lastModified, int count) {
+        return IntStream.rangeClosed(1, count)
+            .<MCRObjectIDDate>mapToObj(
+                i -> new MCRObjectIDDateImpl(new Date(lastModified), String.format("junit_test_%08d", i)))
+            .toList();
+    }
+
+}
@@ -57,6 +57,7 @@ import org.mycore.imagetiler.MCRImage;
 import org.mycore.imagetiler.MCRTiledPictureProps;
 import org.mycore.iview2.events.MCRIView2TilingThreadStarter;
 import org.mycore.iview2.services.MCRIView2Tools;
+import org.mycore.iview2.services.MCRTileArchiveCache;
 import org.mycore.iview2.services.MCRTileJob;
 import org.mycore.iview2.services.MCRTilingQueue;
 
@@ -355,6 +356,7 @@ public class MCRIView2Commands extends MCRAbstractCommands {
     public static void deleteAllTiles() throws IOException {
         Path storeDir = MCRIView2Tools.getTileDir();
         Files.walkFileTree(storeDir, new MCRRecursiveDeleter());
+        MCRTileArchiveCache.getInstance().clear();
         MCRTilingQueue.getInstance().clear();
     }
 
@@ -398,6 +400,7 @@ public class MCRIView2Commands extends MCRAbstractCommands {
     public static void deleteDerivateTiles(String derivateID) throws IOException {
         Path derivateDir = MCRImage.getTiledFile(MCRIView2Tools.getTileDir(), derivateID, null);
         Files.walkFileTree(derivateDir, new MCRRecursiveDeleter());
+        MCRTileArchiveCache.getInstance().invalidateAll(derivateDir);
         MCRTilingQueue.getInstance().remove(derivateID);
     }
 
@@ -412,10 +415,21 @@ public class MCRIView2Commands extends MCRAbstractCommands {
     public static void deleteImageTiles(String derivate, String absoluteImagePath) throws IOException {
         Path tileFile = MCRImage.getTiledFile(MCRIView2Tools.getTileDir(), derivate, absoluteImagePath);
         deleteFileAndEmptyDirectories(tileFile);
+        MCRTileArchiveCache.getInstance().invalidate(tileFile);
         int removed = MCRTilingQueue.getInstance().remove(derivate, absoluteImagePath);
         LOGGER.info("removed tiles from {} images", removed);
     }
 
+    /**
+     * Prints hit and miss counters of the tile archive cache.
+     */
+    @MCRCommand(syntax = "show tile archive cache statistics",
+        help = "shows size, hits, misses and evictions of the cache of open iview2 tile archives",
+        order = 120)
+    public static void showTileArchiveCacheStatistics() {
+        LOGGER.info("{}", MCRTileArchiveCache.getInstance());
+    }
+
     private static void deleteFileAndEmptyDirectories(Path file) throws IOException {
         if (Files.isRegularFile(file)) {
             Files.delete(file);
@@ -20,10 +20,9 @@ package org.mycore.iview2.frontend;
 
 import java.io.IOException;
 import java.io.Serial;
-import java.nio.file.FileSystem;
+import java.nio.channels.Channels;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.attribute.BasicFileAttributes;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -31,7 +30,8 @@ import org.mycore.common.config.MCRConfiguration2;
 import org.mycore.iview2.backend.MCRDefaultTileFileProvider;
 import org.mycore.iview2.backend.MCRTileFileProvider;
 import org.mycore.iview2.backend.MCRTileInfo;
-import org.mycore.iview2.services.MCRIView2Tools;
+import org.mycore.iview2.services.MCRTileArchive;
+import org.mycore.iview2.services.MCRTileArchiveCache;
 
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServlet;
@@ -76,32 +76,27 @@ public class MCRTileServlet extends HttpServlet {
             resp.sendError(HttpServletResponse.SC_NOT_FOUND, "File does not exist: " + iviewFile);
             return;
         }
-        try (FileSystem iviewFS = MCRIView2Tools.getFileSystem(iviewFile)) {
-            Path root = iviewFS.getRootDirectories().iterator().next();
-            Path tilePath = root.resolve(tileInfo.tile());
-            BasicFileAttributes fileAttributes;
-            try {
-                fileAttributes = Files.readAttributes(tilePath, BasicFileAttributes.class);
-            } catch (IOException e) {
+        try (MCRTileArchive archive = MCRTileArchiveCache.getInstance().open(iviewFile)) {
+            MCRTileArchive.Entry entry = archive.getEntry(tileInfo.tile()).orElse(null);
+            if (entry == null) {
                 resp.sendError(HttpServletResponse.SC_NOT_FOUND, "Tile not found: " + tileInfo);
                 return;
             }
             resp.setHeader("Cache-Control", "max-age=" + MAX_AGE);
-            resp.setDateHeader("Last-Modified", fileAttributes.lastModifiedTime().toMillis());
+            resp.setDateHeader("Last-Modified", archive.getLastModified().toMillis());
             if (tileInfo.tile().endsWith("xml")) {
                 resp.setContentType("text/xml");
             } else {
                 resp.setContentType("image/jpeg");
             }
             if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("Extracting {} size {}", tilePath, fileAttributes.size());
+                LOGGER.debug("Extracting {} from {} size {}", entry.name(), iviewFile, entry.size());
             }
             //size of a tile or imageinfo.xml file is always smaller than Integer.MAX_VALUE
-            resp.setContentLength((int) fileAttributes.size());
+            resp.setContentLength((int) entry.size());
             try (ServletOutputStream out = resp.getOutputStream()) {
-                Files.copy(tilePath, out);
+                archive.transferTo(entry, Channels.newChannel(out));
             }
-
         }
         LOGGER.debug("Ending MCRTileServlet");
     }
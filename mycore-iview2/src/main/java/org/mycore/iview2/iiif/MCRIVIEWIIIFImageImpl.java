@@ -22,7 +22,6 @@ import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
-import java.nio.file.FileSystem;
 import java.nio.file.FileSystemNotFoundException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -60,6 +59,8 @@ import org.mycore.iview2.backend.MCRDefaultTileFileProvider;
 import org.mycore.iview2.backend.MCRTileFileProvider;
 import org.mycore.iview2.backend.MCRTileInfo;
 import org.mycore.iview2.services.MCRIView2Tools;
+import org.mycore.iview2.services.MCRTileArchive;
+import org.mycore.iview2.services.MCRTileArchiveCache;
 
 public class MCRIVIEWIIIFImageImpl extends MCRIIIFImageImpl {
 
@@ -138,15 +139,13 @@ public class MCRIVIEWIIIFImageImpl extends MCRIIIFImageImpl {
         MCRIIIFImageTargetSize rotatedSize = getRotatedSize(targetSize, rotation);
         BufferedImage targetImage = new BufferedImage(rotatedSize.width(), rotatedSize.height(),
             getImageType(imageQuality, format));
-        try (FileSystem zipFileSystem = MCRIView2Tools.getFileSystem(oTileFile.get())) {
-            Path rootPath = zipFileSystem.getPath("/");
-
+        try (MCRTileArchive archive = MCRTileArchiveCache.getInstance().open(oTileFile.get())) {
             Graphics2D graphics = targetImage.createGraphics();
             try {
                 graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
                 applyRotation(graphics, rotation, rotatedSize, targetSize);
                 applyScale(graphics, region, targetSize, sourceZoomLevel, zoomLevelScale);
-                drawTiles(rootPath, sourceZoomLevel, sourceTiles, graphics);
+                drawTiles(archive, sourceZoomLevel, sourceTiles, graphics);
             } finally {
                 graphics.dispose();
             }
@@ -213,14 +212,18 @@ public class MCRIVIEWIIIFImageImpl extends MCRIIIFImageImpl {
         }
     }
 
-    private static void drawTiles(Path tileRoot, int sourceZoomLevel, MCRIIIFImageSourceRegion sourceTiles,
+    private static void drawTiles(MCRTileArchive archive, int sourceZoomLevel, MCRIIIFImageSourceRegion sourceTiles,
         Graphics2D graphics) throws IOException {
-        for (int x = sourceTiles.x1(); x < sourceTiles.x2(); x++) {
-            for (int y = sourceTiles.y1(); y < sourceTiles.y2(); y++) {
-                ImageReader imageReader = MCRIView2Tools.getTileImageReader();
-                BufferedImage tile = MCRIView2Tools.readTile(tileRoot, imageReader, sourceZoomLevel, x, y);
-                graphics.drawImage(tile, x * 256, y * 256, null);
+        ImageReader imageReader = MCRIView2Tools.getTileImageReader();
+        try {
+            for (int x = sourceTiles.x1(); x < sourceTiles.x2(); x++) {
+                for (int y = sourceTiles.y1(); y < sourceTiles.y2(); y++) {
+                    BufferedImage tile = MCRIView2Tools.readTile(archive, imageReader, sourceZoomLevel, x, y);
+                    graphics.drawImage(tile, x * 256, y * 256, null);
+                }
             }
+        } finally {
+            imageReader.dispose();
         }
     }
 
@@ -265,13 +268,7 @@ public class MCRIVIEWIIIFImageImpl extends MCRIIIFImageImpl {
     public MCRIIIFImageInformation getInformation(String identifier)
         throws MCRIIIFImageNotFoundException, MCRIIIFImageProvidingException, MCRAccessException {
         try {
-            MCRTileInfo tileInfo = createTileInfo(identifier);
-            Optional<Path> oTiledFile = tileFileProvider.getTileFile(tileInfo);
-            if (oTiledFile.isEmpty()) {
-                throw new MCRIIIFImageNotFoundException(identifier);
-            }
-            final Path tileFilePath = oTiledFile.get();
-            checkTileFile(identifier, tileInfo, tileFilePath);
+            final Path tileFilePath = getCheckedTileFile(identifier);
             MCRTiledPictureProps tiledPictureProps = getTiledPictureProps(tileFilePath);
 
             MCRIIIFImageInformation imageInformation = new MCRIIIFImageInformation(MCRIIIFBase.API_IMAGE_2,
@@ -290,6 +287,28 @@ public class MCRIVIEWIIIFImageImpl extends MCRIIIFImageImpl {
         }
     }
 
+    @Override
+    public long getLastModified(String identifier)
+        throws MCRIIIFImageNotFoundException, MCRIIIFImageProvidingException, MCRAccessException {
+        try {
+            return Files.getLastModifiedTime(getCheckedTileFile(identifier)).toMillis();
+        } catch (FileSystemNotFoundException | IOException e) {
+            LOGGER.error("Could not find Iview ZIP for {}", identifier, e);
+            throw new MCRIIIFImageNotFoundException(identifier, e);
+        }
+    }
+
+    private Path getCheckedTileFile(String identifier) throws MCRIIIFImageNotFoundException, MCRAccessException {
+        MCRTileInfo tileInfo = createTileInfo(identifier);
+        Optional<Path> oTiledFile = tileFileProvider.getTileFile(tileInfo);
+        if (oTiledFile.isEmpty()) {
+            throw new MCRIIIFImageNotFoundException(identifier);
+        }
+        Path tileFilePath = oTiledFile.get();
+        checkTileFile(identifier, tileInfo, tileFilePath);
+        return tileFilePath;
+    }
+
     @Override
     public MCRIIIFImageProfile getProfile() {
         MCRIIIFImageProfile mcriiifImageProfile = new MCRIIIFImageProfile();
@@ -318,8 +337,8 @@ public class MCRIVIEWIIIFImageImpl extends MCRIIIFImageImpl {
     }
 
     private MCRTiledPictureProps getTiledPictureProps(Path tiledFile) throws MCRIIIFImageProvidingException {
-        try (FileSystem fileSystem = MCRIView2Tools.getFileSystem(tiledFile)) {
-            return MCRTiledPictureProps.getInstanceFromDirectory(fileSystem.getPath("/"));
+        try (MCRTileArchive archive = MCRTileArchiveCache.getInstance().open(tiledFile)) {
+            return archive.getPictureProps();
         } catch (IOException e) {
             throw new MCRIIIFImageProvidingException("Could not provide image information!", e);
         }
@@ -21,6 +21,7 @@ package org.mycore.iview2.services;
 import java.awt.Graphics;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.net.URI;
 import java.nio.channels.SeekableByteChannel;
@@ -296,6 +297,29 @@ public class MCRIView2Tools {
         }
     }
 
+    /**
+     * reads a tile directly from an open tile archive without creating a zip file system.
+     *
+     * @see MCRTileArchiveCache#open(Path)
+     */
+    public static BufferedImage readTile(MCRTileArchive archive, ImageReader imageReader, int zoomLevel, int x, int y)
+        throws IOException {
+        String tileName = new MessageFormat("{0}/{1}/{2}.jpg", Locale.ROOT).format(new Object[] { zoomLevel, y, x });
+        MCRTileArchive.Entry entry = archive.getEntry(tileName)
+            .orElseThrow(() -> new NoSuchFileException(archive.getFile().toString(), tileName, null));
+        try (InputStream is = archive.newInputStream(entry);
+            ImageInputStream iis = ImageIO.createImageInputStream(is)) {
+            if (iis == null) {
+                throw new IOException("Could not acquire ImageInputStream for " + tileName + " in "
+                    + archive.getFile());
+            }
+            imageReader.setInput(iis, true);
+            BufferedImage image = imageReader.read(0);
+            imageReader.reset();
+            return image;
+        }
+    }
+
     public static int getImageType(Path iviewFileRoot, ImageReader imageReader, int zoomLevel, int x, int y)
         throws IOException {
         String tileName = new MessageFormat("{0}/{1}/{2}.jpg", Locale.ROOT).format(new Object[] { zoomLevel, y, x });
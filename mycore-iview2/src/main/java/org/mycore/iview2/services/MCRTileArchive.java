@@ -0,0 +1,464 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.iview2.services;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+import org.mycore.imagetiler.MCRTiledPictureProps;
+
+/**
+ * An open <code>.iview2</code> tile archive with a pre-parsed index of its entries.
+ * <p>
+ * The central directory of the zip file is read once when the archive is opened. Every tile can then be read
+ * directly from its byte range in the archive without creating a zip {@link java.nio.file.FileSystem}. Stored
+ * entries (the usual case for JPEG tiles) are copied with {@link FileChannel#transferTo(long, long,
+ * WritableByteChannel)}, deflated entries are inflated on the fly.
+ * <p>
+ * Instances are shared by {@link MCRTileArchiveCache} and are reference counted: every
+ * {@link MCRTileArchiveCache#open(Path)} has to be followed by a {@link #close()}. The underlying file channel is
+ * closed when the archive has been evicted from the cache and the last reader is done.
+ */
+public final class MCRTileArchive implements Closeable {
+
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+
+    private static final int END_SIGNATURE = 0x06054b50;
+
+    private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+
+    private static final int LOCAL_HEADER_SIZE = 30;
+
+    private static final int CENTRAL_HEADER_SIZE = 46;
+
+    private static final int END_SIZE = 22;
+
+    private static final int ZIP64_LOCATOR_SIZE = 20;
+
+    private static final int ZIP64_END_SIZE = 56;
+
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+
+    private static final int ZIP64_EXTRA_ID = 0x0001;
+
+    private static final int METHOD_STORED = 0;
+
+    private static final int METHOD_DEFLATED = 8;
+
+    private final Path file;
+
+    private final FileChannel channel;
+
+    private final FileTime lastModified;
+
+    private final long size;
+
+    private final Map<String, Entry> entries;
+
+    private volatile MCRTiledPictureProps pictureProps;
+
+    private int references;
+
+    private boolean evicted;
+
+    MCRTileArchive(Path file, BasicFileAttributes attrs) throws IOException {
+        this.file = file;
+        this.lastModified = attrs.lastModifiedTime();
+        this.size = attrs.size();
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            this.entries = Collections.unmodifiableMap(readCentralDirectory());
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * @return the last modified time of the archive file at the time it was opened
+     */
+    public FileTime getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * @return number of entries in the archive
+     */
+    public int getEntryCount() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the index entry of a file in the archive.
+     *
+     * @param name name of the entry relative to the archive root, e.g. <code>2/1/3.jpg</code> or
+     *             <code>imageinfo.xml</code>
+     * @return the entry or empty if the archive does not contain it
+     */
+    public Optional<Entry> getEntry(String name) {
+        String entryName = name.startsWith("/") ? name.substring(1) : name;
+        return Optional.ofNullable(entries.get(entryName));
+    }
+
+    /**
+     * Returns the tiled picture properties stored in <code>imageinfo.xml</code>. They are read only once per
+     * opened archive.
+     */
+    public MCRTiledPictureProps getPictureProps() throws IOException {
+        MCRTiledPictureProps props = pictureProps;
+        if (props == null) {
+            props = MCRTiledPictureProps.getInstanceFromFile(file);
+            pictureProps = props;
+        }
+        return props;
+    }
+
+    /**
+     * Copies the uncompressed content of the given entry to the target channel.
+     *
+     * @param entry an entry of this archive
+     * @param target the channel to write to
+     * @return number of bytes written
+     */
+    public long transferTo(Entry entry, WritableByteChannel target) throws IOException {
+        if (entry.method() != METHOD_STORED) {
+            try (InputStream is = newInputStream(entry)) {
+                ByteBuffer buffer = ByteBuffer.allocate(8192);
+                long written = 0;
+                int read;
+                while ((read = is.read(buffer.array())) != -1) {
+                    buffer.clear().limit(read);
+                    while (buffer.hasRemaining()) {
+                        written += target.write(buffer);
+                    }
+                }
+                return written;
+            }
+        }
+        long position = getDataOffset(entry);
+        long remaining = entry.compressedSize();
+        while (remaining > 0) {
+            long transferred = channel.transferTo(position, remaining, target);
+            if (transferred <= 0) {
+                throw new EOFException("Unexpected end of " + file + " while reading " + entry.name());
+            }
+            position += transferred;
+            remaining -= transferred;
+        }
+        return entry.compressedSize();
+    }
+
+    /**
+     * Opens an input stream on the uncompressed content of the given entry.
+     * The stream reads directly from the archive file and is safe to use concurrently with other readers.
+     *
+     * @param entry an entry of this archive
+     */
+    public InputStream newInputStream(Entry entry) throws IOException {
+        InputStream raw = new RangeInputStream(channel, getDataOffset(entry), entry.compressedSize());
+        return switch (entry.method()) {
+            case METHOD_STORED -> raw;
+            case METHOD_DEFLATED -> new InflaterInputStream(raw, new Inflater(true)) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        inf.end();
+                    }
+                }
+            };
+            default -> throw new ZipException(
+                "Unsupported compression method " + entry.method() + " of " + entry.name() + " in " + file);
+        };
+    }
+
+    /**
+     * Releases this archive. The file channel is closed if the archive was evicted from the cache and no other
+     * reader holds it.
+     */
+    @Override
+    public void close() throws IOException {
+        boolean closeChannel;
+        synchronized (this) {
+            references--;
+            closeChannel = evicted && references <= 0;
+        }
+        if (closeChannel) {
+            channel.close();
+        }
+    }
+
+    boolean isCurrent(BasicFileAttributes attrs) {
+        return attrs.size() == size && attrs.lastModifiedTime().equals(lastModified);
+    }
+
+    synchronized boolean retain() {
+        if (evicted) {
+            return false;
+        }
+        references++;
+        return true;
+    }
+
+    void evict() throws IOException {
+        boolean closeChannel;
+        synchronized (this) {
+            evicted = true;
+            closeChannel = references <= 0;
+        }
+        if (closeChannel) {
+            channel.close();
+        }
+    }
+
+    private long getDataOffset(Entry entry) throws IOException {
+        ByteBuffer header = read(entry.localHeaderOffset(), LOCAL_HEADER_SIZE);
+        if (header.getInt(0) != LOCAL_HEADER_SIGNATURE) {
+            throw new ZipException("Invalid local header of " + entry.name() + " in " + file);
+        }
+        int nameLength = Short.toUnsignedInt(header.getShort(26));
+        int extraLength = Short.toUnsignedInt(header.getShort(28));
+        return entry.localHeaderOffset() + LOCAL_HEADER_SIZE + nameLength + extraLength;
+    }
+
+    private Map<String, Entry> readCentralDirectory() throws IOException {
+        long endOffset = findEndOfCentralDirectory();
+        ByteBuffer end = read(endOffset, END_SIZE);
+        long entryCount = Short.toUnsignedInt(end.getShort(10));
+        long directorySize = Integer.toUnsignedLong(end.getInt(12));
+        long directoryOffset = Integer.toUnsignedLong(end.getInt(16));
+        if (entryCount == 0xFFFF || directorySize == ZIP64_MAGIC || directoryOffset == ZIP64_MAGIC) {
+            ByteBuffer zip64End = readZip64End(endOffset);
+            entryCount = zip64End.getLong(32);
+            directorySize = zip64End.getLong(40);
+            directoryOffset = zip64End.getLong(48);
+        }
+        if (directorySize > Integer.MAX_VALUE) {
+            throw new ZipException("Central directory of " + file + " is too large: " + directorySize);
+        }
+        ByteBuffer directory = read(directoryOffset, (int) directorySize);
+        Map<String, Entry> index = new HashMap<>((int) Math.min(entryCount * 4 / 3 + 1, Integer.MAX_VALUE));
+        int pos = 0;
+        for (long i = 0; i < entryCount; i++) {
+            if (directory.getInt(pos) != CENTRAL_HEADER_SIGNATURE) {
+                throw new ZipException("Invalid central directory header in " + file);
+            }
+            int method = Short.toUnsignedInt(directory.getShort(pos + 10));
+            long compressedSize = Integer.toUnsignedLong(directory.getInt(pos + 20));
+            long uncompressedSize = Integer.toUnsignedLong(directory.getInt(pos + 24));
+            int nameLength = Short.toUnsignedInt(directory.getShort(pos + 28));
+            int extraLength = Short.toUnsignedInt(directory.getShort(pos + 30));
+            int commentLength = Short.toUnsignedInt(directory.getShort(pos + 32));
+            long localHeaderOffset = Integer.toUnsignedLong(directory.getInt(pos + 42));
+            byte[] nameBytes = new byte[nameLength];
+            directory.get(pos + CENTRAL_HEADER_SIZE, nameBytes);
+            String name = new String(nameBytes, StandardCharsets.UTF_8);
+            if (uncompressedSize == ZIP64_MAGIC || compressedSize == ZIP64_MAGIC
+                || localHeaderOffset == ZIP64_MAGIC) {
+                int extraPos = pos + CENTRAL_HEADER_SIZE + nameLength;
+                long[] values = readZip64Extra(directory, extraPos, extraLength,
+                    new long[] { uncompressedSize, compressedSize, localHeaderOffset });
+                uncompressedSize = values[0];
+                compressedSize = values[1];
+                localHeaderOffset = values[2];
+            }
+            if (!name.endsWith("/")) {
+                index.put(name, new Entry(name, method, compressedSize, uncompressedSize, localHeaderOffset));
+            }
+            pos += CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength;
+        }
+        return index;
+    }
+
+    private long findEndOfCentralDirectory() throws IOException {
+        long fileSize = channel.size();
+        if (fileSize < END_SIZE) {
+            throw new ZipException("Not a zip file: " + file);
+        }
+        int tailSize = (int) Math.min(fileSize, END_SIZE + MAX_COMMENT_SIZE);
+        long tailOffset = fileSize - tailSize;
+        ByteBuffer tail = read(tailOffset, tailSize);
+        for (int pos = tailSize - END_SIZE; pos >= 0; pos--) {
+            if (tail.getInt(pos) == END_SIGNATURE) {
+                return tailOffset + pos;
+            }
+        }
+        throw new ZipException("End of central directory not found in " + file);
+    }
+
+    private ByteBuffer readZip64End(long endOffset) throws IOException {
+        if (endOffset < ZIP64_LOCATOR_SIZE) {
+            throw new ZipException("ZIP64 end of central directory locator not found in " + file);
+        }
+        ByteBuffer locator = read(endOffset - ZIP64_LOCATOR_SIZE, ZIP64_LOCATOR_SIZE);
+        if (locator.getInt(0) != ZIP64_LOCATOR_SIGNATURE) {
+            throw new ZipException("ZIP64 end of central directory locator not found in " + file);
+        }
+        ByteBuffer zip64End = read(locator.getLong(8), ZIP64_END_SIZE);
+        if (zip64End.getInt(0) != ZIP64_END_SIGNATURE) {
+            throw new ZipException("Invalid ZIP64 end of central directory in " + file);
+        }
+        return zip64End;
+    }
+
+    /**
+     * Replaces the values marked with {@link #ZIP64_MAGIC} by the values of the ZIP64 extra field.
+     * The order of values is uncompressed size, compressed size, local header offset.
+     */
+    private long[] readZip64Extra(ByteBuffer directory, int extraPos, int extraLength, long[] values)
+        throws ZipException {
+        int pos = extraPos;
+        int extraEnd = extraPos + extraLength;
+        while (pos + 4 <= extraEnd) {
+            int headerId = Short.toUnsignedInt(directory.getShort(pos));
+            int dataSize = Short.toUnsignedInt(directory.getShort(pos + 2));
+            if (headerId == ZIP64_EXTRA_ID) {
+                int valuePos = pos + 4;
+                for (int i = 0; i < values.length; i++) {
+                    if (values[i] == ZIP64_MAGIC) {
+                        if (valuePos + 8 > pos + 4 + dataSize) {
+                            throw new ZipException("Invalid ZIP64 extra field in " + file);
+                        }
+                        values[i] = directory.getLong(valuePos);
+                        valuePos += 8;
+                    }
+                }
+                return values;
+            }
+            pos += 4 + dataSize;
+        }
+        throw new ZipException("ZIP64 extra field missing in " + file);
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        long pos = position;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, pos);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of " + file);
+            }
+            pos += read;
+        }
+        return buffer.flip();
+    }
+
+    @Override
+    public String toString() {
+        return "MCRTileArchive [file=" + file + ", entries=" + entries.size() + "]";
+    }
+
+    /**
+     * Index entry of a file in a tile archive.
+     *
+     * @param name name of the entry relative to the archive root
+     * @param method zip compression method
+     * @param compressedSize size of the entry in the archive
+     * @param size uncompressed size of the entry
+     * @param localHeaderOffset position of the local file header in the archive
+     */
+    public record Entry(String name, int method, long compressedSize, long size, long localHeaderOffset) {
+    }
+
+    /**
+     * Reads a byte range of a file channel with positional reads, so the channel position is never changed.
+     */
+    private static final class RangeInputStream extends InputStream {
+
+        private final FileChannel channel;
+
+        private long position;
+
+        private long remaining;
+
+        RangeInputStream(FileChannel channel, long position, long length) {
+            this.channel = channel;
+            this.position = position;
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            int read = read(b, 0, 1);
+            return read == -1 ? -1 : Byte.toUnsignedInt(b[0]);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            if (len == 0) {
+                return 0;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(b, off, (int) Math.min(len, remaining));
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException();
+            }
+            position += read;
+            remaining -= read;
+            return read;
+        }
+
+        @Override
+        public long skip(long n) {
+            long skipped = Math.max(0, Math.min(n, remaining));
+            position += skipped;
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(remaining, Integer.MAX_VALUE);
+        }
+    }
+
+}
@@ -0,0 +1,238 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.iview2.services;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.mycore.common.events.MCRShutdownHandler;
+import org.mycore.common.events.MCRShutdownHandler.Closeable;
+
+/**
+ * Bounded least-recently-used cache of open {@link MCRTileArchive} instances.
+ * <p>
+ * Tile and IIIF requests for one image usually hit the same <code>.iview2</code> file many times in a row.
+ * This cache keeps the file open together with its parsed zip index, so a request only has to look up the entry
+ * and read its byte range. An archive is reopened if size or modification time of the file changed, and it is
+ * invalidated explicitly when an image is tiled again or its tiles are deleted.
+ * <p>
+ * The capacity is configured by <code>MCR.Module-iview2.TileArchiveCache.Size</code>. A value of <code>0</code>
+ * disables caching; every request then opens and closes the archive on its own.
+ */
+public final class MCRTileArchiveCache implements Closeable {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private final int capacity;
+
+    private final Map<Path, MCRTileArchive> archives;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    MCRTileArchiveCache(int capacity) {
+        this.capacity = capacity;
+        this.archives = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * @return singleton instance of this class
+     */
+    public static MCRTileArchiveCache getInstance() {
+        return LazyInstanceHolder.SINGLETON_INSTANCE;
+    }
+
+    /**
+     * Returns the open archive for the given <code>.iview2</code> file.
+     * The caller has to {@link MCRTileArchive#close() close} the archive after use, preferably with
+     * try-with-resources.
+     *
+     * @param iviewFile the tile archive
+     * @throws java.nio.file.NoSuchFileException if the file does not exist
+     * @throws IOException if the file could not be read or is not a valid zip file
+     */
+    public MCRTileArchive open(Path iviewFile) throws IOException {
+        Path key = iviewFile.toAbsolutePath().normalize();
+        BasicFileAttributes attrs = Files.readAttributes(key, BasicFileAttributes.class);
+        synchronized (archives) {
+            MCRTileArchive archive = archives.get(key);
+            if (archive != null) {
+                if (archive.isCurrent(attrs) && archive.retain()) {
+                    hits.incrementAndGet();
+                    return archive;
+                }
+                archives.remove(key);
+                invalidations.incrementAndGet();
+                archive.evict();
+            }
+        }
+        misses.incrementAndGet();
+        MCRTileArchive archive = new MCRTileArchive(key, attrs);
+        archive.retain();
+        if (capacity <= 0) {
+            archive.evict();
+            return archive;
+        }
+        List<MCRTileArchive> evicted = new ArrayList<>();
+        synchronized (archives) {
+            MCRTileArchive previous = archives.put(key, archive);
+            if (previous != null) {
+                // opened concurrently by another request
+                evicted.add(previous);
+            }
+            Iterator<MCRTileArchive> it = archives.values().iterator();
+            while (archives.size() > capacity && it.hasNext()) {
+                evicted.add(it.next());
+                it.remove();
+                evictions.incrementAndGet();
+            }
+        }
+        for (MCRTileArchive old : evicted) {
+            old.evict();
+        }
+        return archive;
+    }
+
+    /**
+     * Removes the archive of the given <code>.iview2</code> file from the cache, e.g. after the image was tiled
+     * again. Requests currently reading from the archive are not affected.
+     *
+     * @param iviewFile the tile archive
+     */
+    public void invalidate(Path iviewFile) {
+        Path key = iviewFile.toAbsolutePath().normalize();
+        MCRTileArchive archive;
+        synchronized (archives) {
+            archive = archives.remove(key);
+        }
+        if (archive != null) {
+            invalidations.incrementAndGet();
+            evictQuietly(archive);
+        }
+    }
+
+    /**
+     * Removes all archives in the given directory or its subdirectories from the cache, e.g. after the tiles of a
+     * derivate were deleted.
+     *
+     * @param directory a directory in the tile directory
+     */
+    public void invalidateAll(Path directory) {
+        Path prefix = directory.toAbsolutePath().normalize();
+        List<MCRTileArchive> removed = new ArrayList<>();
+        synchronized (archives) {
+            Iterator<Map.Entry<Path, MCRTileArchive>> it = archives.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Path, MCRTileArchive> entry = it.next();
+                if (entry.getKey().startsWith(prefix)) {
+                    removed.add(entry.getValue());
+                    it.remove();
+                }
+            }
+        }
+        invalidations.addAndGet(removed.size());
+        removed.forEach(MCRTileArchiveCache::evictQuietly);
+    }
+
+    /**
+     * Removes all archives from the cache.
+     */
+    public void clear() {
+        List<MCRTileArchive> removed;
+        synchronized (archives) {
+            removed = new ArrayList<>(archives.values());
+            archives.clear();
+        }
+        invalidations.addAndGet(removed.size());
+        removed.forEach(MCRTileArchiveCache::evictQuietly);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getSize() {
+        synchronized (archives) {
+            return archives.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public long getInvalidations() {
+        return invalidations.get();
+    }
+
+    @Override
+    public void close() {
+        LOGGER.info("Closing tile archive cache: {}", this);
+        clear();
+    }
+
+    @Override
+    public String toString() {
+        return "MCRTileArchiveCache [size=" + getSize() + "/" + capacity + ", hits=" + hits + ", misses=" + misses
+            + ", evictions=" + evictions + ", invalidations=" + invalidations + "]";
+    }
+
+    private static void evictQuietly(MCRTileArchive archive) {
+        try {
+            archive.evict();
+        } catch (IOException e) {
+            LOGGER.warn("Could not close tile archive {}", archive.getFile(), e);
+        }
+    }
+
+    private static final class LazyInstanceHolder {
+        public static final MCRTileArchiveCache SINGLETON_INSTANCE = createInstance();
+
+        private static MCRTileArchiveCache createInstance() {
+            MCRTileArchiveCache cache = new MCRTileArchiveCache(
+                Integer.parseInt(MCRIView2Tools.getIView2Property("TileArchiveCache.Size", "64")));
+            MCRShutdownHandler.getInstance().addCloseable(cache);
+            return cache;
+        }
+    }
+
+}
@@ -124,6 +124,8 @@ public class MCRTilingAction implements Runnable {
             }
 
         } finally {
+            MCRTileArchiveCache.getInstance()
+                .invalidate(MCRImage.getTiledFile(tileDir, tileJob.getDerivate(), tileJob.getPath()));
             MCRSessionMgr.releaseCurrentSession();
             mcrSession.close();
         }
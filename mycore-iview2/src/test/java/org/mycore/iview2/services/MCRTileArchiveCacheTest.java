@@ -0,0 +1,140 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.iview2.services;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MCRTileArchiveCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void readEntries() throws IOException {
+        Path iviewFile = createArchive(tempDir.resolve("a.iview2"), "v1");
+        MCRTileArchiveCache cache = new MCRTileArchiveCache(2);
+        try (MCRTileArchive archive = cache.open(iviewFile)) {
+            assertEquals(3, archive.getEntryCount());
+            assertTrue(archive.getEntry("0/0/1.jpg").isEmpty());
+
+            MCRTileArchive.Entry stored = archive.getEntry("0/0/0.jpg").orElseThrow();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            archive.transferTo(stored, Channels.newChannel(out));
+            assertArrayEquals(content("v1", 0), out.toByteArray());
+
+            MCRTileArchive.Entry deflated = archive.getEntry("/imageinfo.xml").orElseThrow();
+            out = new ByteArrayOutputStream();
+            archive.transferTo(deflated, Channels.newChannel(out));
+            assertArrayEquals(content("v1", 2), out.toByteArray());
+            try (InputStream is = archive.newInputStream(deflated)) {
+                assertArrayEquals(content("v1", 2), is.readAllBytes());
+            }
+        }
+    }
+
+    @Test
+    public void hitsMissesAndInvalidation() throws IOException {
+        Path first = createArchive(tempDir.resolve("a.iview2"), "v1");
+        Path second = createArchive(tempDir.resolve("b.iview2"), "v1");
+        Path third = createArchive(tempDir.resolve("c.iview2"), "v1");
+        MCRTileArchiveCache cache = new MCRTileArchiveCache(2);
+
+        MCRTileArchive archive = open(cache, first);
+        assertSame(archive, open(cache, first));
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+
+        open(cache, second);
+        open(cache, third);
+        assertEquals(2, cache.getSize());
+        assertEquals(1, cache.getEvictions());
+        assertNotSame(archive, open(cache, first));
+
+        // re-tiled image is detected by size and modification time
+        MCRTileArchive old = open(cache, second);
+        createArchive(second, "version2");
+        Files.setLastModifiedTime(second, FileTime.fromMillis(Files.getLastModifiedTime(second).toMillis() + 2000));
+        try (MCRTileArchive current = cache.open(second)) {
+            assertNotSame(old, current);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            current.transferTo(current.getEntry("0/0/0.jpg").orElseThrow(), Channels.newChannel(out));
+            assertArrayEquals(content("version2", 0), out.toByteArray());
+        }
+
+        long misses = cache.getMisses();
+        cache.invalidate(second);
+        open(cache, second);
+        assertEquals(misses + 1, cache.getMisses());
+
+        cache.invalidateAll(tempDir);
+        assertEquals(0, cache.getSize());
+    }
+
+    private static MCRTileArchive open(MCRTileArchiveCache cache, Path file) throws IOException {
+        try (MCRTileArchive archive = cache.open(file)) {
+            return archive;
+        }
+    }
+
+    private static byte[] content(String version, int i) {
+        return (version + "-" + i).repeat(i + 1).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Path createArchive(Path file, String version) throws IOException {
+        String[] names = { "0/0/0.jpg", "0/1/0.jpg", "imageinfo.xml" };
+        try (OutputStream os = Files.newOutputStream(file); ZipOutputStream zos = new ZipOutputStream(os)) {
+            for (int i = 0; i < names.length; i++) {
+                byte[] data = content(version, i);
+                ZipEntry entry = new ZipEntry(names[i]);
+                if (names[i].endsWith(".jpg")) {
+                    CRC32 crc = new CRC32();
+                    crc.update(data);
+                    entry.setMethod(ZipEntry.STORED);
+                    entry.setSize(data.length);
+                    entry.setCrc(crc.getValue());
+                }
+                zos.putNextEntry(entry);
+                zos.write(data);
+                zos.closeEntry();
+            }
+        }
+        return file;
+    }
+
+}
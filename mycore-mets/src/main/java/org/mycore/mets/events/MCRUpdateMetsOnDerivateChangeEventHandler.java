@@ -22,8 +22,6 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
 
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
 import org.mycore.common.events.MCREvent;
 import org.mycore.common.events.MCREventHandlerBase;
 import org.mycore.datamodel.common.MCRMarkManager;
@@ -32,15 +30,16 @@ import org.mycore.datamodel.metadata.MCRMetadataManager;
 import org.mycore.datamodel.metadata.MCRObjectID;
 import org.mycore.datamodel.niofs.MCRPath;
 import org.mycore.mets.tools.MCRMetsSave;
+import org.mycore.mets.tools.MCRMetsUpdateBatch;
 
 /**
  * EventHandler updates the mets.xml after a file is added to an existing
- * derivate.
+ * derivate. Added and deleted files are collected per derivate and the mets.xml
+ * is updated once the transaction is committed, see {@link MCRMetsUpdateBatch}.
  * 
  * @author shermann
  */
 public class MCRUpdateMetsOnDerivateChangeEventHandler extends MCREventHandlerBase {
-    private static final Logger LOGGER = LogManager.getLogger();
 
     private String mets = MCRMetsSave.getMetsFileName();
 
@@ -83,12 +82,7 @@ public class MCRUpdateMetsOnDerivateChangeEventHandler extends MCREventHandlerBa
         if (!checkUpdateMets(evt, file, attrs)) {
             return;
         }
-        MCRPath mcrPath = MCRPath.ofPath(file);
-        try {
-            MCRMetsSave.updateMetsOnFileDelete(mcrPath);
-        } catch (Exception e) {
-            LOGGER.error("Error while updating mets file", e);
-        }
+        MCRMetsUpdateBatch.fileDeleted(MCRPath.ofPath(file));
     }
 
     @Override
@@ -96,12 +90,7 @@ public class MCRUpdateMetsOnDerivateChangeEventHandler extends MCREventHandlerBa
         if (!checkUpdateMets(evt, file, attrs)) {
             return;
         }
-        MCRPath mcrPath = MCRPath.ofPath(file);
-        try {
-            MCRMetsSave.updateMetsOnFileAdd(mcrPath);
-        } catch (Exception e) {
-            LOGGER.error("Error while updating mets file", e);
-        }
+        MCRMetsUpdateBatch.fileAdded(MCRPath.ofPath(file));
     }
 
     @Override
@@ -65,6 +65,8 @@ import org.mycore.common.content.MCRPathContent;
 import org.mycore.common.xml.MCRXMLFunctions;
 import org.mycore.datamodel.common.MCRMarkManager;
 import org.mycore.datamodel.metadata.MCRDerivate;
+import org.mycore.datamodel.metadata.MCRMetadataManager;
+import org.mycore.datamodel.metadata.MCRMetadataManager.MCRObjectLock;
 import org.mycore.datamodel.metadata.MCRObjectID;
 import org.mycore.datamodel.niofs.MCRContentTypes;
 import org.mycore.datamodel.niofs.MCRPath;
@@ -116,7 +118,7 @@ public class MCRMetsSave {
      * @return
      *          true if the given document was successfully saved, otherwise false
      */
-    public static synchronized boolean saveMets(Document document, MCRObjectID derivateId) {
+    public static boolean saveMets(Document document, MCRObjectID derivateId) {
         return saveMets(document, derivateId, true, true);
     }
 
@@ -133,7 +135,15 @@ public class MCRMetsSave {
      * @return
      *          true if the given document was successfully saved, otherwise false
      */
-    public static synchronized boolean saveMets(Document document, MCRObjectID derivateId, boolean overwrite,
+    public static boolean saveMets(Document document, MCRObjectID derivateId, boolean overwrite,
+        boolean validate) {
+        // only one thread may write the mets.xml of a derivate
+        try (MCRObjectLock ignored = MCRMetadataManager.lock(derivateId)) {
+            return saveMetsLocked(document, derivateId, overwrite, validate);
+        }
+    }
+
+    private static boolean saveMetsLocked(Document document, MCRObjectID derivateId, boolean overwrite,
         boolean validate) {
         // add the file to the existing derivate in ifs
         MCRPath metsFile = getMetsFile(derivateId.toString());
@@ -174,16 +184,53 @@ public class MCRMetsSave {
      */
     public static void updateMetsOnFileAdd(MCRPath file) throws Exception {
         MCRObjectID derivateID = MCRObjectID.getInstance(file.getOwner());
-        Document mets = getCurrentMets(derivateID.toString());
-        if (mets == null) {
-            LOGGER.info("Derivate with id \"{}\" has no mets file. Nothing to do", derivateID);
-            return;
-        }
-        mets = updateOnFileAdd(mets, file);
-        if (mets != null) {
-            saveMets(mets, derivateID);
-        }
+        updateMetsOnFileChanges(derivateID, List.of(), List.of(file));
+    }
 
+    /**
+     * Updates the mets.xml belonging to the given derivate for several deleted and added files. The mets.xml is read
+     * and written only once, while the derivate is locked by {@link MCRMetadataManager#lock(MCRObjectID)}.
+     *
+     * @param derivateID
+     *            the derivate containing the files
+     * @param deletedFiles
+     *            the files to remove from the mets.xml
+     * @param addedFiles
+     *            the files to add to the mets.xml, after the deleted files are removed
+     */
+    public static void updateMetsOnFileChanges(MCRObjectID derivateID, Collection<MCRPath> deletedFiles,
+        Collection<MCRPath> addedFiles) throws JDOMException, IOException {
+        try (MCRObjectLock ignored = MCRMetadataManager.lock(derivateID)) {
+            Document mets = getCurrentMets(derivateID.toString());
+            if (mets == null) {
+                LOGGER.info("Derivate with id \"{}\" has no mets file. Nothing to do", derivateID);
+                return;
+            }
+            boolean changed = false;
+            if (!deletedFiles.isEmpty()) {
+                try {
+                    Mets modifiedMets = new Mets(mets);
+                    for (MCRPath file : deletedFiles) {
+                        new UpdateMETSOnFileDeleteAction(modifiedMets, file).apply();
+                    }
+                    mets = modifiedMets.asDocument();
+                    changed = true;
+                } catch (Exception e) {
+                    LOGGER.error("Error occurred while removing files {} from the existing mets file", deletedFiles,
+                        e);
+                }
+            }
+            for (MCRPath file : addedFiles) {
+                Document updatedMets = updateOnFileAdd(mets, file);
+                if (updatedMets != null) {
+                    mets = updatedMets;
+                    changed = true;
+                }
+            }
+            if (changed) {
+                saveMetsLocked(mets, derivateID, true, true);
+            }
+        }
     }
 
     /**
@@ -477,19 +524,7 @@ public class MCRMetsSave {
      */
     public static void updateMetsOnFileDelete(MCRPath file) throws JDOMException, SAXException, IOException {
         MCRObjectID derivateID = MCRObjectID.getInstance(file.getOwner());
-        Document mets = getCurrentMets(derivateID.toString());
-        if (mets == null) {
-            LOGGER.info("Derivate with id \"{}\" has no mets file. Nothing to do", derivateID);
-            return;
-        }
-        try {
-            Mets modifiedMets = new Mets(mets);
-            UpdateMETSOnFileDeleteAction action = new UpdateMETSOnFileDeleteAction(modifiedMets, file);
-            action.apply();
-            saveMets(mets, derivateID);
-        } catch (Exception e) {
-            LOGGER.error("Error occurred while removing file {} from the existing mets file", file, e);
-        }
+        updateMetsOnFileChanges(derivateID, List.of(file), List.of());
     }
 
     /**
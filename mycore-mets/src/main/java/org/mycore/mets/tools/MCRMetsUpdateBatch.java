@@ -0,0 +1,202 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.mets.tools;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.mycore.common.MCRSessionMgr;
+import org.mycore.common.events.MCRSessionEvent;
+import org.mycore.datamodel.metadata.MCRObjectID;
+import org.mycore.datamodel.niofs.MCRPath;
+
+/**
+ * Collects the files added to and deleted from a derivate during a transaction and updates the mets.xml once after
+ * the transaction is committed, instead of reading and writing it for every file.
+ * <p>
+ * The changes are collected while a {@link MCRMetsUpdateTransaction} is active, otherwise the mets.xml is updated
+ * immediately. On commit, every batch is applied in an onCommit task of the session. Batches of a transaction that is
+ * rolled back, or of a session that is released before the commit, are dropped.
+ */
+public final class MCRMetsUpdateBatch {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final ThreadLocal<Map<MCRObjectID, MCRMetsUpdateBatch>> PENDING = new ThreadLocal<>();
+
+    private static volatile Updater updater = MCRMetsSave::updateMetsOnFileChanges;
+
+    static {
+        MCRSessionMgr.addSessionListener(MCRMetsUpdateBatch::sessionEvent);
+    }
+
+    private final MCRObjectID derivateId;
+
+    private final Set<MCRPath> deletedFiles = new LinkedHashSet<>();
+
+    private final Set<MCRPath> addedFiles = new LinkedHashSet<>();
+
+    private MCRMetsUpdateBatch(MCRObjectID derivateId) {
+        this.derivateId = derivateId;
+    }
+
+    /**
+     * Adds the file to the mets.xml of its derivate when the current transaction is committed.
+     */
+    public static void fileAdded(MCRPath file) {
+        addChange(file, true);
+    }
+
+    /**
+     * Removes the file from the mets.xml of its derivate when the current transaction is committed.
+     */
+    public static void fileDeleted(MCRPath file) {
+        addChange(file, false);
+    }
+
+    private static void addChange(MCRPath file, boolean added) {
+        MCRObjectID derivateId = MCRObjectID.getInstance(file.getOwner());
+        Map<MCRObjectID, MCRMetsUpdateBatch> pending = PENDING.get();
+        if (pending == null) {
+            MCRMetsUpdateBatch batch = new MCRMetsUpdateBatch(derivateId);
+            batch.add(file, added);
+            batch.apply();
+            return;
+        }
+        pending.computeIfAbsent(derivateId, MCRMetsUpdateBatch::new).add(file, added);
+    }
+
+    /**
+     * Starts collecting changes in the current thread.
+     */
+    static void begin() {
+        PENDING.set(new HashMap<>());
+    }
+
+    /**
+     * Stops collecting changes in the current thread and applies the collected batches after the commit.
+     */
+    static void commit() {
+        for (MCRMetsUpdateBatch batch : removePending()) {
+            MCRSessionMgr.getCurrentSession().onCommit(batch::apply);
+        }
+    }
+
+    /**
+     * Stops collecting changes in the current thread and drops the collected batches.
+     */
+    static void rollback() {
+        drop("rollback");
+    }
+
+    /**
+     * @return the batches collected in the current thread
+     */
+    static Collection<MCRMetsUpdateBatch> getPending() {
+        Map<MCRObjectID, MCRMetsUpdateBatch> pending = PENDING.get();
+        return pending == null ? List.of() : List.copyOf(pending.values());
+    }
+
+    /**
+     * Replaces the method that updates the mets.xml, used by tests.
+     *
+     * @return the previous updater
+     */
+    static Updater setUpdater(Updater newUpdater) {
+        Updater previous = updater;
+        updater = Objects.requireNonNull(newUpdater);
+        return previous;
+    }
+
+    private static void sessionEvent(MCRSessionEvent event) {
+        if (event.getType() == MCRSessionEvent.Type.PASSIVATED) {
+            // the transaction was neither committed nor rolled back
+            drop("release of session " + event.getSession().getID());
+        }
+    }
+
+    private static void drop(String reason) {
+        for (MCRMetsUpdateBatch batch : removePending()) {
+            LOGGER.warn("Dropping mets.xml update of {} for {} deleted and {} added files on {}", batch.derivateId,
+                batch.deletedFiles.size(), batch.addedFiles.size(), reason);
+        }
+    }
+
+    private static List<MCRMetsUpdateBatch> removePending() {
+        Map<MCRObjectID, MCRMetsUpdateBatch> pending = PENDING.get();
+        PENDING.remove();
+        return pending == null ? List.of() : new ArrayList<>(pending.values());
+    }
+
+    MCRObjectID getDerivateId() {
+        return derivateId;
+    }
+
+    Set<MCRPath> getDeletedFiles() {
+        return Set.copyOf(deletedFiles);
+    }
+
+    Set<MCRPath> getAddedFiles() {
+        return Set.copyOf(addedFiles);
+    }
+
+    private void add(MCRPath file, boolean added) {
+        if (added) {
+            deletedFiles.remove(file);
+            addedFiles.add(file);
+        } else {
+            addedFiles.remove(file);
+            deletedFiles.add(file);
+        }
+    }
+
+    private void apply() {
+        if (deletedFiles.isEmpty() && addedFiles.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            updater.update(derivateId, List.copyOf(deletedFiles), List.copyOf(addedFiles));
+        } catch (Exception e) {
+            LOGGER.error("Error while updating mets file of {}", derivateId, e);
+        }
+        LOGGER.info("Updated mets.xml of {} for {} deleted and {} added files in {} ms", () -> derivateId,
+            deletedFiles::size, addedFiles::size, () -> (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Updates the mets.xml of a derivate, see {@link MCRMetsSave#updateMetsOnFileChanges(MCRObjectID, Collection,
+     * Collection)}.
+     */
+    @FunctionalInterface
+    interface Updater {
+
+        void update(MCRObjectID derivateId, List<MCRPath> deletedFiles, List<MCRPath> addedFiles) throws Exception;
+
+    }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.mets.tools;
+
+import org.mycore.common.MCRPersistenceTransaction;
+
+/**
+ * Defines the lifetime of the {@link MCRMetsUpdateBatch batches} of the current thread: changes are collected from
+ * {@link #begin()} on, scheduled as onCommit tasks on {@link #commit()} and dropped on {@link #rollback()}.
+ */
+public class MCRMetsUpdateTransaction implements MCRPersistenceTransaction {
+
+    @Override
+    public boolean isReady() {
+        return true;
+    }
+
+    @Override
+    public void begin() {
+        MCRMetsUpdateBatch.begin();
+    }
+
+    @Override
+    public void commit() {
+        MCRMetsUpdateBatch.commit();
+    }
+
+    @Override
+    public void rollback() {
+        MCRMetsUpdateBatch.rollback();
+    }
+
+    @Override
+    public int getCommitPriority() {
+        // after all transactions that may change derivate files
+        return 1000;
+    }
+
+}
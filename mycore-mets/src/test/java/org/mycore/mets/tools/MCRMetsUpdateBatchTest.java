@@ -0,0 +1,244 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.mets.tools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.jdom2.input.SAXBuilder;
+import org.jdom2.output.XMLOutputter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.mycore.common.MCRSessionMgr;
+import org.mycore.common.MCRTestConfiguration;
+import org.mycore.common.MCRTestProperty;
+import org.mycore.common.MCRTransactionManager;
+import org.mycore.datamodel.metadata.MCRMetadataManager;
+import org.mycore.datamodel.metadata.MCRMetadataManager.MCRObjectLock;
+import org.mycore.datamodel.metadata.MCRObjectID;
+import org.mycore.datamodel.niofs.MCRPath;
+import org.mycore.test.MyCoReTest;
+
+@MyCoReTest
+@MCRTestConfiguration(properties = {
+    @MCRTestProperty(key = "MCR.Metadata.Type.derivate", string = "true")
+})
+public class MCRMetsUpdateBatchTest {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final MCRObjectID DERIVATE = MCRObjectID.getInstance("junit_derivate_00000001");
+
+    private static final MCRObjectID OTHER_DERIVATE = MCRObjectID.getInstance("junit_derivate_00000002");
+
+    private final List<Update> updates = Collections.synchronizedList(new ArrayList<>());
+
+    private MCRMetsUpdateBatch.Updater previousUpdater;
+
+    @BeforeEach
+    public void setUp() {
+        previousUpdater = MCRMetsUpdateBatch
+            .setUpdater((derivateId, deleted, added) -> updates.add(new Update(derivateId, deleted, added)));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        MCRMetsUpdateBatch.setUpdater(previousUpdater);
+        MCRTransactionManager.rollbackTransactions();
+    }
+
+    @Test
+    public void withoutTransaction() {
+        MCRPath file = file(DERIVATE, "a.jpg");
+        MCRMetsUpdateBatch.fileAdded(file);
+        MCRMetsUpdateBatch.fileDeleted(file);
+        assertEquals(List.of(new Update(DERIVATE, List.of(), List.of(file)),
+            new Update(DERIVATE, List.of(file), List.of())), updates);
+    }
+
+    @Test
+    public void batching() {
+        List<MCRPath> files = IntStream.range(0, 10).mapToObj(i -> file(DERIVATE, i + ".jpg")).toList();
+        MCRPath other = file(OTHER_DERIVATE, "a.jpg");
+        MCRTransactionManager.beginTransactions(MCRMetsUpdateTransaction.class);
+        files.forEach(MCRMetsUpdateBatch::fileAdded);
+        MCRMetsUpdateBatch.fileAdded(other);
+        assertTrue(updates.isEmpty());
+        assertEquals(2, MCRMetsUpdateBatch.getPending().size());
+
+        MCRTransactionManager.commitTransactions(MCRMetsUpdateTransaction.class);
+        assertEquals(2, updates.size());
+        assertTrue(updates.contains(new Update(DERIVATE, List.of(), files)));
+        assertTrue(updates.contains(new Update(OTHER_DERIVATE, List.of(), List.of(other))));
+        assertTrue(MCRMetsUpdateBatch.getPending().isEmpty());
+    }
+
+    @Test
+    public void coalescing() {
+        MCRPath replaced = file(DERIVATE, "replaced.jpg");
+        MCRPath temporary = file(DERIVATE, "temporary.jpg");
+        MCRTransactionManager.beginTransactions(MCRMetsUpdateTransaction.class);
+        MCRMetsUpdateBatch.fileDeleted(replaced);
+        MCRMetsUpdateBatch.fileAdded(replaced);
+        MCRMetsUpdateBatch.fileAdded(temporary);
+        MCRMetsUpdateBatch.fileDeleted(temporary);
+
+        MCRMetsUpdateBatch batch = MCRMetsUpdateBatch.getPending().iterator().next();
+        assertEquals(DERIVATE, batch.getDerivateId());
+        assertEquals(Set.of(replaced), batch.getAddedFiles());
+        assertEquals(Set.of(temporary), batch.getDeletedFiles());
+
+        MCRTransactionManager.commitTransactions(MCRMetsUpdateTransaction.class);
+        assertEquals(List.of(new Update(DERIVATE, List.of(temporary), List.of(replaced))), updates);
+    }
+
+    @Test
+    public void rollback() {
+        MCRTransactionManager.beginTransactions(MCRMetsUpdateTransaction.class);
+        MCRMetsUpdateBatch.fileAdded(file(DERIVATE, "a.jpg"));
+        MCRTransactionManager.rollbackTransactions(MCRMetsUpdateTransaction.class);
+        assertTrue(MCRMetsUpdateBatch.getPending().isEmpty());
+
+        MCRTransactionManager.beginTransactions(MCRMetsUpdateTransaction.class);
+        MCRTransactionManager.commitTransactions(MCRMetsUpdateTransaction.class);
+        assertTrue(updates.isEmpty());
+    }
+
+    @Test
+    public void passivation() {
+        MCRTransactionManager.beginTransactions(MCRMetsUpdateTransaction.class);
+        MCRMetsUpdateBatch.fileAdded(file(DERIVATE, "a.jpg"));
+        MCRSessionMgr.getCurrentSession();
+        MCRSessionMgr.releaseCurrentSession();
+        MCRSessionMgr.unlock();
+        assertTrue(MCRMetsUpdateBatch.getPending().isEmpty());
+
+        MCRTransactionManager.commitTransactions(MCRMetsUpdateTransaction.class);
+        assertTrue(updates.isEmpty());
+    }
+
+    /**
+     * Updates of the same derivate wait for each other, updates of different derivates do not.
+     */
+    @Test
+    public void lockPerDerivate() throws Exception {
+        CompletableFuture<Void> sameDerivate;
+        try (MCRObjectLock ignored = MCRMetadataManager.lock(DERIVATE)) {
+            sameDerivate = update(DERIVATE);
+            // without a file system the update fails right after it acquired the lock
+            update(OTHER_DERIVATE).get(10, TimeUnit.SECONDS);
+            Thread.sleep(200);
+            assertFalse(sameDerivate.isDone());
+        }
+        sameDerivate.get(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Compares updating the mets.xml for every file with updating it once per transaction, for derivates of
+     * different size. Reading and writing the mets.xml is simulated by parsing a document with an entry for every
+     * file added so far, adding the new files and serializing it again, so the cost of an update grows with the
+     * number of files like the real one.
+     * Only run manually, it takes too long for the regular build and has nothing to assert.
+     */
+    @Test
+    @Disabled("benchmark, run manually")
+    public void benchmark() {
+        for (int fileCount : new int[] { 100, 1000, 5000 }) {
+            List<MCRPath> files = IntStream.range(0, fileCount).mapToObj(i -> file(DERIVATE, i + ".jpg")).toList();
+            for (int i = 0; i < 3; i++) {
+                MCRMetsUpdateBatch.setUpdater(new SimulatedUpdater());
+                long start = System.nanoTime();
+                files.forEach(MCRMetsUpdateBatch::fileAdded);
+                long singleTime = System.nanoTime() - start;
+
+                MCRMetsUpdateBatch.setUpdater(new SimulatedUpdater());
+                start = System.nanoTime();
+                MCRTransactionManager.beginTransactions(MCRMetsUpdateTransaction.class);
+                files.forEach(MCRMetsUpdateBatch::fileAdded);
+                MCRTransactionManager.commitTransactions(MCRMetsUpdateTransaction.class);
+                long batchTime = System.nanoTime() - start;
+                LOGGER.info("Added {} files: one update per file {} ms, one update per transaction {} ms",
+                    fileCount, singleTime / 1_000_000, batchTime / 1_000_000);
+            }
+        }
+    }
+
+    private static CompletableFuture<Void> update(MCRObjectID derivateId) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                MCRMetsSave.updateMetsOnFileChanges(derivateId, List.of(), List.of());
+            } catch (Exception e) {
+                LOGGER.debug("Could not update mets.xml of {}", derivateId, e);
+            }
+        });
+    }
+
+    private static MCRPath file(MCRObjectID derivateId, String name) {
+        MCRPath file = mock(MCRPath.class, derivateId + ":/" + name);
+        when(file.getOwner()).thenReturn(derivateId.toString());
+        return file;
+    }
+
+    /**
+     * Parses the mets.xml of the last update, adds an entry for every added file and serializes it again.
+     */
+    private static final class SimulatedUpdater implements MCRMetsUpdateBatch.Updater {
+
+        private byte[] mets = new XMLOutputter().outputString(new Document(new Element("mets")
+            .addContent(new Element("fileGrp")))).getBytes(StandardCharsets.UTF_8);
+
+        @Override
+        public void update(MCRObjectID derivateId, List<MCRPath> deleted, List<MCRPath> added) throws Exception {
+            Document document = new SAXBuilder().build(new ByteArrayInputStream(mets));
+            Element fileGrp = document.getRootElement().getChild("fileGrp");
+            for (MCRPath file : added) {
+                fileGrp.addContent(new Element("file").setAttribute("ID", "file" + fileGrp.getContentSize())
+                    .addContent(new Element("FLocat").setAttribute("href", file.toString())));
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            new XMLOutputter().output(document, out);
+            mets = out.toByteArray();
+        }
+
+    }
+
+    private record Update(MCRObjectID derivateId, List<MCRPath> deleted, List<MCRPath> added) {
+    }
+
+}
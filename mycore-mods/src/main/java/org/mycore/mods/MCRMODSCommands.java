@@ -26,6 +26,10 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -40,10 +44,13 @@ import org.mycore.access.MCRRuleAccessInterface;
 import org.mycore.common.MCRConstants;
 import org.mycore.common.MCRException;
 import org.mycore.common.MCRPersistenceException;
+import org.mycore.common.MCRSession;
+import org.mycore.common.MCRSessionMgr;
 import org.mycore.common.config.MCRConfiguration2;
 import org.mycore.common.content.MCRPathContent;
 import org.mycore.common.xml.MCRXMLHelper;
 import org.mycore.datamodel.classifications2.MCRCategoryID;
+import org.mycore.datamodel.common.MCRXMLMetadataManager;
 import org.mycore.datamodel.metadata.MCRDerivate;
 import org.mycore.datamodel.metadata.MCRMetaClassification;
 import org.mycore.datamodel.metadata.MCRMetaIFS;
@@ -53,10 +60,12 @@ import org.mycore.datamodel.metadata.MCRObject;
 import org.mycore.datamodel.metadata.MCRObjectDerivate;
 import org.mycore.datamodel.metadata.MCRObjectID;
 import org.mycore.frontend.cli.MCRAbstractCommands;
+import org.mycore.frontend.cli.MCRBasicCommands;
 import org.mycore.frontend.cli.annotation.MCRCommand;
 import org.mycore.frontend.cli.annotation.MCRCommandGroup;
 import org.mycore.mods.enrichment.MCREnricher;
 import org.mycore.mods.rss.MCRRSSFeedImporter;
+import org.mycore.util.concurrent.MCRTransactionableCallable;
 import org.xml.sax.SAXException;
 
 /**
@@ -173,14 +182,68 @@ public class MCRMODSCommands extends MCRAbstractCommands {
     @MCRCommand(syntax = "enrich {0} with config {1}",
         help = "Enriches existing MODS metadata {0} with a given enrichment configuration {1}", order = 40)
     public static void enrichMods(String modsId, String configID) {
+        enrichObject(modsId, configID);
+    }
+
+    @MCRCommand(syntax = "bulk enrich selected with config {0}",
+        help = "Enriches existing MODS metadata of all selected objects with a given enrichment configuration {0}, "
+            + "processing several objects at once",
+        order = 41)
+    public static void enrichSelectedMods(String configID) throws InterruptedException {
+        enrichAllMods(MCRBasicCommands.getSelectedValues(), configID);
+    }
+
+    @MCRCommand(syntax = "bulk enrich all objects of base {0} with config {1}",
+        help = "Enriches existing MODS metadata of all objects of base {0} with a given enrichment configuration {1}, "
+            + "processing several objects at once",
+        order = 42)
+    public static void enrichModsOfBase(String base, String configID) throws InterruptedException {
+        enrichAllMods(MCRXMLMetadataManager.obtainInstance().listIDsForBase(base), configID);
+    }
+
+    /**
+     * Enriches the objects in parallel. Data of identifiers shared by several objects is requested only once,
+     * concurrent requests wait for the first one and later requests are answered by the enrichment cache.
+     */
+    private static void enrichAllMods(List<String> modsIds, String configID) throws InterruptedException {
+        int threadCount = MCRConfiguration2.getInt("MCR.MODS.EnrichmentResolver.Bulk.ThreadCount").orElse(4);
+        MCRSession currentSession = MCRSessionMgr.getCurrentSession();
+        int failed = 0;
+        long start = System.currentTimeMillis();
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<Boolean>> results = modsIds.stream()
+                .map(modsId -> new MCRTransactionableCallable<>(() -> enrichObject(modsId, configID), currentSession))
+                .map(executorService::submit)
+                .toList();
+            for (Future<Boolean> result : results) {
+                try {
+                    if (!result.get()) {
+                        failed++;
+                    }
+                } catch (ExecutionException e) {
+                    LOGGER.error("Error while enriching with configuration {}", configID, e.getCause());
+                    failed++;
+                }
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        LOGGER.info("Enriched {} objects with configuration {} in {} ms, {} failed", modsIds.size(), configID,
+            System.currentTimeMillis() - start, failed);
+    }
+
+    private static boolean enrichObject(String modsId, String configID) {
         try {
             MCRObject obj = MCRMetadataManager.retrieveMCRObject(MCRObjectID.getInstance(modsId));
             Element mods = new MCRMODSWrapper(obj).getMODS();
             MCREnricher enricher = new MCREnricher(configID);
             enricher.enrich(mods);
             MCRMetadataManager.update(obj);
+            return true;
         } catch (MCRException | MCRAccessException e) {
             LOGGER.error("Error while trying to enrich {} with configuration {}: ", modsId, configID, e);
+            return false;
         }
     }
 
@@ -20,6 +20,9 @@ package org.mycore.mods.enrichment;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A data source is able to return publication data in MODS format
@@ -39,6 +42,11 @@ import java.util.List;
  * <p>
  * This global configuration can be overwritten per data source, e.g.
  * MCR.MODS.EnrichmentResolver.DataSource.ZDB.StopOnFirstResult=false
+ * <p>
+ * To protect remote services, the number of concurrent calls and the number of calls per second
+ * to a data source can be limited, e.g.
+ * MCR.MODS.EnrichmentResolver.DataSource.PubMed.MaxConcurrentCalls=2
+ * MCR.MODS.EnrichmentResolver.DataSource.PubMed.MaxCallsPerSecond=3
  *
  * @see MCRIdentifierResolver
  *
@@ -52,6 +60,12 @@ class MCRDataSource {
 
     private List<MCRIdentifierResolver> resolvers = new ArrayList<>();
 
+    private Semaphore concurrentCalls;
+
+    private long callInterval;
+
+    private long nextCallTime;
+
     MCRDataSource(String sourceID, boolean stopOnFirstResult) {
         this.sourceID = sourceID;
         this.stopOnFirstResult = stopOnFirstResult;
@@ -65,6 +79,49 @@ class MCRDataSource {
         resolvers.add(resolver);
     }
 
+    void setMaxConcurrentCalls(int maxConcurrentCalls) {
+        this.concurrentCalls = maxConcurrentCalls > 0 ? new Semaphore(maxConcurrentCalls, true) : null;
+    }
+
+    void setMaxCallsPerSecond(double maxCallsPerSecond) {
+        this.callInterval = maxCallsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / maxCallsPerSecond) : 0;
+    }
+
+    /**
+     * Executes a call to the remote service of this data source,
+     * waiting as long as needed to respect the configured limits.
+     */
+    <T> T call(Callable<T> call) throws Exception {
+        Semaphore permits = concurrentCalls;
+        if (permits != null) {
+            permits.acquire();
+        }
+        try {
+            waitForNextCall();
+            return call.call();
+        } finally {
+            if (permits != null) {
+                permits.release();
+            }
+        }
+    }
+
+    private void waitForNextCall() throws InterruptedException {
+        if (callInterval <= 0) {
+            return;
+        }
+        long delay;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long callTime = Math.max(now, nextCallTime);
+            nextCallTime = callTime + callInterval;
+            delay = callTime - now;
+        }
+        if (delay > 0) {
+            TimeUnit.NANOSECONDS.sleep(delay);
+        }
+    }
+
     /** Returns all resolvers to get publication data for a given identifier */
     List<MCRIdentifierResolver> getResolvers() {
         return resolvers;
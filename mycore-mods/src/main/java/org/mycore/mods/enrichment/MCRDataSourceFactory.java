@@ -65,6 +65,8 @@ final class MCRDataSourceFactory {
         boolean stopOnFirstResult = MCRConfiguration2.getBoolean(modeProperty).orElse(defaultStopOnFirstResult);
 
         MCRDataSource dataSource = new MCRDataSource(sourceID, stopOnFirstResult);
+        MCRConfiguration2.getInt(configPrefix + "MaxConcurrentCalls").ifPresent(dataSource::setMaxConcurrentCalls);
+        MCRConfiguration2.getDouble(configPrefix + "MaxCallsPerSecond").ifPresent(dataSource::setMaxCallsPerSecond);
 
         String typesProperty = configPrefix + "IdentifierTypes";
         String[] identifierTypes = MCRConfiguration2.getStringOrThrow(typesProperty).split("\\s");
@@ -82,8 +84,14 @@ final class MCRDataSourceFactory {
     MCRDataSource getDataSource(String sourceID) {
         MCRDataSource dataSource = dataSources.get(sourceID);
         if (dataSource == null) {
-            dataSource = buildDataSource(sourceID);
-            dataSources.put(sourceID, dataSource);
+            // limits of a data source only work if all callers share the same instance
+            synchronized (dataSources) {
+                dataSource = dataSources.get(sourceID);
+                if (dataSource == null) {
+                    dataSource = buildDataSource(sourceID);
+                    dataSources.put(sourceID, dataSource);
+                }
+            }
         }
         return dataSource;
     }
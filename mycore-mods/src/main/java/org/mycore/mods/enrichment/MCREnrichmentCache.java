@@ -0,0 +1,243 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.mods.enrichment;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jdom2.Element;
+import org.jdom2.JDOMException;
+import org.jdom2.input.SAXBuilder;
+import org.jdom2.output.Format;
+import org.jdom2.output.XMLOutputter;
+import org.mycore.common.MCRCache;
+import org.mycore.common.MCRUtils;
+import org.mycore.common.config.MCRConfiguration2;
+import org.mycore.common.digest.MCRMD5Digest;
+
+/**
+ * Remembers the publication data returned by data sources, so the same identifier is not resolved again
+ * with every enrichment.
+ * <p>
+ * Entries are keyed by data source, identifier type and identifier. If a data source returned no valid data, this
+ * is remembered, too, but for a shorter time. Failed calls, e.g. because the data source was not reachable, are not
+ * cached. Concurrent requests for the same entry wait for the first request instead of calling the data source again.
+ * <p>
+ * Recently used entries are held in memory. If a directory is configured, all entries are also stored there as
+ * XML files and survive a restart:
+ * <p>
+ * MCR.MODS.EnrichmentResolver.Cache.Enabled=true<br>
+ * MCR.MODS.EnrichmentResolver.Cache.Capacity=1000<br>
+ * MCR.MODS.EnrichmentResolver.Cache.Directory=%MCR.datadir%/mods-enrichment<br>
+ * MCR.MODS.EnrichmentResolver.Cache.MaxAge=720 (hours)<br>
+ * MCR.MODS.EnrichmentResolver.Cache.NegativeMaxAge=24 (hours)
+ *
+ * @see MCRIdentifierResolver
+ */
+final class MCREnrichmentCache {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final String CONFIG_PREFIX = "MCR.MODS.EnrichmentResolver.Cache.";
+
+    private final boolean enabled;
+
+    private final MCRCache<String, Entry> entries;
+
+    private final Path directory;
+
+    private final long maxAge;
+
+    private final long negativeMaxAge;
+
+    private final ConcurrentMap<String, CompletableFuture<Entry>> running = new ConcurrentHashMap<>();
+
+    /**
+     * @param capacity the number of entries held in memory, 0 disables the cache
+     * @param directory the directory to store entries in, or <code>null</code>
+     * @param maxAge time to keep publication data
+     * @param negativeMaxAge time to remember that a data source returned no data
+     */
+    MCREnrichmentCache(int capacity, Path directory, Duration maxAge, Duration negativeMaxAge) {
+        this.enabled = capacity > 0;
+        this.entries = new MCRCache<>(Math.max(capacity, 1), "MODS enrichment data");
+        this.directory = directory;
+        this.maxAge = maxAge.toMillis();
+        this.negativeMaxAge = negativeMaxAge.toMillis();
+    }
+
+    static MCREnrichmentCache getInstance() {
+        return LazyInstanceHolder.SINGLETON_INSTANCE;
+    }
+
+    /**
+     * Returns the cached publication data for the identifier or loads it.
+     *
+     * @param sourceID the ID of the data source
+     * @param typeID the ID of the identifier type
+     * @param identifier the identifier's value
+     * @param loader calls the data source, returns <code>null</code> if there is no data for the identifier
+     *               and throws an exception if the call failed
+     * @return a copy of the publication data, or empty if the data source has no data for the identifier
+     * @throws Exception thrown by the loader
+     */
+    Optional<Element> get(String sourceID, String typeID, String identifier, Callable<Element> loader)
+        throws Exception {
+        if (!enabled) {
+            return Optional.ofNullable(loader.call());
+        }
+        String key = sourceID + '\n' + typeID + '\n' + identifier;
+        Entry entry = getEntry(key, sourceID, typeID, identifier);
+        if (entry != null) {
+            LOGGER.debug("Using cached data of {} for {} {}", sourceID, typeID, identifier);
+            return entry.copy();
+        }
+
+        CompletableFuture<Entry> future = new CompletableFuture<>();
+        CompletableFuture<Entry> other = running.putIfAbsent(key, future);
+        if (other != null) {
+            return await(other).copy();
+        }
+        try {
+            Element result = loader.call();
+            entry = new Entry(result == null ? null : result.clone(), System.currentTimeMillis());
+            entries.put(key, entry);
+            store(sourceID, typeID, identifier, entry);
+            future.complete(entry);
+            return Optional.ofNullable(result);
+        } catch (Exception | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            running.remove(key, future);
+        }
+    }
+
+    private Entry getEntry(String key, String sourceID, String typeID, String identifier) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(key);
+        if (entry == null && directory != null) {
+            entry = load(sourceID, typeID, identifier);
+            if (entry != null) {
+                entries.put(key, entry);
+            }
+        }
+        if (entry == null || isExpired(entry, now)) {
+            return null;
+        }
+        return entry;
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return now - entry.created() > (entry.mods() == null ? negativeMaxAge : maxAge);
+    }
+
+    private static Entry await(CompletableFuture<Entry> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Path getFile(String sourceID, String typeID, String identifier) {
+        byte[] digest = MCRUtils.buildMessageDigest(MCRMD5Digest.ALGORITHM)
+            .digest(identifier.getBytes(StandardCharsets.UTF_8));
+        return directory.resolve(sourceID).resolve(typeID).resolve(HexFormat.of().formatHex(digest) + ".xml");
+    }
+
+    private Entry load(String sourceID, String typeID, String identifier) {
+        Path file = getFile(sourceID, typeID, identifier);
+        try {
+            long created = Files.getLastModifiedTime(file).toMillis();
+            // an empty file marks an identifier without data
+            Element mods = Files.size(file) == 0 ? null : new SAXBuilder().build(file.toFile()).detachRootElement();
+            return new Entry(mods, created);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | JDOMException e) {
+            LOGGER.warn("Could not read cached data of {} for {} {}", sourceID, typeID, identifier, e);
+            return null;
+        }
+    }
+
+    private void store(String sourceID, String typeID, String identifier, Entry entry) {
+        if (directory == null) {
+            return;
+        }
+        Path file = getFile(sourceID, typeID, identifier);
+        try {
+            Files.createDirectories(file.getParent());
+            Path tempFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try {
+                if (entry.mods() != null) {
+                    try (OutputStream out = Files.newOutputStream(tempFile)) {
+                        new XMLOutputter(Format.getRawFormat()).output(entry.mods().clone(), out);
+                    }
+                }
+                try {
+                    Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not store data of {} for {} {}", sourceID, typeID, identifier, e);
+        }
+    }
+
+    private record Entry(Element mods, long created) {
+
+        Optional<Element> copy() {
+            return Optional.ofNullable(mods).map(Element::clone);
+        }
+    }
+
+    private static final class LazyInstanceHolder {
+        private static final MCREnrichmentCache SINGLETON_INSTANCE = new MCREnrichmentCache(
+            MCRConfiguration2.getBoolean(CONFIG_PREFIX + "Enabled").orElse(true)
+                ? MCRConfiguration2.getInt(CONFIG_PREFIX + "Capacity").orElse(1000) : 0,
+            MCRConfiguration2.getString(CONFIG_PREFIX + "Directory").map(Paths::get).orElse(null),
+            Duration.ofHours(MCRConfiguration2.getLong(CONFIG_PREFIX + "MaxAge").orElse(720L)),
+            Duration.ofHours(MCRConfiguration2.getLong(CONFIG_PREFIX + "NegativeMaxAge").orElse(24L)));
+    }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.mods.enrichment;
+
+import javax.xml.transform.Source;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.URIResolver;
+
+import org.jdom2.Element;
+import org.jdom2.transform.JDOMSource;
+import org.mycore.common.MCRConstants;
+import org.mycore.common.config.MCRConfiguration2;
+
+/**
+ * {@link URIResolver} that simulates a remote data source for tests and benchmarks of the enrichment,
+ * without calling any external service. It returns a minimal MODS record for any identifier
+ * after a configurable delay in milliseconds:
+ * <p>
+ * MCR.MODS.EnrichmentResolver.Stub.Delay=200
+ * <p>
+ * URI Syntax:
+ * <pre>
+ *   enrichmentStub:{typeID}:{identifier}
+ * </pre>
+ * <p>
+ * Example data source:
+ * <pre>
+ *   MCR.MODS.EnrichmentResolver.DataSource.Stub.IdentifierTypes=doi
+ *   MCR.MODS.EnrichmentResolver.DataSource.Stub.doi.URI=enrichmentStub:doi:{0}
+ * </pre>
+ */
+public class MCREnrichmentStubURIResolver implements URIResolver {
+
+    private final long delay = MCRConfiguration2.getLong("MCR.MODS.EnrichmentResolver.Stub.Delay").orElse(0L);
+
+    @Override
+    public Source resolve(String href, String base) throws TransformerException {
+        String hrefSub = href.substring(href.indexOf(':') + 1);
+        int separator = hrefSub.indexOf(':');
+        if (separator < 0) {
+            throw new TransformerException("Invalid URI, expected enrichmentStub:{typeID}:{identifier}: " + href);
+        }
+        String typeID = hrefSub.substring(0, separator);
+        String identifier = hrefSub.substring(separator + 1);
+
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TransformerException("Interrupted while resolving " + href, e);
+            }
+        }
+
+        Element mods = new Element("mods", MCRConstants.MODS_NAMESPACE);
+        mods.addContent(new Element("identifier", MCRConstants.MODS_NAMESPACE)
+            .setAttribute("type", typeID)
+            .setText(identifier));
+        mods.addContent(new Element("titleInfo", MCRConstants.MODS_NAMESPACE)
+            .addContent(new Element("title", MCRConstants.MODS_NAMESPACE)
+                .setText("Publication " + typeID + " " + identifier)));
+        return new JDOMSource(mods);
+    }
+
+}
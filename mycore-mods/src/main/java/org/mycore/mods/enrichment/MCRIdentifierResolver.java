@@ -47,6 +47,8 @@ import org.xml.sax.SAXException;
  * <p>
  * Within the URI, the pattern {0} will be replaced by the given identifier value,
  * optionally the pattern {1} will be replaced by the value uri-encoded as http request parameter
+ * <p>
+ * Results are cached by {@link MCREnrichmentCache}, calls to the data source respect its configured limits.
  *
  * @author Frank Lützenkirchen
  */
@@ -80,13 +82,26 @@ class MCRIdentifierResolver {
         Object[] params = { identifier, URLEncoder.encode(identifier, StandardCharsets.UTF_8) };
         String uri = new MessageFormat(uriPattern, Locale.ROOT).format(params);
 
-        Element resolved;
         try {
-            resolved = MCRURIResolver.obtainInstance().resolve(uri);
+            return MCREnrichmentCache.getInstance()
+                .get(ds.getID(), idType.getTypeID(), identifier, () -> ds.call(() -> resolve(identifier, uri)))
+                .orElse(null);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn(() -> "Interrupted while resolving " + uri);
+            return null;
         } catch (Exception ex) {
             LOGGER.warn(() -> "Exception resolving " + uri, ex);
             return null;
         }
+    }
+
+    /**
+     * @return the publication data, or null if the data source has no valid data for the identifier
+     * @throws Exception if the data source could not be called
+     */
+    private Element resolve(String identifier, String uri) throws Exception {
+        Element resolved = MCRURIResolver.obtainInstance().resolve(uri);
 
         // Normalize various error/not found cases
         if (resolved == null || !"mods".equals(resolved.getName()) || resolved.getChildren().isEmpty()) {
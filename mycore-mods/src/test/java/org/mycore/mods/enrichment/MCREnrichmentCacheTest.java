@@ -0,0 +1,101 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.mods.enrichment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jdom2.Element;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mycore.common.MCRConstants;
+import org.mycore.common.xml.MCRXMLHelper;
+import org.mycore.test.MyCoReTest;
+
+@MyCoReTest
+public class MCREnrichmentCacheTest {
+
+    @TempDir
+    Path cacheDirectory;
+
+    @Test
+    public void testPersistentEntries() throws Exception {
+        Element mods = new Element("mods", MCRConstants.MODS_NAMESPACE)
+            .addContent(new Element("identifier", MCRConstants.MODS_NAMESPACE)
+                .setAttribute("type", "doi")
+                .setText("10.123/456"));
+        AtomicInteger calls = new AtomicInteger();
+
+        MCREnrichmentCache cache = newCache();
+        Optional<Element> result = cache.get("DSA", "doi", "10.123/456", () -> {
+            calls.incrementAndGet();
+            return mods.clone();
+        });
+        assertTrue(MCRXMLHelper.deepEqual(mods, result.orElseThrow()));
+
+        // a new instance with an empty memory cache uses the stored entry
+        Optional<Element> cached = newCache().get("DSA", "doi", "10.123/456", () -> {
+            calls.incrementAndGet();
+            return null;
+        });
+        assertTrue(MCRXMLHelper.deepEqual(mods, cached.orElseThrow()));
+        assertEquals(1, calls.get(), "Data source should be called once");
+    }
+
+    @Test
+    public void testNegativeEntries() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        MCREnrichmentCache cache = newCache();
+        for (int i = 0; i < 2; i++) {
+            Optional<Element> result = cache.get("DSA", "doi", "10.123/789", () -> {
+                calls.incrementAndGet();
+                return null;
+            });
+            assertTrue(result.isEmpty());
+        }
+        assertEquals(1, calls.get(), "Missing data should be cached");
+    }
+
+    @Test
+    public void testFailedCallsAreNotCached() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        MCREnrichmentCache cache = newCache();
+        assertThrows(IOException.class, () -> cache.get("DSA", "doi", "10.123/000", () -> {
+            calls.incrementAndGet();
+            throw new IOException("not reachable");
+        }));
+        cache.get("DSA", "doi", "10.123/000", () -> {
+            calls.incrementAndGet();
+            return null;
+        });
+        assertEquals(2, calls.get(), "Failed calls should be repeated");
+    }
+
+    private MCREnrichmentCache newCache() {
+        return new MCREnrichmentCache(10, cacheDirectory, Duration.ofHours(1), Duration.ofHours(1));
+    }
+
+}
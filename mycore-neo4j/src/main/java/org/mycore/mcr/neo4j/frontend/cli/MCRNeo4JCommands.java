@@ -18,6 +18,11 @@
 
 package org.mycore.mcr.neo4j.frontend.cli;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 import org.apache.logging.log4j.LogManager;
@@ -134,6 +139,27 @@ public class MCRNeo4JCommands extends MCRAbstractCommands {
         }
     }
 
+    @MCRCommand(syntax = "export neo4j metadata to file {0}",
+        help = "writes the Neo4J statements for all metadata to file {0}, e.g. for an initial load with cypher-shell",
+        order = 85)
+    public static void exportAll(final String file) throws IOException {
+        LOGGER.info("Export of all metadata for the Neo4J database to {}", file);
+        MCRNeo4JParser parser = new MCRNeo4JParser();
+        List<String> selectedObjectIds = MCRXMLMetadataManager
+            .obtainInstance()
+            .listIDs();
+        int exported = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(Path.of(file), StandardCharsets.UTF_8)) {
+            for (String objectId : selectedObjectIds) {
+                MCRObject mcrObject = MCRMetadataManager.retrieveMCRExpandedObject(MCRObjectID.getInstance(objectId));
+                writer.write(parser.createNeo4JQuery(mcrObject));
+                writer.write(";\n");
+                exported++;
+            }
+        }
+        LOGGER.info("Exported {} objects to {}", exported, file);
+    }
+
     @MCRCommand(syntax = "test neo4j connection", help = "test connectivity with the Neo4j database", order = 90)
     public static void testConnection() {
         LOGGER.info("Test connection to Neo4j Database");
@@ -18,11 +18,6 @@
 
 package org.mycore.mcr.neo4j.index;
 
-import java.util.concurrent.DelayQueue;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
-
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.mycore.common.MCRSessionMgr;
@@ -36,16 +31,17 @@ import org.mycore.datamodel.metadata.MCRObjectID;
 import org.mycore.mcr.neo4j.datamodel.metadata.neo4jparser.MCRNeo4JParser;
 import org.mycore.mcr.neo4j.datamodel.metadata.neo4jutil.MCRNeo4JConstants;
 import org.mycore.mcr.neo4j.utils.MCRNeo4JQueryRunner;
-import org.mycore.util.concurrent.MCRDelayedRunnable;
-import org.mycore.util.concurrent.MCRTransactionableRunnable;
 
 /**
  * Neo4J Event Handler for Indexing
+ * <p>
+ * Changes are collected by a {@link MCRNeo4JIndexQueue} and sent to Neo4J after
+ * <code>MCR.Neo4J.DelayIndexing_inMS</code> milliseconds in batches of <code>MCR.Neo4J.Index.BatchSize</code>
+ * objects by <code>MCR.Neo4J.Index.Threads</code> workers.
  * @author Thomas Scheffler (yagee)
  * @author Andreas Kluge
  * @author Jens Kupferschmidt
  */
-@SuppressWarnings("ResultOfMethodCallIgnored")
 public class MCRNeo4JIndexEventHandler extends MCREventHandlerBase {
 
     private static final Logger LOGGER = LogManager.getLogger();
@@ -53,23 +49,27 @@ public class MCRNeo4JIndexEventHandler extends MCREventHandlerBase {
     private static final long DELAY_IN_MS = MCRConfiguration2
         .getLong(MCRNeo4JConstants.NEO4J_CONFIG_PREFIX + "DelayIndexing_inMS").orElse(2000L);
 
+    private static final int BATCH_SIZE = MCRConfiguration2
+        .getInt(MCRNeo4JConstants.NEO4J_CONFIG_PREFIX + "Index.BatchSize").orElse(500);
+
+    private static final int THREADS = MCRConfiguration2
+        .getInt(MCRNeo4JConstants.NEO4J_CONFIG_PREFIX + "Index.Threads").orElse(1);
+
     private static final boolean ENABLED = MCRConfiguration2
         .getString(MCRNeo4JConstants.DEFAULT_NEO4J_SERVER_URL).isPresent();
 
-    @SuppressWarnings("PMD.LooseCoupling")
-    private static final DelayQueue<MCRDelayedRunnable> NEO4J_TASK_QUEUE = new DelayQueue<>();
-
-    private static final ScheduledExecutorService NEO4J_TASK_EXECUTOR = Executors.newSingleThreadScheduledExecutor();
+    private static final MCRNeo4JIndexQueue NEO4J_INDEX_QUEUE;
 
     static {
         if (!ENABLED) {
             LOGGER.info("Neo4J Indexing is disabled, because {} is not set.",
                 MCRNeo4JConstants.DEFAULT_NEO4J_SERVER_URL);
+            NEO4J_INDEX_QUEUE = null;
         } else {
-            NEO4J_TASK_EXECUTOR.scheduleWithFixedDelay(() -> {
-                LOGGER.debug("NEO4J Task Executor invoked: {} Nodes to process", NEO4J_TASK_QUEUE::size);
-                processNeo4JTaskQueue();
-            }, DELAY_IN_MS * 2, DELAY_IN_MS * 2, TimeUnit.MILLISECONDS);
+            MCRNeo4JParser parser = new MCRNeo4JParser();
+            NEO4J_INDEX_QUEUE = new MCRNeo4JIndexQueue(DELAY_IN_MS, BATCH_SIZE, THREADS, parser::createNeo4JQuery,
+                MCRNeo4JQueryRunner::commitWriteOnlyQueries);
+            NEO4J_INDEX_QUEUE.start();
 
             MCRShutdownHandler.getInstance().addCloseable(new MCRShutdownHandler.Closeable() {
                 @Override
@@ -79,18 +79,11 @@ public class MCRNeo4JIndexEventHandler extends MCREventHandlerBase {
 
                 @Override
                 public void prepareClose() {
-                    NEO4J_TASK_EXECUTOR.shutdown();
                     try {
-                        NEO4J_TASK_EXECUTOR.awaitTermination(10, TimeUnit.MINUTES);
+                        NEO4J_INDEX_QUEUE.close();
                     } catch (InterruptedException e) {
                         LOGGER.error("Could not shutdown Neo4J-Indexing", e);
                     }
-
-                    if (!NEO4J_TASK_QUEUE.isEmpty()) {
-                        LOGGER.info("There are still {} Neo4J indexing tasks to complete before shutdown",
-                            NEO4J_TASK_QUEUE::size);
-                        processNeo4JTaskQueue();
-                    }
                 }
 
                 @Override
@@ -101,31 +94,6 @@ public class MCRNeo4JIndexEventHandler extends MCREventHandlerBase {
         }
     }
 
-    private final MCRNeo4JParser parser;
-
-    public MCRNeo4JIndexEventHandler() {
-        parser = new MCRNeo4JParser();
-    }
-
-    private static synchronized void putIntoTaskQueue(MCRDelayedRunnable task) {
-        NEO4J_TASK_QUEUE.remove(task);
-        NEO4J_TASK_QUEUE.add(task);
-    }
-
-    private static void processNeo4JTaskQueue() {
-        while (!NEO4J_TASK_QUEUE.isEmpty()) {
-            try {
-                MCRDelayedRunnable processingTask = NEO4J_TASK_QUEUE.poll(DELAY_IN_MS, TimeUnit.MILLISECONDS);
-                if (processingTask != null) {
-                    LOGGER.info("Sending {} to neo4j...", processingTask::getId);
-                    processingTask.run();
-                }
-            } catch (InterruptedException e) {
-                LOGGER.error("Error in neo4j indexing", e);
-            }
-        }
-    }
-
     @Override
     protected synchronized void handleObjectCreated(MCREvent evt, MCRObject obj) {
         LOGGER.info("Handle {}", obj::getId);
@@ -169,20 +137,7 @@ public class MCRNeo4JIndexEventHandler extends MCREventHandlerBase {
                 LOGGER.debug("Neo4j: submitting data of {} for indexing", mcrObject.getId());
             }
 
-            putIntoTaskQueue(new MCRDelayedRunnable(mcrObject.getId().toString(), DELAY_IN_MS,
-                new MCRTransactionableRunnable(() -> {
-                    try {
-                        String updateQuery = parser.createNeo4JUpdateQuery(mcrObject);
-                        LOGGER.debug("UpdateQuery: {}", updateQuery);
-                        MCRNeo4JQueryRunner.commitWriteOnlyQuery(updateQuery);
-
-                        String query = parser.createNeo4JQuery(mcrObject);
-                        LOGGER.info("Query: {}", query);
-                        MCRNeo4JQueryRunner.commitWriteOnlyQuery(query);
-                    } catch (Exception e) {
-                        LOGGER.error("Error creating transfer thread for object {}", mcrObject, e);
-                    }
-                })));
+            NEO4J_INDEX_QUEUE.update(mcrObject, true);
         });
     }
 
@@ -203,16 +158,7 @@ public class MCRNeo4JIndexEventHandler extends MCREventHandlerBase {
                 LOGGER.debug("Neo4j: submitting data of {} for indexing", mcrObject.getId());
             }
 
-            putIntoTaskQueue(new MCRDelayedRunnable(mcrObject.getId().toString(), DELAY_IN_MS,
-                new MCRTransactionableRunnable(() -> {
-                    try {
-                        String query = parser.createNeo4JQuery(mcrObject);
-                        LOGGER.info("Query: {}", query);
-                        MCRNeo4JQueryRunner.commitWriteOnlyQuery(query);
-                    } catch (Exception e) {
-                        LOGGER.error("Error creating transfer thread for object {}", mcrObject, e);
-                    }
-                })));
+            NEO4J_INDEX_QUEUE.update(mcrObject, false);
         });
     }
 
@@ -221,12 +167,7 @@ public class MCRNeo4JIndexEventHandler extends MCREventHandlerBase {
             return;
         }
         LOGGER.debug("Neo4j: delete id {}", id);
-        MCRSessionMgr.getCurrentSession()
-            .onCommit(() -> putIntoTaskQueue(new MCRDelayedRunnable(id.toString(), DELAY_IN_MS,
-                new MCRTransactionableRunnable(() -> {
-                    String queryString = "MATCH (n {id:'" + id + "'}) DETACH DELETE n";
-                    MCRNeo4JQueryRunner.commitWriteOnlyQuery(queryString);
-                }))));
+        MCRSessionMgr.getCurrentSession().onCommit(() -> NEO4J_INDEX_QUEUE.delete(id.toString()));
     }
 
 }
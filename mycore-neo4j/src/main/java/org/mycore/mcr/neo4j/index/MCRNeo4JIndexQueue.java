@@ -0,0 +1,285 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.mcr.neo4j.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.mycore.datamodel.metadata.MCRObject;
+import org.mycore.util.concurrent.MCRTransactionableRunnable;
+import org.neo4j.driver.Query;
+
+/**
+ * Collects pending changes of MyCoRe objects and sends them to Neo4J in batches.
+ * <p>
+ * Only the latest change of an object is kept, so an object that is changed several times before it is sent is
+ * transferred only once. A change is sent after it was pending for a delay. Due changes are grouped in batches of
+ * <code>batchSize</code> objects and every batch is written in one transaction by one of <code>threadCount</code>
+ * workers. Deleted nodes and nodes that are reset before an update are handled with one <code>UNWIND</code> query per
+ * batch. An object is never part of two batches that are written at the same time, so changes of one object are
+ * applied in order.
+ *
+ * @see MCRNeo4JIndexEventHandler
+ */
+final class MCRNeo4JIndexQueue {
+
+    static final String DELETE_QUERY = "UNWIND $ids AS id MATCH (n {id: id}) DETACH DELETE n";
+
+    static final String RESET_QUERY = "UNWIND $ids AS id MATCH (n {id: id}) "
+        + "OPTIONAL MATCH (n)-[r]->() DELETE r SET n = {id: id}";
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private final long delay;
+
+    private final int batchSize;
+
+    private final int threadCount;
+
+    private final Function<MCRObject, String> queryBuilder;
+
+    private final Consumer<List<Query>> queryRunner;
+
+    private final ConcurrentMap<String, Task> pending = new ConcurrentHashMap<>();
+
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService dispatcher;
+
+    private ExecutorService workers;
+
+    private volatile boolean closing;
+
+    /**
+     * @param delay time in milliseconds a change is pending before it is sent
+     * @param batchSize maximum number of objects written in one transaction
+     * @param threadCount number of workers writing batches
+     * @param queryBuilder creates the query that merges an object into Neo4J
+     * @param queryRunner runs a list of queries in one write transaction
+     */
+    MCRNeo4JIndexQueue(long delay, int batchSize, int threadCount, Function<MCRObject, String> queryBuilder,
+        Consumer<List<Query>> queryRunner) {
+        this.delay = delay;
+        this.batchSize = Math.max(1, batchSize);
+        this.threadCount = Math.max(1, threadCount);
+        this.queryBuilder = queryBuilder;
+        this.queryRunner = queryRunner;
+    }
+
+    /**
+     * Starts the workers and checks for due changes regularly.
+     */
+    void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(threadCount,
+            r -> new Thread(r, "MCRNeo4JIndexer-" + threadNumber.incrementAndGet()));
+        dispatcher = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "MCRNeo4JIndexDispatcher"));
+        long period = Math.max(1, delay / 2);
+        dispatcher.scheduleWithFixedDelay(() -> {
+            LOGGER.debug("NEO4J Task Executor invoked: {} Nodes to process", pending::size);
+            dispatch();
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops checking for due changes, sends all pending changes and waits until they are written.
+     */
+    void close() throws InterruptedException {
+        closing = true;
+        dispatcher.shutdown();
+        dispatcher.awaitTermination(1, TimeUnit.MINUTES);
+        if (!pending.isEmpty()) {
+            LOGGER.info("There are still {} Neo4J indexing tasks to complete before shutdown", pending::size);
+        }
+        synchronized (this) {
+            dispatch();
+            workers.shutdown();
+        }
+        if (!workers.awaitTermination(10, TimeUnit.MINUTES)) {
+            LOGGER.error("Could not finish Neo4J indexing, {} batches are left", workers.shutdownNow().size());
+        }
+        // changes of objects that were written while the remaining changes were dispatched
+        List<Task> tasks = drain(true, Integer.MAX_VALUE);
+        for (int i = 0; i < tasks.size(); i += batchSize) {
+            List<Task> batch = tasks.subList(i, Math.min(i + batchSize, tasks.size()));
+            new MCRTransactionableRunnable(() -> process(batch)).run();
+        }
+    }
+
+    /**
+     * Schedules an object to be merged into Neo4J.
+     *
+     * @param object the object to send
+     * @param reset if the existing node has to be reset before, because it may hold outdated properties and relations
+     */
+    void update(MCRObject object, boolean reset) {
+        String id = object.getId().toString();
+        pending.merge(id, new Task(id, object, reset, System.currentTimeMillis() + delay),
+            (old, task) -> new Task(id, object, reset || old.reset() || old.isDelete(), task.due()));
+    }
+
+    /**
+     * Schedules the node of an object to be deleted in Neo4J.
+     *
+     * @param id the id of the object
+     */
+    void delete(String id) {
+        pending.put(id, new Task(id, null, false, System.currentTimeMillis() + delay));
+    }
+
+    /**
+     * @return the number of pending changes
+     */
+    int size() {
+        return pending.size();
+    }
+
+    /**
+     * Removes due changes of objects that are not written at the moment.
+     *
+     * @param all if all changes should be taken, even if their delay has not passed yet
+     * @param max the maximum number of changes to take
+     * @return the changes, that are now marked as being written
+     */
+    List<Task> drain(boolean all, int max) {
+        long now = System.currentTimeMillis();
+        List<Task> tasks = new ArrayList<>();
+        for (Task task : pending.values()) {
+            if (tasks.size() >= max) {
+                break;
+            }
+            if ((all || task.due() <= now) && !inFlight.contains(task.id()) && pending.remove(task.id(), task)) {
+                inFlight.add(task.id());
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Creates the queries that write a batch of changes.
+     */
+    List<Query> createQueries(List<Task> batch) {
+        List<String> deleted = new ArrayList<>();
+        List<String> reset = new ArrayList<>();
+        List<Query> merges = new ArrayList<>(batch.size());
+        for (Task task : batch) {
+            if (task.isDelete()) {
+                deleted.add(task.id());
+                continue;
+            }
+            if (task.reset()) {
+                reset.add(task.id());
+            }
+            try {
+                merges.add(new Query(queryBuilder.apply(task.object())));
+            } catch (RuntimeException e) {
+                LOGGER.error("Error creating Neo4J query for object {}", task.id(), e);
+            }
+        }
+        List<Query> queries = new ArrayList<>(merges.size() + 2);
+        if (!deleted.isEmpty()) {
+            queries.add(new Query(DELETE_QUERY, Map.of("ids", deleted)));
+        }
+        if (!reset.isEmpty()) {
+            queries.add(new Query(RESET_QUERY, Map.of("ids", reset)));
+        }
+        queries.addAll(merges);
+        return queries;
+    }
+
+    /**
+     * Writes a batch of changes in one transaction. If the transaction fails, every change of the batch is written
+     * in its own transaction, so one faulty object does not prevent the others from being indexed.
+     */
+    void process(List<Task> batch) {
+        try {
+            LOGGER.info("Sending {} nodes to neo4j...", batch::size);
+            queryRunner.accept(createQueries(batch));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                LOGGER.error("Error in neo4j indexing of {}", batch.getFirst().id(), e);
+            } else {
+                LOGGER.warn("Error in neo4j indexing of {}, retrying one by one", batch.stream().map(Task::id).toList(),
+                    e);
+                batch.forEach(this::processSingle);
+            }
+        } finally {
+            batch.forEach(task -> inFlight.remove(task.id()));
+        }
+    }
+
+    private void processSingle(Task task) {
+        try {
+            queryRunner.accept(createQueries(List.of(task)));
+        } catch (RuntimeException e) {
+            LOGGER.error("Error in neo4j indexing of {}", task.id(), e);
+        }
+    }
+
+    /**
+     * Hands due changes to the workers. While the queue is open, only enough changes for two batches per worker are
+     * taken, so that changes that are not written yet can still be combined.
+     */
+    private synchronized void dispatch() {
+        if (workers.isShutdown()) {
+            return;
+        }
+        int max = closing ? Integer.MAX_VALUE : 2 * threadCount * batchSize - inFlight.size();
+        List<Task> tasks = drain(closing, max);
+        for (int i = 0; i < tasks.size(); i += batchSize) {
+            List<Task> batch = tasks.subList(i, Math.min(i + batchSize, tasks.size()));
+            workers.execute(new MCRTransactionableRunnable(() -> {
+                process(batch);
+                if (!closing && !pending.isEmpty()) {
+                    dispatch();
+                }
+            }));
+        }
+    }
+
+    /**
+     * A pending change of an object.
+     *
+     * @param id the id of the object
+     * @param object the object to merge into Neo4J or <code>null</code>, if the node should be deleted
+     * @param reset if the node should be reset before the object is merged
+     * @param due the time in milliseconds when the change should be sent
+     */
+    record Task(String id, MCRObject object, boolean reset, long due) {
+
+        boolean isDelete() {
+            return object == null;
+        }
+    }
+
+}
@@ -35,6 +35,7 @@ import org.mycore.common.config.MCRConfiguration2;
 import org.mycore.mcr.neo4j.datamodel.metadata.neo4jtojson.Neo4JMetaData;
 import org.mycore.mcr.neo4j.datamodel.metadata.neo4jtojson.Neo4JNodeJsonRecord;
 import org.neo4j.driver.Driver;
+import org.neo4j.driver.Query;
 import org.neo4j.driver.Record;
 import org.neo4j.driver.Result;
 import org.neo4j.driver.Session;
@@ -72,6 +73,22 @@ public class MCRNeo4JQueryRunner {
         }
     }
 
+    /**
+     * Executes several write-only queries in one transaction. Either all queries are applied or, if one of them
+     * fails, none of them.
+     *
+     * @param queries the queries to be executed in the given order
+     */
+    public static void commitWriteOnlyQueries(List<Query> queries) {
+        if (queries.isEmpty()) {
+            return;
+        }
+        Driver driver = MCRNeo4JDatabaseDriver.getInstance().getDriver();
+        try (Session session = driver.session()) {
+            session.executeWriteWithoutResult(tx -> queries.forEach(query -> tx.run(query).consume()));
+        }
+    }
+
     /**
      * Executes a read-only query in Neo4j using the provided query string and returns the result as a list of JSON
      * strings. This function is responsible for executing queries that retrieve data from the Neo4j database.
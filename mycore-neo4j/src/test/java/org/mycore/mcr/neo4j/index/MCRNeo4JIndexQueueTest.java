@@ -0,0 +1,132 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.mcr.neo4j.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.mycore.common.MCRTestConfiguration;
+import org.mycore.common.MCRTestProperty;
+import org.mycore.datamodel.metadata.MCRObject;
+import org.mycore.datamodel.metadata.MCRObjectID;
+import org.mycore.test.MyCoReTest;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Value;
+
+@MyCoReTest
+@MCRTestConfiguration(properties = {
+    @MCRTestProperty(key = "MCR.Metadata.Type.test", string = "true")
+})
+public class MCRNeo4JIndexQueueTest {
+
+    private final List<List<Query>> transactions = new ArrayList<>();
+
+    private final MCRNeo4JIndexQueue queue = new MCRNeo4JIndexQueue(0, 10, 1,
+        object -> "MERGE (a {id: '" + object.getId() + "'})", transactions::add);
+
+    @Test
+    public void testCoalescing() {
+        queue.update(createObject("junit_test_00000001"), false);
+        queue.update(createObject("junit_test_00000001"), false);
+        queue.update(createObject("junit_test_00000002"), false);
+        queue.delete("junit_test_00000002");
+        queue.delete("junit_test_00000003");
+        queue.update(createObject("junit_test_00000003"), false);
+        assertEquals(3, queue.size());
+
+        List<MCRNeo4JIndexQueue.Task> batch = queue.drain(true, Integer.MAX_VALUE);
+        assertEquals(3, batch.size());
+        assertEquals(0, queue.size());
+
+        List<Query> queries = queue.createQueries(batch);
+        assertEquals(4, queries.size());
+        assertEquals(MCRNeo4JIndexQueue.DELETE_QUERY, queries.get(0).text());
+        assertEquals(List.of("junit_test_00000002"), getIds(queries.get(0)));
+        // node of junit_test_00000003 was not deleted yet, so it has to be reset
+        assertEquals(MCRNeo4JIndexQueue.RESET_QUERY, queries.get(1).text());
+        assertEquals(List.of("junit_test_00000003"), getIds(queries.get(1)));
+        assertEquals(Set.of("MERGE (a {id: 'junit_test_00000001'})", "MERGE (a {id: 'junit_test_00000003'})"),
+            queries.subList(2, 4).stream().map(Query::text).collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void testInFlight() {
+        queue.update(createObject("junit_test_00000001"), false);
+        List<MCRNeo4JIndexQueue.Task> batch = queue.drain(true, Integer.MAX_VALUE);
+        assertEquals(1, batch.size());
+
+        queue.update(createObject("junit_test_00000001"), true);
+        assertTrue(queue.drain(true, Integer.MAX_VALUE).isEmpty(), "Object is written at the moment");
+
+        queue.process(batch);
+        assertEquals(1, transactions.size());
+        assertEquals(1, queue.drain(true, Integer.MAX_VALUE).size());
+    }
+
+    @Test
+    public void testRetryOneByOne() {
+        String faulty = "junit_test_00000002";
+        List<List<Query>> written = new ArrayList<>();
+        MCRNeo4JIndexQueue failing = new MCRNeo4JIndexQueue(0, 10, 1,
+            object -> "MERGE (a {id: '" + object.getId() + "'})", queries -> {
+                if (queries.stream().anyMatch(query -> query.text().contains(faulty))) {
+                    throw new IllegalStateException("Cannot write " + faulty);
+                }
+                written.add(queries);
+            });
+        failing.update(createObject("junit_test_00000001"), false);
+        failing.update(createObject(faulty), false);
+        failing.delete("junit_test_00000003");
+
+        failing.process(failing.drain(true, Integer.MAX_VALUE));
+        assertEquals(2, written.size());
+        assertEquals(Set.of("MERGE (a {id: 'junit_test_00000001'})", MCRNeo4JIndexQueue.DELETE_QUERY),
+            written.stream().flatMap(List::stream).map(Query::text).collect(Collectors.toSet()));
+
+        // the objects can be queued again
+        failing.update(createObject(faulty), false);
+        assertEquals(1, failing.drain(true, Integer.MAX_VALUE).size());
+    }
+
+    @Test
+    public void testDelay() {
+        MCRNeo4JIndexQueue delayed = new MCRNeo4JIndexQueue(60_000, 10, 1, object -> "", transactions::add);
+        delayed.update(createObject("junit_test_00000001"), false);
+        assertTrue(delayed.drain(false, Integer.MAX_VALUE).isEmpty());
+        assertFalse(delayed.drain(true, Integer.MAX_VALUE).isEmpty());
+    }
+
+    private static MCRObject createObject(String id) {
+        MCRObject object = new MCRObject();
+        object.setId(MCRObjectID.getInstance(id));
+        return object;
+    }
+
+    private static List<String> getIds(Query query) {
+        return query.parameters().get("ids").asList(Value::asString);
+    }
+
+}
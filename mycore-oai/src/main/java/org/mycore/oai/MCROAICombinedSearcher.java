@@ -86,6 +86,24 @@ public class MCROAICombinedSearcher extends MCROAISearcher {
         return getMixedResult(solrResult);
     }
 
+    @Override
+    public MCROAIResult query(MCRSet set, Instant from, Instant until, String cursor) {
+        if (!this.deletedSearcher.isPresent()) {
+            return this.solrSearcher.query(set, from, until, cursor);
+        }
+        MCROAIDeletedSearcher delSearcher = this.deletedSearcher.get();
+        if (isDeletedCursor(cursor)) {
+            return delSearcher.query(set, from, until, cursor);
+        }
+        MCROAIResult solrResult = this.solrSearcher.query(set, from, until, cursor);
+        this.numHits = solrResult.getNumHits();
+        if (solrResult.nextCursor().isEmpty()) {
+            // deleted records are required to complete the page
+            this.numHits += delSearcher.query(set, from, until).getNumHits();
+        }
+        return getMixedResult(solrResult);
+    }
+
     @Override
     public Optional<Instant> getEarliestTimestamp() {
         Optional<Instant> solrTimestamp = this.solrSearcher.getEarliestTimestamp();
@@ -0,0 +1,93 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.mycore.oai;
+
+import java.util.Optional;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.mycore.common.config.MCRConfiguration2;
+import org.mycore.frontend.MCRFrontendUtil;
+import org.mycore.frontend.cli.MCRAbstractCommands;
+import org.mycore.frontend.cli.annotation.MCRCommand;
+import org.mycore.frontend.cli.annotation.MCRCommandGroup;
+import org.mycore.oai.pmh.CannotDisseminateFormatException;
+import org.mycore.oai.pmh.Header;
+import org.mycore.oai.pmh.MetadataFormat;
+
+@MCRCommandGroup(name = "OAI Commands")
+public class MCROAICommands extends MCRAbstractCommands {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    @MCRCommand(syntax = "warm oai record cache of repository {0} for metadata prefix {1}",
+        help = "renders all records of the OAI repository {0} (e.g. OAI2) in the metadata format {1} "
+            + "and stores them in the OAI record cache",
+        order = 10)
+    public static void warmRecordCache(String repository, String metadataPrefix)
+        throws CannotDisseminateFormatException {
+        if (!MCROAIRecordCache.getInstance().isEnabled()) {
+            LOGGER.warn("OAI record cache is disabled.");
+            return;
+        }
+        MCROAIAdapter adapter = createAdapter(repository);
+        MetadataFormat format = adapter.getMetadataFormat(metadataPrefix);
+        MCROAIObjectManager objectManager = adapter.getObjectManager();
+        MCROAISearcher searcher = MCROAISearchManager.getSearcher(adapter.getIdentify(), format,
+            adapter.getSearchManager().getPartitionSize(), adapter.getSetManager(), objectManager);
+        MCROAIResult result = searcher.query(null, null, null);
+        int count = 0;
+        int failed = 0;
+        while (true) {
+            for (Header header : result.list()) {
+                if (header.isDeleted()) {
+                    continue;
+                }
+                if (objectManager.getRecord(header, format) == null) {
+                    failed++;
+                }
+                count++;
+            }
+            LOGGER.info("Rendered {} of {} {} records of {}.", count, result.getNumHits(), metadataPrefix,
+                repository);
+            Optional<String> cursor = result.nextCursor();
+            if (cursor.isEmpty()) {
+                break;
+            }
+            result = searcher.query(cursor.get());
+        }
+        LOGGER.info("Warmed OAI record cache with {} records, {} records failed.", count - failed, failed);
+    }
+
+    @MCRCommand(syntax = "clear oai record cache",
+        help = "removes all records from the OAI record cache",
+        order = 20)
+    public static void clearRecordCache() {
+        MCROAIRecordCache.getInstance().clear();
+    }
+
+    private static MCROAIAdapter createAdapter(String repository) {
+        MCROAIAdapter adapter = MCRConfiguration2
+            .getInstanceOf(MCROAIAdapter.class, MCROAIAdapter.PREFIX + repository + ".Adapter")
+            .orElseGet(() -> MCRConfiguration2.getInstanceOfOrThrow(
+                MCROAIAdapter.class, MCROAIAdapter.PREFIX + "DefaultAdapter"));
+        adapter.init(MCRFrontendUtil.getBaseURL() + "servlets/" + repository, repository);
+        return adapter;
+    }
+
+}
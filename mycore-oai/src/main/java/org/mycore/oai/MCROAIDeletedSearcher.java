@@ -91,6 +91,12 @@ public class MCROAIDeletedSearcher extends MCROAISearcher {
         return this.query(null);
     }
 
+    @Override
+    public MCROAISimpleResult query(MCRSet set, Instant from, Instant until, String cursor) {
+        this.deletedRecords = this.searchDeleted(from, until);
+        return this.query(cursor);
+    }
+
     @Override
     public Optional<Instant> getEarliestTimestamp() {
         return MCRMetadataHistoryManager.getHistoryStart();
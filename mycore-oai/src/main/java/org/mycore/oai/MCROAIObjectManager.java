@@ -132,7 +132,11 @@ public class MCROAIObjectManager {
 
     protected Element getJDOMRecord(String mcrId, MetadataFormat format) {
         String uri = formatURI(this.recordUriPattern, mcrId, format.getPrefix());
-        return getURI(uri);
+        if (!MCRObjectID.isValid(mcrId)) {
+            return getURI(uri);
+        }
+        return MCROAIRecordCache.getInstance().getRecord(this.identify.getConfigPrefix(),
+            MCRObjectID.getInstance(mcrId), format.getPrefix(), () -> getURI(uri));
     }
 
     protected Element getURI(String uri) {
@@ -0,0 +1,244 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.mycore.oai;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jdom2.Element;
+import org.jdom2.JDOMException;
+import org.jdom2.input.SAXBuilder;
+import org.jdom2.output.Format;
+import org.jdom2.output.XMLOutputter;
+import org.mycore.common.MCRException;
+import org.mycore.common.config.MCRConfiguration2;
+import org.mycore.datamodel.common.MCRXMLMetadataManager;
+import org.mycore.datamodel.metadata.MCRObjectID;
+
+/**
+ * Stores rendered OAI records on the disk, so the record stylesheets only run once per object, metadata prefix and
+ * modification of the object. Every entry starts with a header containing the last modification date of the object,
+ * followed by the gzip compressed XML of the record. Entries are only used if their last modification date matches
+ * the one in the metadata store. Changes that do not modify the object itself (e.g. derivates or linked objects) are
+ * handled by {@link MCROAIRecordCacheEventHandler}.
+ * <p>
+ * Configuration:
+ * <ul>
+ *     <li><code>MCR.OAIDataProvider.RecordCache.Enabled</code> - turns the cache on or off</li>
+ *     <li><code>MCR.OAIDataProvider.RecordCache.Path</code> - the root directory of the cache</li>
+ * </ul>
+ */
+public final class MCROAIRecordCache {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final String CONFIG_PREFIX = MCROAIAdapter.PREFIX + "RecordCache.";
+
+    private static final String FILE_SUFFIX = ".xml.bin";
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final int FOLDER_SIZE = 3;
+
+    private final boolean enabled;
+
+    private final Path root;
+
+    private MCROAIRecordCache() {
+        this(MCRConfiguration2.getBoolean(CONFIG_PREFIX + "Enabled").orElse(false),
+            MCRConfiguration2.getOrThrow(CONFIG_PREFIX + "Path", Paths::get));
+    }
+
+    MCROAIRecordCache(boolean enabled, Path root) {
+        this.enabled = enabled;
+        this.root = root;
+    }
+
+    public static MCROAIRecordCache getInstance() {
+        return LazyInstanceHolder.SINGLETON_INSTANCE;
+    }
+
+    /**
+     * @return true if records are cached
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the cached record or creates and caches it if the cached one is missing or outdated. Every call returns
+     * a new element, so callers are free to detach its content.
+     *
+     * @param configPrefix the configuration prefix of the OAI repository, e.g. <code>MCR.OAIDataProvider.OAI2.</code>
+     * @param id the id of the object
+     * @param metadataPrefix the metadata prefix of the record
+     * @param recordSupplier creates the record if the cached one cannot be used
+     * @return the record or <code>null</code> if the supplier returned <code>null</code>
+     */
+    public Element getRecord(String configPrefix, MCRObjectID id, String metadataPrefix,
+        Supplier<Element> recordSupplier) {
+        long lastModified = enabled ? getLastModified(id) : -1;
+        if (lastModified < 0) {
+            return recordSupplier.get();
+        }
+        Path recordPath = getRecordPath(id, configPrefix, metadataPrefix);
+        Element record = readRecord(recordPath, lastModified);
+        if (record != null) {
+            return record;
+        }
+        record = recordSupplier.get();
+        if (record != null) {
+            writeRecord(record, lastModified, recordPath);
+        }
+        return record;
+    }
+
+    /**
+     * Removes all cached records of the given object.
+     *
+     * @param id the id of the object
+     */
+    public void clear(MCRObjectID id) {
+        if (enabled) {
+            LOGGER.debug("Clearing OAI records of {}", id);
+            delete(getObjectPath(id));
+        }
+    }
+
+    /**
+     * Removes all cached records.
+     */
+    public void clear() {
+        LOGGER.info("Clearing OAI record cache {}", root);
+        delete(root);
+    }
+
+    private static long getLastModified(MCRObjectID id) {
+        try {
+            return MCRXMLMetadataManager.obtainInstance().getLastModified(id);
+        } catch (IOException e) {
+            LOGGER.warn("Could not get last modified date of {}, skipping OAI record cache.", id, e);
+            return -1;
+        }
+    }
+
+    private static Element readRecord(Path recordPath, long lastModified) {
+        try (InputStream is = Files.newInputStream(recordPath);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(is, BUFFER_SIZE))) {
+            if (in.readInt() != FORMAT_VERSION || in.readLong() != lastModified) {
+                LOGGER.debug("OAI record {} is outdated.", recordPath);
+                return null;
+            }
+            return new SAXBuilder().build(new GZIPInputStream(in)).detachRootElement();
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (EOFException | ZipException | JDOMException e) {
+            LOGGER.warn("Ignoring invalid OAI record {}.", recordPath, e);
+            return null;
+        } catch (IOException e) {
+            throw new MCRException(e);
+        }
+    }
+
+    private static void writeRecord(Element record, long lastModified, Path recordPath) {
+        Path tempFile = null;
+        try {
+            Files.createDirectories(recordPath.getParent());
+            // write to a temporary file first, so concurrent readers never see a partial entry
+            tempFile = Files.createTempFile(recordPath.getParent(), recordPath.getFileName().toString(), ".tmp");
+            try (OutputStream os = Files.newOutputStream(tempFile);
+                DataOutputStream out = new DataOutputStream(os)) {
+                out.writeInt(FORMAT_VERSION);
+                out.writeLong(lastModified);
+                GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE);
+                new XMLOutputter(Format.getCompactFormat()).output(record, gzip);
+                gzip.finish();
+            }
+            Files.move(tempFile, recordPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // a missing cache entry is not an error, the record is rendered again next time
+            LOGGER.warn("Could not write OAI record {}.", recordPath, e);
+            deleteQuietly(tempFile);
+        }
+    }
+
+    private static void delete(Path path) {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(path)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(MCROAIRecordCache::deleteQuietly);
+        } catch (IOException e) {
+            throw new MCRException("Error while deleting " + path, e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOGGER.warn("Could not delete {}.", path, e);
+        }
+    }
+
+    private Path getRecordPath(MCRObjectID id, String configPrefix, String metadataPrefix) {
+        String repository = configPrefix.substring(MCROAIAdapter.PREFIX.length(), configPrefix.length() - 1);
+        return getObjectPath(id).resolve(toFileName(repository) + "." + toFileName(metadataPrefix) + FILE_SUFFIX);
+    }
+
+    private Path getObjectPath(MCRObjectID id) {
+        String numberAsString = id.getNumberAsString();
+        Path result = root.resolve(id.getProjectId()).resolve(id.getTypeId());
+        for (int i = 0; i + FOLDER_SIZE < numberAsString.length(); i += FOLDER_SIZE) {
+            result = result.resolve(numberAsString.substring(i, i + FOLDER_SIZE));
+        }
+        return result.resolve(id.toString());
+    }
+
+    private static String toFileName(String name) {
+        return name.replaceAll("[^\\w.-]", "_");
+    }
+
+    private static final class LazyInstanceHolder {
+        public static final MCROAIRecordCache SINGLETON_INSTANCE = new MCROAIRecordCache();
+    }
+
+}
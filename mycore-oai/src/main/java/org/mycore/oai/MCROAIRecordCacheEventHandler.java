@@ -0,0 +1,100 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.mycore.oai;
+
+import org.mycore.common.events.MCREvent;
+import org.mycore.common.events.MCREventHandlerBase;
+import org.mycore.datamodel.common.MCRLinkType;
+import org.mycore.datamodel.metadata.MCRDerivate;
+import org.mycore.datamodel.metadata.MCRObject;
+import org.mycore.datamodel.metadata.MCRObjectID;
+
+/**
+ * Event handler that clears the {@link MCROAIRecordCache} for affected objects. Changes of the object itself are
+ * already detected by its modification date, but records may also contain data of derivates, ancestors and linked
+ * objects.
+ */
+public class MCROAIRecordCacheEventHandler extends MCREventHandlerBase {
+
+    private final MCROAIRecordCache cache;
+
+    public MCROAIRecordCacheEventHandler() {
+        this(MCROAIRecordCache.getInstance());
+    }
+
+    MCROAIRecordCacheEventHandler(MCROAIRecordCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    protected void handleObjectDeleted(MCREvent evt, MCRObject obj) {
+        clear(obj.getId());
+    }
+
+    @Override
+    protected void handleObjectUpdated(MCREvent evt, MCRObject obj) {
+        clear(obj.getId());
+    }
+
+    @Override
+    protected void handleObjectRepaired(MCREvent evt, MCRObject obj) {
+        clear(obj.getId());
+    }
+
+    @Override
+    protected void handleAncestorUpdated(MCREvent evt, MCRObject obj) {
+        clear(obj.getId());
+    }
+
+    @Override
+    protected void handleObjectLinkUpdated(MCREvent evt, MCRObject obj, MCRLinkType relation, MCRObjectID linkedID) {
+        clear(linkedID);
+    }
+
+    @Override
+    protected void handleDerivateCreated(MCREvent evt, MCRDerivate der) {
+        clear(der.getOwnerID());
+    }
+
+    @Override
+    protected void handleDerivateUpdated(MCREvent evt, MCRDerivate der) {
+        clear(der.getOwnerID());
+    }
+
+    @Override
+    protected void handleDerivateDeleted(MCREvent evt, MCRDerivate der) {
+        clear(der.getOwnerID());
+    }
+
+    @Override
+    protected void handleDerivateRepaired(MCREvent evt, MCRDerivate der) {
+        clear(der.getOwnerID());
+    }
+
+    @Override
+    protected void handleDerivateLinkUpdated(MCREvent evt, MCRDerivate updatedDerivate, MCRObjectID linkedID) {
+        clear(linkedID);
+    }
+
+    private void clear(MCRObjectID id) {
+        if (id != null) {
+            cache.clear(id);
+        }
+    }
+
+}
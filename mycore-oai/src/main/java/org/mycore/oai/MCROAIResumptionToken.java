@@ -0,0 +1,164 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.oai;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.mycore.common.MCRException;
+import org.mycore.oai.pmh.BadResumptionTokenException;
+
+/**
+ * Self-contained resumption token. It holds the original request (metadata prefix, set, from and until), the
+ * searcher specific cursor of the next page and the expiration date, so any node is able to continue a list
+ * request without server side state.
+ * <p>
+ * The encoded token is URL safe Base64 of the binary data, followed by a truncated HMAC-SHA256 signature.
+ * The signature covers the config prefix of the OAI repository, so tokens are only valid for the repository that
+ * issued them.
+ *
+ * @param metadataPrefix the metadata prefix of the request
+ * @param setSpec the set spec of the request or <code>null</code>
+ * @param from the from date of the request or <code>null</code>
+ * @param until the until date of the request or <code>null</code>
+ * @param completeListSize number of all hits of the request
+ * @param cursor cursor of the next page
+ * @param expirationDate the time the token expires
+ */
+public record MCROAIResumptionToken(String metadataPrefix, String setSpec, Instant from, Instant until,
+    int completeListSize, String cursor, Instant expirationDate) {
+
+    private static final byte VERSION = 1;
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private static final int SIGNATURE_LENGTH = 16;
+
+    private static final char SIGNATURE_DELIMITER = '.';
+
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    /**
+     * Returns a token for the next page of the same request.
+     */
+    public MCROAIResumptionToken next(String nextCursor, Instant nextExpirationDate) {
+        return new MCROAIResumptionToken(metadataPrefix, setSpec, from, until, completeListSize, nextCursor,
+            nextExpirationDate);
+    }
+
+    /**
+     * Encodes and signs this token.
+     *
+     * @param key the key to sign the token with
+     * @param configPrefix the config prefix of the OAI repository
+     * @return the token string
+     */
+    public String encode(byte[] key, String configPrefix) {
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bout)) {
+            out.writeByte(VERSION);
+            out.writeUTF(metadataPrefix);
+            out.writeUTF(setSpec == null ? "" : setSpec);
+            out.writeLong(from == null ? NO_DATE : from.toEpochMilli());
+            out.writeLong(until == null ? NO_DATE : until.toEpochMilli());
+            out.writeInt(completeListSize);
+            out.writeLong(expirationDate.toEpochMilli());
+            out.writeUTF(cursor);
+        } catch (IOException e) {
+            throw new MCRException("Unable to encode resumption token.", e);
+        }
+        byte[] data = bout.toByteArray();
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(data) + SIGNATURE_DELIMITER
+            + encoder.encodeToString(sign(key, configPrefix, data));
+    }
+
+    /**
+     * Verifies and decodes a token created by {@link #encode(byte[], String)}.
+     *
+     * @param token the token string
+     * @param key the key the token was signed with
+     * @param configPrefix the config prefix of the OAI repository
+     * @return the decoded token
+     * @throws BadResumptionTokenException if the token is invalid, was not signed with the given key or is expired
+     */
+    public static MCROAIResumptionToken decode(String token, byte[] key, String configPrefix)
+        throws BadResumptionTokenException {
+        MCROAIResumptionToken resumptionToken;
+        try {
+            int delimiter = token.indexOf(SIGNATURE_DELIMITER);
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            byte[] data = decoder.decode(token.substring(0, delimiter));
+            byte[] signature = decoder.decode(token.substring(delimiter + 1));
+            if (!MessageDigest.isEqual(signature, sign(key, configPrefix, data))) {
+                throw new BadResumptionTokenException(token);
+            }
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+                if (in.readByte() != VERSION) {
+                    throw new BadResumptionTokenException(token);
+                }
+                String metadataPrefix = in.readUTF();
+                String setSpec = in.readUTF();
+                Instant from = toInstant(in.readLong());
+                Instant until = toInstant(in.readLong());
+                int completeListSize = in.readInt();
+                Instant expirationDate = Instant.ofEpochMilli(in.readLong());
+                String cursor = in.readUTF();
+                resumptionToken = new MCROAIResumptionToken(metadataPrefix, setSpec.isEmpty() ? null : setSpec,
+                    from, until, completeListSize, cursor, expirationDate);
+            }
+        } catch (IOException | RuntimeException e) {
+            BadResumptionTokenException rte = new BadResumptionTokenException(token);
+            rte.initCause(e);
+            throw rte;
+        }
+        if (resumptionToken.expirationDate().isBefore(Instant.now())) {
+            throw new BadResumptionTokenException(token);
+        }
+        return resumptionToken;
+    }
+
+    private static Instant toInstant(long epochMilli) {
+        return epochMilli == NO_DATE ? null : Instant.ofEpochMilli(epochMilli);
+    }
+
+    private static byte[] sign(byte[] key, String configPrefix, byte[] data) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(key, HMAC_ALGORITHM));
+            mac.update(configPrefix.getBytes(StandardCharsets.UTF_8));
+            return Arrays.copyOf(mac.doFinal(data), SIGNATURE_LENGTH);
+        } catch (GeneralSecurityException e) {
+            throw new MCRException("Unable to sign resumption token.", e);
+        }
+    }
+
+}
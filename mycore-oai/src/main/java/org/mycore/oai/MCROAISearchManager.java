@@ -18,17 +18,14 @@
 
 package org.mycore.oai;
 
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
 import java.time.Instant;
 import java.util.Arrays;
-import java.util.Date;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 
 import org.apache.logging.log4j.LogManager;
@@ -37,7 +34,6 @@ import org.mycore.common.MCRException;
 import org.mycore.common.MCRSession;
 import org.mycore.common.MCRSessionMgr;
 import org.mycore.common.config.MCRConfiguration2;
-import org.mycore.common.events.MCRShutdownHandler;
 import org.mycore.oai.pmh.BadResumptionTokenException;
 import org.mycore.oai.pmh.DefaultResumptionToken;
 import org.mycore.oai.pmh.Header;
@@ -52,9 +48,11 @@ import org.mycore.util.concurrent.MCRTransactionableRunnable;
  * {@link MCROAISearcher} instance for each
  * {@link #searchHeader(MetadataFormat, MCRSet, Instant, Instant)}
  * and {@link #searchRecord(MetadataFormat, MCRSet, Instant, Instant)} call.
- * The resumption token created by those methods can be reused for
- * later calls to the same searcher. A searcher is dropped after an
- * expiration time. The time increases for each query call.
+ *
+ * <p>Resumption tokens are self-contained and signed (see {@link MCROAIResumptionToken}), they contain the
+ * original request and the cursor of the searcher. Every node of a cluster sharing the same secret
+ * (<code>MCR.OAIDataProvider.ResumptionTokens.Secret</code>) is able to continue a list request, no state is
+ * kept on the server. A token expires after <code>MCR.OAIDataProvider.ResumptionTokens.MaxAge</code> minutes.</p>
  *
  * <p>Due to token based querying it is not possible to set a current
  * position for the resumption token. It's always set to -1.</p>
@@ -65,11 +63,9 @@ public class MCROAISearchManager {
 
     private static final Logger LOGGER = LogManager.getLogger();
 
-    protected static final String TOKEN_DELIMITER = "@";
-
     protected static final int MAX_AGE;
 
-    protected Map<String, MCROAISearcher> resultMap;
+    private static final byte[] SECRET;
 
     protected MCROAIIdentify identify;
 
@@ -84,10 +80,19 @@ public class MCROAISearchManager {
     static {
         String prefix = MCROAIAdapter.PREFIX + "ResumptionTokens.";
         MAX_AGE = MCRConfiguration2.getInt(prefix + "MaxAge").orElse(30) * 60 * 1000;
+        SECRET = MCRConfiguration2.getString(prefix + "Secret")
+            .filter(secret -> !secret.isBlank())
+            .map(secret -> secret.getBytes(StandardCharsets.UTF_8))
+            .orElseGet(() -> {
+                LOGGER.warn("{}Secret is not set, resumption tokens are only valid on this node until restart.",
+                    prefix);
+                byte[] secret = new byte[32];
+                new SecureRandom().nextBytes(secret);
+                return secret;
+            });
     }
 
     public MCROAISearchManager() {
-        this.resultMap = new ConcurrentHashMap<>();
         runListRecordsParallel = MCRConfiguration2
             .getOrThrow(MCROAIAdapter.PREFIX + "RunListRecordsParallel", Boolean::parseBoolean);
     }
@@ -98,22 +103,6 @@ public class MCROAISearchManager {
         this.objManager = objManager;
         this.setManager = setManager;
         this.partitionSize = partitionSize;
-        TimerTask tt = new TimerTask() {
-            @Override
-            public void run() {
-                for (Map.Entry<String, MCROAISearcher> entry : resultMap.entrySet()) {
-                    String searchId = entry.getKey();
-                    MCROAISearcher searcher = entry.getValue();
-                    if (searcher.isExpired()) {
-                        LOGGER.info("Removing expired resumption token {}", searchId);
-                        resultMap.remove(searchId);
-                    }
-                }
-            }
-        };
-        Timer cleanupTimer = new Timer("OAISearchManager-Timer " + identify.getConfigPrefix());
-        cleanupTimer.schedule(tt, new Date(System.currentTimeMillis() + MAX_AGE), MAX_AGE);
-        MCRShutdownHandler.getInstance().addCloseable(cleanupTimer::cancel);
     }
 
     public Optional<Header> getHeader(String oaiId) {
@@ -122,42 +111,70 @@ public class MCROAISearchManager {
     }
 
     public OAIDataList<Header> searchHeader(String resumptionToken) throws BadResumptionTokenException {
-        String searchId = getSearchId(resumptionToken);
-        String tokenCursor = getTokenCursor(resumptionToken);
-        MCROAISearcher searcher = this.resultMap.get(searchId);
-        if (searcher == null || tokenCursor == null || tokenCursor.length() <= 0) {
-            throw new BadResumptionTokenException(resumptionToken);
-        }
-        MCROAIResult result = searcher.query(tokenCursor);
-        return getHeaderList(searcher, result);
+        MCROAIResumptionToken token = decodeResumptionToken(resumptionToken);
+        MCROAISearcher searcher = getSearcher(token);
+        MCROAIResult result = resume(searcher, token, resumptionToken);
+        return getHeaderList(searcher, result, token);
     }
 
     public OAIDataList<Record> searchRecord(String resumptionToken) throws BadResumptionTokenException {
-        String searchId = getSearchId(resumptionToken);
-        String tokenCursor = getTokenCursor(resumptionToken);
-        MCROAISearcher searcher = this.resultMap.get(searchId);
-        if (searcher == null || tokenCursor == null || tokenCursor.length() <= 0) {
-            throw new BadResumptionTokenException(resumptionToken);
-        }
-        MCROAIResult result = searcher.query(tokenCursor);
-        return getRecordList(searcher, result);
+        MCROAIResumptionToken token = decodeResumptionToken(resumptionToken);
+        MCROAISearcher searcher = getSearcher(token);
+        MCROAIResult result = resume(searcher, token, resumptionToken);
+        return getRecordList(searcher, result, token);
     }
 
     public OAIDataList<Header> searchHeader(MetadataFormat format, MCRSet set, Instant from, Instant until) {
         MCROAISearcher searcher = getSearcher(this.identify, format, getPartitionSize(), setManager, objManager);
-        this.resultMap.put(searcher.getID(), searcher);
         MCROAIResult result = searcher.query(set, from, until);
-        return getHeaderList(searcher, result);
+        return getHeaderList(searcher, result, getResumptionToken(format, set, from, until, result));
     }
 
     public OAIDataList<Record> searchRecord(MetadataFormat format, MCRSet set, Instant from, Instant until) {
         MCROAISearcher searcher = getSearcher(this.identify, format, getPartitionSize(), setManager, objManager);
-        this.resultMap.put(searcher.getID(), searcher);
         MCROAIResult result = searcher.query(set, from, until);
-        return getRecordList(searcher, result);
+        return getRecordList(searcher, result, getResumptionToken(format, set, from, until, result));
+    }
+
+    private MCROAIResumptionToken getResumptionToken(MetadataFormat format, MCRSet set, Instant from,
+        Instant until, MCROAIResult result) {
+        return new MCROAIResumptionToken(format.getPrefix(), set == null ? null : set.getSpec(), from, until,
+            result.getNumHits(), null, null);
+    }
+
+    private MCROAIResumptionToken decodeResumptionToken(String resumptionToken)
+        throws BadResumptionTokenException {
+        return MCROAIResumptionToken.decode(resumptionToken, SECRET, identify.getConfigPrefix());
+    }
+
+    private MCROAISearcher getSearcher(MCROAIResumptionToken token) {
+        String prefix = token.metadataPrefix();
+        MetadataFormat format = new MetadataFormat(prefix,
+            MCRConfiguration2.getStringOrThrow(MCROAIAdapter.PREFIX + "MetadataFormat." + prefix + ".Namespace"),
+            MCRConfiguration2.getStringOrThrow(MCROAIAdapter.PREFIX + "MetadataFormat." + prefix + ".Schema"));
+        return getSearcher(this.identify, format, getPartitionSize(), setManager, objManager);
+    }
+
+    private MCROAIResult resume(MCROAISearcher searcher, MCROAIResumptionToken token, String resumptionToken)
+        throws BadResumptionTokenException {
+        MCRSet set = null;
+        if (token.setSpec() != null) {
+            set = MCROAISetManager.get(token.setSpec(), setManager.get());
+            if (set == null) {
+                throw new BadResumptionTokenException(resumptionToken);
+            }
+        }
+        try {
+            return searcher.query(set, token.from(), token.until(), token.cursor());
+        } catch (IllegalArgumentException e) {
+            BadResumptionTokenException rte = new BadResumptionTokenException(resumptionToken);
+            rte.initCause(e);
+            throw rte;
+        }
     }
 
-    protected OAIDataList<Record> getRecordList(MCROAISearcher searcher, MCROAIResult result) {
+    protected OAIDataList<Record> getRecordList(MCROAISearcher searcher, MCROAIResult result,
+        MCROAIResumptionToken token) {
         OAIDataList<Record> recordList = runListRecordsParallel ? getRecordListParallel(searcher, result)
             : getRecordListSequential(searcher, result);
         if (recordList.contains(null)) {
@@ -168,7 +185,7 @@ public class MCROAISearchManager {
             }
             recordList.removeIf(Objects::isNull);
         }
-        this.setResumptionToken(recordList, searcher, result);
+        this.setResumptionToken(recordList, token, result);
         return recordList;
     }
 
@@ -204,40 +221,21 @@ public class MCROAISearchManager {
         return recordList;
     }
 
-    protected OAIDataList<Header> getHeaderList(MCROAISearcher searcher, MCROAIResult result) {
+    protected OAIDataList<Header> getHeaderList(MCROAISearcher searcher, MCROAIResult result,
+        MCROAIResumptionToken token) {
         OAIDataList<Header> headerList = new OAIDataList<>();
         headerList.addAll(result.list());
-        this.setResumptionToken(headerList, searcher, result);
+        this.setResumptionToken(headerList, token, result);
         return headerList;
     }
 
-    public String getSearchId(String token) throws BadResumptionTokenException {
-        try {
-            return token.split(TOKEN_DELIMITER)[0];
-        } catch (Exception exc) {
-            BadResumptionTokenException rte = new BadResumptionTokenException(token);
-            rte.initCause(exc);
-            throw rte;
-        }
-    }
-
-    public String getTokenCursor(String token) throws BadResumptionTokenException {
-        try {
-            String[] tokenParts = token.split(TOKEN_DELIMITER);
-            return tokenParts[tokenParts.length - 1];
-        } catch (Exception exc) {
-            BadResumptionTokenException rte = new BadResumptionTokenException(token);
-            rte.initCause(exc);
-            throw rte;
-        }
-    }
-
-    protected void setResumptionToken(OAIDataList<?> dataList, MCROAISearcher searcher, MCROAIResult result) {
+    protected void setResumptionToken(OAIDataList<?> dataList, MCROAIResumptionToken token, MCROAIResult result) {
         result.nextCursor().map(cursor -> {
+            MCROAIResumptionToken nextToken = token.next(cursor, Instant.now().plusMillis(MAX_AGE));
             DefaultResumptionToken rsToken = new DefaultResumptionToken();
-            rsToken.setToken(searcher.getID() + TOKEN_DELIMITER + cursor);
-            rsToken.setCompleteListSize(result.getNumHits());
-            rsToken.setExpirationDate(searcher.getExpirationTime());
+            rsToken.setToken(nextToken.encode(SECRET, identify.getConfigPrefix()));
+            rsToken.setCompleteListSize(nextToken.completeListSize());
+            rsToken.setExpirationDate(nextToken.expirationDate());
             return rsToken;
         }).ifPresent(dataList::setResumptionToken);
     }
@@ -80,6 +80,21 @@ public abstract class MCROAISearcher {
 
     public abstract MCROAIResult query(MCRSet set, Instant from, Instant until);
 
+    /**
+     * Continues a query started by {@link #query(MCRSet, Instant, Instant)} on possibly another searcher instance.
+     * Implementations should override this method to avoid querying the first page again.
+     *
+     * @param set the set of the original query
+     * @param from the from date of the original query
+     * @param until the until date of the original query
+     * @param cursor the cursor returned by a previous result of the query
+     * @return the result for the given cursor
+     */
+    public MCROAIResult query(MCRSet set, Instant from, Instant until, String cursor) {
+        query(set, from, until);
+        return query(cursor);
+    }
+
     /**
      * Returns the earliest created/modified record time stamp. If the earliest time stamp cannot be retrieved an
      * empty optional is returned.
@@ -71,15 +71,9 @@ public class MCROAISolrSearcher extends MCROAISearcher {
     private Instant until;
 
     /**
-     * Solr always returns a nextCursorMark even when the end of the list is reached.
-     * Due to that behavior we query the next result in advance and check if the
-     * marks are equal (which tells us the end is reached). To avoid double querying
-     * we store the result in {@link #nextResult}. For simple forwarding harvesting
-     * this should be efficient.
+     * Separates the number of already returned documents from the Solr cursor mark in a cursor.
      */
-    private Optional<String> lastCursor;
-
-    private MCROAISolrResult nextResult;
+    private static final String CURSOR_DELIMITER = "_";
 
     @Override
     public Optional<Header> getHeader(String mcrId) {
@@ -109,9 +103,15 @@ public class MCROAISolrSearcher extends MCROAISearcher {
     @Override
     public MCROAIResult query(String cursor) {
         this.updateRunningExpirationTimer();
-        Optional<String> currentCursor = Optional.of(cursor);
+        int delimiter = cursor.indexOf(CURSOR_DELIMITER);
+        int position;
+        try {
+            position = Integer.parseInt(cursor.substring(0, delimiter));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor " + cursor, e);
+        }
         try {
-            return handleResult(currentCursor.equals(this.lastCursor) ? this.nextResult : solrQuery(currentCursor));
+            return handleResult(solrQuery(Optional.of(cursor.substring(delimiter + 1))), position);
         } catch (SolrServerException | IOException e) {
             throw new MCRException("Error while handling query.", e);
         }
@@ -123,19 +123,32 @@ public class MCROAISolrSearcher extends MCROAISearcher {
         this.from = from;
         this.until = until;
         try {
-            return handleResult(solrQuery(Optional.empty()));
+            return handleResult(solrQuery(Optional.empty()), 0);
         } catch (SolrServerException | IOException e) {
             throw new MCRException("Error while handling query.", e);
         }
     }
 
-    private MCROAIResult handleResult(MCROAISolrResult result) throws SolrServerException, IOException {
-        this.nextResult = solrQuery(result.nextCursor());
-        this.lastCursor = result.nextCursor();
-        if (result.nextCursor().equals(this.nextResult.nextCursor())) {
+    @Override
+    public MCROAIResult query(MCRSet set, Instant from, Instant until, String cursor) {
+        this.set = set;
+        this.from = from;
+        this.until = until;
+        return query(cursor);
+    }
+
+    /**
+     * Solr always returns a nextCursorMark even when the end of the list is reached. Instead of querying the next
+     * page in advance, the number of returned documents is tracked in the cursor and compared to the number of hits.
+     */
+    private MCROAIResult handleResult(MCROAISolrResult result, int position) {
+        int nextPosition = position + result.getResponse().getResults().size();
+        Optional<String> nextCursorMark = result.nextCursor();
+        if (nextCursorMark.isEmpty() || nextPosition == position || nextPosition >= result.getNumHits()) {
             return MCROAISimpleResult.ofResult(result).setNextCursor(null);
         }
-        return result;
+        return MCROAISimpleResult.ofResult(result).setNextCursor(nextPosition + CURSOR_DELIMITER
+            + nextCursorMark.get());
     }
 
     protected MCROAISolrResult solrQuery(Optional<String> cursor) throws SolrServerException, IOException {
@@ -0,0 +1,143 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.oai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mycore.common.MCRTestConfiguration;
+import org.mycore.common.MCRTestProperty;
+import org.mycore.common.events.MCREvent;
+import org.mycore.datamodel.common.MCRXMLMetadataManager;
+import org.mycore.datamodel.metadata.MCRDerivate;
+import org.mycore.datamodel.metadata.MCRMetaLinkID;
+import org.mycore.datamodel.metadata.MCRObject;
+import org.mycore.datamodel.metadata.MCRObjectID;
+import org.mycore.test.MCRJPAExtension;
+import org.mycore.test.MCRMetadataExtension;
+import org.mycore.test.MyCoReTest;
+
+@MyCoReTest
+@ExtendWith(MCRJPAExtension.class)
+@ExtendWith(MCRMetadataExtension.class)
+@MCRTestConfiguration(
+    properties = {
+        @MCRTestProperty(key = "MCR.Metadata.Type.test", string = "true"),
+        @MCRTestProperty(key = "MCR.Metadata.Type.derivate", string = "true")
+    })
+public class MCROAIRecordCacheTest {
+
+    private static final String CONFIG_PREFIX = MCROAIAdapter.PREFIX + "OAI2.";
+
+    private static final MCRObjectID OBJECT_ID = MCRObjectID.getInstance("junit_test_00000001");
+
+    @TempDir
+    public Path root;
+
+    private MCROAIRecordCache cache;
+
+    private final AtomicInteger rendered = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        cache = new MCROAIRecordCache(true, root);
+        MCRXMLMetadataManager.obtainInstance().create(OBJECT_ID, objectXML(), new Date(1_700_000_000_000L));
+    }
+
+    @Test
+    public void getRecord() throws Exception {
+        assertEquals("record1", cache.getRecord(CONFIG_PREFIX, OBJECT_ID, "oai_dc", record()).getText());
+        assertEquals("record1", cache.getRecord(CONFIG_PREFIX, OBJECT_ID, "oai_dc", record()).getText());
+        assertEquals(1, rendered.get());
+
+        // every metadata prefix has its own entry
+        assertEquals("record2", cache.getRecord(CONFIG_PREFIX, OBJECT_ID, "mods", record()).getText());
+
+        MCRXMLMetadataManager.obtainInstance().update(OBJECT_ID, objectXML(), new Date(1_700_000_100_000L));
+        assertEquals("record3", cache.getRecord(CONFIG_PREFIX, OBJECT_ID, "oai_dc", record()).getText());
+        assertEquals("record3", cache.getRecord(CONFIG_PREFIX, OBJECT_ID, "oai_dc", record()).getText());
+        assertEquals(3, rendered.get());
+    }
+
+    @Test
+    public void missingRecord() throws Exception {
+        assertNull(cache.getRecord(CONFIG_PREFIX, OBJECT_ID, "oai_dc", () -> null));
+        assertFalse(hasEntries());
+        assertEquals("record1", cache.getRecord(CONFIG_PREFIX, OBJECT_ID, "oai_dc", record()).getText());
+    }
+
+    @Test
+    public void disabled() throws Exception {
+        MCROAIRecordCache disabled = new MCROAIRecordCache(false, root);
+        disabled.getRecord(CONFIG_PREFIX, OBJECT_ID, "oai_dc", record());
+        disabled.getRecord(CONFIG_PREFIX, OBJECT_ID, "oai_dc", record());
+        assertEquals(2, rendered.get());
+        assertFalse(hasEntries());
+    }
+
+    @Test
+    public void eventHandler() throws Exception {
+        MCROAIRecordCacheEventHandler handler = new MCROAIRecordCacheEventHandler(cache);
+        cache.getRecord(CONFIG_PREFIX, OBJECT_ID, "oai_dc", record());
+
+        MCRDerivate derivate = new MCRDerivate();
+        derivate.setId(MCRObjectID.getInstance("junit_derivate_00000001"));
+        derivate.getDerivate().setLinkMeta(new MCRMetaLinkID("linkmeta", OBJECT_ID, null, null));
+        MCREvent derivateEvent = new MCREvent(MCREvent.ObjectType.DERIVATE, MCREvent.EventType.UPDATE);
+        derivateEvent.put(MCREvent.DERIVATE_KEY, derivate);
+        handler.doHandleEvent(derivateEvent);
+        assertEquals("record2", cache.getRecord(CONFIG_PREFIX, OBJECT_ID, "oai_dc", record()).getText());
+
+        MCRObject object = new MCRObject();
+        object.setId(OBJECT_ID);
+        MCREvent objectEvent = new MCREvent(MCREvent.ObjectType.OBJECT, MCREvent.EventType.REPAIR);
+        objectEvent.put(MCREvent.OBJECT_KEY, object);
+        handler.doHandleEvent(objectEvent);
+        assertFalse(hasEntries());
+    }
+
+    private Supplier<Element> record() {
+        return () -> new Element("record").setText("record" + rendered.incrementAndGet());
+    }
+
+    private boolean hasEntries() throws Exception {
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.anyMatch(Files::isRegularFile);
+        }
+    }
+
+    private static Document objectXML() {
+        return new Document(new Element("mycoreobject").setAttribute("ID", OBJECT_ID.toString()));
+    }
+
+}
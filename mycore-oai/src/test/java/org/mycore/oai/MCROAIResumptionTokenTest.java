@@ -0,0 +1,130 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.oai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.mycore.oai.pmh.BadResumptionTokenException;
+import org.mycore.oai.pmh.Header;
+import org.mycore.oai.pmh.Header.Status;
+
+public class MCROAIResumptionTokenTest {
+
+    private static final byte[] KEY = "secret".getBytes(StandardCharsets.UTF_8);
+
+    private static final String CONFIG_PREFIX = "MCR.OAIDataProvider.OAI2.";
+
+    private static final Instant FROM = Instant.parse("2020-01-01T00:00:00Z");
+
+    private static final Instant UNTIL = Instant.parse("2024-12-31T23:59:59Z");
+
+    @Test
+    public void roundTrip() throws Exception {
+        MCROAIResumptionToken token = new MCROAIResumptionToken("oai_dc", "open_access", FROM, UNTIL, 1234,
+            "100_AoE/c29tZSBjdXJzb3I+==", expiration());
+        assertEquals(token, MCROAIResumptionToken.decode(token.encode(KEY, CONFIG_PREFIX), KEY, CONFIG_PREFIX));
+
+        MCROAIResumptionToken unrestricted = new MCROAIResumptionToken("mods", null, null, null, 0, "ä_ö",
+            expiration());
+        assertEquals(unrestricted,
+            MCROAIResumptionToken.decode(unrestricted.encode(KEY, CONFIG_PREFIX), KEY, CONFIG_PREFIX));
+
+        MCROAIResumptionToken next = token.next("200_next", expiration());
+        assertEquals(new MCROAIResumptionToken("oai_dc", "open_access", FROM, UNTIL, 1234, "200_next",
+            next.expirationDate()), next);
+    }
+
+    @Test
+    public void tamperedToken() {
+        String encoded = new MCROAIResumptionToken("oai_dc", null, FROM, null, 10, "5_cursor", expiration())
+            .encode(KEY, CONFIG_PREFIX);
+        char replacement = encoded.charAt(2) == 'A' ? 'B' : 'A';
+        String tampered = encoded.substring(0, 2) + replacement + encoded.substring(3);
+        assertThrows(BadResumptionTokenException.class,
+            () -> MCROAIResumptionToken.decode(tampered, KEY, CONFIG_PREFIX));
+        assertThrows(BadResumptionTokenException.class,
+            () -> MCROAIResumptionToken.decode(encoded, "other".getBytes(StandardCharsets.UTF_8), CONFIG_PREFIX));
+        assertThrows(BadResumptionTokenException.class,
+            () -> MCROAIResumptionToken.decode(encoded, KEY, "MCR.OAIDataProvider.Other."));
+        assertThrows(BadResumptionTokenException.class,
+            () -> MCROAIResumptionToken.decode(encoded.substring(0, encoded.indexOf('.')), KEY, CONFIG_PREFIX));
+        assertThrows(BadResumptionTokenException.class,
+            () -> MCROAIResumptionToken.decode("not a token", KEY, CONFIG_PREFIX));
+    }
+
+    @Test
+    public void expiredToken() {
+        String encoded = new MCROAIResumptionToken("oai_dc", null, null, null, 10, "5_cursor",
+            Instant.now().minusSeconds(1)).encode(KEY, CONFIG_PREFIX);
+        assertThrows(BadResumptionTokenException.class,
+            () -> MCROAIResumptionToken.decode(encoded, KEY, CONFIG_PREFIX));
+    }
+
+    /**
+     * Pages through deleted records with a new searcher for every page, like requests on different nodes.
+     */
+    @Test
+    public void deletedCursor() throws Exception {
+        List<Header> deleted = IntStream.rangeClosed(1, 5)
+            .mapToObj(i -> new Header("oai:junit:junit_mods_0000000" + i, FROM, Status.deleted))
+            .toList();
+        MCROAIResult result = createSearcher(deleted).query(null, FROM, null);
+        assertEquals(5, result.getNumHits());
+        assertEquals(List.of(deleted.get(0), deleted.get(1)), result.list());
+        // the combined searcher switches to the deleted searcher on this prefix
+        assertTrue(result.nextCursor().orElseThrow().startsWith(MCROAIDeletedSearcher.CURSOR_PREFIX));
+
+        MCROAIResumptionToken token = new MCROAIResumptionToken("oai_dc", null, FROM, null, result.getNumHits(),
+            result.nextCursor().get(), expiration());
+        token = MCROAIResumptionToken.decode(token.encode(KEY, CONFIG_PREFIX), KEY, CONFIG_PREFIX);
+        result = createSearcher(deleted).query(null, token.from(), token.until(), token.cursor());
+        assertEquals(List.of(deleted.get(2), deleted.get(3)), result.list());
+
+        token = token.next(result.nextCursor().orElseThrow(), expiration());
+        token = MCROAIResumptionToken.decode(token.encode(KEY, CONFIG_PREFIX), KEY, CONFIG_PREFIX);
+        result = createSearcher(deleted).query(null, token.from(), token.until(), token.cursor());
+        assertEquals(List.of(deleted.get(4)), result.list());
+        assertTrue(result.nextCursor().isEmpty());
+    }
+
+    private static MCROAIDeletedSearcher createSearcher(List<Header> deleted) {
+        MCROAIDeletedSearcher searcher = new MCROAIDeletedSearcher() {
+            @Override
+            protected List<Header> searchDeleted(Instant from, Instant until) {
+                return deleted;
+            }
+        };
+        searcher.init(null, null, 60_000, 2, null, null);
+        return searcher;
+    }
+
+    private static Instant expiration() {
+        return Instant.now().plus(1, ChronoUnit.HOURS).truncatedTo(ChronoUnit.MILLIS);
+    }
+
+}
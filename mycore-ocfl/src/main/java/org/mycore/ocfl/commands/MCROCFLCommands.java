@@ -360,8 +360,7 @@ public class MCROCFLCommands {
         help = "Permanently delete object {0} and its history from ocfl")
     public static void purgeObject(String mcridString) {
         MCRObjectID mcrid = MCRObjectID.getInstance(mcridString);
-        MCROCFLXMLMetadataManager manager = new MCROCFLXMLMetadataManager();
-        manager.setRepositoryKey(MCRConfiguration2.getStringOrThrow("MCR.Metadata.Manager.Repository"));
+        MCROCFLXMLMetadataManager manager = getMetadataManager();
         manager.purge(mcrid, new Date(), MCRUserManager.getCurrentUser().getUserName());
     }
 
@@ -408,9 +407,7 @@ public class MCROCFLCommands {
             confirmPurgeMarked = true;
             return;
         }
-        String repositoryKey = MCRConfiguration2.getStringOrThrow("MCR.Metadata.Manager.Repository");
-        MCROCFLXMLMetadataManager manager = new MCROCFLXMLMetadataManager();
-        manager.setRepositoryKey(repositoryKey);
+        MCROCFLXMLMetadataManager manager = getMetadataManager();
         OcflRepository repository = manager.getRepository();
         repository.listObjectIds()
             .filter(obj -> obj.startsWith(MCROCFLObjectIDPrefixHelper.MCROBJECT)
@@ -542,6 +539,15 @@ public class MCROCFLCommands {
         }
     }
 
+    @MCRCommand(syntax = "rebuild ocfl metadata catalog",
+        help = "Rebuilds the catalog of the OCFL metadata manager from the repository.")
+    public static void rebuildMetadataCatalog() {
+        MCROCFLXMLMetadataManager manager = getMetadataManager();
+        long count = manager.rebuildCatalog();
+        LOGGER.info("OCFL metadata catalog of repository {} contains {} objects.", manager.getRepositoryKey(),
+            count);
+    }
+
     @MCRCommand(syntax = "compact ocfl remote storage journal",
         help = "Compacts the journal for the remote temporary storage to improve startup performance.")
     public static void compactRemoteCacheJournal() throws IOException {
@@ -557,6 +563,19 @@ public class MCROCFLCommands {
         }
     }
 
+    /**
+     * Returns the configured OCFL metadata manager, so that its catalog is kept up to date. If another metadata
+     * manager is configured (e.g. during migration), a manager for the configured repository is created.
+     */
+    private static MCROCFLXMLMetadataManager getMetadataManager() {
+        if (MCRXMLMetadataManager.obtainInstance() instanceof MCROCFLXMLMetadataManager ocflManager) {
+            return ocflManager;
+        }
+        MCROCFLXMLMetadataManager manager = new MCROCFLXMLMetadataManager();
+        manager.setRepositoryKey(MCRConfiguration2.getStringOrThrow("MCR.Metadata.Manager.Repository"));
+        return manager;
+    }
+
     private static void logConfirm(String type) {
         LOGGER.info(() -> String.format(Locale.ROOT, """
 
@@ -0,0 +1,217 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.ocfl.metadata;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+import org.mycore.datamodel.metadata.MCRObjectID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.NamedQueries;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.Table;
+
+/**
+ * One row of the {@link MCROCFLObjectCatalog}. Describes the head version of a metadata object stored in an OCFL
+ * repository, so listing operations do not need to read the inventory of every object.
+ */
+@Entity
+@IdClass(MCROCFLCatalogEntry.Key.class)
+@Table(name = "MCROCFLCatalog",
+    indexes = {
+        @Index(name = "IDX_OCFLCAT_TYPE", columnList = "repository,objectType,deleted"),
+        @Index(name = "IDX_OCFLCAT_BASE", columnList = "repository,base,deleted")
+    })
+@NamedQueries({
+    @NamedQuery(name = "MCROCFLCatalog.listIDs",
+        query = "SELECT e.id FROM MCROCFLCatalogEntry e"
+            + " WHERE e.repository=:repository AND e.deleted=false ORDER BY e.id"),
+    @NamedQuery(name = "MCROCFLCatalog.listIDsOfType",
+        query = "SELECT e.id FROM MCROCFLCatalogEntry e"
+            + " WHERE e.repository=:repository AND e.objectType=:type AND e.deleted=false ORDER BY e.id"),
+    @NamedQuery(name = "MCROCFLCatalog.listIDsForBase",
+        query = "SELECT e.id FROM MCROCFLCatalogEntry e"
+            + " WHERE e.repository=:repository AND e.base=:base AND e.deleted=false ORDER BY e.id"),
+    @NamedQuery(name = "MCROCFLCatalog.listAllIDsForBase",
+        query = "SELECT e.id FROM MCROCFLCatalogEntry e"
+            + " WHERE e.repository=:repository AND e.base=:base ORDER BY e.id"),
+    @NamedQuery(name = "MCROCFLCatalog.getObjectTypes",
+        query = "SELECT DISTINCT e.objectType FROM MCROCFLCatalogEntry e WHERE e.repository=:repository"),
+    @NamedQuery(name = "MCROCFLCatalog.getObjectBaseIds",
+        query = "SELECT DISTINCT e.base FROM MCROCFLCatalogEntry e WHERE e.repository=:repository"),
+    @NamedQuery(name = "MCROCFLCatalog.getEntries",
+        query = "SELECT e FROM MCROCFLCatalogEntry e WHERE e.repository=:repository AND e.id IN (:ids)"),
+    @NamedQuery(name = "MCROCFLCatalog.deleteAll",
+        query = "DELETE FROM MCROCFLCatalogEntry e WHERE e.repository=:repository"),
+})
+public class MCROCFLCatalogEntry implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(length = MCRObjectID.MAX_LENGTH)
+    private String id;
+
+    @Id
+    @Column(length = 64)
+    private String repository;
+
+    @Column(length = MCRObjectID.MAX_LENGTH, nullable = false)
+    private String objectType;
+
+    @Column(length = MCRObjectID.MAX_LENGTH, nullable = false)
+    private String base;
+
+    @Column(length = 32)
+    private String headVersion;
+
+    @Column(nullable = false)
+    private boolean deleted;
+
+    private Instant lastModified;
+
+    public MCROCFLCatalogEntry() {
+    }
+
+    public MCROCFLCatalogEntry(String repository, MCRObjectID id) {
+        this.repository = repository;
+        this.id = id.toString();
+        this.objectType = id.getTypeId();
+        this.base = id.getBase();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getRepository() {
+        return repository;
+    }
+
+    public void setRepository(String repository) {
+        this.repository = repository;
+    }
+
+    public String getObjectType() {
+        return objectType;
+    }
+
+    public void setObjectType(String objectType) {
+        this.objectType = objectType;
+    }
+
+    public String getBase() {
+        return base;
+    }
+
+    public void setBase(String base) {
+        this.base = base;
+    }
+
+    public String getHeadVersion() {
+        return headVersion;
+    }
+
+    public void setHeadVersion(String headVersion) {
+        this.headVersion = headVersion;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(boolean deleted) {
+        this.deleted = deleted;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(Instant lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    @Override
+    public String toString() {
+        return "MCROCFLCatalogEntry [repository=" + repository + ", id=" + id + ", headVersion=" + headVersion
+            + ", deleted=" + deleted + ", lastModified=" + lastModified + "]";
+    }
+
+    /**
+     * Primary key of {@link MCROCFLCatalogEntry}.
+     */
+    public static class Key implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private String id;
+
+        private String repository;
+
+        public Key() {
+        }
+
+        public Key(String repository, String id) {
+            this.repository = repository;
+            this.id = id;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getRepository() {
+            return repository;
+        }
+
+        public void setRepository(String repository) {
+            this.repository = repository;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && Objects.equals(id, other.id)
+                && Objects.equals(repository, other.repository);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, repository);
+        }
+    }
+
+}
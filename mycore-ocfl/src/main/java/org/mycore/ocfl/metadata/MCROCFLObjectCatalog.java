@@ -0,0 +1,208 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.ocfl.metadata;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.mycore.backend.jpa.MCREntityManagerProvider;
+import org.mycore.datamodel.common.MCRObjectIDDate;
+import org.mycore.datamodel.ifs2.MCRObjectIDDateImpl;
+import org.mycore.datamodel.metadata.MCRObjectID;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Persistent catalog of all metadata objects of one OCFL repository.
+ * <p>
+ * Listing the ids of a type or base, the stored object types and base ids and the last modification dates of
+ * objects requires an inventory read per object in an OCFL repository, which is expensive for remote repositories.
+ * The catalog keeps id, type, base, head version, deleted flag and last modification date of every object in a
+ * database table. It is updated by {@link MCROCFLXMLMetadataManager} within the current JPA transaction and can be
+ * rebuilt from the repository with the command <code>rebuild ocfl metadata catalog</code>.
+ */
+public class MCROCFLObjectCatalog {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final String QUERY_PARAM_REPOSITORY = "repository";
+
+    private static final int MAX_IN_CLAUSE_SIZE = 1000;
+
+    private final String repositoryKey;
+
+    public MCROCFLObjectCatalog(String repositoryKey) {
+        this.repositoryKey = repositoryKey;
+    }
+
+    public String getRepositoryKey() {
+        return repositoryKey;
+    }
+
+    /**
+     * Creates or updates the catalog entry of the given object.
+     *
+     * @param mcrid the object id
+     * @param headVersion the new head version of the OCFL object
+     * @param deleted true if the head version marks the object as deleted
+     * @param lastModified the creation date of the head version
+     */
+    public void update(MCRObjectID mcrid, String headVersion, boolean deleted, Date lastModified) {
+        EntityManager em = MCREntityManagerProvider.getCurrentEntityManager();
+        MCROCFLCatalogEntry entry = em.find(MCROCFLCatalogEntry.class,
+            new MCROCFLCatalogEntry.Key(repositoryKey, mcrid.toString()));
+        if (entry == null) {
+            entry = new MCROCFLCatalogEntry(repositoryKey, mcrid);
+            em.persist(entry);
+        }
+        entry.setHeadVersion(headVersion);
+        entry.setDeleted(deleted);
+        entry.setLastModified(lastModified == null ? Instant.now() : lastModified.toInstant());
+        LOGGER.debug("Updated catalog entry {}", entry);
+    }
+
+    /**
+     * Removes the catalog entry of a purged object.
+     *
+     * @param mcrid the object id
+     */
+    public void remove(MCRObjectID mcrid) {
+        EntityManager em = MCREntityManagerProvider.getCurrentEntityManager();
+        Optional.ofNullable(em.find(MCROCFLCatalogEntry.class,
+            new MCROCFLCatalogEntry.Key(repositoryKey, mcrid.toString())))
+            .ifPresent(em::remove);
+    }
+
+    /**
+     * Removes all entries of this repository from the catalog.
+     */
+    public void clear() {
+        EntityManager em = MCREntityManagerProvider.getCurrentEntityManager();
+        em.flush();
+        int count = em.createNamedQuery("MCROCFLCatalog.deleteAll")
+            .setParameter(QUERY_PARAM_REPOSITORY, repositoryKey)
+            .executeUpdate();
+        // bulk deletes bypass the persistence context
+        em.clear();
+        LOGGER.info("Removed {} entries of repository {} from OCFL catalog", count, repositoryKey);
+    }
+
+    public List<String> listIDs() {
+        return MCREntityManagerProvider.getCurrentEntityManager()
+            .createNamedQuery("MCROCFLCatalog.listIDs", String.class)
+            .setParameter(QUERY_PARAM_REPOSITORY, repositoryKey)
+            .getResultList();
+    }
+
+    public List<String> listIDsOfType(String type) {
+        return MCREntityManagerProvider.getCurrentEntityManager()
+            .createNamedQuery("MCROCFLCatalog.listIDsOfType", String.class)
+            .setParameter(QUERY_PARAM_REPOSITORY, repositoryKey)
+            .setParameter("type", type)
+            .getResultList();
+    }
+
+    public List<String> listIDsForBase(String base) {
+        return MCREntityManagerProvider.getCurrentEntityManager()
+            .createNamedQuery("MCROCFLCatalog.listIDsForBase", String.class)
+            .setParameter(QUERY_PARAM_REPOSITORY, repositoryKey)
+            .setParameter("base", base)
+            .getResultList();
+    }
+
+    /**
+     * Lists the ids of all objects of the given base including deleted ones, whose ids must not be reused.
+     *
+     * @param base the base id
+     */
+    public List<String> listAllIDsForBase(String base) {
+        return MCREntityManagerProvider.getCurrentEntityManager()
+            .createNamedQuery("MCROCFLCatalog.listAllIDsForBase", String.class)
+            .setParameter(QUERY_PARAM_REPOSITORY, repositoryKey)
+            .setParameter("base", base)
+            .getResultList();
+    }
+
+    public Collection<String> getObjectTypes() {
+        return MCREntityManagerProvider.getCurrentEntityManager()
+            .createNamedQuery("MCROCFLCatalog.getObjectTypes", String.class)
+            .setParameter(QUERY_PARAM_REPOSITORY, repositoryKey)
+            .getResultList();
+    }
+
+    public Collection<String> getObjectBaseIds() {
+        return MCREntityManagerProvider.getCurrentEntityManager()
+            .createNamedQuery("MCROCFLCatalog.getObjectBaseIds", String.class)
+            .setParameter(QUERY_PARAM_REPOSITORY, repositoryKey)
+            .getResultList();
+    }
+
+    /**
+     * Returns the last modified dates of all not deleted objects of the given list in the order of the list.
+     * Ids unknown to the catalog are skipped.
+     *
+     * @param ids the object ids
+     */
+    public List<MCRObjectIDDate> retrieveObjectDates(List<String> ids) {
+        Map<String, MCROCFLCatalogEntry> entries = getEntries(ids);
+        List<MCRObjectIDDate> result = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            MCROCFLCatalogEntry entry = entries.get(id);
+            if (entry != null && !entry.isDeleted()) {
+                result.add(new MCRObjectIDDateImpl(Date.from(entry.getLastModified()), id));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the catalog entry of the given object.
+     *
+     * @param mcrid the object id
+     * @return the entry or empty if the object is not in the catalog
+     */
+    public Optional<MCROCFLCatalogEntry> getEntry(MCRObjectID mcrid) {
+        EntityManager em = MCREntityManagerProvider.getCurrentEntityManager();
+        return Optional.ofNullable(em.find(MCROCFLCatalogEntry.class,
+            new MCROCFLCatalogEntry.Key(repositoryKey, mcrid.toString())));
+    }
+
+    private Map<String, MCROCFLCatalogEntry> getEntries(List<String> ids) {
+        EntityManager em = MCREntityManagerProvider.getCurrentEntityManager();
+        Map<String, MCROCFLCatalogEntry> entries = new HashMap<>();
+        for (int i = 0; i < ids.size(); i += MAX_IN_CLAUSE_SIZE) {
+            List<String> chunk = ids.subList(i, Math.min(i + MAX_IN_CLAUSE_SIZE, ids.size()));
+            em.createNamedQuery("MCROCFLCatalog.getEntries", MCROCFLCatalogEntry.class)
+                .setParameter(QUERY_PARAM_REPOSITORY, repositoryKey)
+                .setParameter("ids", chunk)
+                .getResultList()
+                .forEach(entry -> entries.put(entry.getId(), entry));
+        }
+        return entries;
+    }
+
+}
@@ -28,6 +28,7 @@ import java.time.ZoneOffset;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -38,8 +39,11 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.jdom2.Document;
 import org.jdom2.JDOMException;
+import org.mycore.backend.jpa.MCREntityManagerProvider;
 import org.mycore.common.MCRCache;
 import org.mycore.common.MCRPersistenceException;
 import org.mycore.common.MCRSession;
@@ -79,6 +83,7 @@ import io.ocfl.api.model.VersionNum;
 import io.ocfl.core.extension.OcflExtensionConfig;
 import io.ocfl.core.extension.storage.layout.HashedNTupleIdEncapsulationLayoutExtension;
 import io.ocfl.core.extension.storage.layout.config.HashedNTupleIdEncapsulationLayoutConfig;
+import jakarta.persistence.EntityManager;
 
 /**
  * Manages persistence of MCRObject and MCRDerivate xml metadata. Provides
@@ -86,6 +91,10 @@ import io.ocfl.core.extension.storage.layout.config.HashedNTupleIdEncapsulationL
  */
 public class MCROCFLXMLMetadataManager implements MCRXMLMetadataManager {
 
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final int CATALOG_FLUSH_SIZE = 1000;
+
     private static final String MESSAGE_CREATED = "Created";
 
     private static final String MESSAGE_UPDATED = "Updated";
@@ -99,6 +108,8 @@ public class MCROCFLXMLMetadataManager implements MCRXMLMetadataManager {
 
     private String repositoryKey = "Default";
 
+    private MCROCFLObjectCatalog catalog;
+
     private static char convertMessageToType(String message) throws MCRPersistenceException {
         if (!MESSAGE_TYPE_MAPPING.containsKey(message)) {
             throw new MCRPersistenceException("Cannot identify version type from message '" + message + "'");
@@ -117,6 +128,29 @@ public class MCROCFLXMLMetadataManager implements MCRXMLMetadataManager {
     @MCRProperty(name = "Repository", required = false)
     public void setRepositoryKey(String repositoryKey) {
         this.repositoryKey = repositoryKey;
+        if (catalog != null) {
+            catalog = new MCROCFLObjectCatalog(repositoryKey);
+        }
+    }
+
+    /**
+     * Enables the {@link MCROCFLObjectCatalog} for this manager. If enabled, all listing operations and the last
+     * modified dates are answered by the catalog instead of reading every object of the repository.
+     *
+     * @param catalogEnabled "true" to enable the catalog
+     */
+    @MCRProperty(name = "Catalog", required = false)
+    public void setCatalogEnabled(String catalogEnabled) {
+        this.catalog = Boolean.parseBoolean(catalogEnabled) ? new MCROCFLObjectCatalog(repositoryKey) : null;
+    }
+
+    /**
+     * Returns the catalog of this manager.
+     *
+     * @return the catalog or empty if the catalog is not enabled
+     */
+    public Optional<MCROCFLObjectCatalog> getCatalog() {
+        return Optional.ofNullable(catalog);
     }
 
     @Override
@@ -139,8 +173,9 @@ public class MCROCFLXMLMetadataManager implements MCRXMLMetadataManager {
         String ocflObjectID = getOCFLObjectID(mcrid);
         VersionInfo info = buildVersionInfo(MESSAGE_CREATED, lastModified, user);
         try (InputStream objectAsStream = getContentStream(xml)) {
-            getRepository().updateObject(ObjectVersionId.head(ocflObjectID), info,
+            ObjectVersionId version = getRepository().updateObject(ObjectVersionId.head(ocflObjectID), info,
                 init -> init.writeFile(objectAsStream, buildFilePath(mcrid)));
+            updateCatalog(mcrid, version, false, lastModified);
         } catch (IOException | OverwriteException e) {
             throw new MCRPersistenceException("Failed to create object '" + ocflObjectID + "'", e);
         }
@@ -175,8 +210,9 @@ public class MCROCFLXMLMetadataManager implements MCRXMLMetadataManager {
         if (versionType == MCROCFLMetadataVersion.DELETED) {
             throw new MCRUsageException("Cannot delete already deleted object '" + ocflObjectID + "'");
         }
-        repo.updateObject(ObjectVersionId.head(ocflObjectID), buildVersionInfo(MESSAGE_DELETED, date, null),
-            init -> init.removeFile(buildFilePath(mcrid)));
+        ObjectVersionId version = repo.updateObject(ObjectVersionId.head(ocflObjectID),
+            buildVersionInfo(MESSAGE_DELETED, date, null), init -> init.removeFile(buildFilePath(mcrid)));
+        updateCatalog(mcrid, version, true, date);
     }
 
     public void purge(MCRObjectID mcrid, Date date, String user) {
@@ -187,6 +223,9 @@ public class MCROCFLXMLMetadataManager implements MCRXMLMetadataManager {
 
         OcflRepository repo = getRepository();
         repo.purgeObject(ocflObjectID);
+        if (catalog != null) {
+            catalog.remove(mcrid);
+        }
     }
 
     @Override
@@ -202,13 +241,55 @@ public class MCROCFLXMLMetadataManager implements MCRXMLMetadataManager {
         }
         try (InputStream objectAsStream = getContentStream(xml)) {
             VersionInfo versionInfo = buildVersionInfo(MESSAGE_UPDATED, lastModified, user);
-            getRepository().updateObject(ObjectVersionId.head(ocflObjectID), versionInfo,
+            ObjectVersionId version = getRepository().updateObject(ObjectVersionId.head(ocflObjectID), versionInfo,
                 init -> init.writeFile(objectAsStream, buildFilePath(mcrid), OcflOption.OVERWRITE));
+            updateCatalog(mcrid, version, false, lastModified);
         } catch (IOException e) {
             throw new MCRPersistenceException("Failed to update object '" + ocflObjectID + "'", e);
         }
     }
 
+    private void updateCatalog(MCRObjectID mcrid, ObjectVersionId version, boolean deleted, Date lastModified) {
+        if (catalog != null) {
+            catalog.update(mcrid, version.getVersionNum().toString(), deleted, lastModified);
+        }
+    }
+
+    /**
+     * Rebuilds the {@link MCROCFLObjectCatalog} from the repository. This reads the head version of every metadata
+     * object once.
+     *
+     * @return the number of objects written to the catalog
+     * @throws MCRUsageException if the catalog is not enabled
+     */
+    public long rebuildCatalog() {
+        if (catalog == null) {
+            throw new MCRUsageException("The OCFL catalog is not enabled for repository '" + repositoryKey + "'.");
+        }
+        catalog.clear();
+        OcflRepository repository = getRepository();
+        EntityManager em = MCREntityManagerProvider.getCurrentEntityManager();
+        long count = 0;
+        try (Stream<String> objectIds = repository.listObjectIds()) {
+            Iterator<String> metadataIds = objectIds.filter(this::isMetadata).iterator();
+            while (metadataIds.hasNext()) {
+                String ocflObjectID = metadataIds.next();
+                VersionDetails head = repository.describeObject(ocflObjectID).getHeadVersion();
+                catalog.update(MCRObjectID.getInstance(removePrefix(ocflObjectID)), head.getVersionNum().toString(),
+                    convertMessageToType(head.getVersionInfo().getMessage()) == MCROCFLMetadataVersion.DELETED,
+                    Date.from(head.getCreated().toInstant()));
+                count++;
+                if (count % CATALOG_FLUSH_SIZE == 0) {
+                    em.flush();
+                    em.clear();
+                    LOGGER.info("Added {} objects to OCFL catalog of repository {}", count, repositoryKey);
+                }
+            }
+        }
+        LOGGER.info("Rebuilt OCFL catalog of repository {} with {} objects", repositoryKey, count);
+        return count;
+    }
+
     private String getOCFLObjectID(MCRObjectID mcrid) {
         return getOCFLObjectID(mcrid.toString());
     }
@@ -333,6 +414,11 @@ public class MCROCFLXMLMetadataManager implements MCRXMLMetadataManager {
     }
 
     public IntStream getStoredIDs(String project, String type) throws MCRPersistenceException {
+        if (catalog != null) {
+            // deleted objects are included like in the repository listing below
+            return catalog.listAllIDsForBase(project + "_" + type).stream()
+                .mapToInt(id -> Integer.parseInt(id.substring(project.length() + type.length() + 2)));
+        }
         return getRepository().listObjectIds()
             .filter(this::isMetadata)
             .map(this::removePrefix)
@@ -462,6 +548,9 @@ public class MCROCFLXMLMetadataManager implements MCRXMLMetadataManager {
 
     @Override
     public List<String> listIDsForBase(String base) {
+        if (catalog != null) {
+            return catalog.listIDsForBase(base);
+        }
         return getRepository().listObjectIds()
             .filter(this::isMetadata)
             .filter(this::isNotDeleted)
@@ -473,6 +562,9 @@ public class MCROCFLXMLMetadataManager implements MCRXMLMetadataManager {
 
     @Override
     public List<String> listIDsOfType(String type) {
+        if (catalog != null) {
+            return catalog.listIDsOfType(type);
+        }
         return getRepository().listObjectIds()
             .filter(this::isMetadata)
             .filter(this::isNotDeleted)
@@ -483,6 +575,9 @@ public class MCROCFLXMLMetadataManager implements MCRXMLMetadataManager {
 
     @Override
     public List<String> listIDs() {
+        if (catalog != null) {
+            return catalog.listIDs();
+        }
         OcflRepository repo = getRepository();
         return repo
             .listObjectIds()
@@ -503,6 +598,9 @@ public class MCROCFLXMLMetadataManager implements MCRXMLMetadataManager {
 
     @Override
     public Collection<String> getObjectTypes() {
+        if (catalog != null) {
+            return catalog.getObjectTypes();
+        }
         return getRepository()
             .listObjectIds()
             .filter(this::isMetadata)
@@ -514,6 +612,9 @@ public class MCROCFLXMLMetadataManager implements MCRXMLMetadataManager {
 
     @Override
     public Collection<String> getObjectBaseIds() {
+        if (catalog != null) {
+            return catalog.getObjectBaseIds();
+        }
         return getRepository()
             .listObjectIds()
             .filter(this::isMetadata)
@@ -525,6 +626,9 @@ public class MCROCFLXMLMetadataManager implements MCRXMLMetadataManager {
 
     @Override
     public List<MCRObjectIDDate> retrieveObjectDates(List<String> ids) throws IOException {
+        if (catalog != null) {
+            return catalog.retrieveObjectDates(ids);
+        }
         try {
             return ids.stream()
                 .map(this::getOCFLObjectID)
@@ -545,6 +649,12 @@ public class MCROCFLXMLMetadataManager implements MCRXMLMetadataManager {
 
     @Override
     public long getLastModified(MCRObjectID id) throws IOException {
+        if (catalog != null) {
+            Optional<MCROCFLCatalogEntry> entry = catalog.getEntry(id);
+            if (entry.isPresent()) {
+                return entry.get().getLastModified().toEpochMilli();
+            }
+        }
         return getLastModified(getOCFLObjectID(id));
     }
 
@@ -0,0 +1,128 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.ocfl.metadata;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.junit.jupiter.api.TestTemplate;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mycore.common.MCRTestConfiguration;
+import org.mycore.common.MCRTestProperty;
+import org.mycore.common.content.MCRJDOMContent;
+import org.mycore.datamodel.common.MCRDefaultObjectIDGenerator;
+import org.mycore.datamodel.common.MCRObjectIDDate;
+import org.mycore.datamodel.common.MCRXMLMetadataManager;
+import org.mycore.datamodel.metadata.MCRObjectID;
+import org.mycore.ocfl.repository.MCROCFLRepository;
+import org.mycore.ocfl.test.MCROCFLSetupExtension;
+import org.mycore.ocfl.test.MCRPermutationExtension;
+import org.mycore.ocfl.test.PermutedParam;
+import org.mycore.test.MCRJPAExtension;
+import org.mycore.test.MyCoReTest;
+
+@MyCoReTest
+@ExtendWith({ MCRJPAExtension.class, MCRPermutationExtension.class, MCROCFLSetupExtension.class })
+@MCROCFLSetupExtension.LoadDefaultDerivate(false)
+@MCRTestConfiguration(
+    properties = {
+        @MCRTestProperty(key = "MCR.JPA.MappingFileNames",
+            string = "META-INF/mycore-base-mappings.xml,META-INF/mycore-ocfl-mappings.xml"),
+        @MCRTestProperty(key = "MCR.Metadata.Type.object", string = "true"),
+        @MCRTestProperty(key = "MCR.Metadata.Manager.Catalog", string = "true")
+    })
+public class MCROCFLObjectCatalogTest {
+
+    protected MCROCFLRepository repository;
+
+    @PermutedParam
+    private boolean remote;
+
+    private final boolean purge = false;
+
+    @TestTemplate
+    public void catalog() throws Exception {
+        MCRObjectID object1 = MCRObjectID.getInstance("junit_object_00000001");
+        MCRObjectID object2 = MCRObjectID.getInstance("junit_object_00000002");
+        MCRObjectID object3 = MCRObjectID.getInstance("other_object_00000001");
+        MCROCFLXMLMetadataManager manager = new MCROCFLXMLMetadataManager();
+        manager.setRepositoryKey(repository.getId());
+        manager.setCatalogEnabled("true");
+
+        Date created = new Date(1_700_000_000_000L);
+        manager.create(object1, content(object1), created);
+        manager.create(object2, content(object2), created);
+        manager.create(object3, content(object3), created);
+        Date updated = new Date(1_700_000_100_000L);
+        manager.update(object1, content(object1), updated);
+        manager.delete(object2);
+
+        assertCatalog(manager, updated, object1, object2, object3);
+
+        manager.rebuildCatalog();
+        assertCatalog(manager, updated, object1, object2, object3);
+
+        manager.purge(object3, new Date(), null);
+        assertEquals(List.of(object1.toString()), manager.listIDs());
+    }
+
+    @TestTemplate
+    public void deletedIdsAreNotReused() throws Exception {
+        MCRObjectID object1 = MCRObjectID.getInstance("junit_object_00000001");
+        MCRObjectID object2 = MCRObjectID.getInstance("junit_object_00000002");
+        MCROCFLXMLMetadataManager manager = (MCROCFLXMLMetadataManager) MCRXMLMetadataManager.obtainInstance();
+
+        Date created = new Date();
+        manager.create(object1, content(object1), created);
+        manager.create(object2, content(object2), created);
+        manager.delete(object2);
+
+        assertEquals(2, manager.getStoredIDs("junit", "object").max().orElse(0));
+        assertEquals(MCRObjectID.getInstance("junit_object_00000003"),
+            new MCRDefaultObjectIDGenerator().getNextFreeId("junit_object", 0));
+    }
+
+    private static void assertCatalog(MCROCFLXMLMetadataManager manager, Date updated, MCRObjectID object1,
+        MCRObjectID object2, MCRObjectID object3) throws Exception {
+        assertEquals(List.of(object1.toString(), object3.toString()), manager.listIDsOfType("object"));
+        assertEquals(List.of(object1.toString()), manager.listIDsForBase("junit_object"));
+        assertEquals(Set.of("object"), Set.copyOf(manager.getObjectTypes()));
+        assertEquals(Set.of("junit_object", "other_object"), Set.copyOf(manager.getObjectBaseIds()));
+
+        List<MCRObjectIDDate> dates = manager.retrieveObjectDates(
+            List.of(object3.toString(), object2.toString(), object1.toString()));
+        assertEquals(2, dates.size());
+        assertEquals(object3.toString(), dates.get(0).getId());
+        assertEquals(object1.toString(), dates.get(1).getId());
+        assertEquals(updated.getTime(), dates.get(1).getLastModified().getTime());
+        assertEquals(updated.getTime(), manager.getLastModified(object1));
+        assertTrue(manager.getCatalog().orElseThrow().getEntry(object2).orElseThrow().isDeleted());
+    }
+
+    private static MCRJDOMContent content(MCRObjectID id) {
+        return new MCRJDOMContent(new Document(new Element("mycoreobject").setAttribute("ID", id.toString())));
+    }
+
+}
@@ -491,9 +491,11 @@ public class MCRRestObjects {
     }
 
     private Response getThumbnail(String id, int size, String ext) {
-        List<MCRPath> mainDocs = MCRMetadataManager.getDerivateIds(MCRObjectID.getInstance(id))
-            .stream()
-            .filter(d -> MCRAccessManager.checkDerivateContentPermission(d, MCRAccessManager.PERMISSION_READ))
+        List<MCRObjectID> derivateIds = MCRMetadataManager.getDerivateIds(MCRObjectID.getInstance(id));
+        Map<String, Boolean> readable = MCRAccessManager.checkPermissions(
+            derivateIds.stream().map(MCRObjectID::toString).toList(), MCRAccessManager.PERMISSION_READ);
+        List<MCRPath> mainDocs = derivateIds.stream()
+            .filter(d -> readable.get(d.toString()))
             .map(d -> {
                 String nameOfMainFile = MCRMetadataManager.retrieveMCRDerivate(d).getDerivate().getInternals()
                     .getMainDoc();
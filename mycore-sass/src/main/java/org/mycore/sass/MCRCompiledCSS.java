@@ -0,0 +1,95 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.sass;
+
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.Optional;
+
+import org.mycore.common.MCRException;
+import org.mycore.common.MCRUtils;
+import org.mycore.frontend.jersey.MCRGzipEncoding;
+
+/**
+ * The immutable result of compiling a .scss file.
+ * <p>
+ * Besides the CSS, it holds the UTF-8 bytes and a gzip compressed copy, so that a cached stylesheet is delivered
+ * without encoding or compressing it again.
+ */
+public final class MCRCompiledCSS {
+
+    private final String css;
+
+    private final byte[] bytes;
+
+    private final byte[] gzip;
+
+    private final String md5;
+
+    private final long lastCompiled;
+
+    MCRCompiledCSS(String css) {
+        this.css = css;
+        this.bytes = css.getBytes(StandardCharsets.UTF_8);
+        this.gzip = MCRGzipEncoding.compress(bytes).orElse(null);
+        try {
+            this.md5 = MCRUtils.asMD5String(1, null, css);
+        } catch (NoSuchAlgorithmException e) {
+            throw new MCRException("Error while generating md5 of result css!", e);
+        }
+        this.lastCompiled = System.currentTimeMillis();
+    }
+
+    /**
+     * @return the compiled CSS
+     */
+    public String getCSS() {
+        return css;
+    }
+
+    /**
+     * @return the compiled CSS encoded in UTF-8, must not be modified
+     */
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return the gzip compressed CSS, must not be modified, or an empty optional if compressing does not pay off
+     */
+    public Optional<byte[]> getGzip() {
+        return Optional.ofNullable(gzip);
+    }
+
+    /**
+     * @return the md5 hash of the CSS
+     */
+    public String getMD5() {
+        return md5;
+    }
+
+    /**
+     * @return the time when the CSS was compiled
+     */
+    public Date getLastCompiled() {
+        return new Date(lastCompiled);
+    }
+
+}
@@ -22,6 +22,7 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.nio.file.NoSuchFileException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -156,6 +157,9 @@ class MCRSassCompiler implements Closeable {
         String ourURL = MCRResourceImporter.SASS_URL_PREFIX + realFileName;
         MCRResourceImporter importer = new MCRResourceImporter();
         ImportSuccess importSuccess = importer.handleImport(ourURL);
+        if (importSuccess == null) {
+            throw new NoSuchFileException(realFileName);
+        }
         Syntax syntax = importSuccess.getSyntax();
         ByteString content = importSuccess.getContentsBytes();
         customImporters.put(importer.getId(), importer.autoCanonicalize());
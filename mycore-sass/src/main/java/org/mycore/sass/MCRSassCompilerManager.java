@@ -19,15 +19,19 @@
 package org.mycore.sass;
 
 import java.io.IOException;
-import java.security.NoSuchAlgorithmException;
+import java.nio.file.NoSuchFileException;
 import java.util.Date;
-import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.mycore.common.MCRException;
-import org.mycore.common.MCRUtils;
 import org.mycore.common.config.MCRConfiguration2;
+import org.mycore.common.events.MCRShutdownHandler;
 
 import de.larsgrefer.sass.embedded.SassCompilationFailedException;
 import de.larsgrefer.sass.embedded.connection.ConnectionFactory;
@@ -36,24 +40,41 @@ import jakarta.servlet.ServletContext;
 
 /**
  * Compiles .scss to .css or .min.css using different sources ({@link Importer}s)
+ * <p>
+ * Compiled stylesheets are kept in a cache that is read without locking. If a stylesheet is requested by several
+ * threads before it is compiled, it is compiled only once and the other threads wait for the result. All stylesheets
+ * are compiled by one dart-sass process, that is started with the first compilation and reused afterward.
  *
  * @author Sebastian Hofmann (mcrshofm)
  */
 public final class MCRSassCompilerManager {
 
+    private static final Logger LOGGER = LogManager.getLogger();
+
     private static final String DEVELOPER_MODE_CONFIG_KEY = "MCR.SASS.DeveloperMode";
 
     private static final String SASS_QUIET_DEPS = "MCR.SASS.QuietDeps";
 
     private static final String SASS_SILENCE_DEPRECATIONS = "MCR.SASS.SilenceDeprecations";
 
-    private final Map<String, String> fileCompiledContentMap = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CompletableFuture<MCRCompiledCSS>> compiledCSSMap = new ConcurrentHashMap<>();
+
+    private final Object compilerLock = new Object();
 
-    private final Map<String, Date> fileLastCompileDateMap = new ConcurrentHashMap<>();
+    private final CompileFunction compileFunction;
 
-    private final Map<String, String> fileMD5Map = new ConcurrentHashMap<>();
+    private MCRSassCompiler compiler;
 
-    private MCRSassCompilerManager(){
+    private MCRSassCompilerManager() {
+        this.compileFunction = this::compile;
+        MCRShutdownHandler.getInstance().addCloseable(this::closeCompiler);
+    }
+
+    /**
+     * Creates a manager that compiles with the given function instead of dart-sass, used by tests.
+     */
+    MCRSassCompilerManager(CompileFunction compileFunction) {
+        this.compileFunction = compileFunction;
     }
 
     /**
@@ -73,13 +94,33 @@ public final class MCRSassCompilerManager {
      * @throws SassCompilationFailedException if compiling sass input fails
      * @throws IOException                    if communication with dart-sass or reading input fails
      */
-    public synchronized Optional<String> getCSSFile(String file, ServletContext servletContext)
+    public Optional<String> getCSSFile(String file, ServletContext servletContext)
         throws IOException, SassCompilationFailedException {
-        if (!isDeveloperMode() && fileCompiledContentMap.containsKey(file)) {
-            return Optional.of(fileCompiledContentMap.get(file));
-        } else {
-            return Optional.ofNullable(compile(file));
+        return getCompiledCSS(file).map(MCRCompiledCSS::getCSS);
+    }
+
+    /**
+     * Gets the compiled CSS together with its compressed variant and md5 hash. The CSS is taken from the cache, if
+     * the developer mode is not enabled.
+     *
+     * @param file the path to a .scss file. File should end with .css or .min.css
+     * @return Optional with the compiled css. Empty optional if the fileName is not valid.
+     * @throws SassCompilationFailedException if compiling sass input fails
+     * @throws IOException                    if communication with dart-sass or reading input fails
+     */
+    public Optional<MCRCompiledCSS> getCompiledCSS(String file) throws IOException, SassCompilationFailedException {
+        if (isDeveloperMode()) {
+            compiledCSSMap.remove(file);
         }
+        CompletableFuture<MCRCompiledCSS> compiledCSS = compiledCSSMap.get(file);
+        if (compiledCSS == null) {
+            CompletableFuture<MCRCompiledCSS> compilation = new CompletableFuture<>();
+            compiledCSS = compiledCSSMap.putIfAbsent(file, compilation);
+            if (compiledCSS == null) {
+                return compile(file, compilation);
+            }
+        }
+        return Optional.of(await(compiledCSS));
     }
 
     /**
@@ -87,7 +128,7 @@ public final class MCRSassCompilerManager {
      * @return the time when the specific file was compiled last time.
      */
     public Optional<Date> getLastCompiled(String name) {
-        return Optional.ofNullable(fileLastCompileDateMap.get(name));
+        return getCompiledIfPresent(name).map(MCRCompiledCSS::getLastCompiled);
     }
 
     /**
@@ -95,47 +136,110 @@ public final class MCRSassCompilerManager {
      * @return the md5 hash of the last compiled specific file.
      */
     public Optional<String> getLastMD5(String name) {
-        return Optional.ofNullable(fileMD5Map.get(name));
+        return getCompiledIfPresent(name).map(MCRCompiledCSS::getMD5);
+    }
+
+    private Optional<MCRCompiledCSS> getCompiledIfPresent(String name) {
+        CompletableFuture<MCRCompiledCSS> compiledCSS = compiledCSSMap.get(name);
+        if (compiledCSS == null || !compiledCSS.isDone() || compiledCSS.isCompletedExceptionally()) {
+            return Optional.empty();
+        }
+        return Optional.of(compiledCSS.join());
+    }
+
+    /**
+     * Compiles a file and completes the compilation, that other threads are waiting for. Failed compilations are
+     * removed from the cache, so that the next request tries again.
+     */
+    private Optional<MCRCompiledCSS> compile(String name, CompletableFuture<MCRCompiledCSS> compilation)
+        throws IOException, SassCompilationFailedException {
+        try {
+            MCRCompiledCSS compiledCSS = new MCRCompiledCSS(compileFunction.compile(name));
+            compilation.complete(compiledCSS);
+            return Optional.of(compiledCSS);
+        } catch (NoSuchFileException e) {
+            compiledCSSMap.remove(name, compilation);
+            compilation.completeExceptionally(e);
+            return Optional.empty();
+        } catch (IOException | SassCompilationFailedException | RuntimeException e) {
+            compiledCSSMap.remove(name, compilation);
+            compilation.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static MCRCompiledCSS await(CompletableFuture<MCRCompiledCSS> compiledCSS)
+        throws IOException, SassCompilationFailedException {
+        try {
+            return compiledCSS.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MCRException("Interrupted while waiting for sass compilation", e);
+        } catch (ExecutionException e) {
+            switch (e.getCause()) {
+                case IOException ioe -> throw ioe;
+                case SassCompilationFailedException scfe -> throw scfe;
+                case RuntimeException re -> throw re;
+                default -> throw new MCRException("Error while compiling sass", e.getCause());
+            }
+        }
     }
 
     /**
-     * Just compiles a file and fills all maps.
+     * Just compiles a file.
      *
      * @param name the name of the file (with .min.css or .css ending)
      * @return the compiled css
      * @throws SassCompilationFailedException if compiling sass input fails
+     * @throws NoSuchFileException            if there is no .scss file for the name
      * @throws IOException                    if communication with dart-sass or reading input fails
      */
     private String compile(String name)
         throws IOException, SassCompilationFailedException {
-        String css;
-        try (MCRSassCompiler sassCompiler = new MCRSassCompiler(ConnectionFactory.bundled())) {
-            sassCompiler.setQuietDeps(MCRConfiguration2.getBoolean(SASS_QUIET_DEPS)
-                .orElseThrow(() -> MCRConfiguration2.createConfigurationException(SASS_QUIET_DEPS)));
-            sassCompiler.setSilenceDeprecations(
-                MCRConfiguration2.getOrThrow(SASS_SILENCE_DEPRECATIONS, MCRConfiguration2::splitValue)
-                    .toList());
-            String realFileName = getRealFileName(name);
-            var compileSuccess = sassCompiler.compile(realFileName);
-            css = compileSuccess.getCss();
+        String realFileName = getRealFileName(name);
+        synchronized (compilerLock) {
+            if (compiler == null) {
+                compiler = createCompiler();
+            }
+            try {
+                LOGGER.info("Compiling {}", realFileName);
+                return compiler.compile(realFileName).getCss();
+            } catch (SassCompilationFailedException | NoSuchFileException e) {
+                throw e;
+            } catch (IOException | RuntimeException e) {
+                // the state of the dart-sass process is unknown, so start a new one next time
+                closeCompiler();
+                throw e;
+            }
         }
 
         //boolean compress = name.endsWith(".min.css");
         //if (compress) {
         // […] // css = MCRSassCompressor.compress(css);
         //}
+    }
 
-        this.fileCompiledContentMap.put(name, css);
-        this.fileLastCompileDateMap.put(name, new Date());
+    private static MCRSassCompiler createCompiler() throws IOException {
+        MCRSassCompiler sassCompiler = new MCRSassCompiler(ConnectionFactory.bundled());
+        sassCompiler.setQuietDeps(MCRConfiguration2.getBoolean(SASS_QUIET_DEPS)
+            .orElseThrow(() -> MCRConfiguration2.createConfigurationException(SASS_QUIET_DEPS)));
+        sassCompiler.setSilenceDeprecations(
+            MCRConfiguration2.getOrThrow(SASS_SILENCE_DEPRECATIONS, MCRConfiguration2::splitValue)
+                .toList());
+        return sassCompiler;
+    }
 
-        try {
-            this.fileMD5Map.put(name, MCRUtils.asMD5String(1, null, css));
-        } catch (NoSuchAlgorithmException e) {
-            throw new MCRException("Error while generating md5 of result css!", e);
+    private void closeCompiler() {
+        synchronized (compilerLock) {
+            if (compiler != null) {
+                try {
+                    compiler.close();
+                } catch (IOException e) {
+                    LOGGER.warn("Error while closing sass compiler", e);
+                }
+                compiler = null;
+            }
         }
-
-        return css;
-
     }
 
     /**
@@ -155,6 +259,21 @@ public final class MCRSassCompilerManager {
         return MCRConfiguration2.getBoolean(DEVELOPER_MODE_CONFIG_KEY).orElse(false);
     }
 
+    /**
+     * Compiles a .scss file to CSS.
+     */
+    @FunctionalInterface
+    interface CompileFunction {
+
+        /**
+         * @param name the name of the file (with .min.css or .css ending)
+         * @return the compiled css
+         * @throws NoSuchFileException if there is no .scss file for the name
+         */
+        String compile(String name) throws IOException, SassCompilationFailedException;
+
+    }
+
     private static final class LazyInstanceHolder {
         public static final MCRSassCompilerManager SINGLETON_INSTANCE = new MCRSassCompilerManager();
     }
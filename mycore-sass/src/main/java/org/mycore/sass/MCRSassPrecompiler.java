@@ -0,0 +1,73 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.sass;
+
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.mycore.common.config.MCRConfiguration2;
+import org.mycore.common.events.MCRStartupHandler;
+
+import jakarta.servlet.ServletContext;
+
+/**
+ * Compiles the stylesheets listed in <code>MCR.SASS.Precompile</code> on startup, so that the first requests do not
+ * have to wait for the compilation. The stylesheets are compiled in a background thread, requests for a stylesheet
+ * that is compiled at the moment wait for that compilation.
+ */
+public class MCRSassPrecompiler implements MCRStartupHandler.AutoExecutable {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final String PRECOMPILE_CONFIG_KEY = "MCR.SASS.Precompile";
+
+    @Override
+    public String getName() {
+        return "Precompile SASS stylesheets";
+    }
+
+    @Override
+    public int getPriority() {
+        return 0;
+    }
+
+    @Override
+    public void startUp(ServletContext servletContext) {
+        MCRSassCompilerManager manager = MCRSassCompilerManager.getInstance();
+        List<String> files = MCRConfiguration2.getString(PRECOMPILE_CONFIG_KEY).stream()
+            .flatMap(MCRConfiguration2::splitValue)
+            .toList();
+        if (files.isEmpty() || manager.isDeveloperMode()) {
+            return;
+        }
+        Thread.ofPlatform().name("MCRSassPrecompiler").daemon().start(() -> {
+            for (String file : files) {
+                try {
+                    if (manager.getCompiledCSS(file).isEmpty()) {
+                        LOGGER.warn("Could not precompile {}, the file does not exist", file);
+                    }
+                } catch (Exception e) {
+                    LOGGER.error("Error while precompiling {}", file, e);
+                }
+            }
+        });
+    }
+
+}
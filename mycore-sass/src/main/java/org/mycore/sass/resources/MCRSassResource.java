@@ -24,7 +24,9 @@ import java.io.PrintStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
+import org.mycore.frontend.jersey.MCRGzipEncoding;
 import org.mycore.frontend.jersey.MCRStaticContent;
+import org.mycore.sass.MCRCompiledCSS;
 import org.mycore.sass.MCRSassCompilerManager;
 
 import de.larsgrefer.sass.embedded.SassCompilationFailedException;
@@ -36,12 +38,16 @@ import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.CacheControl;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.StreamingOutput;
 
 /**
  * Resource to deliver CSS files compiled by SASS
+ * <p>
+ * The md5 hash of the CSS is used as strong entity tag. Clients that accept gzip encoding get the compressed CSS,
+ * that has its own entity tag.
  */
 @Path("/sass/")
 @MCRStaticContent
@@ -56,33 +62,43 @@ public class MCRSassResource {
      * return the compiled CSS 
      * @param name - the name of file
      * @param request - the Http request
+     * @param headers - the Http headers
      * @return the response object
      */
     @GET
     @Path("{fileName:.+}")
     @Produces("text/css")
-    public Response getCSS(@PathParam("fileName") String name, @Context Request request) {
+    public Response getCSS(@PathParam("fileName") String name, @Context Request request,
+        @Context HttpHeaders headers) {
         try {
-            Optional<String> cssFile = MCRSassCompilerManager.getInstance()
-                .getCSSFile(name, context);
+            Optional<MCRCompiledCSS> cssFile = MCRSassCompilerManager.getInstance().getCompiledCSS(name);
 
             if (cssFile.isPresent()) {
                 CacheControl cc = new CacheControl();
                 cc.setMaxAge(SECONDS_OF_ONE_DAY);
 
-                String etagString = MCRSassCompilerManager.getInstance().getLastMD5(name).get();
-                EntityTag etag = new EntityTag(etagString);
+                MCRCompiledCSS css = cssFile.get();
+                Optional<byte[]> gzip = css.getGzip().filter(g -> MCRGzipEncoding.acceptsGzip(headers));
+                EntityTag etag = new EntityTag(
+                    gzip.isPresent() ? css.getMD5() + "-" + MCRGzipEncoding.GZIP : css.getMD5());
 
                 Response.ResponseBuilder builder = request.evaluatePreconditions(etag);
                 if (builder != null) {
-                    return builder.cacheControl(cc).tag(etag).build();
+                    return builder.cacheControl(cc).tag(etag)
+                        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                        .build();
                 }
 
-                return Response.ok().status(Response.Status.OK)
+                builder = Response.ok().status(Response.Status.OK)
                     .cacheControl(cc)
                     .tag(etag)
-                    .entity(cssFile.get())
-                    .build();
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                if (gzip.isPresent()) {
+                    return builder.header(HttpHeaders.CONTENT_ENCODING, MCRGzipEncoding.GZIP)
+                        .entity(gzip.get())
+                        .build();
+                }
+                return builder.entity(css.getBytes()).build();
             } else {
                 return Response.status(Response.Status.NOT_FOUND)
                     .build();
@@ -93,4 +109,5 @@ public class MCRSassResource {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR).entity(so).build();
         }
     }
+
 }
@@ -0,0 +1,113 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.sass;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.mycore.test.MyCoReTest;
+
+@MyCoReTest
+public class MCRSassCompilerManagerTest {
+
+    private static final String CSS = "body { color: black; }";
+
+    private final AtomicInteger compilations = new AtomicInteger();
+
+    @Test
+    public void concurrentRequestsCompileOnce() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MCRSassCompilerManager manager = new MCRSassCompilerManager(name -> {
+            compilations.incrementAndGet();
+            started.countDown();
+            try {
+                assertTrue(release.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            return CSS;
+        });
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<MCRCompiledCSS>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> manager.getCompiledCSS("test.css").orElseThrow()));
+            }
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            // give the other threads the chance to request the stylesheet while it is compiled
+            Thread.sleep(100);
+            release.countDown();
+            MCRCompiledCSS first = results.getFirst().get(10, TimeUnit.SECONDS);
+            assertEquals(CSS, first.getCSS());
+            for (Future<MCRCompiledCSS> result : results) {
+                assertSame(first, result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, compilations.get());
+        assertSame(manager.getCompiledCSS("test.css").orElseThrow(), manager.getCompiledCSS("test.css").get());
+        assertEquals(1, compilations.get());
+    }
+
+    @Test
+    public void failedCompilationIsNotCached() throws Exception {
+        MCRSassCompilerManager manager = new MCRSassCompilerManager(name -> {
+            if (compilations.incrementAndGet() == 1) {
+                throw new IOException("dart-sass failed");
+            }
+            return CSS;
+        });
+        assertThrows(IOException.class, () -> manager.getCompiledCSS("test.css"));
+        assertTrue(manager.getLastMD5("test.css").isEmpty());
+
+        assertEquals(CSS, manager.getCompiledCSS("test.css").orElseThrow().getCSS());
+        assertEquals(2, compilations.get());
+        assertTrue(manager.getLastMD5("test.css").isPresent());
+    }
+
+    @Test
+    public void missingFileIsNotCached() throws Exception {
+        MCRSassCompilerManager manager = new MCRSassCompilerManager(name -> {
+            compilations.incrementAndGet();
+            throw new NoSuchFileException(name);
+        });
+        assertTrue(manager.getCompiledCSS("missing.css").isEmpty());
+        assertTrue(manager.getCompiledCSS("missing.css").isEmpty());
+        assertEquals(2, compilations.get());
+    }
+
+}
@@ -128,6 +128,15 @@ public class MCRSolrCommands extends MCRAbstractCommands {
         MCRSolrIndexer.rebuildContentIndex(cores);
     }
 
+    @MCRCommand(
+        syntax = "update solr content index in core {0}",
+        help = "sends only new and changed files of all derivates to the content index in Solr in core with the id {0}",
+        order = 185)
+    public static void updateContentIndex(String indexName) {
+        List<MCRSolrIndex> cores = getIndexList(indexName);
+        MCRSolrIndexer.updateContentIndex(cores);
+    }
+
     @MCRCommand(
         syntax = "rebuild solr classification index in core {0}",
         help = "rebuilds classification index in Solr in the core with the id {0}",
@@ -233,6 +242,39 @@ public class MCRSolrCommands extends MCRAbstractCommands {
         MCRSolrIndexer.synchronizeMetadataIndex(cores);
     }
 
+    @MCRCommand(
+        syntax = "synchronize solr metadata index including modification dates"
+            + " for all objects of type {0} in core {1}",
+        help = "synchronizes the MyCoRe store and index in Solr in core with the id {1} for objects of type {0} "
+            + "by a streaming sorted merge, reindexing also documents with outdated modification date",
+        order = 421)
+    public static void synchronizeMetadataIndexStreaming(String objectType, String indexIDs) throws Exception {
+        List<MCRSolrIndex> cores = getIndexList(indexIDs);
+        MCRSolrIndexer.synchronizeMetadataIndex(cores, objectType, true);
+    }
+
+    @MCRCommand(
+        syntax = "synchronize solr metadata index including modification dates"
+            + " for all objects of base {0} in core {1}",
+        help = "synchronizes the MyCoRe store and index in Solr in core with the id {1} for objects of base {0} "
+            + "by a streaming sorted merge, reindexing also documents with outdated modification date",
+        order = 421)
+    public static void synchronizeMetadataIndexForObjectBaseStreaming(String objectBase, String indexIDs)
+        throws Exception {
+        List<MCRSolrIndex> cores = getIndexList(indexIDs);
+        MCRSolrIndexer.synchronizeMetadataIndexForObjectBase(cores, objectBase, true);
+    }
+
+    @MCRCommand(
+        syntax = "synchronize solr metadata index including modification dates in core {0}",
+        help = "synchronizes the MyCoRe store and index in Solr in core with the id {0} by a streaming sorted merge, "
+            + "reindexing also documents with outdated modification date",
+        order = 431)
+    public static void synchronizeMetadataIndexStreaming(String indexIDs) throws Exception {
+        List<MCRSolrIndex> cores = getIndexList(indexIDs);
+        MCRSolrIndexer.synchronizeMetadataIndex(cores, true);
+    }
+
     private static List<MCRSolrIndex> getIndexList(String indexIDs) {
         return Stream.of(indexIDs.split("[, ]")).map(MCRSolrCommands::getIndex)
             .toList();
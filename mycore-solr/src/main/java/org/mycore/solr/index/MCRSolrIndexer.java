@@ -152,14 +152,19 @@ public class MCRSolrIndexer {
                 String metadataStats = new MessageFormat("XML documents: {0}, each: {1} ms.", Locale.ROOT).format(
                     new Object[] { MCRSolrIndexStatisticCollector.XML.getDocuments(),
                         MCRSolrIndexStatisticCollector.XML.reset() });
-                String fileStats = new MessageFormat("File transfers: {0}, each: {1} ms.", Locale.ROOT).format(
-                    new Object[] { MCRSolrIndexStatisticCollector.FILE_TRANSFER.getDocuments(),
+                String fileStats = new MessageFormat("File transfers: {0}, skipped: {1}, each: {2} ms.", Locale.ROOT)
+                    .format(new Object[] { MCRSolrIndexStatisticCollector.FILE_TRANSFER.getDocuments(),
+                        MCRSolrIndexStatisticCollector.FILE_TRANSFER.getSkipped(),
                         MCRSolrIndexStatisticCollector.FILE_TRANSFER.reset() });
+                String tikaStats = new MessageFormat("Tika extractions: {0}, cache hits: {1}, each: {2} ms.",
+                    Locale.ROOT).format(new Object[] { MCRSolrIndexStatisticCollector.TIKA.getDocuments(),
+                        MCRSolrIndexStatisticCollector.TIKA.getHits(),
+                        MCRSolrIndexStatisticCollector.TIKA.reset() });
                 String operationsStats = new MessageFormat("Other index operations: {0}, each: {1} ms.", Locale.ROOT)
                     .format(new Object[] { MCRSolrIndexStatisticCollector.OPERATIONS.getDocuments(),
                         MCRSolrIndexStatisticCollector.OPERATIONS.reset() });
-                String msg = new MessageFormat("\nFinal statistics:\n{0}\n{1}\n{2}\n{3}", Locale.ROOT)
-                    .format(new Object[] { documentStats, metadataStats, fileStats, operationsStats });
+                String msg = new MessageFormat("\nFinal statistics:\n{0}\n{1}\n{2}\n{3}\n{4}", Locale.ROOT)
+                    .format(new Object[] { documentStats, metadataStats, fileStats, tikaStats, operationsStats });
                 LOGGER.info(msg);
             }
 
@@ -425,6 +430,14 @@ public class MCRSolrIndexer {
         rebuildContentIndex(MCRXMLMetadataManager.obtainInstance().listIDsOfType(MCRDerivate.OBJECT_TYPE), indexList);
     }
 
+    /**
+     * Sends new and changed files of all derivates to solr's content index.
+     */
+    public static void updateContentIndex(List<MCRSolrIndex> indexList) {
+        rebuildContentIndex(MCRXMLMetadataManager.obtainInstance().listIDsOfType(MCRDerivate.OBJECT_TYPE), indexList,
+            LOW_PRIORITY, true);
+    }
+
     /**
      * Rebuilds solr's content index.
      *
@@ -448,6 +461,23 @@ public class MCRSolrIndexer {
      *            higher priority means earlier execution
      */
     public static void rebuildContentIndex(List<String> list, List<MCRSolrIndex> indexList, int priority) {
+        rebuildContentIndex(list, indexList, priority, false);
+    }
+
+    /**
+     * Rebuilds solr's content index.
+     *
+     * @param indexList
+     *            the solr cores to send the objects to
+     * @param list
+     *            list of mycore object id's
+     * @param priority
+     *            higher priority means earlier execution
+     * @param incremental
+     *            if <code>true</code>, files with unchanged digest and modification date are skipped
+     */
+    public static void rebuildContentIndex(List<String> list, List<MCRSolrIndex> indexList, int priority,
+        boolean incremental) {
         LOGGER.info("Re-building Content Index");
 
         if (list.isEmpty()) {
@@ -460,6 +490,7 @@ public class MCRSolrIndexer {
 
         for (String id : list) {
             MCRSolrFilesIndexHandler indexHandler = new MCRSolrFilesIndexHandler(id);
+            indexHandler.setIncremental(incremental);
             indexHandler.setCommitWithin(BATCH_AUTO_COMMIT_WITHIN_MS);
             indexHandler.setDestinationIndex(indexList);
             submitIndexHandler(indexHandler, priority);
@@ -577,10 +608,7 @@ public class MCRSolrIndexer {
      * database. All solr zombie documents will be removed, and all not indexed mycore objects will be indexed.
      */
     public static void synchronizeMetadataIndex(List<MCRSolrIndex> indexList) throws IOException, SolrServerException {
-        Collection<String> objectTypes = MCRXMLMetadataManager.obtainInstance().getObjectTypes();
-        for (String objectType : objectTypes) {
-            synchronizeMetadataIndex(indexList, objectType);
-        }
+        synchronizeMetadataIndex(indexList, false);
     }
 
     /**
@@ -590,16 +618,76 @@ public class MCRSolrIndexer {
      */
     public static void synchronizeMetadataIndex(List<MCRSolrIndex> indexList, String objectType)
         throws IOException, SolrServerException {
-        synchronizeMetadataIndex(indexList, objectType,
-            () -> MCRXMLMetadataManager.obtainInstance().listIDsOfType(objectType),
-            "objectType:" + objectType);
+        synchronizeMetadataIndex(indexList, objectType, false);
     }
 
     public static void synchronizeMetadataIndexForObjectBase(List<MCRSolrIndex> indexList, String objectBase)
         throws IOException, SolrServerException {
-        final String solrQuery = "objectType:" + objectBase.split("_")[1] + " _root_:" + objectBase + "_*";
+        synchronizeMetadataIndexForObjectBase(indexList, objectBase, false);
+    }
+
+    /**
+     * Synchronizes the solr server with the mycore store. If <code>streaming</code> is true, store and solr are
+     * compared by a sorted merge that also detects stale documents by their modification date.
+     *
+     * @param indexList the solr cores to synchronize
+     * @param streaming use {@link MCRSolrMetadataSynchronizer} instead of the list based comparison
+     * @see #synchronizeMetadataIndex(List, String, boolean)
+     */
+    public static void synchronizeMetadataIndex(List<MCRSolrIndex> indexList, boolean streaming)
+        throws IOException, SolrServerException {
+        Collection<String> objectTypes = MCRXMLMetadataManager.obtainInstance().getObjectTypes();
+        for (String objectType : objectTypes) {
+            synchronizeMetadataIndex(indexList, objectType, streaming);
+        }
+    }
+
+    /**
+     * Synchronizes the solr server with the mycore store for a given object type. If <code>streaming</code> is
+     * true, both sides are walked in sorted order and only missing, stale and zombie documents are handled.
+     * This needs no quadratic list comparison and keeps only the store ids in memory.
+     *
+     * @param indexList the solr cores to synchronize
+     * @param objectType the object type to synchronize
+     * @param streaming use {@link MCRSolrMetadataSynchronizer} instead of the list based comparison
+     */
+    public static void synchronizeMetadataIndex(List<MCRSolrIndex> indexList, String objectType, boolean streaming)
+        throws IOException, SolrServerException {
+        synchronizeMetadataIndex(indexList, objectType,
+            () -> MCRXMLMetadataManager.obtainInstance().listIDsOfType(objectType),
+            "objectType:" + objectType, streaming);
+    }
+
+    /**
+     * Synchronizes the solr server with the mycore store for a given object base.
+     *
+     * @param indexList the solr cores to synchronize
+     * @param objectBase the object base to synchronize, e.g. mir_mods
+     * @param streaming use {@link MCRSolrMetadataSynchronizer} instead of the list based comparison
+     * @see #synchronizeMetadataIndex(List, String, boolean)
+     */
+    public static void synchronizeMetadataIndexForObjectBase(List<MCRSolrIndex> indexList, String objectBase,
+        boolean streaming) throws IOException, SolrServerException {
+        String type = objectBase.split("_")[1];
+        // the streaming sync needs a query that matches exactly the root documents of the base
+        final String solrQuery = streaming ? "+objectType:" + type + " +id:" + objectBase + "_*"
+            : "objectType:" + type + " _root_:" + objectBase + "_*";
         synchronizeMetadataIndex(indexList, objectBase, () -> MCRXMLMetadataManager.obtainInstance()
-                .listIDsForBase(objectBase), solrQuery);
+            .listIDsForBase(objectBase), solrQuery, streaming);
+    }
+
+    private static void synchronizeMetadataIndex(List<MCRSolrIndex> cores, String synchBase,
+        Supplier<List<String>> localIDListSupplier, String query, boolean streaming)
+        throws SolrServerException, IOException {
+        if (!streaming) {
+            synchronizeMetadataIndex(cores, synchBase, localIDListSupplier, query);
+            return;
+        }
+        MCRSolrMetadataSynchronizer synchronizer = new MCRSolrMetadataSynchronizer(synchBase, localIDListSupplier,
+            query, BULK_SIZE);
+        for (MCRSolrIndex core : cores) {
+            synchronizer.synchronize(core);
+        }
     }
 
     private static void synchronizeMetadataIndex(List<MCRSolrIndex> cores, String synchBase,
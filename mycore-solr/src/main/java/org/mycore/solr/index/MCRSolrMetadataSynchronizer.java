@@ -0,0 +1,355 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.solr.index;
+
+import static org.mycore.solr.search.MCRSolrParameter.FIELD_LIST;
+import static org.mycore.solr.search.MCRSolrParameter.QUERY;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.params.ModifiableSolrParams;
+import org.mycore.common.processing.MCRAbstractProcessable;
+import org.mycore.common.processing.MCRProcessableStatus;
+import org.mycore.datamodel.common.MCRObjectIDDate;
+import org.mycore.datamodel.common.MCRXMLMetadataManager;
+import org.mycore.datamodel.ifs2.MCRObjectIDDateImpl;
+import org.mycore.solr.MCRSolrIndex;
+import org.mycore.solr.search.MCRSolrSearchUtils;
+
+/**
+ * Synchronizes a solr index with the mycore store by walking both sides in ascending id order.
+ * <p>
+ * The store ids are sorted once and their last modified dates are fetched chunk-wise, the solr side is read
+ * with a cursorMark query returning only <code>id</code> and <code>modified</code>. Both sequences are merged
+ * like in a merge sort, so every id is looked at exactly once:
+ * <ul>
+ *     <li>ids only in the store are <em>missing</em> and will be indexed</li>
+ *     <li>ids only in solr are <em>zombies</em> and will be deleted</li>
+ *     <li>ids on both sides with a different modification date (compared in seconds) are <em>stale</em> and
+ *     will be reindexed</li>
+ * </ul>
+ * The progress is reported as an {@link MCRAbstractProcessable} in the solr indexer processable collection.
+ *
+ * @see MCRSolrIndexer#synchronizeMetadataIndex(List, String, boolean)
+ */
+public class MCRSolrMetadataSynchronizer {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final String MODIFIED_FIELD = "modified";
+
+    private final String synchBase;
+
+    private final Supplier<List<String>> localIDListSupplier;
+
+    private final String query;
+
+    private final int bulkSize;
+
+    /**
+     * @param synchBase human-readable name of the synchronized id range, e.g. an object type or base
+     * @param localIDListSupplier supplies all ids of the store in the given range
+     * @param query solr query selecting the same range in solr
+     * @param bulkSize number of ids processed in one chunk
+     */
+    public MCRSolrMetadataSynchronizer(String synchBase, Supplier<List<String>> localIDListSupplier, String query,
+        int bulkSize) {
+        this.synchBase = synchBase;
+        this.localIDListSupplier = localIDListSupplier;
+        this.query = query;
+        this.bulkSize = bulkSize;
+    }
+
+    /**
+     * Synchronizes the given solr index.
+     *
+     * @param index the solr index to synchronize
+     * @return the number of missing, stale and zombie documents found
+     */
+    public Result synchronize(MCRSolrIndex index) throws SolrServerException, IOException {
+        LOGGER.info("synchronize {} with solr index {} (streaming)", synchBase, index.getName());
+        List<String> storeIDs = new ArrayList<>(localIDListSupplier.get());
+        Collections.sort(storeIDs);
+        LOGGER.info("there are {} mycore objects", storeIDs::size);
+
+        SynchronizeProcessable processable = new SynchronizeProcessable();
+        processable.setName("Synchronize " + synchBase + " with " + index.getName());
+        processable.setStatus(MCRProcessableStatus.PROCESSING);
+        processable.setProgress(0);
+        MCRSolrIndexer.SOLR_COLLECTION.add(processable);
+
+        Result result = new Result();
+        List<String> toIndex = new ArrayList<>(bulkSize);
+        List<String> toRemove = new ArrayList<>(bulkSize);
+        try {
+            ModifiableSolrParams params = new ModifiableSolrParams();
+            params.set(QUERY, query);
+            params.set(FIELD_LIST, "id," + MODIFIED_FIELD);
+            Iterator<MCRObjectIDDate> solrIterator = MCRSolrSearchUtils
+                .streamSortedById(index.getClient(), params, bulkSize * 10)
+                .map(MCRSolrMetadataSynchronizer::toObjectIDDate)
+                .iterator();
+            StoreIterator storeIterator = new StoreIterator(storeIDs, bulkSize);
+            merge(storeIterator, solrIterator, new MergeListener() {
+                @Override
+                public void missing(String id) {
+                    result.missing++;
+                    toIndex.add(id);
+                    flushIndex(toIndex, index, false);
+                }
+
+                @Override
+                public void stale(String id) {
+                    result.stale++;
+                    toIndex.add(id);
+                    flushIndex(toIndex, index, false);
+                }
+
+                @Override
+                public void zombie(String id) {
+                    result.zombies++;
+                    toRemove.add(id);
+                    flushRemove(toRemove, index, false);
+                }
+
+                @Override
+                public void upToDate(String id) {
+                    result.upToDate++;
+                }
+
+                @Override
+                public void storeProgress(int processed) {
+                    processable.updateProgress(processed, storeIDs.size(), result);
+                }
+            });
+            flushIndex(toIndex, index, true);
+            flushRemove(toRemove, index, true);
+            MCRSolrIndexer.deleteOrphanedNestedDocuments(List.of(index));
+            processable.updateProgress(storeIDs.size(), storeIDs.size(), result);
+            processable.setStatus(MCRProcessableStatus.SUCCESSFUL);
+        } catch (RuntimeException | SolrServerException | IOException e) {
+            processable.setError(e);
+            throw e;
+        } finally {
+            MCRSolrIndexer.SOLR_COLLECTION.remove(processable);
+        }
+        LOGGER.info("synchronized {} with solr index {}: {}", synchBase, index.getName(), result);
+        return result;
+    }
+
+    private void flushIndex(List<String> toIndex, MCRSolrIndex index, boolean force) {
+        if (toIndex.isEmpty() || (!force && toIndex.size() < bulkSize)) {
+            return;
+        }
+        LOGGER.debug("index {} missing or stale mycore objects", toIndex::size);
+        MCRSolrIndexer.rebuildMetadataIndex(new ArrayList<>(toIndex), List.of(index));
+        toIndex.clear();
+    }
+
+    private void flushRemove(List<String> toRemove, MCRSolrIndex index, boolean force) {
+        if (toRemove.isEmpty() || (!force && toRemove.size() < bulkSize)) {
+            return;
+        }
+        LOGGER.debug("remove {} zombie objects from solr", toRemove::size);
+        MCRSolrIndexer.deleteById(index.getClient(), toRemove.toArray(String[]::new));
+        toRemove.clear();
+    }
+
+    private static MCRObjectIDDate toObjectIDDate(SolrDocument document) {
+        Object modified = document.getFieldValue(MODIFIED_FIELD);
+        return new MCRObjectIDDateImpl(modified instanceof Date date ? date : null,
+            document.getFieldValue("id").toString());
+    }
+
+    /**
+     * Merges two id sequences which are both sorted ascending by {@link String#compareTo(String)} and reports
+     * every id exactly once to the listener.
+     *
+     * @param store ids and modification dates of the store
+     * @param index ids and modification dates of the index, a <code>null</code> date is always stale
+     * @param listener receives the result of the comparison
+     */
+    static void merge(Iterator<MCRObjectIDDate> store, Iterator<MCRObjectIDDate> index, MergeListener listener) {
+        int processed = 0;
+        MCRObjectIDDate storeEntry = next(store);
+        MCRObjectIDDate indexEntry = next(index);
+        while (storeEntry != null || indexEntry != null) {
+            int cmp;
+            if (storeEntry == null) {
+                cmp = 1;
+            } else if (indexEntry == null) {
+                cmp = -1;
+            } else {
+                cmp = storeEntry.getId().compareTo(indexEntry.getId());
+            }
+            if (cmp < 0) {
+                listener.missing(storeEntry.getId());
+                storeEntry = next(store);
+                processed++;
+            } else if (cmp > 0) {
+                listener.zombie(indexEntry.getId());
+                indexEntry = next(index);
+            } else {
+                if (isSameSecond(storeEntry.getLastModified(), indexEntry.getLastModified())) {
+                    listener.upToDate(storeEntry.getId());
+                } else {
+                    listener.stale(storeEntry.getId());
+                }
+                storeEntry = next(store);
+                indexEntry = next(index);
+                processed++;
+            }
+            if (cmp <= 0 && processed % 1000 == 0) {
+                listener.storeProgress(processed);
+            }
+        }
+    }
+
+    private static boolean isSameSecond(Date storeDate, Date indexDate) {
+        if (storeDate == null || indexDate == null) {
+            return false;
+        }
+        return storeDate.getTime() / 1000 == indexDate.getTime() / 1000;
+    }
+
+    private static <T> T next(Iterator<T> iterator) {
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    /**
+     * Receives the outcome of {@link #merge(Iterator, Iterator, MergeListener)}.
+     */
+    interface MergeListener {
+
+        void missing(String id);
+
+        void stale(String id);
+
+        void zombie(String id);
+
+        void upToDate(String id);
+
+        default void storeProgress(int processed) {
+        }
+    }
+
+    /**
+     * Iterates over sorted store ids and retrieves their last modified dates in chunks.
+     */
+    private static final class StoreIterator implements Iterator<MCRObjectIDDate> {
+
+        private final List<String> ids;
+
+        private final int chunkSize;
+
+        private int offset;
+
+        private Iterator<MCRObjectIDDate> chunk = Collections.emptyIterator();
+
+        StoreIterator(List<String> ids, int chunkSize) {
+            this.ids = ids;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (chunk.hasNext()) {
+                return true;
+            }
+            if (offset >= ids.size()) {
+                return false;
+            }
+            List<String> chunkIDs = ids.subList(offset, Math.min(offset + chunkSize, ids.size()));
+            offset += chunkIDs.size();
+            try {
+                chunk = MCRXMLMetadataManager.obtainInstance().retrieveObjectDates(chunkIDs).iterator();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return chunk.hasNext();
+        }
+
+        @Override
+        public MCRObjectIDDate next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return chunk.next();
+        }
+    }
+
+    private static final class SynchronizeProcessable extends MCRAbstractProcessable {
+
+        void updateProgress(int processed, int total, Result result) {
+            int progress = total == 0 ? 100 : (int) (processed * 100L / total);
+            setProgress(Math.min(100, progress));
+            setProgressText(processed + "/" + total + " " + result);
+        }
+    }
+
+    /**
+     * Counts the documents found by a synchronization run.
+     */
+    public static final class Result {
+
+        private long missing;
+
+        private long stale;
+
+        private long zombies;
+
+        private long upToDate;
+
+        public long getMissing() {
+            return missing;
+        }
+
+        public long getStale() {
+            return stale;
+        }
+
+        public long getZombies() {
+            return zombies;
+        }
+
+        public long getUpToDate() {
+            return upToDate;
+        }
+
+        @Override
+        public String toString() {
+            return "missing: " + missing + ", stale: " + stale + ", zombies: " + zombies + ", up-to-date: "
+                + upToDate;
+        }
+
+    }
+
+}
@@ -42,6 +42,7 @@ import org.mycore.datamodel.common.MCRXMLMetadataManager;
 import org.mycore.datamodel.metadata.MCRMetadataManager;
 import org.mycore.datamodel.metadata.MCRObjectID;
 import org.mycore.datamodel.niofs.MCRContentTypes;
+import org.mycore.datamodel.niofs.MCRFileAttributes;
 import org.mycore.datamodel.niofs.MCRPath;
 
 import com.google.common.io.Files;
@@ -99,6 +100,9 @@ public class MCRSolrFileIndexBaseAccumulator implements MCRSolrFileIndexAccumula
         MCRISO8601Date iDate = new MCRISO8601Date();
         iDate.setDate(new Date(attr.lastModifiedTime().toMillis()));
         doc.setField("modified", iDate.getISOString());
+        if (attr instanceof MCRFileAttributes<?> fileAttributes && fileAttributes.digest() != null) {
+            doc.setField("fileDigest", fileAttributes.digest().toHexString());
+        }
     }
 
     /**
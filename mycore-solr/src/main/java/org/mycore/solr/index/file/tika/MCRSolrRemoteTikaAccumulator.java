@@ -20,9 +20,11 @@ package org.mycore.solr.index.file.tika;
 
 import static org.mycore.solr.MCRSolrConstants.SOLR_CONFIG_PREFIX;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Collections;
 import java.util.Iterator;
@@ -37,8 +39,12 @@ import org.apache.logging.log4j.Logger;
 import org.apache.solr.common.SolrInputDocument;
 import org.mycore.common.MCRUtils;
 import org.mycore.common.config.MCRConfiguration2;
+import org.mycore.common.digest.MCRDigest;
+import org.mycore.datamodel.niofs.MCRFileAttributes;
 import org.mycore.datamodel.niofs.MCRPath;
 import org.mycore.solr.index.file.MCRSolrFileIndexAccumulator;
+import org.mycore.solr.index.statistic.MCRSolrIndexStatistic;
+import org.mycore.solr.index.statistic.MCRSolrIndexStatisticCollector;
 
 import com.fasterxml.jackson.core.TreeNode;
 
@@ -52,6 +58,9 @@ import com.fasterxml.jackson.core.TreeNode;
  * key of the extracted json element transformed to lowercase and every not letter and digit replaced with
  * <code>_</code> and the value is the fully qualified class name of the mapper. If no mapper is defined for a key, the
  * default mapper with the key <code>default</code> is used.
+ * <br/>
+ * If the property <code>MCR.Solr.Tika.Cache.Directory</code> is set, the responses of the Tika server are stored in
+ * that directory by {@link MCRTikaResponseCache} and reused for files with the same digest.
  *
  * @author Sebastian Hofmann
  */
@@ -65,6 +74,8 @@ public class MCRSolrRemoteTikaAccumulator implements MCRSolrFileIndexAccumulator
 
     public static final String TIKA_EXTRACT_TEXT_ENDPOINT_PROPERTY = SOLR_CONFIG_PREFIX + "Tika.ExtractTextEndpoint";
 
+    public static final String TIKA_CACHE_DIRECTORY_PROPERTY = SOLR_CONFIG_PREFIX + "Tika.Cache.Directory";
+
     private static final Logger LOGGER = LogManager.getLogger();
 
     private final Set<MCRTikaHttpClient> tikaClients;
@@ -75,6 +86,8 @@ public class MCRSolrRemoteTikaAccumulator implements MCRSolrFileIndexAccumulator
 
     private final long maxFileSize;
 
+    private final MCRTikaResponseCache responseCache;
+
     private Iterator<MCRTikaHttpClient> tikaClientIterator;
 
     public MCRSolrRemoteTikaAccumulator() {
@@ -89,11 +102,17 @@ public class MCRSolrRemoteTikaAccumulator implements MCRSolrFileIndexAccumulator
         maxFileSize = MCRConfiguration2.getLong(TIKA_MAPPER_MAX_FILE_SIZE).orElseThrow(
             () -> MCRConfiguration2.createConfigurationException(TIKA_MAPPER_MAX_FILE_SIZE));
 
+        String extractTextEndpoint = MCRConfiguration2.getString(TIKA_EXTRACT_TEXT_ENDPOINT_PROPERTY).orElseThrow()
+            .trim();
         this.tikaClients = MCRConfiguration2.splitValue(serverList.orElse(""))
-            .map(baseUrl -> new MCRTikaHttpClient(baseUrl.trim(),
-                MCRConfiguration2.getString(TIKA_EXTRACT_TEXT_ENDPOINT_PROPERTY).orElseThrow().trim()))
+            .map(baseUrl -> new MCRTikaHttpClient(baseUrl.trim(), extractTextEndpoint))
             .collect(Collectors.toSet());
         enabled = !tikaClients.isEmpty();
+
+        // the endpoint determines the format of the response
+        responseCache = MCRConfiguration2.getString(TIKA_CACHE_DIRECTORY_PROPERTY)
+            .map(directory -> new MCRTikaResponseCache(Paths.get(directory), extractTextEndpoint))
+            .orElse(null);
     }
 
     @Override
@@ -118,27 +137,71 @@ public class MCRSolrRemoteTikaAccumulator implements MCRSolrFileIndexAccumulator
             return;
         }
 
-        MCRTikaHttpClient client = getNextClient();
-        long start = System.currentTimeMillis();
-
+        MCRDigest digest = attributes instanceof MCRFileAttributes<?> fileAttributes ? fileAttributes.digest() : null;
+        MCRSolrIndexStatistic statistic = MCRSolrIndexStatisticCollector.TIKA;
         boolean hasError = false;
         String errorMessage = null;
 
-        try (InputStream is = Files.newInputStream(filePath)) {
-            LOGGER.debug("Extracting text from {} using Tika", filePath);
-            client.extractText(is, (jsonReader -> processJsonResponse(document, filePath, attributes, jsonReader)));
+        try {
+            Optional<TreeNode> cachedResponse = getCachedResponse(filePath, digest);
+            if (cachedResponse.isPresent()) {
+                LOGGER.debug("Using cached Tika response for {}", filePath);
+                statistic.addHit();
+                processJsonResponse(document, filePath, attributes, cachedResponse.get());
+            } else {
+                extractText(document, filePath, attributes, digest);
+            }
         } catch (Exception e) {
             hasError = true;
             errorMessage = Objects.requireNonNullElse(e.getMessage(), e.getClass().getSimpleName());
-        } finally {
-            LOGGER.debug("Extracted text from {} using Tika in {}ms", () -> filePath,
-                () -> System.currentTimeMillis() - start);
         }
 
         document.addField("tika_has_error", hasError);
         document.addField("tika_error_message", errorMessage);
     }
 
+    private void extractText(SolrInputDocument document, Path filePath, BasicFileAttributes attributes,
+        MCRDigest digest) throws IOException, MCRTikaMappingException {
+        MCRTikaHttpClient client = getNextClient();
+        MCRSolrIndexStatistic statistic = MCRSolrIndexStatisticCollector.TIKA;
+        long start = System.currentTimeMillis();
+        try (InputStream is = Files.newInputStream(filePath)) {
+            LOGGER.debug("Extracting text from {} using Tika", filePath);
+            client.extractText(is, jsonReader -> {
+                putCachedResponse(filePath, digest, jsonReader);
+                processJsonResponse(document, filePath, attributes, jsonReader);
+            });
+        } finally {
+            long time = System.currentTimeMillis() - start;
+            LOGGER.debug("Extracted text from {} using Tika in {}ms", filePath, time);
+            statistic.addDocument(1);
+            statistic.addTime(time);
+        }
+    }
+
+    private Optional<TreeNode> getCachedResponse(Path filePath, MCRDigest digest) {
+        if (responseCache == null || digest == null) {
+            return Optional.empty();
+        }
+        try {
+            return responseCache.get(digest);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Could not read cached Tika response for {}", filePath, e);
+            return Optional.empty();
+        }
+    }
+
+    private void putCachedResponse(Path filePath, MCRDigest digest, TreeNode response) {
+        if (responseCache == null || digest == null) {
+            return;
+        }
+        try {
+            responseCache.put(digest, response);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Could not cache Tika response for {}", filePath, e);
+        }
+    }
+
     public void processJsonResponse(SolrInputDocument document, Path filePath,
         BasicFileAttributes attributes, TreeNode json) throws MCRTikaMappingException {
         Iterator<String> it = json.fieldNames();
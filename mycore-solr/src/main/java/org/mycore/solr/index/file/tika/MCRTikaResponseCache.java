@@ -0,0 +1,113 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.solr.index.file.tika;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.mycore.common.MCRUtils;
+import org.mycore.common.digest.MCRDigest;
+import org.mycore.common.digest.MCRMD5Digest;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Stores the responses of the Tika server on disk, so the text of a file is extracted only once as long as its
+ * content does not change.
+ * <p>
+ * Responses are addressed by the digest of the file and the configuration of the Tika request, files with the same
+ * content share an entry. The raw response is stored, so changes of the {@link MCRTikaMapper} configuration take
+ * effect without extracting the text again. Entries are compressed with gzip and never removed, the directory may
+ * be deleted at any time to clear the cache.
+ */
+public class MCRTikaResponseCache {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Path directory;
+
+    private final String configurationKey;
+
+    /**
+     * @param directory the directory to store the responses in
+     * @param configuration a description of everything except the file that changes the response of the Tika server
+     */
+    public MCRTikaResponseCache(Path directory, String configuration) {
+        this.directory = directory;
+        byte[] configurationDigest = MCRUtils.buildMessageDigest(MCRMD5Digest.ALGORITHM)
+            .digest(configuration.getBytes(StandardCharsets.UTF_8));
+        this.configurationKey = HexFormat.of().formatHex(configurationDigest, 0, 4);
+    }
+
+    /**
+     * Returns the cached response for a file with the given digest.
+     */
+    public Optional<TreeNode> get(MCRDigest digest) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(getFile(digest)))) {
+            return Optional.of(MAPPER.readTree(in));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores the response for a file with the given digest, replacing an existing entry.
+     */
+    public void put(MCRDigest digest, TreeNode response) throws IOException {
+        Path file = getFile(digest);
+        Files.createDirectories(file.getParent());
+        // write to a temporary file first, so concurrent readers never see a partial entry
+        Path tempFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tempFile));
+                JsonGenerator generator = MAPPER.createGenerator(out)) {
+                MAPPER.writeTree(generator, response);
+            }
+            try {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private Path getFile(MCRDigest digest) {
+        String hex = digest.toHexString();
+        return directory
+            .resolve(digest.getAlgorithm().normalize())
+            .resolve(hex.substring(0, 2))
+            .resolve(hex + "-" + configurationKey + ".json.gz");
+    }
+
+}
@@ -25,23 +25,37 @@ import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.params.CommonParams;
+import org.apache.solr.common.params.ModifiableSolrParams;
+import org.mycore.common.digest.MCRDigest;
 import org.mycore.datamodel.metadata.MCRDerivate;
 import org.mycore.datamodel.metadata.MCRMetadataManager;
 import org.mycore.datamodel.metadata.MCRObjectID;
+import org.mycore.datamodel.niofs.MCRFileAttributes;
 import org.mycore.datamodel.niofs.MCRPath;
 import org.mycore.solr.MCRSolrIndexType;
 import org.mycore.solr.index.MCRSolrIndexHandler;
 import org.mycore.solr.index.handlers.MCRSolrAbstractIndexHandler;
 import org.mycore.solr.index.handlers.MCRSolrIndexHandlerFactory;
 import org.mycore.solr.index.statistic.MCRSolrIndexStatistic;
+import org.mycore.solr.index.statistic.MCRSolrIndexStatisticCollector;
+import org.mycore.solr.search.MCRSolrSearchUtils;
 
 /**
  * Commits <code>MCRFile</code> objects to solr, be aware that the files are
  * not indexed directly, but added to a list of sub index handlers.
+ * <p>
+ * In incremental mode, files are skipped if their digest and modification date match the solr document of the
+ * file in every destination index.
  * 
  * @author Matthias Eichner
  */
@@ -53,6 +67,8 @@ public class MCRSolrFilesIndexHandler extends MCRSolrAbstractIndexHandler {
 
     protected List<MCRSolrIndexHandler> subHandlerList;
 
+    protected boolean incremental;
+
     /**
      * Creates a new solr file index handler.
      * 
@@ -84,10 +100,17 @@ public class MCRSolrFilesIndexHandler extends MCRSolrAbstractIndexHandler {
         MCRPath rootPath = MCRPath.getPath(derivateID.toString(), "/");
         final MCRSolrIndexHandlerFactory ihf = MCRSolrIndexHandlerFactory.obtainInstance();
         final List<MCRSolrIndexHandler> subHandlerList = this.subHandlerList;
+        final Map<String, String> indexedFiles = incremental ? getIndexedFiles(derivateID) : Map.of();
+        final int handlerCount = subHandlerList.size();
         Files.walkFileTree(rootPath, new SimpleFileVisitor<>() {
 
             @Override
             public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                String indexedState = indexedFiles.get(file.toUri().toString());
+                if (indexedState != null && indexedState.equals(getFileState(attrs))) {
+                    MCRSolrIndexStatisticCollector.FILE_TRANSFER.addSkipped();
+                    return super.visitFile(file, attrs);
+                }
                 try {
                     subHandlerList.add(ihf.getIndexHandler(file, attrs));
                 } catch (Exception ex) {
@@ -97,10 +120,60 @@ public class MCRSolrFilesIndexHandler extends MCRSolrAbstractIndexHandler {
             }
 
         });
-        int fileCount = subHandlerList.size();
+        int fileCount = subHandlerList.size() - handlerCount;
         LOGGER.info("Sending {} file(s) for derivate \"{}\"", fileCount, derivateID);
     }
 
+    /**
+     * Returns the state of all files of the derivate, that is equal in all destination indexes.
+     *
+     * @return the state of each file by its solr id
+     */
+    private Map<String, String> getIndexedFiles(MCRObjectID derivateID) {
+        ModifiableSolrParams params = new ModifiableSolrParams();
+        params.set(CommonParams.Q, "+objectType:data_file +derivateID:" + derivateID);
+        params.set(CommonParams.FL, "id,modified,fileDigest");
+        Map<String, String> indexedFiles = null;
+        try {
+            for (SolrClient client : getClients()) {
+                Map<String, String> clientFiles = new HashMap<>();
+                MCRSolrSearchUtils.stream(client, params, false, 1000).forEach(doc -> {
+                    String state = getFileState(doc);
+                    if (state != null) {
+                        clientFiles.put(doc.getFieldValue("id").toString(), state);
+                    }
+                });
+                if (indexedFiles == null) {
+                    indexedFiles = clientFiles;
+                } else {
+                    indexedFiles.entrySet().retainAll(clientFiles.entrySet());
+                }
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not get indexed files of {}, indexing all files.", derivateID, e);
+            return Map.of();
+        }
+        return indexedFiles == null ? Map.of() : indexedFiles;
+    }
+
+    // the date in solr is compared by second, so the precision of the stored date does not matter
+    private static String getFileState(SolrDocument doc) {
+        Object digest = doc.getFieldValue("fileDigest");
+        Object modified = doc.getFieldValue("modified");
+        if (digest == null || !(modified instanceof Date modifiedDate)) {
+            return null;
+        }
+        return digest + "@" + modifiedDate.toInstant().getEpochSecond();
+    }
+
+    private static String getFileState(BasicFileAttributes attrs) {
+        MCRDigest digest = attrs instanceof MCRFileAttributes<?> fileAttributes ? fileAttributes.digest() : null;
+        if (digest == null) {
+            return null;
+        }
+        return digest.toHexString() + "@" + attrs.lastModifiedTime().toInstant().getEpochSecond();
+    }
+
     protected void indexObject(MCRObjectID objectID) throws IOException {
         List<MCRObjectID> derivateIds = MCRMetadataManager.getDerivateIds(objectID);
         for (MCRObjectID derivateID : derivateIds) {
@@ -113,6 +186,17 @@ public class MCRSolrFilesIndexHandler extends MCRSolrAbstractIndexHandler {
         return this.subHandlerList;
     }
 
+    /**
+     * If <code>true</code>, only files that changed since they were indexed are sent to solr.
+     */
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    public boolean isIncremental() {
+        return incremental;
+    }
+
     public String getID() {
         return mcrID;
     }
@@ -36,12 +36,18 @@ public class MCRSolrIndexStatistic {
 
     final AtomicLong accumulatedTime;
 
+    final AtomicInteger hits;
+
+    final AtomicInteger skipped;
+
     String name;
 
     public MCRSolrIndexStatistic(String name) {
         this.name = name;
         this.documents = new AtomicInteger();
         this.accumulatedTime = new AtomicLong();
+        this.hits = new AtomicInteger();
+        this.skipped = new AtomicInteger();
     }
 
     public long addTime(long time) {
@@ -54,6 +60,22 @@ public class MCRSolrIndexStatistic {
         return documents.addAndGet(docs);
     }
 
+    /**
+     * Counts a document that was served from a cache instead of being processed.
+     */
+    public int addHit() {
+        LOGGER.debug("{}: adding cache hit", name);
+        return hits.incrementAndGet();
+    }
+
+    /**
+     * Counts a document that was not processed, because it did not change.
+     */
+    public int addSkipped() {
+        LOGGER.debug("{}: adding skipped document", name);
+        return skipped.incrementAndGet();
+    }
+
     public long getAccumulatedTime() {
         return accumulatedTime.get();
     }
@@ -62,10 +84,20 @@ public class MCRSolrIndexStatistic {
         return documents.get();
     }
 
+    public int getHits() {
+        return hits.get();
+    }
+
+    public int getSkipped() {
+        return skipped.get();
+    }
+
     /**
      * resets statistic and returns average time in ms per document.
      */
     public synchronized double reset() {
+        hits.set(0);
+        skipped.set(0);
         synchronized (accumulatedTime) {
             synchronized (documents) {
                 long time = accumulatedTime.getAndSet(0);
@@ -30,6 +30,8 @@ public class MCRSolrIndexStatisticCollector {
 
     public static final MCRSolrIndexStatistic FILE_TRANSFER = new MCRSolrIndexStatistic("File transfers");
 
+    public static final MCRSolrIndexStatistic TIKA = new MCRSolrIndexStatistic("Tika extractions");
+
     public static final MCRSolrIndexStatistic OPERATIONS = new MCRSolrIndexStatistic("Other Solr operations");
 
 }
@@ -23,12 +23,15 @@ import static org.mycore.solr.search.MCRSolrParameter.FIELD_LIST;
 import static org.mycore.solr.search.MCRSolrParameter.QUERY;
 import static org.mycore.solr.search.MCRSolrParameter.REQUEST_HANDLER;
 import static org.mycore.solr.search.MCRSolrParameter.ROWS;
+import static org.mycore.solr.search.MCRSolrParameter.SORT;
 import static org.mycore.solr.search.MCRSolrParameter.START;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -50,6 +53,7 @@ import org.apache.solr.client.solrj.response.InputStreamResponseParser;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.apache.solr.common.params.ModifiableSolrParams;
 import org.apache.solr.common.params.SolrParams;
 import org.apache.solr.common.util.NamedList;
@@ -163,6 +167,25 @@ public final class MCRSolrSearchUtils {
         return StreamSupport.stream(solrDocumentSpliterator, parallel);
     }
 
+    /**
+     * Creates a sequential stream of SolrDocument's sorted by their <code>id</code> in ascending order.
+     * <p>
+     * Other than {@link #stream(SolrClient, SolrParams)} this uses solr's cursorMark for paging, so fetching
+     * deep pages costs the same as fetching the first page. Any <code>sort</code> parameter in <code>params</code>
+     * is replaced.
+     *
+     * @param solrClient the client to query
+     * @param params solr parameter
+     * @param rowsPerRequest number of documents fetched with one request
+     * @return stream of solr documents ordered by id
+     */
+    public static Stream<SolrDocument> streamSortedById(SolrClient solrClient, SolrParams params,
+        int rowsPerRequest) {
+        ModifiableSolrParams p = new ModifiableSolrParams(params);
+        p.set(SORT, "id asc");
+        return StreamSupport.stream(new SolrCursorSpliterator(solrClient, p, rowsPerRequest), false);
+    }
+
     /**
      * Streams raw xml solr response.
      *
@@ -214,6 +237,77 @@ public final class MCRSolrSearchUtils {
         return (InputStream) nl.get("stream");
     }
 
+    /**
+     * Sequential spliterator for solr documents using solr's cursorMark. The given params
+     * have to contain a <code>sort</code> parameter which includes the unique key field.
+     */
+    public static class SolrCursorSpliterator implements Spliterator<SolrDocument> {
+
+        protected SolrClient solrClient;
+
+        protected ModifiableSolrParams params;
+
+        protected String cursorMark;
+
+        protected Iterator<SolrDocument> page;
+
+        protected boolean done;
+
+        public SolrCursorSpliterator(SolrClient solrClient, SolrParams params, int rows) {
+            this.solrClient = solrClient;
+            this.params = new ModifiableSolrParams(params);
+            this.params.set(ROWS, rows);
+            this.params.remove(START);
+            this.cursorMark = CursorMarkParams.CURSOR_MARK_START;
+            this.page = Collections.emptyIterator();
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super SolrDocument> action) {
+            if (action == null) {
+                throw new IllegalArgumentException("Action cannot be null");
+            }
+            while (!page.hasNext()) {
+                if (done) {
+                    return false;
+                }
+                fetchNextPage();
+            }
+            action.accept(page.next());
+            return true;
+        }
+
+        protected void fetchNextPage() {
+            params.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+            try {
+                QueryRequest queryRequest = new QueryRequest(params);
+                MCRSolrAuthenticationManager.obtainInstance().applyAuthentication(queryRequest, SEARCH);
+                QueryResponse response = queryRequest.process(solrClient);
+                String nextCursorMark = response.getNextCursorMark();
+                done = nextCursorMark == null || cursorMark.equals(nextCursorMark);
+                cursorMark = nextCursorMark;
+                page = response.getResults().iterator();
+            } catch (SolrServerException | IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public Spliterator<SolrDocument> trySplit() {
+            return null;
+        }
+    }
+
     /**
      * Spliterator for solr documents.
      */
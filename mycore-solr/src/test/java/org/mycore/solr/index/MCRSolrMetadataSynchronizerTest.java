@@ -0,0 +1,104 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.solr.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mycore.datamodel.common.MCRObjectIDDate;
+import org.mycore.datamodel.ifs2.MCRObjectIDDateImpl;
+
+public class MCRSolrMetadataSynchronizerTest {
+
+    @Test
+    public void merge() {
+        List<MCRObjectIDDate> store = List.of(
+            entry("mcr_test_00000001", 1_000),
+            entry("mcr_test_00000002", 2_000),
+            entry("mcr_test_00000004", 4_000),
+            entry("mcr_test_00000005", 5_000),
+            entry("mcr_test_00000007", 7_000));
+        List<MCRObjectIDDate> index = List.of(
+            entry("mcr_test_00000001", 1_400),
+            entry("mcr_test_00000003", 3_000),
+            entry("mcr_test_00000004", 3_000),
+            entry("mcr_test_00000005", null),
+            entry("mcr_test_00000008", 8_000));
+
+        RecordingListener listener = new RecordingListener();
+        MCRSolrMetadataSynchronizer.merge(store.iterator(), index.iterator(), listener);
+
+        assertEquals(List.of("mcr_test_00000002", "mcr_test_00000007"), listener.missing);
+        assertEquals(List.of("mcr_test_00000004", "mcr_test_00000005"), listener.stale);
+        assertEquals(List.of("mcr_test_00000003", "mcr_test_00000008"), listener.zombies);
+        assertEquals(List.of("mcr_test_00000001"), listener.upToDate);
+    }
+
+    @Test
+    public void mergeEmptySide() {
+        RecordingListener listener = new RecordingListener();
+        MCRSolrMetadataSynchronizer.merge(List.<MCRObjectIDDate>of().iterator(),
+            List.of(entry("mcr_test_00000001", 1_000)).iterator(), listener);
+        assertEquals(List.of("mcr_test_00000001"), listener.zombies);
+
+        listener = new RecordingListener();
+        MCRSolrMetadataSynchronizer.merge(List.of(entry("mcr_test_00000001", 1_000)).iterator(),
+            List.<MCRObjectIDDate>of().iterator(), listener);
+        assertEquals(List.of("mcr_test_00000001"), listener.missing);
+    }
+
+    private static MCRObjectIDDate entry(String id, Integer lastModified) {
+        return new MCRObjectIDDateImpl(lastModified == null ? null : new Date(lastModified), id);
+    }
+
+    private static final class RecordingListener implements MCRSolrMetadataSynchronizer.MergeListener {
+
+        final List<String> missing = new ArrayList<>();
+
+        final List<String> stale = new ArrayList<>();
+
+        final List<String> zombies = new ArrayList<>();
+
+        final List<String> upToDate = new ArrayList<>();
+
+        @Override
+        public void missing(String id) {
+            missing.add(id);
+        }
+
+        @Override
+        public void stale(String id) {
+            stale.add(id);
+        }
+
+        @Override
+        public void zombie(String id) {
+            zombies.add(id);
+        }
+
+        @Override
+        public void upToDate(String id) {
+            upToDate.add(id);
+        }
+    }
+}
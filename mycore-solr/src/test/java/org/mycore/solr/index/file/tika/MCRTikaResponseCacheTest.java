@@ -0,0 +1,63 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.solr.index.file.tika;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mycore.common.MCRClassTools;
+import org.mycore.common.digest.MCRDigest;
+import org.mycore.common.digest.MCRMD5Digest;
+
+import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class MCRTikaResponseCacheTest {
+
+    @TempDir
+    Path cacheDirectory;
+
+    @Test
+    public void testPutAndGet() throws IOException {
+        TreeNode response;
+        try (InputStream is = MCRClassTools.getClassLoader().getResourceAsStream("tika_test.json")) {
+            response = new ObjectMapper().readTree(Objects.requireNonNull(is));
+        }
+        MCRDigest digest = new MCRMD5Digest("5d41402abc4b2a76b9719d911017c592");
+        MCRTikaResponseCache cache = new MCRTikaResponseCache(cacheDirectory, "tika/text");
+
+        assertTrue(cache.get(digest).isEmpty(), "Cache should be empty");
+        cache.put(digest, response);
+        Optional<TreeNode> cached = cache.get(digest);
+        assertTrue(cached.isPresent(), "Response should be cached");
+        assertEquals(response, cached.get(), "Cached response should be equal to the original");
+
+        MCRTikaResponseCache otherEndpoint = new MCRTikaResponseCache(cacheDirectory, "tika/json/text");
+        assertTrue(otherEndpoint.get(digest).isEmpty(), "Responses of other endpoints should not be shared");
+    }
+
+}
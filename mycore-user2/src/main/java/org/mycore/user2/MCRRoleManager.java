@@ -22,13 +22,18 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.mycore.common.MCRSessionMgr;
+import org.mycore.common.MCRTransactionManager;
 import org.mycore.datamodel.classifications2.MCRCategLinkReference;
 import org.mycore.datamodel.classifications2.MCRCategLinkService;
 import org.mycore.datamodel.classifications2.MCRCategory;
@@ -59,6 +64,9 @@ public class MCRRoleManager {
 
     private static final MCRCategLinkService CATEG_LINK_SERVICE = MCRCategLinkService.obtainInstance();
 
+    /** time of the last change of role assignments in this JVM */
+    private static final AtomicLong ROLE_ASSIGNMENTS_MODIFIED = new AtomicLong(System.currentTimeMillis());
+
     static {
         loadSystemRoles();
     }
@@ -162,6 +170,7 @@ public class MCRRoleManager {
      */
     static void unassignRoles(MCRUser user) {
         CATEG_LINK_SERVICE.deleteLink(getLinkID(user));
+        touchRoleAssignments();
     }
 
     /**
@@ -182,16 +191,64 @@ public class MCRRoleManager {
         }
         LOGGER.info("Assigning {} to these roles: {}", user::getUserID, () -> categories);
         CATEG_LINK_SERVICE.setLinks(ref, categories);
+        touchRoleAssignments();
     }
 
     static Collection<MCRCategoryID> getRoleIDs(MCRUser user) {
         return CATEG_LINK_SERVICE.getLinksFromReference(getLinkID(user));
     }
 
-    static boolean isAssignedToRole(MCRUser user, String roleID) {
-        MCRCategoryID categoryID = MCRCategoryID.ofString(roleID);
-        MCRCategLinkReference linkReference = getLinkID(user);
-        return CATEG_LINK_SERVICE.isInCategory(linkReference, categoryID);
+    /**
+     * Returns the IDs of all roles the user is assigned to in the classification system, including
+     * the ancestors of assigned roles, as membership in a role implies membership in its parent roles.
+     *
+     * @param user the user
+     * @return unmodifiable set of role IDs in the form <code>classID:categID</code> or <code>classID</code>
+     * @see #getLastModified()
+     */
+    static Set<String> getEffectiveRoleIDs(MCRUser user) {
+        Set<String> roleIDs = new HashSet<>();
+        for (MCRCategoryID categoryID : getRoleIDs(user)) {
+            if (!roleIDs.add(categoryID.toString())) {
+                continue;
+            }
+            List<MCRCategory> parents = DAO.getParents(categoryID);
+            if (parents != null) {
+                parents.stream()
+                    .map(parent -> parent.getId().toString())
+                    .forEach(roleIDs::add);
+            }
+        }
+        return Set.copyOf(roleIDs);
+    }
+
+    /**
+     * Returns the time of the last change that may affect the result of {@link #getEffectiveRoleIDs(MCRUser)},
+     * either a change of role assignments or of the role hierarchy.
+     * <p>
+     * Only changes made through this JVM are tracked, the time is neither persisted nor shared. Role assignments
+     * changed by another process, e.g. the command line interface while the web application is running, are not
+     * noticed by users that cached their effective roles already. They see the change after the next login, when
+     * the user is loaded again.
+     */
+    static long getLastModified() {
+        return Math.max(ROLE_ASSIGNMENTS_MODIFIED.get(), DAO.getLastModified());
+    }
+
+    /**
+     * Marks the role assignments as changed now and again after the current transaction is committed. Other threads
+     * may cache the old assignments under the first time until the transaction is committed.
+     */
+    private static void touchRoleAssignments() {
+        updateRoleAssignmentsModified();
+        if (MCRSessionMgr.hasCurrentSession() && MCRTransactionManager.hasActiveTransactions()) {
+            MCRSessionMgr.getCurrentSession().onCommit(MCRRoleManager::updateRoleAssignmentsModified);
+        }
+    }
+
+    private static void updateRoleAssignmentsModified() {
+        // strictly increasing, so changes within the same millisecond are not missed
+        ROLE_ASSIGNMENTS_MODIFIED.accumulateAndGet(System.currentTimeMillis(), (last, now) -> Math.max(last + 1, now));
     }
 
     private static MCRCategLinkReference getLinkID(MCRUser user) {
@@ -28,6 +28,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.function.Function;
@@ -143,6 +144,9 @@ public class MCRUser implements MCRUserInformation, Cloneable, Serializable {
     @Transient
     private Collection<String> externalRoles;
 
+    /** cached result of {@link MCRRoleManager#getEffectiveRoleIDs(MCRUser)} */
+    private transient EffectiveRoles effectiveRoles;
+
     protected MCRUser() {
         this(null);
     }
@@ -574,7 +578,20 @@ public class MCRUser implements MCRUserInformation, Cloneable, Serializable {
     @Override
     public boolean isUserInRole(final String role) {
         boolean directMember = getSystemRoleIDs().contains(role) || getExternalRoleIDs().contains(role);
-        return directMember || MCRRoleManager.isAssignedToRole(this, role);
+        return directMember || getEffectiveRoleIDs().contains(role);
+    }
+
+    @Transient
+    private Set<String> getEffectiveRoleIDs() {
+        String linkID = userName + "@" + realmID;
+        // read the timestamp first, so changes during computation are detected on the next call
+        long lastModified = MCRRoleManager.getLastModified();
+        EffectiveRoles roles = effectiveRoles;
+        if (roles == null || roles.lastModified() != lastModified || !roles.linkID().equals(linkID)) {
+            roles = new EffectiveRoles(linkID, lastModified, MCRRoleManager.getEffectiveRoleIDs(this));
+            effectiveRoles = roles;
+        }
+        return roles.roleIDs();
     }
 
     @ElementCollection(fetch = FetchType.EAGER)
@@ -925,4 +942,12 @@ public class MCRUser implements MCRUserInformation, Cloneable, Serializable {
         @XmlAttribute
         public String realm;
     }
+
+    /**
+     * Role IDs of {@link MCRRoleManager#getEffectiveRoleIDs(MCRUser)} valid until
+     * {@link MCRRoleManager#getLastModified()} changes.
+     */
+    private record EffectiveRoles(String linkID, long lastModified, Set<String> roleIDs) {
+    }
+
 }
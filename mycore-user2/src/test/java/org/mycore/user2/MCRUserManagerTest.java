@@ -168,6 +168,23 @@ public class MCRUserManagerTest {
         assertEquals(1, user.getAttributes().size(), "There should be one attribute");
     }
 
+    @Test
+    public final void testIsUserInRole() {
+        String roleID = "ext-roles:foo";
+        this.user.getExternalRoleIDs().add(roleID);
+        MCRUserManager.updateUser(this.user);
+        MCRJPATestHelper.startNewTransaction();
+        assertTrue(this.user.isUserInRole(roleID), "User is not in role " + roleID);
+        assertTrue(this.user.isUserInRole("ext-roles"), "User is not in parent role of " + roleID);
+        assertFalse(this.user.isUserInRole("ext-roles:bar"), "User should not be in role ext-roles:bar");
+
+        MCRUser user = MCRUserManager.getUser(this.user.getUserName(), this.user.getRealm());
+        user.getExternalRoleIDs().remove(roleID);
+        MCRUserManager.updateUser(user);
+        MCRJPATestHelper.startNewTransaction();
+        assertFalse(this.user.isUserInRole("ext-roles"), "Role assignments of other instances should be respected");
+    }
+
     @Test
     public final void testCreateUserUpdateBug() {
         //MCR-2912
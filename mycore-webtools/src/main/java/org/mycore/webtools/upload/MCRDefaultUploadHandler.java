@@ -20,27 +20,37 @@ package org.mycore.webtools.upload;
 
 import java.io.IOException;
 import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Files;
-import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.mycore.access.MCRAccessException;
 import org.mycore.access.MCRAccessManager;
+import org.mycore.backend.jpa.MCREntityTransaction;
 import org.mycore.common.MCRException;
 import org.mycore.common.MCRPersistenceException;
+import org.mycore.common.MCRSessionMgr;
+import org.mycore.common.MCRTransactionManager;
 import org.mycore.common.MCRUtils;
 import org.mycore.common.config.MCRConfiguration2;
+import org.mycore.common.digest.MCRDigest;
+import org.mycore.common.digest.MCRMD5Digest;
+import org.mycore.common.processing.MCRAbstractProcessable;
+import org.mycore.common.processing.MCRProcessableStatus;
 import org.mycore.datamodel.metadata.MCRDerivate;
 import org.mycore.datamodel.metadata.MCRMetaClassification;
 import org.mycore.datamodel.metadata.MCRMetadataManager;
 import org.mycore.datamodel.metadata.MCRObjectID;
+import org.mycore.datamodel.niofs.MCRFileAttributes;
 import org.mycore.datamodel.niofs.MCRPath;
-import org.mycore.datamodel.niofs.utils.MCRTreeCopier;
 import org.mycore.frontend.fileupload.MCRUploadHelper;
 import org.mycore.webtools.upload.exception.MCRInvalidFileException;
 import org.mycore.webtools.upload.exception.MCRInvalidUploadParameterException;
@@ -51,6 +61,8 @@ import org.mycore.webtools.upload.exception.MCRUploadServerException;
 /**
  * Default implementation of the {@link MCRUploadHandler} interface.
  * This implementation uploads files to a derivate and assigns a mainfile if none is set.
+ * The files are imported one by one with a channel transfer and removed from the bucket as soon as they are
+ * imported. The checksums computed during the upload are compared with the checksums of the imported files.
  *
  * <dl>
  *     <dt>{@link #OBJ_OR_DERIVATE_ID_PARAMETER_NAME}</dt>
@@ -79,6 +91,8 @@ public class MCRDefaultUploadHandler implements MCRUploadHandler {
         "component.webtools.upload.invalid.parameter.object.not.exist";
     public static final String INVALID_FILE_NAME_TRANSLATION_KEY = "component.webtools.upload.invalid.fileName";
     public static final String INVALID_FILE_SIZE_TRANSLATION_KEY = "component.webtools.upload.invalid.fileSize";
+    public static final String IMPORT_FAILED_TRANSLATION_KEY = "component.webtools.upload.import.failed";
+    public static final String DIGEST_MISMATCH_TRANSLATION_KEY = "component.webtools.upload.digest.mismatch";
 
     public static void setDefaultMainFile(MCRDerivate derivate) {
         MCRPath path = MCRPath.getPath(derivate.getId().toString(), "/");
@@ -124,18 +138,18 @@ public class MCRDefaultUploadHandler implements MCRUploadHandler {
             }
         }
 
-        final MCRTreeCopier copier;
+        MCRAbstractProcessable processable = bucket.getProcessable();
+        processable.setStatus(MCRProcessableStatus.PROCESSING);
         try {
-            copier = new MCRTreeCopier(root, targetDerivateRoot, false, true);
-        } catch (NoSuchFileException e) {
-            throw new MCRException(e);
-        }
-
-        try {
-            Files.walkFileTree(root, copier);
+            importFiles(root, targetDerivateRoot, bucket.getDigests(), processable);
         } catch (IOException e) {
-            throw new MCRUploadServerException("mcr.upload.import.failed", e);
+            processable.setError(e);
+            throw new MCRUploadServerException(IMPORT_FAILED_TRANSLATION_KEY, e);
+        } catch (MCRUploadServerException e) {
+            processable.setError(e);
+            throw e;
         }
+        processable.setStatus(MCRProcessableStatus.SUCCESSFUL);
 
         MCRDerivate theDerivate = MCRMetadataManager.retrieveMCRDerivate(derivateID);
 
@@ -147,6 +161,92 @@ public class MCRDefaultUploadHandler implements MCRUploadHandler {
         return null; // We don´t want to redirect to the derivate, so we return null
     }
 
+    /**
+     * Imports all files and directories of the bucket root into the derivate. Every file is deleted from the bucket
+     * after it is imported, so the upload does not occupy twice its size in temporary storage. The uploaded files are
+     * not read again for verification, instead the checksum the store computes on import is compared with the one
+     * computed during the upload.
+     *
+     * @param digests the MD5 checksums computed during the upload, the keys are paths relative to <code>root</code>
+     */
+    private static void importFiles(Path root, MCRPath targetRoot, Map<String, String> digests,
+        MCRAbstractProcessable processable) throws IOException, MCRUploadServerException {
+        List<Path> sources;
+        try (Stream<Path> stream = Files.walk(root)) {
+            // walk returns directories before their contents
+            sources = stream.filter(path -> !path.equals(root)).toList();
+        }
+        long fileCount = sources.stream().filter(Files::isRegularFile).count();
+        long imported = 0;
+        for (Path source : sources) {
+            Path relativePath = root.relativize(source);
+            MCRPath target = toTargetPath(targetRoot, relativePath);
+            if (Files.isDirectory(source)) {
+                Files.createDirectories(target);
+                continue;
+            }
+            if (MCRSessionMgr.hasCurrentSession()) {
+                MCRTransactionManager.commitTransactions(MCREntityTransaction.class);
+                MCRTransactionManager.beginTransactions(MCREntityTransaction.class);
+            }
+            String md5 = digests.get(relativePath.toString());
+            importFile(source, target);
+            verifyImportedDigest(relativePath.toString(), target, md5);
+            // keep the source until the file is imported completely, so a failed upload can be committed again
+            Files.delete(source);
+            imported++;
+            processable.setProgress((int) (imported * 100 / fileCount));
+            processable.setProgressText(imported + "/" + fileCount + " files imported");
+        }
+    }
+
+    private static MCRPath toTargetPath(MCRPath targetRoot, Path relativePath) {
+        MCRPath target = targetRoot;
+        for (Path name : relativePath) {
+            target = (MCRPath) target.resolve(name.toString());
+        }
+        return target;
+    }
+
+    /**
+     * Copies the file with {@link FileChannel#transferFrom(java.nio.channels.ReadableByteChannel, long, long)}, so
+     * the content is copied by the operating system if the store uses local files.
+     */
+    private static void importFile(Path source, MCRPath target) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+            SeekableByteChannel out = Files.newByteChannel(target, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long size = in.size();
+            long position = 0;
+            while (position < size) {
+                long transferred = out instanceof FileChannel fileOut
+                    ? fileOut.transferFrom(in, position, size - position)
+                    : in.transferTo(position, size - position, out);
+                if (transferred <= 0) {
+                    // the source was truncated, the digest check fails
+                    break;
+                }
+                position += transferred;
+            }
+        }
+    }
+
+    /**
+     * Checks the checksum the store computed for the imported file. A corrupt file is removed from the derivate.
+     */
+    private static void verifyImportedDigest(String relativePath, MCRPath target, String md5)
+        throws IOException, MCRUploadServerException {
+        if (md5 == null) {
+            return;
+        }
+        MCRDigest digest = Files.readAttributes(target, MCRFileAttributes.class).digest();
+        if (digest != null && digest.getAlgorithm().equals(MCRMD5Digest.ALGORITHM)
+            && !md5.equalsIgnoreCase(digest.toHexString())) {
+            Files.deleteIfExists(target);
+            throw new MCRUploadServerException(DIGEST_MISMATCH_TRANSLATION_KEY, relativePath);
+        }
+    }
+
     private static void checkPermissions(MCRObjectID oid) throws MCRInvalidUploadParameterException,
         MCRUploadForbiddenException {
         if (!MCRMetadataManager.exists(oid)) {
@@ -24,13 +24,20 @@ import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.mycore.common.MCRException;
 import org.mycore.common.MCRSessionMgr;
 import org.mycore.common.events.MCRSessionEvent;
 import org.mycore.common.events.MCRSessionListener;
 import org.mycore.common.events.MCRShutdownHandler;
+import org.mycore.common.processing.MCRAbstractProcessable;
+import org.mycore.common.processing.MCRProcessableCollection;
+import org.mycore.common.processing.MCRProcessableDefaultCollection;
+import org.mycore.common.processing.MCRProcessableManager;
 import org.mycore.datamodel.niofs.utils.MCRRecursiveDeleter;
 import org.mycore.webtools.upload.exception.MCRUploadServerException;
 
@@ -39,12 +46,23 @@ import org.mycore.webtools.upload.exception.MCRUploadServerException;
  * is closed or the application is shut down or the bucket is closed.
  * The bucket is identified by a bucketID. It also contains a root directory, where the uploaded files are stored,
  * the parameters and the upload handler used for the upload.
- *
+ * <p>
+ * Files uploaded in chunks are collected as {@link MCRUploadPart} outside of the root directory and moved into it
+ * when they are complete. The MD5 checksums computed during the upload are kept in {@link #getDigests()}, so the
+ * upload handler can verify the imported files without reading the uploaded files again. The progress of the upload
+ * is published as processable in the collection "Upload Buckets".
  */
 public final class MCRFileUploadBucket implements MCRSessionListener, MCRShutdownHandler.Closeable {
 
     private static final Map<String, MCRFileUploadBucket> BUCKET_MAP = new ConcurrentHashMap<>();
 
+    private static final MCRProcessableCollection COLLECTION;
+
+    static {
+        COLLECTION = new MCRProcessableDefaultCollection("Upload Buckets");
+        MCRProcessableManager.getInstance().getRegistry().register(COLLECTION);
+    }
+
     private final String bucketID;
 
     private final Path root;
@@ -55,6 +73,16 @@ public final class MCRFileUploadBucket implements MCRSessionListener, MCRShutdow
 
     private final MCRUploadHandler uploadHandler;
 
+    private final Path partsDirectory;
+
+    private final Map<String, MCRUploadPart> parts = new ConcurrentHashMap<>();
+
+    private final Map<String, String> digests = new ConcurrentHashMap<>();
+
+    private final AtomicLong receivedBytes = new AtomicLong();
+
+    private final BucketProcessable processable = new BucketProcessable();
+
     /**
      *
      * @param bucketID of the bucket
@@ -68,10 +96,15 @@ public final class MCRFileUploadBucket implements MCRSessionListener, MCRShutdow
 
         try {
             this.root = Files.createTempDirectory("mycore_" + bucketID);
+            this.partsDirectory = Files.createTempDirectory("mycore_parts_" + bucketID);
         } catch (IOException e) {
             throw new MCRUploadServerException("component.webtools.upload.temp.create.failed", e);
         }
 
+        processable.setName("Upload " + bucketID);
+        processable.setProgressText("0 bytes received");
+        COLLECTION.add(processable);
+
         MCRSessionMgr.addSessionListener(this);
         MCRShutdownHandler.getInstance().addCloseable(this);
     }
@@ -102,12 +135,15 @@ public final class MCRFileUploadBucket implements MCRSessionListener, MCRShutdow
     public static synchronized void releaseBucket(String bucketID) throws MCRUploadServerException {
         if (BUCKET_MAP.containsKey(bucketID)) {
             final MCRFileUploadBucket bucket = BUCKET_MAP.get(bucketID);
-            if (Files.exists(bucket.root)) {
-                try {
-                    Files.walkFileTree(bucket.root, new MCRRecursiveDeleter());
-                } catch (IOException e) {
-                    throw new MCRUploadServerException("component.webtools.upload.temp.delete.failed", e);
+            COLLECTION.remove(bucket.processable);
+            try {
+                for (Path directory : List.of(bucket.root, bucket.partsDirectory)) {
+                    if (Files.exists(directory)) {
+                        Files.walkFileTree(directory, new MCRRecursiveDeleter());
+                    }
                 }
+            } catch (IOException e) {
+                throw new MCRUploadServerException("component.webtools.upload.temp.delete.failed", e);
             }
             BUCKET_MAP.remove(bucketID);
         }
@@ -129,6 +165,64 @@ public final class MCRFileUploadBucket implements MCRSessionListener, MCRShutdow
         return root;
     }
 
+    /**
+     * Returns the part of a file that is uploaded in chunks, creates it if no upload of the file is in progress.
+     *
+     * @param path the path of the file relative to {@link #getRoot()}
+     * @param size the size of the complete file
+     */
+    MCRUploadPart getOrCreatePart(String path, long size) {
+        return parts.computeIfAbsent(path, p -> new MCRUploadPart(partsDirectory.resolve(UUID.randomUUID().toString()),
+            size));
+    }
+
+    /**
+     * @param path the path of the file relative to {@link #getRoot()}
+     * @return the part of a file whose upload is in progress
+     */
+    Optional<MCRUploadPart> getPart(String path) {
+        return Optional.ofNullable(parts.get(path));
+    }
+
+    void removePart(String path) {
+        parts.remove(path);
+    }
+
+    /**
+     * Stores the checksum of an uploaded file.
+     *
+     * @param path the path of the file relative to {@link #getRoot()}
+     * @param md5 the MD5 checksum as hex string or <code>null</code>, if the checksum is unknown
+     */
+    void setDigest(String path, String md5) {
+        if (md5 == null) {
+            digests.remove(path);
+        } else {
+            digests.put(path, md5);
+        }
+    }
+
+    /**
+     * Returns the MD5 checksums of the uploaded files, which were computed during the upload.
+     * Files that were changed by a {@link org.mycore.frontend.fileupload.MCRPostUploadFileProcessor} have no entry.
+     *
+     * @return a map from the path relative to {@link #getRoot()} to the checksum as hex string
+     */
+    public Map<String, String> getDigests() {
+        return Collections.unmodifiableMap(digests);
+    }
+
+    void addReceivedBytes(long bytes) {
+        processable.setProgressText(receivedBytes.addAndGet(bytes) + " bytes received");
+    }
+
+    /**
+     * @return the processable reporting the progress of the upload and the import of the files
+     */
+    public MCRAbstractProcessable getProcessable() {
+        return processable;
+    }
+
     @Override
     public void sessionEvent(MCRSessionEvent event) {
         if (event.getType().equals(MCRSessionEvent.Type.DESTROYED)) {
@@ -147,4 +241,8 @@ public final class MCRFileUploadBucket implements MCRSessionListener, MCRShutdow
             throw new MCRException("Error while releasing bucket on close", e);
         }
     }
+
+    private static final class BucketProcessable extends MCRAbstractProcessable {
+    }
+
 }
@@ -0,0 +1,174 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.webtools.upload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serial;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import org.mycore.common.MCRUtils;
+import org.mycore.common.digest.MCRMD5Digest;
+
+/**
+ * A file of a {@link MCRFileUploadBucket} that is uploaded in several chunks.
+ * <p>
+ * Chunks must be appended in order. The MD5 checksum is computed while the chunks are written, so the file does
+ * not need to be read again after the upload. If a chunk fails, the file is truncated to the last complete chunk
+ * and the client may resume the upload at {@link #getOffset()}.
+ */
+final class MCRUploadPart {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path file;
+
+    private final long size;
+
+    // digest of the bytes up to offset, replaced after each complete chunk
+    private MessageDigest digest;
+
+    private long offset;
+
+    MCRUploadPart(Path file, long size) {
+        this.file = file;
+        this.size = size;
+        this.digest = MCRUtils.buildMessageDigest(MCRMD5Digest.ALGORITHM);
+    }
+
+    /**
+     * Appends a chunk to the file.
+     *
+     * @param position the position of the chunk in the file
+     * @param end the position of the last byte of the chunk
+     * @param contents the content of the chunk
+     * @return false, if <code>position</code> is not the current offset, nothing is written in this case
+     * @throws InvalidChunkException if the number of bytes received does not match the chunk
+     * @throws IOException if the chunk could not be written
+     */
+    synchronized boolean append(long position, long end, InputStream contents) throws IOException {
+        if (position != offset) {
+            return false;
+        }
+        if (end < position || end >= size) {
+            throw new InvalidChunkException("Chunk " + position + "-" + end + " exceeds the size " + size + " of "
+                + file.getFileName());
+        }
+        long length = end - position + 1;
+        MessageDigest chunkDigest;
+        try {
+            chunkDigest = (MessageDigest) digest.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IOException("Cannot clone digest " + digest.getAlgorithm(), e);
+        }
+        long written = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            channel.position(offset);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = contents.read(buffer)) != -1) {
+                if (written + read > length) {
+                    throw new InvalidChunkException("Received more than " + length + " bytes for chunk "
+                        + position + "-" + end + " of " + file.getFileName());
+                }
+                ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, read);
+                while (byteBuffer.hasRemaining()) {
+                    channel.write(byteBuffer);
+                }
+                chunkDigest.update(buffer, 0, read);
+                written += read;
+            }
+            if (written != length) {
+                throw new InvalidChunkException("Received " + written + " of " + length + " bytes for chunk "
+                    + position + "-" + end + " of " + file.getFileName());
+            }
+        } catch (IOException | RuntimeException e) {
+            // drop the incomplete chunk, so the client can send it again
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(offset);
+            } catch (IOException truncateException) {
+                e.addSuppressed(truncateException);
+            }
+            throw e;
+        }
+        offset += written;
+        digest = chunkDigest;
+        return true;
+    }
+
+    synchronized long getOffset() {
+        return offset;
+    }
+
+    long getSize() {
+        return size;
+    }
+
+    synchronized boolean isComplete() {
+        return offset == size;
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    /**
+     * Moves the completely uploaded file to <code>target</code>, replacing an existing file.
+     *
+     * @return the MD5 checksum of the file as hex string
+     */
+    synchronized String finish(Path target) throws IOException {
+        if (!isComplete()) {
+            throw new IOException("Upload of " + file.getFileName() + " is incomplete: " + offset + "/" + size);
+        }
+        if (size == 0 && Files.notExists(file)) {
+            Files.createFile(file);
+        }
+        try {
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Thrown if a chunk does not match its <code>Content-Range</code>. The chunk is discarded, so the client may
+     * send it again.
+     */
+    static final class InvalidChunkException extends IOException {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        InvalidChunkException(String message) {
+            super(message);
+        }
+
+    }
+
+}
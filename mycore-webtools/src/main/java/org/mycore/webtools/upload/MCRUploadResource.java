@@ -26,10 +26,16 @@ import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.text.Normalizer;
+import java.util.Base64;
 import java.util.Collections;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
@@ -37,6 +43,7 @@ import org.apache.logging.log4j.Logger;
 import org.mycore.common.MCRUtils;
 import org.mycore.common.config.MCRConfiguration2;
 import org.mycore.common.config.MCRConfigurationException;
+import org.mycore.common.digest.MCRMD5Digest;
 import org.mycore.frontend.fileupload.MCRPostUploadFileProcessor;
 import org.mycore.webtools.upload.exception.MCRInvalidFileException;
 import org.mycore.webtools.upload.exception.MCRInvalidUploadParameterException;
@@ -47,6 +54,7 @@ import org.mycore.webtools.upload.exception.MCRUploadServerException;
 
 import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HEAD;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
@@ -59,11 +67,33 @@ import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.Response;
 
+/**
+ * REST API for file uploads into a {@link MCRFileUploadBucket}.
+ * <p>
+ * A file is uploaded with one <code>PUT</code> request or, if the request contains a <code>Content-Range</code>
+ * header (<code>bytes start-end/size</code>), in several chunks. Every chunk but the last is answered with status
+ * 308 and a <code>Range</code> header containing the bytes received so far. An interrupted upload is resumed by
+ * requesting the received bytes with <code>HEAD</code> and sending the chunks following them. The MD5 checksum is
+ * computed while the file is received and returned in the <code>Digest</code> header of the last response.
+ */
 @Path("files/upload/")
 public class MCRUploadResource {
 
     private static final String FILE_PROCESSOR_PROPERTY = "MCR.MCRUploadHandlerIFS.FileProcessors";
 
+    private static final String CONTENT_RANGE_HEADER = "Content-Range";
+
+    private static final String RANGE_HEADER = "Range";
+
+    private static final String DIGEST_HEADER = "Digest";
+
+    private static final Pattern CONTENT_RANGE_PATTERN = Pattern.compile("bytes (\\d+)-(\\d+)/(\\d+)");
+
+    /**
+     * Status of an incomplete chunked upload, as used by common resumable upload protocols.
+     */
+    private static final int RESUME_INCOMPLETE = 308;
+
     private static final List<MCRPostUploadFileProcessor> FILE_PROCESSORS = initProcessorList();
 
     private static final Logger LOGGER = LogManager.getLogger();
@@ -146,13 +176,13 @@ public class MCRUploadResource {
         } catch (MCRInvalidFileException e) {
             return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
         } catch (MCRUploadException e) {
+            // files that were not imported stay in the bucket, so the commit can be repeated
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR).entity(e.getMessage()).build();
-        } finally {
-            try {
-                MCRFileUploadBucket.releaseBucket(bucket.getBucketID());
-            } catch (MCRUploadServerException e) {
-                LOGGER.error(() -> "Error while releasing bucket " + bucket.getBucketID(), e);
-            }
+        }
+        try {
+            MCRFileUploadBucket.releaseBucket(bucket.getBucketID());
+        } catch (MCRUploadServerException e) {
+            LOGGER.error(() -> "Error while releasing bucket " + bucket.getBucketID(), e);
         }
         if (location == null) {
             return Response.ok().build();
@@ -210,12 +240,25 @@ public class MCRUploadResource {
         createBucketRootIfNotExist(filePath);
 
         String actualStringFileName = bucket.getRoot().relativize(filePath).getFileName().toString();
+        String relativePath = bucket.getRoot().relativize(filePath).toString();
         MCRUploadHandler uploadHandler = bucket.getUploadHandler();
 
-        String contentLengthStr = request.getHeaderString(HttpHeaders.CONTENT_LENGTH);
-        long contentLength = contentLengthStr == null ? 0 : Long.parseLong(contentLengthStr);
+        String contentRangeStr = request.getHeaderString(CONTENT_RANGE_HEADER);
+        ContentRange contentRange = null;
+        long fileSize;
+        if (contentRangeStr != null && !isDirectory) {
+            contentRange = ContentRange.parse(contentRangeStr);
+            if (contentRange == null) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Invalid " + CONTENT_RANGE_HEADER + ": " + contentRangeStr).build();
+            }
+            fileSize = contentRange.size();
+        } else {
+            String contentLengthStr = request.getHeaderString(HttpHeaders.CONTENT_LENGTH);
+            fileSize = contentLengthStr == null ? 0 : Long.parseLong(contentLengthStr);
+        }
         try {
-            uploadHandler.validateFileMetadata(actualStringFileName, contentLength);
+            uploadHandler.validateFileMetadata(actualStringFileName, fileSize);
         } catch (MCRUploadForbiddenException e) {
             return Response.status(Response.Status.FORBIDDEN).entity(e.getMessage()).build();
         } catch (MCRInvalidFileException e) {
@@ -226,31 +269,112 @@ public class MCRUploadResource {
 
         if (isDirectory) {
             Files.createDirectory(filePath);
+            return Response.noContent().build();
+        }
+
+        String md5;
+        if (contentRange == null) {
+            MessageDigest digest = MCRUtils.buildMessageDigest(MCRMD5Digest.ALGORITHM);
+            try (InputStream digestStream = new DigestInputStream(contents, digest)) {
+                bucket.addReceivedBytes(Files.copy(digestStream, filePath, StandardCopyOption.REPLACE_EXISTING));
+            }
+            md5 = HexFormat.of().formatHex(digest.digest());
         } else {
-            final List<MCRPostUploadFileProcessor> processors = FILE_PROCESSORS.stream()
-                .filter(processor -> processor.isProcessable(unicodeNormalizedPath))
-                .toList();
-
-            if (processors.isEmpty()) {
-                Files.copy(contents, filePath, StandardCopyOption.REPLACE_EXISTING);
-            } else {
-                java.nio.file.Path input = Files.createTempFile("processing", ".temp");
-                Files.copy(contents, input, StandardCopyOption.REPLACE_EXISTING);
-
-                for (MCRPostUploadFileProcessor processor : processors) {
-                    final java.nio.file.Path tempFile2 = Files.createTempFile("processing", ".temp");
-                    final java.nio.file.Path result = processor.processFile(unicodeNormalizedPath, input,
-                        () -> tempFile2);
-                    if (result != null) {
-                        Files.deleteIfExists(input);
-                        input = result;
-                    }
+            MCRUploadPart part = bucket.getOrCreatePart(relativePath, contentRange.size());
+            if (part.getSize() != contentRange.size()) {
+                return Response.status(Response.Status.CONFLICT)
+                    .entity("Size of " + relativePath + " changed during the upload.").build();
+            }
+            long offset = part.getOffset();
+            try {
+                if (!part.append(contentRange.start(), contentRange.end(), contents)) {
+                    return addRangeHeader(Response.status(Response.Status.CONFLICT), part).build();
                 }
-                Files.copy(input, filePath, StandardCopyOption.REPLACE_EXISTING);
+            } catch (MCRUploadPart.InvalidChunkException e) {
+                return addRangeHeader(Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()), part)
+                    .build();
+            }
+            bucket.addReceivedBytes(part.getOffset() - offset);
+            if (!part.isComplete()) {
+                return addRangeHeader(Response.status(RESUME_INCOMPLETE), part).build();
+            }
+            md5 = part.finish(filePath);
+            bucket.removePart(relativePath);
+        }
+
+        if (processFile(unicodeNormalizedPath, filePath)) {
+            // the checksum of a processed file is unknown
+            md5 = null;
+        }
+        bucket.setDigest(relativePath, md5);
+
+        Response.ResponseBuilder response = Response.noContent();
+        if (md5 != null) {
+            response.header(DIGEST_HEADER, "md5=" + Base64.getEncoder().encodeToString(HexFormat.of().parseHex(md5)));
+        }
+        return response.build();
+    }
+
+    /**
+     * Returns the state of the upload of a file: status 308 with the received bytes in the <code>Range</code>
+     * header, if a chunked upload is in progress, status 204 if the file is uploaded completely and 404 otherwise.
+     */
+    @HEAD
+    @Path("{buckedID}/{path:.+}")
+    public Response getUploadState(@PathParam("path") String path, @PathParam("buckedID") String buckedID) {
+        final MCRFileUploadBucket bucket = MCRFileUploadBucket.getBucket(buckedID);
+        if (bucket == null) {
+            throw new BadRequestException("buckedID " + buckedID + " is invalid!");
+        }
+
+        String unicodeNormalizedPath = Normalizer.normalize(path, Normalizer.Form.NFC);
+        final java.nio.file.Path filePath = MCRUtils.safeResolve(bucket.getRoot(), unicodeNormalizedPath);
+        String relativePath = bucket.getRoot().relativize(filePath).toString();
+
+        Optional<MCRUploadPart> part = bucket.getPart(relativePath);
+        if (part.isPresent()) {
+            return addRangeHeader(Response.status(RESUME_INCOMPLETE), part.get()).build();
+        }
+        if (Files.isRegularFile(filePath)) {
+            return Response.noContent().build();
+        }
+        return Response.status(Response.Status.NOT_FOUND).build();
+    }
+
+    private static Response.ResponseBuilder addRangeHeader(Response.ResponseBuilder response, MCRUploadPart part) {
+        long offset = part.getOffset();
+        if (offset > 0) {
+            response.header(RANGE_HEADER, "bytes=0-" + (offset - 1));
+        }
+        return response;
+    }
+
+    /**
+     * Runs the {@link MCRPostUploadFileProcessor}s responsible for the file.
+     *
+     * @return true, if at least one processor was run
+     */
+    private static boolean processFile(String path, java.nio.file.Path filePath) throws IOException {
+        final List<MCRPostUploadFileProcessor> processors = FILE_PROCESSORS.stream()
+            .filter(processor -> processor.isProcessable(path))
+            .toList();
+        if (processors.isEmpty()) {
+            return false;
+        }
+
+        java.nio.file.Path input = Files.createTempFile("processing", ".temp");
+        Files.move(filePath, input, StandardCopyOption.REPLACE_EXISTING);
+
+        for (MCRPostUploadFileProcessor processor : processors) {
+            final java.nio.file.Path tempFile2 = Files.createTempFile("processing", ".temp");
+            final java.nio.file.Path result = processor.processFile(path, input, () -> tempFile2);
+            if (result != null) {
                 Files.deleteIfExists(input);
+                input = result;
             }
         }
-        return Response.noContent().build();
+        Files.move(input, filePath, StandardCopyOption.REPLACE_EXISTING);
+        return true;
     }
 
     private static void createBucketRootIfNotExist(java.nio.file.Path filePath) throws IOException {
@@ -262,4 +386,25 @@ public class MCRUploadResource {
         }
     }
 
+    /**
+     * Parsed <code>Content-Range</code> header of a chunk.
+     */
+    private record ContentRange(long start, long end, long size) {
+
+        static ContentRange parse(String header) {
+            Matcher matcher = CONTENT_RANGE_PATTERN.matcher(header.trim());
+            if (!matcher.matches()) {
+                return null;
+            }
+            try {
+                ContentRange range = new ContentRange(Long.parseLong(matcher.group(1)),
+                    Long.parseLong(matcher.group(2)), Long.parseLong(matcher.group(3)));
+                return range.start() <= range.end() && range.end() < range.size() ? range : null;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+    }
+
 }
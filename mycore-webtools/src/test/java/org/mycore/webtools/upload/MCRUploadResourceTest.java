@@ -0,0 +1,165 @@
+/*
+ * This file is part of ***  M y C o R e  ***
+ * See https://www.mycore.de/ for details.
+ *
+ * MyCoRe is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MyCoRe is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MyCoRe.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.mycore.webtools.upload;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mycore.common.MCRUtils;
+import org.mycore.common.digest.MCRMD5Digest;
+import org.mycore.test.MyCoReTest;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.core.Response;
+
+@MyCoReTest
+public class MCRUploadResourceTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    private static final String FILE = "dir/file.txt";
+
+    private MCRUploadResource resource;
+
+    private MCRFileUploadBucket bucket;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        bucket = MCRFileUploadBucket.createBucket(UUID.randomUUID().toString(), Map.of(),
+            mock(MCRUploadHandler.class));
+        resource = new MCRUploadResource();
+        resource.request = mock(ContainerRequestContext.class);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        MCRFileUploadBucket.releaseBucket(bucket.getBucketID());
+    }
+
+    @Test
+    public void chunkedUpload() throws Exception {
+        assertEquals(Response.Status.NOT_FOUND.getStatusCode(), head().getStatus());
+
+        Response response = put("bytes 0-3/10", chunk(0, 4));
+        assertEquals(308, response.getStatus());
+        assertEquals("bytes=0-3", response.getHeaderString("Range"));
+
+        response = head();
+        assertEquals(308, response.getStatus());
+        assertEquals("bytes=0-3", response.getHeaderString("Range"));
+
+        response = put("bytes 4-9/10", chunk(4, 10));
+        assertEquals(Response.Status.NO_CONTENT.getStatusCode(), response.getStatus());
+        String md5 = Base64.getEncoder()
+            .encodeToString(MCRUtils.buildMessageDigest(MCRMD5Digest.ALGORITHM).digest(CONTENT));
+        assertEquals("md5=" + md5, response.getHeaderString("Digest"));
+        assertArrayEquals(CONTENT, Files.readAllBytes(bucket.getRoot().resolve(FILE)));
+        assertEquals(Response.Status.NO_CONTENT.getStatusCode(), head().getStatus());
+    }
+
+    @Test
+    public void resumeAfterInterruptedChunk() throws Exception {
+        put("bytes 0-3/10", chunk(0, 4));
+        InputStream interrupted = new ByteArrayInputStream(chunk(4, 6)) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                int read = super.read(b, off, len);
+                if (read == -1) {
+                    throw new IllegalStateException("connection lost");
+                }
+                return read;
+            }
+        };
+        assertThrows(IllegalStateException.class, () -> put("bytes 4-9/10", interrupted));
+
+        // the incomplete chunk is truncated
+        Response response = head();
+        assertEquals(308, response.getStatus());
+        assertEquals("bytes=0-3", response.getHeaderString("Range"));
+
+        // chunks not following the received bytes are rejected
+        response = put("bytes 6-9/10", chunk(6, 10));
+        assertEquals(Response.Status.CONFLICT.getStatusCode(), response.getStatus());
+        assertEquals("bytes=0-3", response.getHeaderString("Range"));
+
+        assertEquals(Response.Status.NO_CONTENT.getStatusCode(), put("bytes 4-9/10", chunk(4, 10)).getStatus());
+        assertArrayEquals(CONTENT, Files.readAllBytes(bucket.getRoot().resolve(FILE)));
+    }
+
+    @Test
+    public void chunkSizeMismatch() throws Exception {
+        Response response = put("bytes 0-3/10", chunk(0, 2));
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+        assertNull(response.getHeaderString("Range"));
+
+        put("bytes 0-3/10", chunk(0, 4));
+        response = put("bytes 4-5/10", chunk(4, 10));
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+        assertEquals("bytes=0-3", response.getHeaderString("Range"));
+
+        response = head();
+        assertEquals(308, response.getStatus());
+        assertEquals("bytes=0-3", response.getHeaderString("Range"));
+    }
+
+    @Test
+    public void malformedContentRange() throws Exception {
+        for (String range : Arrays.asList("bytes 4-3/10", "bytes 0-10/10", "bytes */10", "items 0-3/10",
+            "bytes 0-99999999999999999999/100000000000000000000")) {
+            assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), put(range, chunk(0, 4)).getStatus(), range);
+        }
+        assertFalse(bucket.getPart(FILE).isPresent());
+    }
+
+    private Response put(String contentRange, byte[] chunk) throws IOException {
+        return put(contentRange, new ByteArrayInputStream(chunk));
+    }
+
+    private Response put(String contentRange, InputStream chunk) throws IOException {
+        when(resource.request.getHeaderString("Content-Range")).thenReturn(contentRange);
+        return resource.uploadFile(FILE, bucket.getBucketID(), false, chunk);
+    }
+
+    private Response head() {
+        return resource.getUploadState(FILE, bucket.getBucketID());
+    }
+
+    private static byte[] chunk(int from, int to) {
+        return Arrays.copyOfRange(CONTENT, from, to);
+    }
+
+}